@@ -1,10 +1,15 @@
 import dao.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.function.IntFunction;
 import models.*;
 import services.*;
 import utils.PasswordUtil;
+import utils.SchemaMigrator;
 
 /**
  * Main
@@ -20,20 +25,27 @@ public class Main {
 
     private static final Scanner scanner = new Scanner(System.in);
 
+    /** Rows shown per page in the console listings. */
+    private static final int PAGE_SIZE = 20;
+
     private static User currentUser = null; // Controls when user is logged in
 
-    private static final UserDAO userDAO = new UserDAO();
-    private static final MemberDAO memberDAO = new MemberDAO();
-    private static final TrainerDAO trainerDAO = new TrainerDAO();
-    private static final AdminDAO adminDAO = new AdminDAO();
-    private static final WorkoutClassDAO workoutClassDAO = new WorkoutClassDAO();
-    private static final GymMerchDAO gymMerchDAO = new GymMerchDAO();
-    private static final MembershipDAO membershipDAO = new MembershipDAO();
+    // DAOs are timed for Metrics under names such as UserDAO.getUserById
+    private static final UserDAO userDAO = TimedDAO.wrap(UserDAO.class, new JdbcUserDAO());
+    private static final MemberDAO memberDAO = TimedDAO.wrap(MemberDAO.class, new JdbcMemberDAO());
+    private static final TrainerDAO trainerDAO = TimedDAO.wrap(TrainerDAO.class, new JdbcTrainerDAO());
+    private static final AdminDAO adminDAO = TimedDAO.wrap(AdminDAO.class, new JdbcAdminDAO());
+    private static final WorkoutClassDAO workoutClassDAO = TimedDAO.wrap(WorkoutClassDAO.class, new JdbcWorkoutClassDAO());
+    private static final GymMerchDAO gymMerchDAO = TimedDAO.wrap(GymMerchDAO.class, new JdbcGymMerchDAO());
+    private static final MembershipDAO membershipDAO = TimedDAO.wrap(MembershipDAO.class, new JdbcMembershipDAO());
 
     private static final MembershipService membershipService = new MembershipService(membershipDAO);
     private static final GymMerchService gymMerchService = new GymMerchService(gymMerchDAO);
     private static final WorkoutClassService workoutClassService = new WorkoutClassService(workoutClassDAO);
     private static final UserService userService = new UserService(userDAO);
+    private static final MemberDashboardService memberDashboardService = new MemberDashboardService(
+            userService, membershipService, workoutClassService, gymMerchService);
+    private static final BulkImportService bulkImportService = new BulkImportService(new BulkImportDAO());
 
         // Membership plans are stored in the DB and accessed via MembershipService
 
@@ -51,6 +63,15 @@ public class Main {
      */
     public static void main(String[] args) {
         System.out.println("Welcome to the Gym Management System!");
+        if (SchemaMigrator.migrate() < 0) {
+            System.out.println("Warning: database schema could not be brought up to date; see gym_log.txt.");
+        }
+        System.out.println("Password hashing cost: " + PasswordUtil.calibrateFromConfig());
+        InvalidationBus.shared().startListener();
+        MembershipPlanCatalog.shared().start();
+        MetricsServer.startFromConfig();
+        bulkImportService.setProgressListener((processed, total) ->
+                System.out.println("  ... " + processed + "/" + total + " rows written"));
 
         while (currentUser == null) {
             showAuthMenu();
@@ -121,7 +142,7 @@ public class Main {
         boolean back = false;
         while (!back) {
             System.out.println("\n--- ADMIN MENU ---");
-            System.out.println("1. Manage Users i.e ListAllUsers/UpdateUser/DeleteUser");
+            System.out.println("1. Manage Users i.e ListAllUsers/UpdateUser/DeleteUser/ImportUsers");
             System.out.println(
                     "2. Manage Memberships i.e CreateMemberships/ListAllMemberships/UpdateMembership/DeleteMembership/viewTotalRevenue");
             System.out.println(
@@ -198,7 +219,8 @@ public class Main {
             System.out.println("2. Purchase Membership");
             System.out.println("3. View My Membership Expenses");
             System.out.println("4. View Gym Merchandise");
-            System.out.println("5. Logout");
+            System.out.println("5. View My Dashboard");
+            System.out.println("6. Logout");
 
             String choice = scanner.nextLine();
 
@@ -207,7 +229,8 @@ public class Main {
                 case "2" -> purchaseMembership();
                 case "3" -> viewMemberExpenses();
                 case "4" -> listAllGymMerch();
-                case "5" -> {
+                case "5" -> viewMemberDashboard();
+                case "6" -> {
                     logout();
                     back = true;
                 }
@@ -256,6 +279,8 @@ public class Main {
             // currentUser = userDAO.getUserByUsername(username);
             currentUser = user;
             System.out.println("Login successful. Welcome, " + currentUser.getUserName() + " User ID: " + currentUser.getUserId() + "!");
+        } catch (LoginThrottledException e) {
+            System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
             System.out.println("Error during login: " + e.getMessage());
             e.printStackTrace();
@@ -270,14 +295,15 @@ public class Main {
     private static void handleUserCRUD() {
         boolean back = false;
         while (!back) {
-            System.out.println("\nUser Options: 1-List Users 2-Update User 3-Delete User 4-Back");
+            System.out.println("\nUser Options: 1-List Users 2-Update User 3-Delete User 4-Import Users from CSV 5-Back");
             String option = scanner.nextLine();
 
             switch (option) {
                 case "1" -> listAllUsers();
                 case "2" -> updateUser();
                 case "3" -> deleteUser();
-                case "4" -> back = true;
+                case "4" -> importUsers();
+                case "5" -> back = true;
                 default -> System.out.println("Invalid choice.");
             }
         }
@@ -349,14 +375,41 @@ public class Main {
     }
 
     /**
-     * Lists all users in the system.
+     * Lists all users in the system, one page at a time, optionally
+     * narrowed by a name or email search.
      */
     private static void listAllUsers() {
-        List<User> users = userService.getAllUsers();
-        if (users.isEmpty())
-            System.out.println("No users found.");
-        else
-            users.forEach(System.out::println);
+        System.out.print("Search by name or email (blank for all): ");
+        String search = scanner.nextLine().trim();
+        printPages(after -> userService.getUserSummariesPage(null, search, after, PAGE_SIZE), "No users found.");
+    }
+
+    /**
+     * Prints a keyset-paginated listing, asking before each following page
+     * is fetched so large tables are never loaded in one go.
+     *
+     * @param fetchAfter fetches the page after the given key
+     * @param emptyMessage message printed when there are no rows at all
+     * @param <T> the model type listed
+     */
+    private static <T> void printPages(IntFunction<Page<T>> fetchAfter, String emptyMessage) {
+        int after = 0;
+        while (true) {
+            Page<T> page = fetchAfter.apply(after);
+            if (page.isEmpty() && after == 0) {
+                System.out.println(emptyMessage);
+                return;
+            }
+            page.getItems().forEach(System.out::println);
+            if (!page.hasMore()) {
+                return;
+            }
+            System.out.print("-- Press Enter for the next page or type q to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            after = page.getNextKey();
+        }
     }
 
     /**
@@ -467,11 +520,7 @@ public class Main {
      * Lists all trainers in the system.
      */
     private static void listAllTrainers() {
-        List<Trainer> trainers = trainerDAO.getAllTrainers();
-        if (trainers.isEmpty())
-            System.out.println("No trainers found.");
-        else
-            trainers.forEach(System.out::println);
+        printPages(after -> userService.getUserSummariesPage("Trainer", null, after, PAGE_SIZE), "No trainers found.");
     }
 
     /**
@@ -514,14 +563,25 @@ public class Main {
     }
 
     /**
-     * Deletes a trainer by ID.
+     * Deletes a trainer by ID. If the trainer has workout classes, they are
+     * handed to a replacement trainer in the same transaction.
      */
     private static void deleteTrainer() {
         System.out.print("Enter trainer ID to delete: ");
         int trainerId = Integer.parseInt(scanner.nextLine());
 
-        boolean deleted = trainerDAO.deleteTrainer(trainerId);
-        System.out.println(deleted ? "Trainer deleted successfully." : "Error deleting trainer.");
+        if (workoutClassDAO.getWorkoutClassesPage(trainerId, 0, 1).getItems().isEmpty()) {
+            boolean deleted = trainerDAO.deleteTrainer(trainerId);
+            System.out.println(deleted ? "Trainer deleted successfully." : "Error deleting trainer.");
+            return;
+        }
+
+        System.out.print("This trainer has workout classes. Enter the ID of the trainer taking them over: ");
+        int replacementId = Integer.parseInt(scanner.nextLine());
+        int moved = userService.deleteTrainer(trainerId, replacementId);
+        System.out.println(moved >= 0
+                ? "Trainer deleted successfully; " + moved + " workout classes reassigned."
+                : "Error deleting trainer. Nothing was changed.");
     }
 
     /**
@@ -577,11 +637,7 @@ public class Main {
      * Lists all members in the system.
      */
     private static void listAllMembers() {
-        List<Member> members = memberDAO.getAllMembers();
-        if (members.isEmpty())
-            System.out.println("No members found.");
-        else
-            members.forEach(System.out::println);
+        printPages(after -> userService.getUserSummariesPage("Member", null, after, PAGE_SIZE), "No members found.");
     }
 
     /**
@@ -677,14 +733,21 @@ public class Main {
     }
 
     /**
-     * Lists all workout classes in the system.
+     * Lists workout classes with their trainer, optionally filtered by type.
      */
     private static void listAllWorkoutClasses() {
-        List<WorkoutClass> classes = workoutClassDAO.getAllWorkoutClasses();
-        if (classes.isEmpty())
-            System.out.println("No workout classes found.");
-        else
-            classes.forEach(System.out::println);
+        System.out.print("Filter by class type (blank for all): ");
+        String classType = scanner.nextLine().trim();
+
+        try {
+            List<WorkoutClassDetail> classes = workoutClassService.getWorkoutClassDetails(classType);
+            if (classes.isEmpty())
+                System.out.println("No workout classes found.");
+            else
+                classes.forEach(System.out::println);
+        } catch (SQLException e) {
+            System.out.println("Error retrieving classes: " + e.getMessage());
+        }
     }
 
     /**
@@ -793,11 +856,7 @@ public class Main {
      * Lists all gym merchandise items in the system.
      */
     private static void listAllGymMerch() {
-        List<GymMerch> merchList = gymMerchDAO.getAllGymMerch();
-        if (merchList.isEmpty())
-            System.out.println("No merch found.");
-        else
-            merchList.forEach(System.out::println);
+        printPages(after -> gymMerchService.getMerchPage(after, PAGE_SIZE), "No merch found.");
     }
 
     /**
@@ -868,6 +927,11 @@ public class Main {
                     merch.getQuantityInStock(),
                     value);
         }
+
+        System.out.println("\nStock value by type:");
+        gymMerchService.calculateStockValueByType()
+                .forEach((type, value) -> System.out.printf("  %-15s $%.2f%n", type, value));
+        System.out.printf("Total stock value: $%.2f%n", gymMerchService.calculateTotalStockValue());
     }
 
     /**
@@ -877,7 +941,7 @@ public class Main {
         boolean back = false;
         while (!back) {
             System.out.println(
-                    "\nMembership Options: 1-Create Membership 2-List All Memberships 3-Update Membership 4-Delete MEmebership 5-View Total Revenue 6-View Member Expenses 7-Back");
+                    "\nMembership Options: 1-Create Membership 2-List All Memberships 3-Update Membership 4-Delete MEmebership 5-View Total Revenue 6-View Member Expenses 7-Import Memberships from CSV 8-Back");
             String option = scanner.nextLine();
 
             switch (option) {
@@ -887,7 +951,8 @@ public class Main {
                 case "4" -> deleteMembership();
                 case "5" -> viewTotalRevenue();
                 case "6" -> viewMemberExpenses();
-                case "7" -> back = true;
+                case "7" -> importMemberships();
+                case "8" -> back = true;
                 default -> System.out.println("Invalid choice.");
             }
         }
@@ -972,11 +1037,7 @@ public class Main {
      * Lists all memberships in the system.
      */
     private static void listAllMemberships() {
-        List<Membership> memberships = membershipService.getAllMemberships();
-        if (memberships.isEmpty())
-            System.out.println("No memberships found.");
-        else
-            memberships.forEach(System.out::println);
+        printPages(after -> membershipService.getMembershipsPage(after, PAGE_SIZE), "No memberships found.");
     }
 
     /**
@@ -1030,6 +1091,9 @@ public class Main {
     private static void viewTotalRevenue() {
         double total = membershipService.viewTotalRevenue();
         System.out.println("Total Revenue from Memberships: $" + total);
+
+        Map<String, Double> byType = membershipService.viewRevenueByMembershipType();
+        byType.forEach((type, revenue) -> System.out.printf("  %-15s $%.2f%n", type, revenue));
     }
 
     /**
@@ -1045,4 +1109,81 @@ public class Main {
 
         System.out.println("Your total membership expenses: $" + total);
     }
+
+    /**
+     * Shows the member's memberships, total spend, workout classes and gym
+     * merchandise, loaded together in one dashboard request.
+     */
+    private static void viewMemberDashboard() {
+        MemberDashboard dashboard;
+        try {
+            dashboard = memberDashboardService.getDashboard(currentUser.getUserId(), PAGE_SIZE);
+        } catch (DataAccessException e) {
+            System.out.println("Your dashboard could not be loaded right now; please try again later.");
+            return;
+        }
+        if (dashboard == null) {
+            System.out.println("Error loading your dashboard.");
+            return;
+        }
+
+        System.out.println("\n--- " + dashboard.getMember().getUserName() + "'s DASHBOARD ---");
+        System.out.println("Memberships:");
+        if (dashboard.getMemberships().isEmpty()) {
+            System.out.println("  None yet. Choose Purchase Membership to buy one.");
+        }
+        dashboard.getMemberships().forEach(m -> System.out.println("  " + m));
+        System.out.println("Total spend: $" + dashboard.getTotalSpend());
+        System.out.println("Workout classes:");
+        dashboard.getWorkoutClasses().forEach(wc -> System.out.println("  " + wc));
+        System.out.println("Gym merchandise:");
+        dashboard.getGymMerch().forEach(m -> System.out.println("  " + m));
+        if (!dashboard.isComplete()) {
+            System.out.println("Some sections could not be loaded; please try again later.");
+        }
+    }
+
+    /**
+     * Imports users from a CSV file.
+     * Expected header: userName,email,userRole,password[,userPhoneNumber,userAddress]
+     */
+    private static void importUsers() {
+        System.out.print("Enter path to users CSV file: ");
+        Path file = Path.of(scanner.nextLine().trim());
+        if (!Files.isReadable(file)) {
+            System.out.println("Error: Cannot read file " + file);
+            return;
+        }
+        printImportResult(bulkImportService.importUsersFromCsv(file));
+    }
+
+    /**
+     * Imports memberships from a CSV file.
+     * Expected header: membershipType,membershipDescription,membershipCost,memberID
+     */
+    private static void importMemberships() {
+        System.out.print("Enter path to memberships CSV file: ");
+        Path file = Path.of(scanner.nextLine().trim());
+        if (!Files.isReadable(file)) {
+            System.out.println("Error: Cannot read file " + file);
+            return;
+        }
+        printImportResult(bulkImportService.importMembershipsFromCsv(file));
+    }
+
+    /**
+     * Prints the outcome of a bulk import, listing the first rejected rows.
+     *
+     * @param result the import result
+     */
+    private static void printImportResult(ImportResult result) {
+        System.out.println("Imported " + result.getImported() + " of " + result.getTotalRows()
+                + " rows in " + result.getElapsedMillis() + " ms.");
+        List<ImportResult.RowError> errors = result.getErrors();
+        errors.stream().limit(PAGE_SIZE).forEach(error ->
+                System.out.println("  Row " + error.rowNumber() + ": " + error.message()));
+        if (errors.size() > PAGE_SIZE) {
+            System.out.println("  ... and " + (errors.size() - PAGE_SIZE) + " more rejected rows.");
+        }
+    }
 }
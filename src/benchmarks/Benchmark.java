@@ -0,0 +1,53 @@
+package benchmarks;
+
+/**
+ * Benchmark
+ * One named operation measured by {@link BenchmarkRunner}.
+ *
+ * @param name benchmark name, e.g. {@code PasswordUtil.hashPassword}
+ * @param params parameters that distinguish variants, e.g. {@code cost=12}; empty if none
+ * @param operation the code to measure
+ */
+public record Benchmark(String name, String params, Operation operation) {
+
+    /**
+     * The measured code. {@link #run()} is called repeatedly between
+     * {@link #setUp()} and {@link #tearDown()}; its result is consumed by the
+     * runner so the JIT cannot remove the work.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Prepare state before the first warmup iteration.
+         *
+         * @throws Exception if the benchmark cannot run
+         */
+        default void setUp() throws Exception {
+        }
+
+        /**
+         * Perform one operation.
+         *
+         * @return any value derived from the work
+         * @throws Exception if the operation fails
+         */
+        Object run() throws Exception;
+
+        /**
+         * Release state after the last measurement iteration.
+         *
+         * @throws Exception if cleanup fails
+         */
+        default void tearDown() throws Exception {
+        }
+    }
+
+    /**
+     * Get the full display name including parameters.
+     *
+     * @return e.g. {@code PasswordUtil.hashPassword[cost=12]}
+     */
+    public String id() {
+        return params.isEmpty() ? name : name + "[" + params + "]";
+    }
+}
@@ -0,0 +1,311 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BenchmarkRunner
+ * Command-line micro-benchmark harness for the Gym Management System.
+ *
+ * <p>Each {@link Benchmark} is set up once, run for a number of warmup
+ * iterations so the JIT settles, then for a number of measured iterations
+ * of fixed length. Operations are run in batches that grow until a batch
+ * takes long enough to time accurately, and every result is written to a
+ * volatile field so the work cannot be optimised away. The score is the
+ * average time per operation, with its standard deviation across
+ * iterations.</p>
+ *
+ * <p>Results are printed as a table and saved as JSON (one result per line)
+ * so runs can be compared; {@code --compare} prints the change against an
+ * earlier file.</p>
+ *
+ * <pre>
+ * java -cp "bin:lib/*" benchmarks.BenchmarkRunner [--filter regex] [--warmup 3] [--iterations 5]
+ *      [--time 1000] [--costs 10,12] [--no-db] [--out file.json] [--compare baseline.json]
+ * </pre>
+ */
+public final class BenchmarkRunner {
+    private static final long MIN_BATCH_NANOS = 100_000;
+    private static final Pattern RESULT_LINE = Pattern.compile(
+            "\"benchmark\":\"([^\"]*)\",\"params\":\"([^\"]*)\",.*?\"score\":([0-9.Ee+-]+)");
+
+    /** Receives every result so the JIT cannot discard the measured work. */
+    private static volatile Object blackhole;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+
+    /**
+     * Creates a runner.
+     *
+     * @param warmupIterations unmeasured iterations before measuring
+     * @param measurementIterations measured iterations
+     * @param iterationMillis length of each iteration
+     */
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000;
+    }
+
+    /**
+     * Run the benchmarks selected on the command line.
+     *
+     * @param args command line options, see the class description
+     * @throws IOException if the results cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        Pattern filter = Pattern.compile(options.getOrDefault("filter", ".*"));
+        BenchmarkRunner runner = new BenchmarkRunner(
+                Integer.parseInt(options.getOrDefault("warmup", "3")),
+                Integer.parseInt(options.getOrDefault("iterations", "5")),
+                Long.parseLong(options.getOrDefault("time", "1000")));
+
+        List<Benchmark> benchmarks = new ArrayList<>();
+        benchmarks.addAll(PasswordBenchmarks.create(parseCosts(options.getOrDefault("costs", "10,12"))));
+        benchmarks.addAll(RowMappingBenchmarks.create());
+        benchmarks.addAll(InMemoryServiceBenchmarks.create());
+        if (options.containsKey("no-db")) {
+            System.out.println("Skipping database benchmarks (--no-db)");
+        } else if (DatabaseBenchmarks.databaseAvailable()) {
+            benchmarks.addAll(DatabaseBenchmarks.create());
+        } else {
+            System.out.println("Database not reachable; skipping database benchmarks");
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Benchmark benchmark : benchmarks) {
+            if (filter.matcher(benchmark.id()).find()) {
+                Result result = runner.run(benchmark);
+                System.out.println(result.format());
+                results.add(result);
+            }
+        }
+
+        Path out = Path.of(options.getOrDefault("out", "benchmark-results/"
+                + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(Instant.now())
+                + ".json"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, runner.toJson(results), StandardCharsets.UTF_8);
+        System.out.println("Results written to " + out.toAbsolutePath());
+
+        if (options.containsKey("compare")) {
+            compare(Path.of(options.get("compare")), results);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Set up, warm up, measure and tear down one benchmark. A failure is
+     * reported in the result instead of stopping the run.
+     *
+     * @param benchmark the benchmark
+     * @return its result
+     */
+    public Result run(Benchmark benchmark) {
+        Benchmark.Operation operation = benchmark.operation();
+        try {
+            operation.setUp();
+            try {
+                for (int i = 0; i < warmupIterations; i++) {
+                    iteration(operation);
+                }
+                double[] nanosPerOp = new double[measurementIterations];
+                for (int i = 0; i < measurementIterations; i++) {
+                    nanosPerOp[i] = iteration(operation);
+                }
+                return Result.of(benchmark, nanosPerOp);
+            } finally {
+                operation.tearDown();
+            }
+        } catch (Exception e) {
+            return Result.failed(benchmark, e.toString());
+        }
+    }
+
+    /**
+     * Runs the operation for one iteration and returns the average nanoseconds per operation.
+     */
+    private double iteration(Benchmark.Operation operation) throws Exception {
+        long ops = 0;
+        long batch = 1;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            long batchStart = System.nanoTime();
+            for (long i = 0; i < batch; i++) {
+                blackhole = operation.run();
+            }
+            long batchEnd = System.nanoTime();
+            ops += batch;
+            if (batchEnd - batchStart < MIN_BATCH_NANOS) {
+                batch *= 2;
+            }
+            elapsed = batchEnd - start;
+        } while (elapsed < iterationNanos);
+        return (double) elapsed / ops;
+    }
+
+    private String toJson(List<Result> results) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"timestamp\":\"").append(Instant.now()).append("\",\n");
+        json.append("  \"java\":\"").append(escape(System.getProperty("java.version"))).append("\",\n");
+        json.append("  \"vm\":\"").append(escape(System.getProperty("java.vm.name"))).append("\",\n");
+        json.append("  \"os\":\"").append(escape(System.getProperty("os.name") + " " + System.getProperty("os.arch")))
+                .append("\",\n");
+        json.append("  \"cpus\":").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"warmupIterations\":").append(warmupIterations).append(",\n");
+        json.append("  \"measurementIterations\":").append(measurementIterations).append(",\n");
+        json.append("  \"iterationMillis\":").append(iterationNanos / 1_000_000).append(",\n");
+        json.append("  \"results\":[\n");
+        for (int i = 0; i < results.size(); i++) {
+            json.append("    ").append(results.get(i).toJson()).append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        json.append("  ]\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Prints the change in score against an earlier results file.
+     */
+    private static void compare(Path baselineFile, List<Result> results) throws IOException {
+        Map<String, Double> baseline = new HashMap<>();
+        for (String line : Files.readAllLines(baselineFile, StandardCharsets.UTF_8)) {
+            Matcher matcher = RESULT_LINE.matcher(line);
+            if (matcher.find()) {
+                String id = matcher.group(2).isEmpty() ? matcher.group(1) : matcher.group(1) + "[" + matcher.group(2) + "]";
+                baseline.put(id, Double.parseDouble(matcher.group(3)));
+            }
+        }
+        System.out.println("\nChange against " + baselineFile + " (negative is faster):");
+        for (Result result : results) {
+            Double before = baseline.get(result.benchmark().id());
+            if (before != null && result.error() == null && before > 0) {
+                System.out.printf(Locale.ROOT, "  %-60s %+7.1f%%%n", result.benchmark().id(),
+                        (result.score() - before) / before * 100);
+            }
+        }
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String key = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(key, args[++i]);
+            } else {
+                options.put(key, "");
+            }
+        }
+        return options;
+    }
+
+    private static int[] parseCosts(String costs) {
+        String[] parts = costs.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+        }
+        return result;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Outcome of one benchmark; times are in nanoseconds per operation.
+     *
+     * @param benchmark the benchmark
+     * @param score mean time per operation
+     * @param scoreError standard deviation across iterations
+     * @param min fastest iteration
+     * @param max slowest iteration
+     * @param iterations time per operation of each measured iteration
+     * @param error failure message, or null if the benchmark ran
+     */
+    public record Result(Benchmark benchmark, double score, double scoreError, double min, double max,
+            double[] iterations, String error) {
+
+        static Result of(Benchmark benchmark, double[] iterations) {
+            double sum = 0;
+            double min = Double.MAX_VALUE;
+            double max = 0;
+            for (double value : iterations) {
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            double mean = sum / iterations.length;
+            double squares = 0;
+            for (double value : iterations) {
+                squares += (value - mean) * (value - mean);
+            }
+            double stddev = iterations.length > 1 ? Math.sqrt(squares / (iterations.length - 1)) : 0;
+            return new Result(benchmark, mean, stddev, min, max, iterations, null);
+        }
+
+        static Result failed(Benchmark benchmark, String error) {
+            return new Result(benchmark, 0, 0, 0, 0, new double[0], error);
+        }
+
+        /**
+         * Get the throughput implied by the score.
+         *
+         * @return operations per second
+         */
+        public double opsPerSecond() {
+            return score > 0 ? 1e9 / score : 0;
+        }
+
+        String format() {
+            if (error != null) {
+                return String.format(Locale.ROOT, "%-60s FAILED: %s", benchmark.id(), error);
+            }
+            return String.format(Locale.ROOT, "%-60s %14.1f +- %9.1f ns/op %14.1f ops/s",
+                    benchmark.id(), score, scoreError, opsPerSecond());
+        }
+
+        String toJson() {
+            StringBuilder json = new StringBuilder();
+            json.append("{\"benchmark\":\"").append(escape(benchmark.name()))
+                    .append("\",\"params\":\"").append(escape(benchmark.params())).append('"');
+            if (error != null) {
+                json.append(",\"error\":\"").append(escape(error)).append("\"}");
+                return json.toString();
+            }
+            json.append(",\"mode\":\"avgt\",\"unit\":\"ns/op\"")
+                    .append(",\"score\":").append(String.format(Locale.ROOT, "%.3f", score))
+                    .append(",\"scoreError\":").append(String.format(Locale.ROOT, "%.3f", scoreError))
+                    .append(",\"min\":").append(String.format(Locale.ROOT, "%.3f", min))
+                    .append(",\"max\":").append(String.format(Locale.ROOT, "%.3f", max))
+                    .append(",\"opsPerSecond\":").append(String.format(Locale.ROOT, "%.3f", opsPerSecond()))
+                    .append(",\"iterations\":[");
+            for (int i = 0; i < iterations.length; i++) {
+                json.append(i > 0 ? "," : "").append(String.format(Locale.ROOT, "%.3f", iterations[i]));
+            }
+            json.append("]}");
+            return json.toString();
+        }
+    }
+}
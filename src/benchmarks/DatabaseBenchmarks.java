@@ -0,0 +1,99 @@
+package benchmarks;
+
+import dao.GymMerchDAO;
+import dao.JdbcGymMerchDAO;
+import dao.JdbcMemberDAO;
+import dao.JdbcMembershipDAO;
+import dao.MemberDAO;
+import dao.MembershipDAO;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import models.Member;
+import models.Membership;
+import services.GymMerchService;
+import services.MembershipService;
+import utils.DatabaseConnection;
+
+/**
+ * DatabaseBenchmarks
+ * Service aggregations and DAO round trips against the database configured
+ * in .env. Meant for a local PostgreSQL with representative data; the CRUD
+ * benchmark creates its own member and deletes it afterwards.
+ */
+final class DatabaseBenchmarks {
+
+    private DatabaseBenchmarks() {
+        // Utility class
+    }
+
+    /**
+     * Check whether the configured database can be reached.
+     *
+     * @return true if a pooled connection is valid
+     */
+    static boolean databaseAvailable() {
+        try (Connection conn = DatabaseConnection.getcon()) {
+            return conn.isValid(2);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Build the database benchmarks.
+     *
+     * @return the benchmarks
+     */
+    static List<Benchmark> create() {
+        List<Benchmark> benchmarks = new ArrayList<>();
+        MembershipDAO membershipDAO = new JdbcMembershipDAO();
+        GymMerchDAO gymMerchDAO = new JdbcGymMerchDAO();
+        MembershipService membershipService = new MembershipService(membershipDAO);
+        GymMerchService gymMerchService = new GymMerchService(gymMerchDAO);
+
+        benchmarks.add(new Benchmark("MembershipService.viewTotalRevenue", "",
+                membershipService::viewTotalRevenue));
+        benchmarks.add(new Benchmark("MembershipService.viewRevenueByMembershipType", "",
+                membershipService::viewRevenueByMembershipType));
+        benchmarks.add(new Benchmark("GymMerchService.calculateTotalStockValue", "",
+                gymMerchService::calculateTotalStockValue));
+        benchmarks.add(new Benchmark("GymMerchDAO.getAllGymMerch", "", gymMerchDAO::getAllGymMerch));
+        benchmarks.add(new Benchmark("MembershipDAO.getMembershipsPage", "size=20",
+                () -> membershipDAO.getMembershipsPage(0, 20)));
+
+        benchmarks.add(new Benchmark("MembershipDAO.crudRoundTrip", "", new Benchmark.Operation() {
+            private final MemberDAO memberDAO = new JdbcMemberDAO();
+            private Member member;
+
+            @Override
+            public void setUp() {
+                String stamp = String.valueOf(System.nanoTime());
+                member = new Member(0, "bench_" + stamp, "not-a-real-hash", "bench_" + stamp + "@bench.local",
+                        "000", "1 Benchmark Rd");
+                if (!memberDAO.createMember(member)) {
+                    throw new IllegalStateException("Could not create benchmark member");
+                }
+            }
+
+            @Override
+            public Object run() {
+                Membership membership = new Membership(0, "Bench", "Benchmark membership", 1.0, member.getUserId());
+                membershipDAO.createMembership(membership);
+                Membership loaded = membershipDAO.getMembershipById(membership.getMembershipID());
+                membership.setMembershipCost(2.0);
+                membershipDAO.updateMembership(membership);
+                membershipDAO.getMembershipsByMemberId(member.getUserId());
+                membershipDAO.deleteMembership(membership.getMembershipID());
+                return loaded;
+            }
+
+            @Override
+            public void tearDown() {
+                // Memberships cascade with the member
+                memberDAO.deleteMember(member.getUserId());
+            }
+        }));
+        return benchmarks;
+    }
+}
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import dao.memory.InMemoryDatabase;
+import java.util.ArrayList;
+import java.util.List;
+import models.GymMerch;
+import models.Member;
+import models.Membership;
+import models.MembershipPlan;
+import services.GymMerchService;
+import services.MembershipPlanCatalog;
+import services.MembershipService;
+import services.UserService;
+
+/**
+ * InMemoryServiceBenchmarks
+ * The service methods measured by {@link DatabaseBenchmarks}, run over the
+ * in-memory DAOs so only the service layer (logging, metrics, catalog and
+ * aggregation code) is measured, with no network or database time.
+ */
+final class InMemoryServiceBenchmarks {
+    private static final int MEMBERS = 1_000;
+    private static final int MEMBERSHIPS_PER_MEMBER = 5;
+    private static final int MERCH = 500;
+
+    private InMemoryServiceBenchmarks() {
+        // Utility class
+    }
+
+    /**
+     * Build the in-memory service benchmarks over one populated database.
+     *
+     * @return the benchmarks
+     */
+    static List<Benchmark> create() {
+        InMemoryDatabase db = new InMemoryDatabase();
+        UserService userService = new UserService(db.userDAO(), db.adminDAO(), db.memberDAO(), db.trainerDAO(),
+                db.workoutClassDAO(), db.unitOfWorkRunner());
+        MembershipService membershipService = new MembershipService(db.membershipDAO(),
+                new MembershipPlanCatalog(db.membershipPlanDAO()), db.unitOfWorkRunner());
+        GymMerchService gymMerchService = new GymMerchService(db.gymMerchDAO());
+
+        List<MembershipPlan> plans = db.membershipPlanDAO().getAllPlans();
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = new Member(0, "bench_" + i, "not-a-real-hash", "bench_" + i + "@bench.local",
+                    "000", "1 Benchmark Rd");
+            db.memberDAO().createMember(member);
+            for (int j = 0; j < MEMBERSHIPS_PER_MEMBER; j++) {
+                MembershipPlan plan = plans.get((i + j) % plans.size());
+                db.membershipDAO().createMembership(new Membership(0, plan.getPlanType(), plan.getPlanDescription(),
+                        plan.getPlanPrice(), member.getUserId()));
+            }
+        }
+        for (int i = 0; i < MERCH; i++) {
+            db.gymMerchDAO().addGymMerch(new GymMerch(0, "Item " + i, i % 2 == 0 ? "Apparel" : "Supplements",
+                    5 + i % 50, i % 100));
+        }
+
+        String params = "dao=memory";
+        List<Benchmark> benchmarks = new ArrayList<>();
+        benchmarks.add(new Benchmark("MembershipService.viewTotalRevenue", params,
+                membershipService::viewTotalRevenue));
+        benchmarks.add(new Benchmark("MembershipService.viewRevenueByMembershipType", params,
+                membershipService::viewRevenueByMembershipType));
+        benchmarks.add(new Benchmark("MembershipService.calculateMemberExpenses", params,
+                () -> membershipService.calculateMemberExpenses(MEMBERS / 2)));
+        benchmarks.add(new Benchmark("MembershipService.getAvailablePlans", params,
+                membershipService::getAvailablePlans));
+        benchmarks.add(new Benchmark("GymMerchService.calculateTotalStockValue", params,
+                gymMerchService::calculateTotalStockValue));
+        benchmarks.add(new Benchmark("UserService.getUsersPage", params + ",size=20",
+                () -> userService.getUsersPage("Member", MEMBERS / 2, 20)));
+        return benchmarks;
+    }
+}
@@ -0,0 +1,456 @@
+package benchmarks;
+
+import dao.BulkImportDAO;
+import dao.GymMerchDAO;
+import dao.JdbcGymMerchDAO;
+import dao.JdbcMembershipDAO;
+import dao.JdbcUserDAO;
+import dao.JdbcWorkoutClassDAO;
+import dao.MembershipDAO;
+import dao.Page;
+import dao.TimedDAO;
+import dao.UserDAO;
+import dao.WorkoutClassDAO;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import models.GymMerch;
+import models.Membership;
+import models.MembershipPlan;
+import models.User;
+import models.WorkoutClass;
+import services.GymMerchService;
+import services.LoginThrottledException;
+import services.MembershipService;
+import services.UserService;
+import services.WorkoutClassService;
+import utils.DatabaseConnection;
+import utils.LatencyHistogram;
+import utils.PasswordUtil;
+import utils.TokenBucketRateLimiter;
+import utils.VirtualThreads;
+
+/**
+ * LoadGenerator
+ * Simulates a busy gym against the database configured in .env, for sizing
+ * hardware and the connection pool.
+ *
+ * <p>The seed phase loads members, trainers, memberships, workout classes
+ * and merchandise through the DAO layer (COPY for the large tables). Seeded
+ * users are named {@code load_<role>_<run>_<n>} and all share the password
+ * given by {@code --password}, so later runs can log in as them.</p>
+ *
+ * <p>The drive phase runs {@code --clients} concurrent simulated clients
+ * against UserService, MembershipService, WorkoutClassService and
+ * GymMerchService for {@code --duration} seconds. Each request picks an
+ * operation from the weighted {@code --mix}; {@code --rate} caps the total
+ * request rate (0 = as fast as the clients can go). Each client runs on a
+ * virtual thread when the JVM provides them (Java 21+) and on a fixed pool
+ * of platform threads otherwise. Throughput and latency percentiles are
+ * reported per operation.</p>
+ *
+ * <pre>
+ * java -cp "bin:lib/*" benchmarks.LoadGenerator [--seed-members 0] [--seed-trainers 0] [--seed-classes 0]
+ *      [--seed-merch 0] [--memberships-per-member 1] [--clients 200] [--duration 60] [--rate 0]
+ *      [--mix login=10,listPlans=20,...] [--password loadtest]
+ * </pre>
+ */
+public final class LoadGenerator {
+    private static final String DEFAULT_MIX = "login=10,listPlans=20,purchase=5,memberExpenses=15,"
+            + "trainerClasses=15,merchPage=15,stockValue=5,revenue=5,usersPage=10";
+    private static final int COPY_CHUNK = 5_000;
+    private static final int PAGE_SIZE = 1_000;
+    private static final String[] CLASS_TYPES = { "Spin", "Yoga", "HIIT", "Pilates", "Boxing", "Strength", "Zumba" };
+    private static final String[] MERCH_TYPES = { "Apparel", "Accessories", "Supplements", "Equipment" };
+
+    private final UserService userService = new UserService(TimedDAO.wrap(UserDAO.class, new JdbcUserDAO()));
+    private final MembershipService membershipService = new MembershipService(
+            TimedDAO.wrap(MembershipDAO.class, new JdbcMembershipDAO()));
+    private final WorkoutClassService workoutClassService = new WorkoutClassService(
+            TimedDAO.wrap(WorkoutClassDAO.class, new JdbcWorkoutClassDAO()));
+    private final GymMerchService gymMerchService = new GymMerchService(
+            TimedDAO.wrap(GymMerchDAO.class, new JdbcGymMerchDAO()));
+
+    private final String password;
+    private int[] memberIds = new int[0];
+    private int[] trainerIds = new int[0];
+    private List<String> loginNames = List.of();
+    private List<MembershipPlan> plans = List.of();
+
+    /**
+     * Creates a load generator.
+     *
+     * @param password password of the seeded users, used by the login operation
+     */
+    public LoadGenerator(String password) {
+        this.password = password;
+    }
+
+    /**
+     * Seed and drive the database as selected on the command line.
+     *
+     * @param args command line options, see the class description
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = BenchmarkRunner.parseOptions(args);
+        if (!DatabaseBenchmarks.databaseAvailable()) {
+            System.out.println("Database not reachable; check the settings in .env");
+            System.exit(1);
+        }
+        PasswordUtil.calibrateFromConfig();
+        LoadGenerator generator = new LoadGenerator(options.getOrDefault("password", "loadtest"));
+        generator.seed(intOption(options, "seed-members", 0), intOption(options, "seed-trainers", 0),
+                intOption(options, "seed-classes", 0), intOption(options, "seed-merch", 0),
+                intOption(options, "memberships-per-member", 1));
+        generator.loadPopulation();
+
+        int duration = intOption(options, "duration", 60);
+        if (duration > 0) {
+            Map<String, OperationStats> stats = generator.drive(parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                    intOption(options, "clients", 200), duration, Double.parseDouble(options.getOrDefault("rate", "0")));
+            printReport(stats, duration);
+            System.out.println(DatabaseConnection.getPoolStats());
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Load synthetic data. Members and trainers are loaded first so the
+     * memberships and classes can refer to them.
+     *
+     * @param members members to create
+     * @param trainers trainers to create
+     * @param classes workout classes to create, spread over all trainers
+     * @param merch merchandise items to create
+     * @param membershipsPerMember memberships per new member, spread over all members
+     */
+    public void seed(int members, int trainers, int classes, int merch, int membershipsPerMember) {
+        if (members + trainers + classes + merch == 0) {
+            return;
+        }
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        String hash = PasswordUtil.hashPassword(password);
+        BulkImportDAO bulkImportDAO = new BulkImportDAO();
+        BulkImportDAO.Listener listener = new BulkImportDAO.Listener() {
+        };
+
+        long start = System.nanoTime();
+        List<User> users = new ArrayList<>(members + trainers);
+        for (int i = 0; i < members; i++) {
+            users.add(syntheticUser("m", run, i, hash, "Member"));
+        }
+        for (int i = 0; i < trainers; i++) {
+            users.add(syntheticUser("t", run, i, hash, "Trainer"));
+        }
+        int loadedUsers = bulkImportDAO.copyUsers(users, COPY_CHUNK, listener);
+        System.out.printf(Locale.ROOT, "Seeded %d users in %.1f s%n", loadedUsers, seconds(start));
+
+        loadPopulation();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (members > 0 && membershipsPerMember > 0 && memberIds.length > 0 && !plans.isEmpty()) {
+            start = System.nanoTime();
+            List<Membership> memberships = new ArrayList<>(members * membershipsPerMember);
+            for (int i = 0; i < members * membershipsPerMember; i++) {
+                MembershipPlan plan = plans.get(random.nextInt(plans.size()));
+                memberships.add(new Membership(0, plan.getPlanType(), plan.getPlanDescription(),
+                        plan.getPlanPrice(), memberIds[random.nextInt(memberIds.length)]));
+            }
+            int loaded = bulkImportDAO.copyMemberships(memberships, COPY_CHUNK, listener);
+            System.out.printf(Locale.ROOT, "Seeded %d memberships in %.1f s%n", loaded, seconds(start));
+        }
+
+        WorkoutClassDAO workoutClassDAO = new JdbcWorkoutClassDAO();
+        GymMerchDAO gymMerchDAO = new JdbcGymMerchDAO();
+        AtomicInteger created = new AtomicInteger();
+        start = System.nanoTime();
+        try (Parallel parallel = new Parallel(DatabaseConnection.getPoolStats().maxSize())) {
+            for (int i = 0; i < classes && trainerIds.length > 0; i++) {
+                int n = i;
+                parallel.submit(() -> {
+                    String type = CLASS_TYPES[n % CLASS_TYPES.length];
+                    int trainerId = trainerIds[ThreadLocalRandom.current().nextInt(trainerIds.length)];
+                    if (workoutClassDAO.createWorkoutClass(new WorkoutClass(0, type,
+                            type + " session " + run + "-" + n, trainerId))) {
+                        created.incrementAndGet();
+                    }
+                });
+            }
+            for (int i = 0; i < merch; i++) {
+                int n = i;
+                parallel.submit(() -> {
+                    ThreadLocalRandom r = ThreadLocalRandom.current();
+                    if (gymMerchDAO.addGymMerch(new GymMerch(0, "Load item " + run + "-" + n,
+                            MERCH_TYPES[n % MERCH_TYPES.length], 5 + r.nextInt(9_500) / 100.0, r.nextInt(500)))) {
+                        created.incrementAndGet();
+                    }
+                });
+            }
+        }
+        if (classes + merch > 0) {
+            System.out.printf(Locale.ROOT, "Seeded %d classes and merchandise items in %.1f s%n",
+                    created.get(), seconds(start));
+        }
+    }
+
+    /**
+     * Read the member and trainer IDs, the seeded user names and the
+     * membership plans that the operations pick from.
+     */
+    public void loadPopulation() {
+        List<Integer> members = new ArrayList<>();
+        List<Integer> trainers = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        UserDAO userDAO = new JdbcUserDAO();
+        int after = 0;
+        Page<User> page;
+        do {
+            page = userDAO.getUsersPage(null, after, PAGE_SIZE);
+            for (User user : page.getItems()) {
+                if ("Member".equals(user.getUserRole())) {
+                    members.add(user.getUserId());
+                } else if ("Trainer".equals(user.getUserRole())) {
+                    trainers.add(user.getUserId());
+                }
+                if (user.getUserName().startsWith("load_")) {
+                    names.add(user.getUserName());
+                }
+            }
+            after = page.getNextKey();
+        } while (page.hasMore());
+
+        memberIds = members.stream().mapToInt(Integer::intValue).toArray();
+        trainerIds = trainers.stream().mapToInt(Integer::intValue).toArray();
+        loginNames = names;
+        plans = membershipService.getAvailablePlans();
+        System.out.printf(Locale.ROOT, "Population: %d members, %d trainers, %d seeded logins, %d plans%n",
+                memberIds.length, trainerIds.length, loginNames.size(), plans.size());
+    }
+
+    /**
+     * Run the clients until the duration has passed.
+     *
+     * @param mix operation name to relative weight
+     * @param clients number of concurrent clients
+     * @param durationSeconds how long to run
+     * @param ratePerSecond total requests per second across all clients, or 0 for no limit
+     * @return statistics per operation, in mix order
+     */
+    public Map<String, OperationStats> drive(Map<String, Integer> mix, int clients, int durationSeconds,
+            double ratePerSecond) {
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        List<Operation> operations = new ArrayList<>();
+        int totalWeight = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            Operation operation = operation(entry.getKey());
+            if (entry.getValue() > 0) {
+                operations.add(operation);
+                stats.put(entry.getKey(), new OperationStats());
+                totalWeight += entry.getValue();
+            }
+        }
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("The operation mix has no positive weights");
+        }
+        String[] names = stats.keySet().toArray(new String[0]);
+        int[] cumulative = new int[names.length];
+        int sum = 0;
+        for (int i = 0; i < names.length; i++) {
+            sum += mix.get(names[i]);
+            cumulative[i] = sum;
+        }
+        int weights = totalWeight;
+        TokenBucketRateLimiter limiter = ratePerSecond > 0
+                ? new TokenBucketRateLimiter((int) Math.max(1, ratePerSecond / 10), ratePerSecond, 1)
+                : null;
+
+        System.out.printf(Locale.ROOT, "Driving %d clients for %d s (%s)%n", clients, durationSeconds,
+                ratePerSecond > 0 ? ratePerSecond + " requests/s" : "no rate limit");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        try (Parallel parallel = new Parallel(clients)) {
+            for (int c = 0; c < clients; c++) {
+                parallel.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        if (limiter != null && !limiter.tryAcquire("global")) {
+                            sleepQuietly(1);
+                            continue;
+                        }
+                        int pick = random.nextInt(weights);
+                        int index = 0;
+                        while (cumulative[index] <= pick) {
+                            index++;
+                        }
+                        run(operations.get(index), stats.get(names[index]));
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private static void run(Operation operation, OperationStats stats) {
+        long start = System.nanoTime();
+        try {
+            boolean ok = operation.run();
+            stats.latency.record(System.nanoTime() - start);
+            if (!ok) {
+                stats.errors.increment();
+            }
+        } catch (LoginThrottledException e) {
+            stats.throttled.increment();
+        } catch (Exception e) {
+            stats.latency.record(System.nanoTime() - start);
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Maps an operation name from the mix to the service call it makes.
+     * Calls that report failure by returning null or an empty result count
+     * as errors.
+     */
+    private Operation operation(String name) {
+        return switch (name) {
+            case "login" -> () -> {
+                if (loginNames.isEmpty()) {
+                    return false;
+                }
+                String userName = loginNames.get(ThreadLocalRandom.current().nextInt(loginNames.size()));
+                return userService.login(userName, password, "load-" + userName) != null;
+            };
+            case "listPlans" -> () -> !membershipService.getAvailablePlans().isEmpty();
+            case "purchase" -> () -> {
+                if (plans.isEmpty() || memberIds.length == 0) {
+                    return false;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                return membershipService.purchasePlan(plans.get(random.nextInt(plans.size())).getPlanId(),
+                        memberIds[random.nextInt(memberIds.length)]) != null;
+            };
+            case "memberExpenses" -> () -> memberIds.length > 0 && membershipService.calculateMemberExpenses(
+                    memberIds[ThreadLocalRandom.current().nextInt(memberIds.length)]) >= 0;
+            case "trainerClasses" -> () -> trainerIds.length > 0 && workoutClassService.getWorkoutClassesByTrainerId(
+                    trainerIds[ThreadLocalRandom.current().nextInt(trainerIds.length)]) != null;
+            case "merchPage" -> () -> gymMerchService.getMerchPage(0, 20) != null;
+            case "stockValue" -> () -> gymMerchService.calculateTotalStockValue() >= 0;
+            case "revenue" -> () -> membershipService.viewTotalRevenue() >= 0;
+            case "usersPage" -> () -> {
+                int after = memberIds.length == 0 ? 0 : memberIds[ThreadLocalRandom.current().nextInt(memberIds.length)];
+                return userService.getUsersPage("Member", after, 20) != null;
+            };
+            default -> throw new IllegalArgumentException("Unknown operation in mix: " + name);
+        };
+    }
+
+    private static void printReport(Map<String, OperationStats> stats, int durationSeconds) {
+        System.out.printf(Locale.ROOT, "%n%-16s %10s %8s %9s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "throttled", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, OperationStats> entry : stats.entrySet()) {
+            OperationStats s = entry.getValue();
+            LatencyHistogram.Snapshot latency = s.latency.snapshot();
+            total += latency.count();
+            System.out.printf(Locale.ROOT, "%-16s %10d %8d %9d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), latency.count(), s.errors.sum(), s.throttled.sum(),
+                    (double) latency.count() / durationSeconds, millis(latency.p50Nanos()),
+                    millis(latency.p95Nanos()), millis(latency.p99Nanos()), millis(latency.maxNanos()));
+        }
+        System.out.printf(Locale.ROOT, "%-16s %10d %29.1f%n", "total", total, (double) total / durationSeconds);
+    }
+
+    private static User syntheticUser(String role, String run, int n, String hash, String userRole) {
+        String userName = "load_" + role + "_" + run + "_" + n;
+        return new User(0, userName, hash, userName + "@load.test",
+                String.format(Locale.ROOT, "709-555-%04d", n % 10_000), (n % 400 + 1) + " Water St", userRole);
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected name=weight in mix: " + part);
+            }
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** One request against a service; returns false if the service reported a failure. */
+    @FunctionalInterface
+    private interface Operation {
+        boolean run() throws Exception;
+    }
+
+    /** Latency and outcome counters of one operation. */
+    static final class OperationStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+    }
+
+    /**
+     * Runs tasks on virtual threads when available and on a fixed pool of
+     * daemon platform threads otherwise; closing it waits for every task.
+     * If the waiting thread is interrupted, the remaining tasks are
+     * cancelled and the interrupt flag is kept set.
+     */
+    private static final class Parallel implements AutoCloseable {
+        private final ExecutorService executor;
+        private final List<Future<?>> tasks = new ArrayList<>();
+
+        Parallel(int platformThreads) {
+            this.executor = VirtualThreads.newExecutor("load-client", platformThreads);
+        }
+
+        void submit(Runnable task) {
+            tasks.add(executor.submit(task));
+        }
+
+        @Override
+        public void close() {
+            executor.shutdown();
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
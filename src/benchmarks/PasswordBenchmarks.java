@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import utils.PasswordUtil;
+
+/**
+ * PasswordBenchmarks
+ * bcrypt hashing and verification through {@link PasswordUtil} at several
+ * costs (BENCH_BCRYPT_COSTS, default "10,12").
+ */
+final class PasswordBenchmarks {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private PasswordBenchmarks() {
+        // Utility class
+    }
+
+    /**
+     * Build the password benchmarks.
+     *
+     * @param costs bcrypt costs to measure
+     * @return hash and verify benchmarks per cost
+     */
+    static List<Benchmark> create(int[] costs) {
+        List<Benchmark> benchmarks = new ArrayList<>();
+        for (int cost : costs) {
+            benchmarks.add(new Benchmark("PasswordUtil.hashPassword", "cost=" + cost, new Benchmark.Operation() {
+                private int previous;
+
+                @Override
+                public void setUp() {
+                    previous = PasswordUtil.getWorkload();
+                    PasswordUtil.setWorkload(cost);
+                }
+
+                @Override
+                public Object run() {
+                    return PasswordUtil.hashPassword(PASSWORD);
+                }
+
+                @Override
+                public void tearDown() {
+                    PasswordUtil.setWorkload(previous);
+                }
+            }));
+
+            benchmarks.add(new Benchmark("PasswordUtil.verifyPassword", "cost=" + cost, new Benchmark.Operation() {
+                private String hash;
+
+                @Override
+                public void setUp() {
+                    int previous = PasswordUtil.getWorkload();
+                    PasswordUtil.setWorkload(cost);
+                    hash = PasswordUtil.hashPassword(PASSWORD);
+                    PasswordUtil.setWorkload(previous);
+                }
+
+                @Override
+                public Object run() {
+                    return PasswordUtil.verifyPassword(PASSWORD, hash);
+                }
+            }));
+        }
+        return benchmarks;
+    }
+}
@@ -0,0 +1,87 @@
+package benchmarks;
+
+import dao.JdbcAdminDAO;
+import dao.JdbcGymMerchDAO;
+import dao.JdbcMemberDAO;
+import dao.JdbcMembershipDAO;
+import dao.JdbcTrainerDAO;
+import dao.JdbcUserDAO;
+import dao.JdbcWorkoutClassDAO;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RowMappingBenchmarks
+ * The ResultSet-to-model mapping of each DAO, run against an in-memory row
+ * ({@link StubResultSet}, whose getters are plain array reads) so that
+ * almost all of the measured time is the mapping itself. The mappers are private, so they
+ * are called through a method handle, which costs the same as a direct call
+ * once compiled.
+ */
+final class RowMappingBenchmarks {
+    private static final Map<String, Object> USER_ROW = Map.of(
+            "userId", 42, "userName", "jane.doe", "passwordHash", "$2a$12$abcdefghijklmnopqrstuv",
+            "email", "jane.doe@example.com", "userPhoneNumber", "709-555-0142",
+            "userAddress", "12 Water St, St. John's", "userRole", "Member");
+
+    private RowMappingBenchmarks() {
+        // Utility class
+    }
+
+    /**
+     * Build one mapping benchmark per DAO.
+     *
+     * @return the benchmarks
+     */
+    static List<Benchmark> create() {
+        List<Benchmark> benchmarks = new ArrayList<>();
+        benchmarks.add(mapping(new JdbcUserDAO(), "mapResultSetToUser", USER_ROW));
+        benchmarks.add(mapping(new JdbcAdminDAO(), "mapResultSetToAdmin", USER_ROW));
+        benchmarks.add(mapping(new JdbcTrainerDAO(), "mapResultSetToTrainer", USER_ROW));
+        benchmarks.add(mapping(new JdbcMemberDAO(), "mapResultSetToMember", USER_ROW));
+        benchmarks.add(mapping(new JdbcMembershipDAO(), "mapResultSetToMembership", Map.of(
+                "membershipID", 1001, "membershipType", "Premium",
+                "membershipDescription", "All-access: gym, classes, and premium amenities.",
+                "membershipCost", 69.99, "memberID", 42)));
+        benchmarks.add(mapping(new JdbcWorkoutClassDAO(), "mapResultSetToWorkoutClass", Map.of(
+                "workoutClassID", 7, "workoutClassType", "Spin",
+                "workoutClassDescription", "45 minute interval ride", "trainerID", 3)));
+        benchmarks.add(mapping(new JdbcGymMerchDAO(), "mapResultSetToGymMerch", Map.of(
+                "merchID", 5, "merchName", "Shaker Bottle", "merchType", "Accessories",
+                "merchPrice", 12.5, "quantityInStock", 140)));
+        return benchmarks;
+    }
+
+    private static Benchmark mapping(Object dao, String mapperName, Map<String, Object> row) {
+        // Named after the DAO interface so results stay comparable with earlier runs
+        String name = dao.getClass().getSimpleName().replaceFirst("^Jdbc", "") + "." + mapperName;
+        return new Benchmark(name, "", new Benchmark.Operation() {
+            private MethodHandle mapper;
+            private ResultSet rs;
+
+            @Override
+            public void setUp() throws Exception {
+                Method method = dao.getClass().getDeclaredMethod(mapperName, ResultSet.class);
+                method.setAccessible(true);
+                mapper = MethodHandles.lookup().unreflect(method).bindTo(dao);
+                rs = new StubResultSet(row);
+            }
+
+            @Override
+            public Object run() throws Exception {
+                try {
+                    return mapper.invoke(rs);
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            }
+        });
+    }
+}
@@ -1,29 +1,19 @@
 package dao;
 
-import java.sql.*;
-import java.util.ArrayList;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.stream.Stream;
 import models.Admin;
-import utils.DatabaseConnection;
 
 /**
  * AdminDAO
- * Data Access Object (DAO) class for performing CRUD operations on Admin users.
- * Handles creation, retrieval, update, and deletion of Admin records in the
- * database.
- * 
- * Author: Brandon Maloney
- * Date: 2025-12-06
+ * Data access for Admin users: Users with userRole = 'Admin'.
+ *
+ * <p>{@link JdbcAdminDAO} stores the records in PostgreSQL;
+ * {@link dao.memory.InMemoryDatabase} provides an in-memory implementation
+ * for tests and benchmarks.</p>
  */
-public class AdminDAO {
-
-    /**
-     * Default constructor for AdminDAO.
-     * Initializes an instance of AdminDAO for performing CRUD operations.
-     */
-    public AdminDAO() {
-        // No initialization required for now
-    }
+public interface AdminDAO {
 
     /**
      * Creates a new admin in the database.
@@ -32,23 +22,7 @@ public class AdminDAO {
      * @param admin The Admin object to be inserted.
      * @return true if the admin was successfully created; false otherwise.
      */
-    public boolean createAdmin(Admin admin) {
-        String query = "INSERT INTO Users (userName, userAddress, userPhoneNumber, userRole, passwordHash, email) VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getcon();
-                PreparedStatement ps = conn.prepareStatement(query)) {
-
-            ps.setString(1, admin.getUserName());
-            ps.setString(2, admin.getUserAddress());
-            ps.setString(3, admin.getUserPhoneNumber());
-            ps.setString(4, admin.getUserRole());
-            ps.setString(5, admin.getPasswordHash());
-            ps.setString(6, admin.getEmail());
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean createAdmin(Admin admin);
 
     /**
      * Retrieves an admin by their unique user ID.
@@ -56,26 +30,7 @@ public class AdminDAO {
      * @param userId The ID of the admin to retrieve.
      * @return Admin object if found; null otherwise.
      */
-    public Admin getAdminById(int userId) {
-        String query = "SELECT * FROM Users WHERE userId = ? AND userRole = 'Admin'";
-        try (Connection conn = DatabaseConnection.getcon();
-                PreparedStatement ps = conn.prepareStatement(query)) {
-            ps.setInt(1, userId);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return new Admin(
-                        rs.getInt("userId"),
-                        rs.getString("userName"),
-                        rs.getString("passwordHash"),
-                        rs.getString("email"),
-                        rs.getString("userPhoneNumber"),
-                        rs.getString("userAddress"));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    Admin getAdminById(int userId);
 
     /**
      * Retrieves an admin by their email address.
@@ -84,52 +39,33 @@ public class AdminDAO {
      * @return Admin object if found; null otherwise.
      * @throws SQLException if a database access error occurs.
      */
-    public Admin getAdminByEmail(String email) throws SQLException {
-        String sql = "SELECT * FROM admins WHERE email = ?";
-        try (Connection conn = DatabaseConnection.getcon();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, email);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return new Admin(
-                        rs.getInt("userId"),
-                        rs.getString("userName"),
-                        rs.getString("passwordHash"),
-                        rs.getString("email"),
-                        rs.getString("userPhoneNumber"),
-                        rs.getString("userAddress"));
-            }
-        }
-        return null;
-    }
+    Admin getAdminByEmail(String email) throws SQLException;
 
     /**
      * Retrieves all admins from the database.
      *
      * @return List of Admin objects. Returns an empty list if none are found.
      */
-    public List<Admin> getAllAdmins() {
-        List<Admin> admins = new ArrayList<>();
-        String query = "SELECT * FROM Users WHERE userRole = 'Admin'";
-        try (Connection conn = DatabaseConnection.getcon();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(query)) {
-            while (rs.next()) {
-                admins.add(new Admin(
-                        rs.getInt("userId"),
-                        rs.getString("userName"),
-                        rs.getString("passwordHash"),
-                        rs.getString("email"),
-                        rs.getString("userPhoneNumber"),
-                        rs.getString("userAddress")));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return admins;
-    }
+    List<Admin> getAllAdmins();
+
+    /**
+     * Streams all admins without loading them into memory at once.
+     * The stream may hold a database connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;Admin&gt; rows = dao.streamAllAdmins()) { ... }</pre>
+     *
+     * @return a stream of Admin objects
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<Admin> streamAllAdmins();
+
+    /**
+     * Streams all admins using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of Admin objects; must be closed by the caller
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<Admin> streamAllAdmins(int fetchSize);
 
     /**
      * Updates an existing admin's information in the database.
@@ -138,23 +74,7 @@ public class AdminDAO {
      * @param admin The Admin object with updated information.
      * @return true if the update was successful; false otherwise.
      */
-    public boolean updateAdmin(Admin admin) {
-        String query = "UPDATE Users SET userName = ?, userAddress = ?, userPhoneNumber = ?, passwordHash = ?, email = ? WHERE userId = ?";
-        try (Connection conn = DatabaseConnection.getcon();
-                PreparedStatement ps = conn.prepareStatement(query)) {
-
-            ps.setString(1, admin.getUserName());
-            ps.setString(2, admin.getUserAddress());
-            ps.setString(3, admin.getUserPhoneNumber());
-            ps.setString(4, admin.getPasswordHash());
-            ps.setString(5, admin.getEmail());
-            ps.setInt(6, admin.getUserId());
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean updateAdmin(Admin admin);
 
     /**
      * Deletes an admin from the database by their user ID.
@@ -162,15 +82,5 @@ public class AdminDAO {
      * @param userId The ID of the admin to delete.
      * @return true if the admin was successfully deleted; false otherwise.
      */
-    public boolean deleteAdmin(int userId) {
-        String query = "DELETE FROM Users WHERE userId = ? AND userRole = 'Admin'";
-        try (Connection conn = DatabaseConnection.getcon();
-                PreparedStatement ps = conn.prepareStatement(query)) {
-            ps.setInt(1, userId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
-}
\ No newline at end of file
+    boolean deleteAdmin(int userId);
+}
@@ -0,0 +1,324 @@
+package dao;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.*;
+import java.util.List;
+import models.Membership;
+import models.User;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import utils.DatabaseConnection;
+
+/**
+ * BulkImportDAO
+ * Inserts large numbers of Users and Memberships in as few round trips as possible.
+ *
+ * <p>Two strategies are offered. {@code insert*} methods use JDBC batching with
+ * generated keys, so the new IDs are set on the model objects. {@code copy*}
+ * methods stream CSV into PostgreSQL's {@code COPY ... FROM STDIN}, which is
+ * several times faster for large loads but does not return IDs.</p>
+ *
+ * <p>Both commit one batch (or COPY chunk) at a time. When a batch fails, its
+ * rows are retried one by one behind savepoints so that only the offending
+ * rows are rejected and reported through {@link Listener#rowFailed}.</p>
+ */
+public class BulkImportDAO {
+
+    private static final String INSERT_USER = """
+        INSERT INTO Users (userName, userAddress, userPhoneNumber, userRole, passwordHash, email)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+    private static final String COPY_USERS =
+            "COPY Users (userName, userAddress, userPhoneNumber, userRole, passwordHash, email) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_MEMBERSHIP = """
+        INSERT INTO Memberships (membershipType, membershipDescription, membershipCost, memberID)
+        VALUES (?, ?, ?, ?)
+    """;
+    private static final String COPY_MEMBERSHIPS =
+            "COPY Memberships (membershipType, membershipDescription, membershipCost, memberID) FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * Receives progress and per-row failures while a bulk operation runs.
+     */
+    public interface Listener {
+        /**
+         * Called after each batch has been committed or rejected.
+         * @param processed number of rows handled so far
+         */
+        default void rowsProcessed(int processed) {
+        }
+
+        /**
+         * Called for every row the database rejected.
+         * @param index zero-based position of the row in the submitted list
+         * @param message database error message
+         */
+        default void rowFailed(int index, String message) {
+        }
+    }
+
+    /**
+     * Binds one row onto the insert statement.
+     */
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+
+    /**
+     * Stores a generated key back onto the model object.
+     */
+    @FunctionalInterface
+    private interface KeySetter<T> {
+        void setKey(T row, int key);
+    }
+
+    /**
+     * Default constructor for BulkImportDAO.
+     */
+    public BulkImportDAO() {
+        // No initialization required for now
+    }
+
+    /**
+     * Inserts users with JDBC batching. Passwords must already be hashed.
+     * Generated user IDs are set on the User objects.
+     *
+     * @param users users to insert
+     * @param batchSize rows per batch and per commit
+     * @param listener progress and error callbacks
+     * @return number of users inserted
+     */
+    public int insertUsers(List<User> users, int batchSize, Listener listener) {
+        return batchInsert(INSERT_USER, users, batchSize, BulkImportDAO::bindUser, User::setUserId, listener);
+    }
+
+    /**
+     * Loads users with COPY. Passwords must already be hashed. Generated IDs
+     * are not returned. A chunk the database rejects is retried with batch
+     * inserts so bad rows are reported individually.
+     *
+     * @param users users to load
+     * @param chunkSize rows per COPY statement
+     * @param listener progress and error callbacks
+     * @return number of users loaded
+     */
+    public int copyUsers(List<User> users, int chunkSize, Listener listener) {
+        return copy(COPY_USERS, users, chunkSize, BulkImportDAO::appendUser,
+                INSERT_USER, BulkImportDAO::bindUser, User::setUserId, listener);
+    }
+
+    /**
+     * Inserts memberships with JDBC batching.
+     * Generated membership IDs are set on the Membership objects.
+     *
+     * @param memberships memberships to insert
+     * @param batchSize rows per batch and per commit
+     * @param listener progress and error callbacks
+     * @return number of memberships inserted
+     */
+    public int insertMemberships(List<Membership> memberships, int batchSize, Listener listener) {
+        return batchInsert(INSERT_MEMBERSHIP, memberships, batchSize, BulkImportDAO::bindMembership,
+                Membership::setMembershipID, listener);
+    }
+
+    /**
+     * Loads memberships with COPY. Generated IDs are not returned.
+     *
+     * @param memberships memberships to load
+     * @param chunkSize rows per COPY statement
+     * @param listener progress and error callbacks
+     * @return number of memberships loaded
+     */
+    public int copyMemberships(List<Membership> memberships, int chunkSize, Listener listener) {
+        return copy(COPY_MEMBERSHIPS, memberships, chunkSize, BulkImportDAO::appendMembership,
+                INSERT_MEMBERSHIP, BulkImportDAO::bindMembership, Membership::setMembershipID, listener);
+    }
+
+    /**
+     * Runs batched inserts, committing once per batch.
+     */
+    private <T> int batchInsert(String sql, List<T> rows, int batchSize, Binder<T> binder, KeySetter<T> keys,
+            Listener listener) {
+        try (Connection conn = DatabaseConnection.getcon()) {
+            return batchInsert(conn, sql, rows, batchSize, binder, keys, listener);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Runs batched inserts on a connection the caller owns, committing once
+     * per batch. The connection's auto-commit setting is restored afterwards.
+     */
+    private <T> int batchInsert(Connection conn, String sql, List<T> rows, int batchSize, Binder<T> binder,
+            KeySetter<T> keys, Listener listener) throws SQLException {
+        Listener events = listener != null ? listener : new Listener() { };
+        int inserted = 0;
+        boolean autoCommit = conn.getAutoCommit();
+
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            conn.setAutoCommit(false);
+            for (int start = 0; start < rows.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, rows.size());
+                try {
+                    for (int i = start; i < end; i++) {
+                        binder.bind(ps, rows.get(i));
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet generated = ps.getGeneratedKeys()) {
+                        for (int i = start; i < end && generated.next(); i++) {
+                            keys.setKey(rows.get(i), generated.getInt(1));
+                        }
+                    }
+                    conn.commit();
+                    inserted += end - start;
+                } catch (SQLException e) {
+                    ps.clearBatch();
+                    conn.rollback();
+                    inserted += insertOneByOne(conn, ps, rows, start, end, binder, keys, events);
+                }
+                events.rowsProcessed(end);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return inserted;
+    }
+
+    /**
+     * Retries a failed batch row by row, isolating each row behind a
+     * savepoint so one bad row does not abort the rest.
+     */
+    private <T> int insertOneByOne(Connection conn, PreparedStatement ps, List<T> rows, int start, int end,
+            Binder<T> binder, KeySetter<T> keys, Listener events) throws SQLException {
+        int inserted = 0;
+        for (int i = start; i < end; i++) {
+            Savepoint savepoint = conn.setSavepoint();
+            try {
+                binder.bind(ps, rows.get(i));
+                ps.executeUpdate();
+                try (ResultSet generated = ps.getGeneratedKeys()) {
+                    if (generated.next()) {
+                        keys.setKey(rows.get(i), generated.getInt(1));
+                    }
+                }
+                conn.releaseSavepoint(savepoint);
+                inserted++;
+            } catch (SQLException e) {
+                conn.rollback(savepoint);
+                events.rowFailed(i, e.getMessage());
+            }
+        }
+        conn.commit();
+        return inserted;
+    }
+
+    /**
+     * Streams rows to COPY one chunk at a time. A rejected chunk falls back
+     * to batch inserts so that its bad rows can be identified.
+     */
+    private <T> int copy(String copySql, List<T> rows, int chunkSize, CsvAppender<T> appender,
+            String insertSql, Binder<T> binder, KeySetter<T> keys, Listener listener) {
+        Listener events = listener != null ? listener : new Listener() { };
+        int loaded = 0;
+
+        try (Connection conn = DatabaseConnection.getcon()) {
+            CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+            StringBuilder csv = new StringBuilder();
+
+            for (int start = 0; start < rows.size(); start += chunkSize) {
+                int end = Math.min(start + chunkSize, rows.size());
+                csv.setLength(0);
+                for (int i = start; i < end; i++) {
+                    appender.append(csv, rows.get(i));
+                }
+                try {
+                    loaded += (int) copyManager.copyIn(copySql, new StringReader(csv.toString()));
+                } catch (SQLException | IOException e) {
+                    if (!conn.getAutoCommit()) {
+                        conn.rollback();
+                    }
+                    // The fallback reuses this connection, so an import never holds two
+                    int offset = start;
+                    loaded += batchInsert(conn, insertSql, rows.subList(start, end), chunkSize, binder, keys, new Listener() {
+                        @Override
+                        public void rowFailed(int index, String message) {
+                            events.rowFailed(offset + index, message);
+                        }
+                    });
+                }
+                events.rowsProcessed(end);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return loaded;
+    }
+
+    /**
+     * Writes one row as a CSV line.
+     */
+    @FunctionalInterface
+    private interface CsvAppender<T> {
+        void append(StringBuilder csv, T row);
+    }
+
+    private static void bindUser(PreparedStatement ps, User user) throws SQLException {
+        ps.setString(1, user.getUserName());
+        ps.setString(2, user.getUserAddress());
+        ps.setString(3, user.getUserPhoneNumber());
+        ps.setString(4, user.getUserRole());
+        ps.setString(5, user.getPasswordHash());
+        ps.setString(6, user.getEmail());
+    }
+
+    private static void bindMembership(PreparedStatement ps, Membership membership) throws SQLException {
+        ps.setString(1, membership.getMembershipType());
+        ps.setString(2, membership.getMembershipDescription());
+        ps.setDouble(3, membership.getMembershipCost());
+        ps.setInt(4, membership.getMemberID());
+    }
+
+    private static void appendUser(StringBuilder csv, User user) {
+        appendField(csv, user.getUserName()).append(',');
+        appendField(csv, user.getUserAddress()).append(',');
+        appendField(csv, user.getUserPhoneNumber()).append(',');
+        appendField(csv, user.getUserRole()).append(',');
+        appendField(csv, user.getPasswordHash()).append(',');
+        appendField(csv, user.getEmail()).append('\n');
+    }
+
+    private static void appendMembership(StringBuilder csv, Membership membership) {
+        appendField(csv, membership.getMembershipType()).append(',');
+        appendField(csv, membership.getMembershipDescription()).append(',');
+        csv.append(membership.getMembershipCost()).append(',');
+        csv.append(membership.getMemberID()).append('\n');
+    }
+
+    /**
+     * Appends a value in COPY CSV format: unquoted empty for NULL, otherwise
+     * quoted with embedded quotes doubled.
+     */
+    private static StringBuilder appendField(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
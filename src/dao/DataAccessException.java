@@ -0,0 +1,20 @@
+package dao;
+
+/**
+ * DataAccessException
+ * Unchecked wrapper for a SQLException raised where a checked exception
+ * cannot be thrown, e.g. while a Stream returned by a DAO is being consumed.
+ */
+public class DataAccessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param message description of the failed operation
+     * @param cause the underlying database error
+     */
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,28 +1,20 @@
 package dao;
 
-import models.GymMerch;
-import utils.DatabaseConnection;
-import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import models.GymMerch;
 
 /**
  * GymMerchDAO
- * Data Access Object (DAO) class for performing CRUD operations on gym merchandise items.
- * Handles creation, retrieval, update, and deletion of GymMerch records in the database.
- * 
- * Author: Brandon Maloney
- * Date: 2025-12-08
+ * Data access for gym merchandise items, including the stock value
+ * aggregations used by the reports.
+ *
+ * <p>{@link JdbcGymMerchDAO} stores the records in PostgreSQL;
+ * {@link dao.memory.InMemoryDatabase} provides an in-memory implementation
+ * for tests and benchmarks.</p>
  */
-public class GymMerchDAO {
-
-    /**
-     * Default constructor for GymMerchDAO.
-     * Initializes an instance of GymMerchDAO for performing CRUD operations.
-     */
-    public GymMerchDAO() {
-        // No initialization required for now
-    }
+public interface GymMerchDAO {
 
     /**
      * Adds a new gym merchandise item to the database.
@@ -30,20 +22,7 @@ public class GymMerchDAO {
      * @param gymMerch The GymMerch object to add.
      * @return true if the item was successfully added; false otherwise.
      */
-    public boolean addGymMerch(GymMerch gymMerch) {
-        String query = "INSERT INTO GymMerch (merchName, merchType, merchPrice, quantityInStock) VALUES (?, ?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-            ps.setString(1, gymMerch.getMerchName());
-            ps.setString(2, gymMerch.getMerchType());
-            ps.setDouble(3, gymMerch.getMerchPrice());
-            ps.setInt(4, gymMerch.getQuantityInStock());
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean addGymMerch(GymMerch gymMerch);
 
     /**
      * Retrieves a gym merchandise item by its ID.
@@ -51,52 +30,66 @@ public class GymMerchDAO {
      * @param merchID The ID of the merchandise item.
      * @return GymMerch object if found; null otherwise.
      */
-    public GymMerch getGymMerchById(int merchID) {
-        String query = "SELECT * FROM GymMerch WHERE merchID = ?";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-            ps.setInt(1, merchID);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return new GymMerch(
-                        rs.getInt("merchID"),
-                        rs.getString("merchName"),
-                        rs.getString("merchType"),
-                        rs.getDouble("merchPrice"),
-                        rs.getInt("quantityInStock")
-                );
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    GymMerch getGymMerchById(int merchID);
 
     /**
      * Retrieves all gym merchandise items from the database.
      *
      * @return List of GymMerch objects. Returns an empty list if none are found.
      */
-    public List<GymMerch> getAllGymMerch() {
-        List<GymMerch> gymMerchList = new ArrayList<>();
-        String query = "SELECT * FROM GymMerch";
-        try (Connection conn = DatabaseConnection.getcon();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            while (rs.next()) {
-                gymMerchList.add(new GymMerch(
-                        rs.getInt("merchID"),
-                        rs.getString("merchName"),
-                        rs.getString("merchType"),
-                        rs.getDouble("merchPrice"),
-                        rs.getInt("quantityInStock")
-                ));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return gymMerchList;
-    }
+    List<GymMerch> getAllGymMerch();
+
+    /**
+     * Streams all gym merchandise items without loading them into memory at once.
+     * The stream may hold a database connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;GymMerch&gt; rows = dao.streamAllGymMerch()) { ... }</pre>
+     *
+     * @return a stream of GymMerch objects
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<GymMerch> streamAllGymMerch();
+
+    /**
+     * Streams all gym merchandise items using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of GymMerch objects; must be closed by the caller
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<GymMerch> streamAllGymMerch(int fetchSize);
+
+    /**
+     * Retrieves one page of merchandise items ordered by merchID (keyset pagination).
+     *
+     * @param afterMerchId return merchandise items with a merchID greater than this; 0 for the first page
+     * @param pageSize maximum number of merchandise items on the page
+     * @return the page of merchandise items
+     */
+    Page<GymMerch> getGymMerchPage(int afterMerchId, int pageSize);
+
+    /**
+     * Retrieves one page of merchandise items ordered by merchID, optionally filtered by merchandise type.
+     *
+     * @param merchType merchandise type to filter on, or null for all types
+     * @param afterMerchId return merchandise items with a merchID greater than this; 0 for the first page
+     * @param pageSize maximum number of merchandise items on the page
+     * @return the page of merchandise items
+     */
+    Page<GymMerch> getGymMerchPage(String merchType, int afterMerchId, int pageSize);
+
+    /**
+     * Calculates the total value (price x quantity) of all merchandise in stock.
+     *
+     * @return total stock value; 0 if there is no merchandise
+     */
+    double getTotalStockValue();
+
+    /**
+     * Calculates the stock value grouped by merchandise type, highest value first.
+     *
+     * @return map of merch type to total stock value; empty if there is no merchandise
+     */
+    Map<String, Double> getStockValueByMerchType();
 
     /**
      * Updates an existing gym merchandise item in the database.
@@ -104,21 +97,7 @@ public class GymMerchDAO {
      * @param gymMerch The GymMerch object with updated information.
      * @return true if the update was successful; false otherwise.
      */
-    public boolean updateGymMerch(GymMerch gymMerch) {
-        String query = "UPDATE GymMerch SET merchName = ?, merchType = ?, merchPrice = ?, quantityInStock = ? WHERE merchID = ?";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-            ps.setString(1, gymMerch.getMerchName());
-            ps.setString(2, gymMerch.getMerchType());
-            ps.setDouble(3, gymMerch.getMerchPrice());
-            ps.setInt(4, gymMerch.getQuantityInStock());
-            ps.setInt(5, gymMerch.getMerchID());
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean updateGymMerch(GymMerch gymMerch);
 
     /**
      * Deletes a gym merchandise item from the database by its ID.
@@ -126,15 +105,5 @@ public class GymMerchDAO {
      * @param merchID The ID of the merchandise item to delete.
      * @return true if the deletion was successful; false otherwise.
      */
-    public boolean deleteGymMerch(int merchID) {
-        String query = "DELETE FROM GymMerch WHERE merchID = ?";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-            ps.setInt(1, merchID);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
-}
\ No newline at end of file
+    boolean deleteGymMerch(int merchID);
+}
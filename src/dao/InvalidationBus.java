@@ -0,0 +1,223 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import utils.AppConfig;
+import utils.DatabaseConnection;
+import utils.LoggerUtil;
+import utils.UnitOfWork;
+
+/**
+ * InvalidationBus
+ * Tells every application instance when a cached table row has changed.
+ *
+ * <p>DAOs call {@link #publish(Connection, String, Object)} after a write.
+ * Local subscribers (e.g. {@link UserCache}) are notified at once, and a
+ * {@code pg_notify} on the writer's own connection broadcasts
+ * {@code "Table:key"} on the {@value #CHANNEL} channel. Because NOTIFY is
+ * transactional, other instances only hear about the change once it is
+ * committed. Tables written outside the application (MembershipPlans) use
+ * a trigger that sends the same message; see utils/DatabaseSchema.sql.</p>
+ *
+ * <p>{@link #startListener()} opens one dedicated, non-pooled connection,
+ * LISTENs on the channel and dispatches each message to the subscribers of
+ * its table. A key of {@value #ALL_KEYS} means "anything in this table may
+ * have changed"; it is also sent to every subscriber after the listener
+ * reconnects, since messages sent while it was disconnected are lost.
+ * Set CACHE_BUS_ENABLED=false to disable both publishing and listening.</p>
+ */
+public final class InvalidationBus {
+    /** Notification channel shared by all instances. */
+    public static final String CHANNEL = "gym_cache_invalidation";
+
+    /** Key meaning every row of the table. */
+    public static final String ALL_KEYS = "*";
+
+    /** Table names used as topics. */
+    public static final String USERS = "Users";
+    /** Table names used as topics. */
+    public static final String MEMBERSHIP_PLANS = "MembershipPlans";
+    /** Table names used as topics. */
+    public static final String WORKOUT_CLASSES = "WorkoutClasses";
+    /** Table names used as topics. */
+    public static final String GYM_MERCH = "GymMerch";
+
+    private static final Logger logger = LoggerUtil.getLogger();
+    private static final InvalidationBus shared = new InvalidationBus(
+            Boolean.parseBoolean(AppConfig.get("CACHE_BUS_ENABLED", "true")));
+
+    private final boolean enabled;
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private Thread listener;
+    private volatile boolean running;
+
+    private InvalidationBus(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the bus shared by all DAOs and caches.
+     *
+     * @return the shared bus
+     */
+    public static InvalidationBus shared() {
+        return shared;
+    }
+
+    /**
+     * Register a handler for changes to a table.
+     *
+     * @param table table name, e.g. {@link #USERS}
+     * @param handler receives the changed key, or {@link #ALL_KEYS}
+     */
+    public void subscribe(String table, Consumer<String> handler) {
+        subscribers.computeIfAbsent(table.toLowerCase(), t -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Announce that a row changed. Local subscribers are notified
+     * immediately; other instances are notified when the connection's
+     * transaction commits. Inside a {@link UnitOfWork} the local
+     * notification also waits for the commit, and is dropped on rollback.
+     * A failed broadcast is reported but never fails the write that
+     * triggered it.
+     *
+     * @param conn connection the write was made on
+     * @param table table that was written
+     * @param key primary key of the changed row, or {@link #ALL_KEYS}
+     */
+    public void publish(Connection conn, String table, Object key) {
+        String payload = String.valueOf(key);
+        UnitOfWork.afterCommit(() -> dispatch(table, payload));
+        if (!enabled) {
+            return;
+        }
+        try (PreparedStatement ps = conn.prepareStatement("SELECT pg_notify(?, ?)")) {
+            ps.setString(1, CHANNEL);
+            ps.setString(2, table + ":" + payload);
+            ps.execute();
+            published.increment();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Start the background listener thread. Calling it again has no effect.
+     */
+    public synchronized void startListener() {
+        if (!enabled || listener != null) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Stop the background listener thread.
+     */
+    public synchronized void stopListener() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+    }
+
+    /**
+     * Get the number of notifications sent by this instance.
+     *
+     * @return notifications published
+     */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * Get the number of notifications received from the database.
+     *
+     * @return notifications received
+     */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    private void listenLoop() {
+        long backoffMillis = 1_000;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection conn = DatabaseConnection.openDedicated();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("LISTEN " + CHANNEL);
+                PGConnection pgConn = conn.unwrap(PGConnection.class);
+                if (reconnecting) {
+                    // Anything may have changed while we were not listening
+                    subscribers.keySet().forEach(table -> dispatch(table, ALL_KEYS));
+                }
+                logger.info(() -> "Listening for cache invalidations on " + CHANNEL);
+                backoffMillis = 1_000;
+
+                while (running) {
+                    PGNotification[] notifications = pgConn.getNotifications(1_000);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        received.increment();
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                logger.warning(() -> "Cache invalidation listener disconnected: " + e.getMessage());
+            }
+            reconnecting = true;
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoffMillis = Math.min(backoffMillis * 2, 30_000);
+        }
+    }
+
+    /**
+     * Parses a {@code "Table:key"} payload and dispatches it.
+     */
+    private void handle(String payload) {
+        int colon = payload.indexOf(':');
+        if (colon <= 0) {
+            logger.warning(() -> "Ignoring malformed cache invalidation: " + payload);
+            return;
+        }
+        dispatch(payload.substring(0, colon), payload.substring(colon + 1));
+    }
+
+    private void dispatch(String table, String key) {
+        List<Consumer<String>> handlers = subscribers.get(table.toLowerCase());
+        if (handlers == null) {
+            return;
+        }
+        for (Consumer<String> handler : handlers) {
+            try {
+                handler.accept(key);
+            } catch (RuntimeException e) {
+                logger.severe(() -> "Cache invalidation handler failed for " + table + ":" + key + ": " + e.getMessage());
+            }
+        }
+    }
+}
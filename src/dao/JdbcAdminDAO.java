@@ -0,0 +1,219 @@
+package dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import models.Admin;
+import utils.DatabaseConnection;
+import utils.Metrics;
+
+/**
+ * JdbcAdminDAO
+ * PostgreSQL implementation of {@link AdminDAO}.
+ * Data Access Object (DAO) class for performing CRUD operations on Admin users.
+ * Handles creation, retrieval, update, and deletion of Admin records in the
+ * database.
+ * 
+ * Author: Brandon Maloney
+ * Date: 2025-12-06
+ */
+public class JdbcAdminDAO implements AdminDAO {
+
+    /**
+     * Default constructor for JdbcAdminDAO.
+     * Initializes an instance of JdbcAdminDAO for performing CRUD operations.
+     */
+    public JdbcAdminDAO() {
+        // No initialization required for now
+    }
+
+    /**
+     * Creates a new admin in the database.
+     * Hashes the admin's password before storing it.
+     *
+     * @param admin The Admin object to be inserted.
+     * @return true if the admin was successfully created; false otherwise.
+     */
+    @Override
+    public boolean createAdmin(Admin admin) {
+        String query = "INSERT INTO Users (userName, userAddress, userPhoneNumber, userRole, passwordHash, email) VALUES (?, ?, ?, ?, ?, ?)";
+        try (Connection conn = DatabaseConnection.getcon();
+                PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setString(1, admin.getUserName());
+            ps.setString(2, admin.getUserAddress());
+            ps.setString(3, admin.getUserPhoneNumber());
+            ps.setString(4, admin.getUserRole());
+            ps.setString(5, admin.getPasswordHash());
+            ps.setString(6, admin.getEmail());
+            boolean created = ps.executeUpdate() > 0;
+            InvalidationBus.shared().publish(conn, InvalidationBus.USERS, admin.getUserId());
+            return created;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves an admin by their unique user ID.
+     *
+     * @param userId The ID of the admin to retrieve.
+     * @return Admin object if found; null otherwise.
+     */
+    @Override
+    public Admin getAdminById(int userId) {
+        String query = "SELECT * FROM Users WHERE userId = ? AND userRole = 'Admin'";
+        try (Connection conn = DatabaseConnection.getcon();
+                PreparedStatement ps = conn.prepareStatement(query)) {
+            ps.setInt(1, userId);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return mapResultSetToAdmin(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves an admin by their email address.
+     *
+     * @param email The email of the admin to retrieve.
+     * @return Admin object if found; null otherwise.
+     * @throws SQLException if a database access error occurs.
+     */
+    @Override
+    public Admin getAdminByEmail(String email) throws SQLException {
+        String sql = "SELECT * FROM admins WHERE email = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, email);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return mapResultSetToAdmin(rs);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves all admins from the database.
+     *
+     * @return List of Admin objects. Returns an empty list if none are found.
+     */
+    @Override
+    public List<Admin> getAllAdmins() {
+        List<Admin> admins = new ArrayList<>();
+        String query = "SELECT * FROM Users WHERE userRole = 'Admin'";
+        try (Connection conn = DatabaseConnection.getcon();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(query)) {
+            while (rs.next()) {
+                admins.add(mapResultSetToAdmin(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return admins;
+    }
+
+    /**
+     * Streams all admins without loading them into memory at once.
+     * Rows are fetched from a server-side cursor in batches of the default fetch size.
+     * The stream holds a pooled connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;Admin&gt; rows = dao.streamAllAdmins()) { ... }</pre>
+     *
+     * @return a stream of Admin objects
+     */
+    @Override
+    public Stream<Admin> streamAllAdmins() {
+        return streamAllAdmins(ResultStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all admins using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of Admin objects; must be closed by the caller
+     */
+    @Override
+    public Stream<Admin> streamAllAdmins(int fetchSize) {
+        String sql = "SELECT * FROM Users WHERE userRole = 'Admin' ORDER BY userId";
+        return ResultStreams.stream(DatabaseConnection::getcon, sql, fetchSize, null, this::mapResultSetToAdmin);
+    }
+
+    /**
+     * Updates an existing admin's information in the database.
+     * Hashes the password before updating.
+     *
+     * @param admin The Admin object with updated information.
+     * @return true if the update was successful; false otherwise.
+     */
+    @Override
+    public boolean updateAdmin(Admin admin) {
+        String query = "UPDATE Users SET userName = ?, userAddress = ?, userPhoneNumber = ?, passwordHash = ?, email = ? WHERE userId = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+                PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setString(1, admin.getUserName());
+            ps.setString(2, admin.getUserAddress());
+            ps.setString(3, admin.getUserPhoneNumber());
+            ps.setString(4, admin.getPasswordHash());
+            ps.setString(5, admin.getEmail());
+            ps.setInt(6, admin.getUserId());
+            boolean updated = ps.executeUpdate() > 0;
+            InvalidationBus.shared().publish(conn, InvalidationBus.USERS, admin.getUserId());
+            return updated;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Deletes an admin from the database by their user ID.
+     *
+     * @param userId The ID of the admin to delete.
+     * @return true if the admin was successfully deleted; false otherwise.
+     */
+    @Override
+    public boolean deleteAdmin(int userId) {
+        String query = "DELETE FROM Users WHERE userId = ? AND userRole = 'Admin'";
+        try (Connection conn = DatabaseConnection.getcon();
+                PreparedStatement ps = conn.prepareStatement(query)) {
+            ps.setInt(1, userId);
+            boolean deleted = ps.executeUpdate() > 0;
+            InvalidationBus.shared().publish(conn, InvalidationBus.USERS, userId);
+            return deleted;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Maps a ResultSet row to an Admin object.
+     *
+     * @param rs The ResultSet to map.
+     * @return The mapped Admin object.
+     */
+    private Admin mapResultSetToAdmin(ResultSet rs) throws SQLException {
+        return new Admin(
+                rs.getInt("userId"),
+                rs.getString("userName"),
+                rs.getString("passwordHash"),
+                rs.getString("email"),
+                rs.getString("userPhoneNumber"),
+                rs.getString("userAddress"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,294 @@
+package dao;
+
+import models.GymMerch;
+import utils.DatabaseConnection;
+import utils.Metrics;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * JdbcGymMerchDAO
+ * PostgreSQL implementation of {@link GymMerchDAO}.
+ * Data Access Object (DAO) class for performing CRUD operations on gym merchandise items.
+ * Handles creation, retrieval, update, and deletion of GymMerch records in the database.
+ * 
+ * Author: Brandon Maloney
+ * Date: 2025-12-08
+ */
+public class JdbcGymMerchDAO implements GymMerchDAO {
+
+    /**
+     * Default constructor for JdbcGymMerchDAO.
+     * Initializes an instance of JdbcGymMerchDAO for performing CRUD operations.
+     */
+    public JdbcGymMerchDAO() {
+        // No initialization required for now
+    }
+
+    /**
+     * Adds a new gym merchandise item to the database.
+     *
+     * @param gymMerch The GymMerch object to add.
+     * @return true if the item was successfully added; false otherwise.
+     */
+    @Override
+    public boolean addGymMerch(GymMerch gymMerch) {
+        String query = "INSERT INTO GymMerch (merchName, merchType, merchPrice, quantityInStock) VALUES (?, ?, ?, ?)";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+            ps.setString(1, gymMerch.getMerchName());
+            ps.setString(2, gymMerch.getMerchType());
+            ps.setDouble(3, gymMerch.getMerchPrice());
+            ps.setInt(4, gymMerch.getQuantityInStock());
+            boolean added = ps.executeUpdate() > 0;
+            if (added) {
+                // The new merchID is not read back, so announce the table as a whole
+                InvalidationBus.shared().publish(conn, InvalidationBus.GYM_MERCH, InvalidationBus.ALL_KEYS);
+            }
+            return added;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves a gym merchandise item by its ID.
+     *
+     * @param merchID The ID of the merchandise item.
+     * @return GymMerch object if found; null otherwise.
+     */
+    @Override
+    public GymMerch getGymMerchById(int merchID) {
+        String query = "SELECT * FROM GymMerch WHERE merchID = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+            ps.setInt(1, merchID);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return mapResultSetToGymMerch(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves all gym merchandise items from the database.
+     *
+     * @return List of GymMerch objects. Returns an empty list if none are found.
+     */
+    @Override
+    public List<GymMerch> getAllGymMerch() {
+        List<GymMerch> gymMerchList = new ArrayList<>();
+        String query = "SELECT * FROM GymMerch";
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            while (rs.next()) {
+                gymMerchList.add(mapResultSetToGymMerch(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return gymMerchList;
+    }
+
+    /**
+     * Streams all gym merchandise items without loading them into memory at once.
+     * Rows are fetched from a server-side cursor in batches of the default fetch size.
+     * The stream holds a pooled connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;GymMerch&gt; rows = dao.streamAllGymMerch()) { ... }</pre>
+     *
+     * @return a stream of GymMerch objects
+     */
+    @Override
+    public Stream<GymMerch> streamAllGymMerch() {
+        return streamAllGymMerch(ResultStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all gym merchandise items using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of GymMerch objects; must be closed by the caller
+     */
+    @Override
+    public Stream<GymMerch> streamAllGymMerch(int fetchSize) {
+        String sql = "SELECT * FROM GymMerch ORDER BY merchID";
+        return ResultStreams.stream(DatabaseConnection::getcon, sql, fetchSize, null, this::mapResultSetToGymMerch);
+    }
+
+    /**
+     * Retrieves one page of merchandise items ordered by merchID (keyset pagination).
+     *
+     * @param afterMerchId return merchandise items with a merchID greater than this; 0 for the first page
+     * @param pageSize maximum number of merchandise items on the page
+     * @return the page of merchandise items
+     */
+    @Override
+    public Page<GymMerch> getGymMerchPage(int afterMerchId, int pageSize) {
+        return getGymMerchPage(null, afterMerchId, pageSize);
+    }
+
+    /**
+     * Retrieves one page of merchandise items ordered by merchID, optionally filtered by merchandise type.
+     * Each page is an index range scan starting after the last key seen,
+     * so deep pages cost the same as the first one.
+     *
+     * @param merchType merchandise type to filter on, or null for all types
+     * @param afterMerchId return merchandise items with a merchID greater than this; 0 for the first page
+     * @param pageSize maximum number of merchandise items on the page
+     * @return the page of merchandise items
+     */
+    @Override
+    public Page<GymMerch> getGymMerchPage(String merchType, int afterMerchId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        List<GymMerch> rows = new ArrayList<>();
+        String sql = merchType == null
+                ? "SELECT * FROM GymMerch WHERE merchID > ? ORDER BY merchID LIMIT ?"
+                : "SELECT * FROM GymMerch WHERE merchID > ? AND merchType = ? ORDER BY merchID LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            ps.setInt(index++, afterMerchId);
+            if (merchType != null) {
+                ps.setString(index++, merchType);
+            }
+            ps.setInt(index, pageSize + 1);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                rows.add(mapResultSetToGymMerch(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return Page.fromRows(rows, pageSize, afterMerchId, GymMerch::getMerchID);
+    }
+
+    /**
+     * Calculates the total value (price x quantity) of all merchandise in stock.
+     * The sum is computed by PostgreSQL, so no rows are transferred.
+     *
+     * @return total stock value; 0 if there is no merchandise
+     */
+    @Override
+    public double getTotalStockValue() {
+        String query = "SELECT COALESCE(SUM(merchPrice * quantityInStock), 0) FROM GymMerch";
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            if (rs.next()) {
+                return rs.getDouble(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return 0.0;
+    }
+
+    /**
+     * Calculates the stock value grouped by merchandise type, highest value first.
+     *
+     * @return map of merch type to total stock value; empty if there is no merchandise
+     */
+    @Override
+    public Map<String, Double> getStockValueByMerchType() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        String query = "SELECT merchType, SUM(merchPrice * quantityInStock) AS stockValue "
+                + "FROM GymMerch GROUP BY merchType ORDER BY stockValue DESC";
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            while (rs.next()) {
+                values.put(rs.getString("merchType"), rs.getDouble("stockValue"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return values;
+    }
+
+    /**
+     * Updates an existing gym merchandise item in the database.
+     *
+     * @param gymMerch The GymMerch object with updated information.
+     * @return true if the update was successful; false otherwise.
+     */
+    @Override
+    public boolean updateGymMerch(GymMerch gymMerch) {
+        String query = "UPDATE GymMerch SET merchName = ?, merchType = ?, merchPrice = ?, quantityInStock = ? WHERE merchID = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+            ps.setString(1, gymMerch.getMerchName());
+            ps.setString(2, gymMerch.getMerchType());
+            ps.setDouble(3, gymMerch.getMerchPrice());
+            ps.setInt(4, gymMerch.getQuantityInStock());
+            ps.setInt(5, gymMerch.getMerchID());
+            boolean updated = ps.executeUpdate() > 0;
+            if (updated) {
+                InvalidationBus.shared().publish(conn, InvalidationBus.GYM_MERCH, gymMerch.getMerchID());
+            }
+            return updated;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Deletes a gym merchandise item from the database by its ID.
+     *
+     * @param merchID The ID of the merchandise item to delete.
+     * @return true if the deletion was successful; false otherwise.
+     */
+    @Override
+    public boolean deleteGymMerch(int merchID) {
+        String query = "DELETE FROM GymMerch WHERE merchID = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+            ps.setInt(1, merchID);
+            boolean deleted = ps.executeUpdate() > 0;
+            if (deleted) {
+                InvalidationBus.shared().publish(conn, InvalidationBus.GYM_MERCH, merchID);
+            }
+            return deleted;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Maps a ResultSet row to a GymMerch object.
+     *
+     * @param rs The ResultSet to map.
+     * @return The mapped GymMerch object.
+     */
+    private GymMerch mapResultSetToGymMerch(ResultSet rs) throws SQLException {
+        return new GymMerch(
+                rs.getInt("merchID"),
+                rs.getString("merchName"),
+                rs.getString("merchType"),
+                rs.getDouble("merchPrice"),
+                rs.getInt("quantityInStock")
+        );
+    }
+}
\ No newline at end of file
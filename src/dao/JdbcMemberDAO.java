@@ -0,0 +1,215 @@
+package dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import models.Member;
+import utils.DatabaseConnection;
+import utils.Metrics;
+
+/**
+ * JdbcMemberDAO
+ * PostgreSQL implementation of {@link MemberDAO}.
+ * Data Access Object (DAO) class for performing CRUD operations on Member records.
+ * Handles creation, retrieval, update, and deletion of Member records in the database.
+ * 
+ * Author: Brandon Maloney
+ * Date: 2025-12-08
+ */
+public class JdbcMemberDAO implements MemberDAO {
+
+    /**
+     * Default constructor for JdbcMemberDAO.
+     * Initializes an instance of JdbcMemberDAO for performing CRUD operations.
+     */
+    public JdbcMemberDAO() {
+        // No initialization required for now
+    }
+
+    /**
+     * Creates a new member in the database.
+     * 
+     * @param member The Member object to be created.
+     * @return true if the member was created successfully, false otherwise.
+     */
+    @Override
+    public boolean createMember(Member member) {
+        String query = """
+            INSERT INTO Users (userName, userAddress, userPhoneNumber, userRole, passwordHash, email)
+            VALUES (?, ?, ?, ?, ?, ?)
+        """;
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+
+            ps.setString(1, member.getUserName());
+            ps.setString(2, member.getUserAddress());
+            ps.setString(3, member.getUserPhoneNumber());
+            ps.setString(4, member.getUserRole());
+            ps.setString(5, member.getPasswordHash());
+            ps.setString(6, member.getEmail());
+
+            int rows = ps.executeUpdate();
+            if (rows == 0) return false;
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) {
+                    member.setUserId(keys.getInt(1));
+                }
+            }
+            InvalidationBus.shared().publish(conn, InvalidationBus.USERS, member.getUserId());
+            return true;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves a member by their ID.
+     * 
+     * @param userId The ID of the member to retrieve.
+     * @return The Member object if found, null otherwise.
+     */
+    @Override
+    public Member getMemberById(int userId) {
+        String query = "SELECT * FROM Users WHERE userId = ? AND userRole = 'Member'";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setInt(1, userId);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return mapResultSetToMember(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves all members from the database.
+     * 
+     * @return A list of Member objects.
+     */
+    @Override
+    public List<Member> getAllMembers() {
+        List<Member> members = new ArrayList<>();
+        String query = "SELECT * FROM Users WHERE userRole = 'Member'";
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+
+            while (rs.next()) {
+                members.add(mapResultSetToMember(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return members;
+    }
+
+    /**
+     * Streams all members without loading them into memory at once.
+     * Rows are fetched from a server-side cursor in batches of the default fetch size.
+     * The stream holds a pooled connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;Member&gt; rows = dao.streamAllMembers()) { ... }</pre>
+     *
+     * @return a stream of Member objects
+     */
+    @Override
+    public Stream<Member> streamAllMembers() {
+        return streamAllMembers(ResultStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all members using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of Member objects; must be closed by the caller
+     */
+    @Override
+    public Stream<Member> streamAllMembers(int fetchSize) {
+        String sql = "SELECT * FROM Users WHERE userRole = 'Member' ORDER BY userId";
+        return ResultStreams.stream(DatabaseConnection::getcon, sql, fetchSize, null, this::mapResultSetToMember);
+    }
+
+    /**
+     * Updates an existing member's information.
+     * 
+     * @param member The Member object with updated information.
+     * @return true if the member was updated successfully, false otherwise.
+     */
+    @Override
+    public boolean updateMember(Member member) {
+        String query = """
+            UPDATE Users
+            SET userName = ?, userAddress = ?, userPhoneNumber = ?, passwordHash = ?, email = ?
+            WHERE userId = ?
+        """;
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setString(1, member.getUserName());
+            ps.setString(2, member.getUserAddress());
+            ps.setString(3, member.getUserPhoneNumber());
+            ps.setString(4, member.getPasswordHash());
+            ps.setString(5, member.getEmail());
+            ps.setInt(6, member.getUserId());
+
+            boolean updated = ps.executeUpdate() > 0;
+            InvalidationBus.shared().publish(conn, InvalidationBus.USERS, member.getUserId());
+            return updated;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Deletes a member from the database.
+     * 
+     * @param userId     The ID of the member to delete.
+     * @return true if the member was deleted successfully, false otherwise.
+     */
+    @Override
+    public boolean deleteMember(int userId) {
+        String query = "DELETE FROM Users WHERE userId = ? AND userRole = 'Member'";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setInt(1, userId);
+            boolean deleted = ps.executeUpdate() > 0;
+            InvalidationBus.shared().publish(conn, InvalidationBus.USERS, userId);
+            return deleted;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Maps a ResultSet row to a Member object.
+     * @param rs The ResultSet object.
+     * @return The mapped Member object.
+     */
+    private Member mapResultSetToMember(ResultSet rs) throws SQLException {
+        return new Member(
+            rs.getInt("userId"),
+            rs.getString("userName"),
+            rs.getString("passwordHash"),
+            rs.getString("email"),
+            rs.getString("userPhoneNumber"),
+            rs.getString("userAddress")
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,385 @@
+package dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import models.Membership;
+import utils.DatabaseConnection;
+import utils.Metrics;
+
+/**
+ * JdbcMembershipDAO
+ * PostgreSQL implementation of {@link MembershipDAO}.
+ * Data Access Object (DAO) class for performing CRUD operations on Membership records.
+ * Handles creation, retrieval, update, and deletion of Membership records in the database.
+ * 
+ * Author: Brandon Maloney
+ * Date: 2025-12-08
+ */
+public class JdbcMembershipDAO implements MembershipDAO {
+
+    /**
+     * Default constructor for JdbcMembershipDAO.
+     * Initializes an instance of JdbcMembershipDAO for performing CRUD operations.
+     */
+    public JdbcMembershipDAO() {
+        // No initialization required for now
+    }
+
+    /**
+     * Creates a new membership in the database.
+     * @param membership The Membership object to be created.
+     * @return true if the membership was created successfully, false otherwise.
+     */
+    @Override
+    public boolean createMembership(Membership membership) {
+        String query = """
+            INSERT INTO Memberships (membershipType, membershipDescription, membershipCost, memberID)
+            VALUES (?, ?, ?, ?)
+        """;
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+
+            ps.setString(1, membership.getMembershipType());
+            ps.setString(2, membership.getMembershipDescription());
+            ps.setDouble(3, membership.getMembershipCost());
+            ps.setInt(4, membership.getMemberID());
+
+            int rows = ps.executeUpdate();
+            if (rows == 0) return false;
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) {
+                    membership.setMembershipID(keys.getInt(1));
+                }
+            }
+            return true;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves a membership by its ID.
+     * @param membershipID The ID of the membership to retrieve.
+     * @return The Membership object if found, null otherwise.
+     */
+    @Override
+    public Membership getMembershipById(int membershipID) {
+        String query = "SELECT * FROM Memberships WHERE membershipID = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setInt(1, membershipID);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return mapResultSetToMembership(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves all memberships from the database.
+     * @return A list of all Membership objects.
+     */
+    @Override
+    public List<Membership> getAllMemberships() {
+        List<Membership> list = new ArrayList<>();
+        String query = "SELECT * FROM Memberships";
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+
+            while (rs.next()) {
+                list.add(mapResultSetToMembership(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return list;
+    }
+
+    /**
+     * Streams all memberships without loading them into memory at once.
+     * Rows are fetched from a server-side cursor in batches of the default fetch size.
+     * The stream holds a pooled connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;Membership&gt; rows = dao.streamAllMemberships()) { ... }</pre>
+     *
+     * @return a stream of Membership objects
+     */
+    @Override
+    public Stream<Membership> streamAllMemberships() {
+        return streamAllMemberships(ResultStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all memberships using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of Membership objects; must be closed by the caller
+     */
+    @Override
+    public Stream<Membership> streamAllMemberships(int fetchSize) {
+        String sql = "SELECT * FROM Memberships ORDER BY membershipID";
+        return ResultStreams.stream(DatabaseConnection::getcon, sql, fetchSize, null, this::mapResultSetToMembership);
+    }
+
+    /**
+     * Retrieves one page of memberships ordered by membershipID (keyset pagination).
+     *
+     * @param afterMembershipId return memberships with a membershipID greater than this; 0 for the first page
+     * @param pageSize maximum number of memberships on the page
+     * @return the page of memberships
+     */
+    @Override
+    public Page<Membership> getMembershipsPage(int afterMembershipId, int pageSize) {
+        return getMembershipsPage(0, afterMembershipId, pageSize);
+    }
+
+    /**
+     * Retrieves one page of memberships ordered by membershipID, optionally filtered by owning member.
+     * Each page is an index range scan starting after the last key seen,
+     * so deep pages cost the same as the first one.
+     *
+     * @param memberId member whose memberships to list, or 0 for all members
+     * @param afterMembershipId return memberships with a membershipID greater than this; 0 for the first page
+     * @param pageSize maximum number of memberships on the page
+     * @return the page of memberships
+     */
+    @Override
+    public Page<Membership> getMembershipsPage(int memberId, int afterMembershipId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        List<Membership> rows = new ArrayList<>();
+        String sql = memberId == 0
+                ? "SELECT * FROM Memberships WHERE membershipID > ? ORDER BY membershipID LIMIT ?"
+                : "SELECT * FROM Memberships WHERE membershipID > ? AND memberID = ? ORDER BY membershipID LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            ps.setInt(index++, afterMembershipId);
+            if (memberId != 0) {
+                ps.setInt(index++, memberId);
+            }
+            ps.setInt(index, pageSize + 1);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                rows.add(mapResultSetToMembership(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return Page.fromRows(rows, pageSize, afterMembershipId, Membership::getMembershipID);
+    }
+
+    /**
+     * Retrieves memberships belonging to a specific member.
+     *
+     * @param memberId the member's userId
+     * @return list of Membership objects for that member; empty list if none
+     */
+    @Override
+    public List<Membership> getMembershipsByMemberId(int memberId) {
+        List<Membership> list = new ArrayList<>();
+        String query = "SELECT * FROM Memberships WHERE memberID = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setInt(1, memberId);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                list.add(mapResultSetToMembership(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return list;
+    }
+
+    /**
+     * Calculates the total revenue of all memberships in the database.
+     * The sum is computed by PostgreSQL, so no rows are transferred.
+     *
+     * @return total of all membership costs; 0 if there are none
+     */
+    @Override
+    public double getTotalRevenue() {
+        String query = "SELECT COALESCE(SUM(membershipCost), 0) FROM Memberships";
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+
+            if (rs.next()) {
+                return rs.getDouble(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return 0.0;
+    }
+
+    /**
+     * Calculates the total membership cost paid by a specific member.
+     *
+     * @param memberId the member's userId
+     * @return total of that member's membership costs; 0 if there are none
+     */
+    @Override
+    public double getTotalCostByMemberId(int memberId) {
+        String query = "SELECT COALESCE(SUM(membershipCost), 0) FROM Memberships WHERE memberID = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setInt(1, memberId);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return rs.getDouble(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return 0.0;
+    }
+
+    /**
+     * Calculates revenue grouped by membership type, highest revenue first.
+     *
+     * @return map of membership type to total revenue; empty if there are no memberships
+     */
+    @Override
+    public Map<String, Double> getRevenueByMembershipType() {
+        Map<String, Double> revenue = new LinkedHashMap<>();
+        String query = """
+            SELECT membershipType, SUM(membershipCost) AS revenue
+            FROM Memberships
+            GROUP BY membershipType
+            ORDER BY revenue DESC
+        """;
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+
+            while (rs.next()) {
+                revenue.put(rs.getString("membershipType"), rs.getDouble("revenue"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return revenue;
+    }
+
+    /**
+     * Counts memberships grouped by membership type, most sold first.
+     *
+     * @return map of membership type to number of memberships sold
+     */
+    @Override
+    public Map<String, Integer> countMembershipsByType() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        String query = """
+            SELECT membershipType, COUNT(*) AS total
+            FROM Memberships
+            GROUP BY membershipType
+            ORDER BY total DESC
+        """;
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+
+            while (rs.next()) {
+                counts.put(rs.getString("membershipType"), rs.getInt("total"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return counts;
+    }
+
+    /**
+     * Updates an existing membership in the database.
+     * @param membership The Membership object with updated information.
+     * @return true if the membership was updated successfully, false otherwise.
+     */
+    @Override
+    public boolean updateMembership(Membership membership) {
+        String query = """
+            UPDATE Memberships
+            SET membershipType = ?, membershipDescription = ?, membershipCost = ?, memberID = ?
+            WHERE membershipID = ?
+        """;
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setString(1, membership.getMembershipType());
+            ps.setString(2, membership.getMembershipDescription());
+            ps.setDouble(3, membership.getMembershipCost());
+            ps.setInt(4, membership.getMemberID());
+            ps.setInt(5, membership.getMembershipID());
+
+            return ps.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Deletes a membership from the database.
+     * @param membershipID The ID of the membership to delete.
+     * @return true if the membership was deleted successfully, false otherwise.
+     */
+    @Override
+    public boolean deleteMembership(int membershipID) {
+        String query = "DELETE FROM Memberships WHERE membershipID = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(query)) {
+
+            ps.setInt(1, membershipID);
+            return ps.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Maps a ResultSet row to a Membership object.
+     * @param rs The ResultSet object.
+     * @return The mapped Membership object.
+     */
+    private Membership mapResultSetToMembership(ResultSet rs) throws SQLException {
+        return new Membership(
+            rs.getInt("membershipID"),
+            rs.getString("membershipType"),
+            rs.getString("membershipDescription"),
+            rs.getDouble("membershipCost"),
+            rs.getInt("memberID")
+        );
+    }
+}
@@ -0,0 +1,115 @@
+package dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import models.MembershipPlan;
+import utils.DatabaseConnection;
+import utils.Metrics;
+
+/**
+ * PostgreSQL implementation of {@link MembershipPlanDAO} for MembershipPlan catalog
+ * entries. Exposes methods to list available plans
+ * and fetch a single plan by id.
+ *
+ * Note: this class expects a database table named `MembershipPlans` with columns:
+ * planId (auto-increment), planType, planDescription, planPrice.
+ */
+public class JdbcMembershipPlanDAO implements MembershipPlanDAO {
+
+    public JdbcMembershipPlanDAO() {
+        // no-op
+    }
+
+    /**
+     * Returns all membership plans from the catalog.
+     */
+    @Override
+    public List<MembershipPlan> getAllPlans() {
+        try {
+            return loadAllPlans();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Returns all membership plans from the catalog.
+     *
+     * @throws SQLException if the plans could not be read
+     */
+    @Override
+    public List<MembershipPlan> loadAllPlans() throws SQLException {
+        List<MembershipPlan> plans = new ArrayList<>();
+        String sql = "SELECT * FROM MembershipPlans";
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                plans.add(new MembershipPlan(
+                        rs.getInt("planId"),
+                        rs.getString("planType"),
+                        rs.getString("planDescription"),
+                        rs.getDouble("planPrice")
+                ));
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * Fetch a plan by id.
+     */
+    @Override
+    public MembershipPlan getPlanById(int planId) {
+        String sql = "SELECT * FROM MembershipPlans WHERE planId = ?";
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, planId);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return new MembershipPlan(
+                        rs.getInt("planId"),
+                        rs.getString("planType"),
+                        rs.getString("planDescription"),
+                        rs.getDouble("planPrice")
+                );
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+
+    /**
+     * Returns a fingerprint of the whole catalog that changes whenever a
+     * plan is added, changed or removed. Used to detect when a cached copy
+     * of the catalog needs reloading without fetching every row.
+     *
+     * @return the catalog fingerprint, "empty" if there are no plans, or null on error
+     */
+    @Override
+    public String getCatalogVersion() {
+        String sql = """
+            SELECT md5(string_agg(planId || ':' || planType || ':' || coalesce(planDescription, '') || ':' || planPrice,
+                                  ',' ORDER BY planId))
+            FROM MembershipPlans
+        """;
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (rs.next()) {
+                String version = rs.getString(1);
+                return version == null ? "empty" : version;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,484 @@
+package dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import models.User;
+import models.UserSummary;
+import utils.DatabaseConnection;
+import utils.Metrics;
+import utils.UnitOfWork;
+
+/**
+ * JdbcUserDAO
+ * PostgreSQL implementation of {@link UserDAO}.
+ * Provides CRUD operations for User records stored in the Users table.
+ * Passwords are securely hashed using bcrypt before being stored.
+ * Lookups by ID, username and email are served from the shared
+ * {@link UserCache} when possible (never inside a {@link UnitOfWork});
+ * every write is published on the {@link InvalidationBus} so this and
+ * every other instance drop the user.
+ *
+ * Author: Brandon Maloney
+ * Date: 2025-12-08
+ */
+public class JdbcUserDAO implements UserDAO {
+    /** Cache shared with the other DAOs that write the Users table. */
+    private final UserCache cache = UserCache.shared();
+
+    /**
+     * The cache is bypassed inside a {@link UnitOfWork}: the unit's
+     * connection sees its own uncommitted writes, which must not reach the
+     * shared cache (invalidation only runs after commit, and not at all on
+     * rollback), and a cached row may predate a write made earlier in the
+     * same unit.
+     */
+    private static boolean useCache() {
+        return !UnitOfWork.isActive();
+    }
+
+    /**
+     * Default constructor for JdbcUserDAO.
+     * Initializes an instance of JdbcUserDAO for performing CRUD operations.
+     */
+    public JdbcUserDAO() {
+        // No initialization required for now
+    }
+
+    /**
+     * Creates a new User in the database.
+     * Expects the password to be hashed before calling this method.
+     * Sets the generated userId on the User object.
+     * 
+     * @param user The User object to be created.
+     * @return true if creation was successful, false otherwise.
+     */
+    @Override
+    public boolean createUser(User user) {
+        String sql = """
+            INSERT INTO Users (userName, userAddress, userPhoneNumber, userRole, passwordHash, email)
+            VALUES (?, ?, ?, ?, ?, ?)
+        """;
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setString(1, user.getUserName());
+            stmt.setString(2, user.getUserAddress());
+            stmt.setString(3, user.getUserPhoneNumber());
+            stmt.setString(4, user.getUserRole());
+            stmt.setString(5, user.getPasswordHash());
+            stmt.setString(6, user.getEmail());
+
+            int rows = stmt.executeUpdate();
+            if (rows == 0) return false;
+
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    user.setUserId(keys.getInt(1));
+                }
+            }
+            InvalidationBus.shared().publish(conn, InvalidationBus.USERS, user.getUserId());
+            return true;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves a User by username.
+     * @param username The username of the user to retrieve.
+     * @return null if no user is found.
+     * 
+     */
+    @Override
+    public User getUserByUsername(String username) {
+        boolean useCache = useCache();
+        User cached = useCache ? cache.getByUserName(username) : null;
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        String sql = "SELECT * FROM Users WHERE userName = ?";
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, username);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                User user = mapResultSetToUser(rs);
+                if (useCache) {
+                    cache.put(user, generation);
+                }
+                return user;
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves a User by their email.
+     * @param email The email of the user to retrieve.
+     * @return The User object if found, null otherwise.
+     */
+    @Override
+    public User getUserByEmail(String email) {
+        boolean useCache = useCache();
+        User cached = useCache ? cache.getByEmail(email) : null;
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        String sql = "SELECT * FROM Users WHERE email = ?";
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, email);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                User user = mapResultSetToUser(rs);
+                if (useCache) {
+                    cache.put(user, generation);
+                }
+                return user;
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves a User by their ID.
+     * @param userId The ID of the user to retrieve.
+     * @return The User object if found, null otherwise.
+     */
+    @Override
+    public User getUserById(int userId) {
+        try {
+            return findUserById(userId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves a User by their ID, throwing if the read fails.
+     * @param userId The ID of the user to retrieve.
+     * @return The User object if found, null if there is no such user.
+     * @throws SQLException if the user could not be read
+     */
+    @Override
+    public User findUserById(int userId) throws SQLException {
+        boolean useCache = useCache();
+        User cached = useCache ? cache.getById(userId) : null;
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        String sql = "SELECT * FROM Users WHERE userId = ?";
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                User user = mapResultSetToUser(rs);
+                if (useCache) {
+                    cache.put(user, generation);
+                }
+                return user;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves a list of all Users.
+     * 
+     * @return A list of User objects.
+     */
+    @Override
+    public List<User> getAllUsers() {
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT * FROM Users";
+
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                users.add(mapResultSetToUser(rs));
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return users;
+    }
+
+    /**
+     * Streams all users without loading them into memory at once.
+     * Rows are fetched from a server-side cursor in batches of the default fetch size.
+     * The stream holds a pooled connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;User&gt; rows = dao.streamAllUsers()) { ... }</pre>
+     *
+     * @return a stream of User objects
+     */
+    @Override
+    public Stream<User> streamAllUsers() {
+        return streamAllUsers(ResultStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all users using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of User objects; must be closed by the caller
+     */
+    @Override
+    public Stream<User> streamAllUsers(int fetchSize) {
+        String sql = "SELECT * FROM Users ORDER BY userId";
+        return ResultStreams.stream(DatabaseConnection::getcon, sql, fetchSize, null, this::mapResultSetToUser);
+    }
+
+    /**
+     * Retrieves one page of users ordered by userId (keyset pagination).
+     *
+     * @param afterUserId return users with a userId greater than this; 0 for the first page
+     * @param pageSize maximum number of users on the page
+     * @return the page of users
+     */
+    @Override
+    public Page<User> getUsersPage(int afterUserId, int pageSize) {
+        return getUsersPage(null, afterUserId, pageSize);
+    }
+
+    /**
+     * Retrieves one page of users ordered by userId, optionally filtered by role.
+     * Each page is an index range scan starting after the last key seen,
+     * so deep pages cost the same as the first one.
+     *
+     * @param role role to filter on (Admin, Trainer or Member), or null for all users
+     * @param afterUserId return users with a userId greater than this; 0 for the first page
+     * @param pageSize maximum number of users on the page
+     * @return the page of users
+     */
+    @Override
+    public Page<User> getUsersPage(String role, int afterUserId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        List<User> rows = new ArrayList<>();
+        String sql = role == null
+                ? "SELECT * FROM Users WHERE userId > ? ORDER BY userId LIMIT ?"
+                : "SELECT * FROM Users WHERE userId > ? AND userRole = ? ORDER BY userId LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            ps.setInt(index++, afterUserId);
+            if (role != null) {
+                ps.setString(index++, role);
+            }
+            ps.setInt(index, pageSize + 1);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                rows.add(mapResultSetToUser(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return Page.fromRows(rows, pageSize, afterUserId, User::getUserId);
+    }
+
+    /**
+     * Retrieves one page of user summaries ordered by userId. Only the four
+     * listed columns are selected, so password hashes, phone numbers and
+     * addresses never leave the database. The search is a case-insensitive
+     * substring match on userName or email; its wildcard characters are
+     * escaped so they match literally.
+     *
+     * @param role role to filter on (Admin, Trainer or Member), or null for all users
+     * @param search text the userName or email must contain, or null for no search
+     * @param afterUserId return users with a userId greater than this; 0 for the first page
+     * @param pageSize maximum number of users on the page
+     * @return the page of user summaries
+     */
+    @Override
+    public Page<UserSummary> getUserSummariesPage(String role, String search, int afterUserId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        boolean searching = search != null && !search.isBlank();
+        StringBuilder sql = new StringBuilder("SELECT userId, userName, userRole, email FROM Users WHERE userId > ?");
+        if (role != null) {
+            sql.append(" AND userRole = ?");
+        }
+        if (searching) {
+            sql.append(" AND (userName ILIKE ? ESCAPE '\\' OR email ILIKE ? ESCAPE '\\')");
+        }
+        sql.append(" ORDER BY userId LIMIT ?");
+
+        List<UserSummary> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            ps.setInt(index++, afterUserId);
+            if (role != null) {
+                ps.setString(index++, role);
+            }
+            if (searching) {
+                String pattern = "%" + search.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+                ps.setString(index++, pattern);
+                ps.setString(index++, pattern);
+            }
+            ps.setInt(index, pageSize + 1);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                rows.add(new UserSummary(
+                        rs.getInt("userId"),
+                        rs.getString("userName"),
+                        rs.getString("userRole"),
+                        rs.getString("email")));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return Page.fromRows(rows, pageSize, afterUserId, UserSummary::getUserId);
+    }
+
+    /**
+     * Updates a User record.
+     * Expects the password to be hashed before calling this method.
+     * 
+     * @param user The User object with updated information.
+     * @return true if update was successful, false otherwise.
+     */
+    @Override
+    public boolean updateUser(User user) {
+        String sql = """
+            UPDATE Users
+            SET userName = ?, userAddress = ?, userPhoneNumber = ?, userRole = ?, passwordHash = ?, email = ?
+            WHERE userId = ?
+        """;
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, user.getUserName());
+            stmt.setString(2, user.getUserAddress());
+            stmt.setString(3, user.getUserPhoneNumber());
+            stmt.setString(4, user.getUserRole());
+            stmt.setString(5, user.getPasswordHash());
+            stmt.setString(6, user.getEmail());
+            stmt.setInt(7, user.getUserId());
+
+            boolean updated = stmt.executeUpdate() > 0;
+            InvalidationBus.shared().publish(conn, InvalidationBus.USERS, user.getUserId());
+            return updated;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+            return false;
+        }
+    }
+
+    /**
+     * Replaces a user's password hash if it still equals the expected hash.
+     * Only the passwordHash column is written.
+     *
+     * @param userId ID of the user
+     * @param expectedHash the hash the user must currently have
+     * @param newHash the new hash
+     * @return true if the hash was replaced, false otherwise.
+     */
+    @Override
+    public boolean updatePasswordHash(int userId, String expectedHash, String newHash) {
+        String sql = "UPDATE Users SET passwordHash = ? WHERE userId = ? AND passwordHash = ?";
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, newHash);
+            stmt.setInt(2, userId);
+            stmt.setString(3, expectedHash);
+
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                InvalidationBus.shared().publish(conn, InvalidationBus.USERS, userId);
+            }
+            return updated;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+            return false;
+        }
+    }
+
+    /**
+     * Deletes a User by ID.
+     * @param userId The ID of the user to delete.
+     * @return true if deletion was successful, false otherwise.
+     */
+    @Override
+    public boolean deleteUser(int userId) {
+        String sql = "DELETE FROM Users WHERE userId = ?";
+
+        try (Connection conn = DatabaseConnection.getcon();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            boolean deleted = stmt.executeUpdate() > 0;
+            InvalidationBus.shared().publish(conn, InvalidationBus.USERS, userId);
+            return deleted;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+            return false;
+        }
+    }
+
+    /**
+     * Maps a ResultSet row to a User object.
+     * @param rs The ResultSet object.
+     * @return The mapped User object.
+     */
+    private User mapResultSetToUser(ResultSet rs) throws SQLException {
+        return new User(
+                rs.getInt("userId"),
+                rs.getString("userName"),
+                rs.getString("passwordHash"),
+                rs.getString("email"),
+                rs.getString("userPhoneNumber"),
+                rs.getString("userAddress"),
+                rs.getString("userRole")
+        );
+    }
+}
@@ -0,0 +1,383 @@
+package dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import models.WorkoutClass;
+import models.WorkoutClassDetail;
+import utils.ConnectionPool;
+import utils.DatabaseConnection;
+import utils.Metrics;
+
+/**
+ * JdbcWorkoutClassDAO
+ * PostgreSQL implementation of {@link WorkoutClassDAO}.
+ * Data Access Object (DAO) for performing operations on WorkoutClass records.
+ * Provides methods to add, retrieve, update, and delete workout classes.
+ *
+ * <p>Each operation borrows its own connection from the pool and returns it
+ * when done, so a single instance can be shared safely between threads and
+ * recovers automatically when the server drops idle connections.</p>
+ *
+ * Author: Brandon Maloney
+ * Updated by: Abiodun Magret Oyedele
+ * Date: 2025-12-08
+ */
+public class JdbcWorkoutClassDAO implements WorkoutClassDAO {
+    /** Connection supplied by the caller for a unit of work, or null to use the pool. */
+    private final Connection boundConnection;
+
+    /**
+     * Constructor for a DAO that borrows a pooled connection per operation.
+     *
+     */
+    public JdbcWorkoutClassDAO() {
+        this.boundConnection = null;
+    }
+
+    /**
+     * Constructor with existing connection.
+     * All operations run on the given connection, which stays open and
+     * remains owned by the caller. Use this to group several calls into one
+     * unit of work; the instance should then not be shared between threads.
+     *
+     * @param conn The database connection to use.
+     */
+    public JdbcWorkoutClassDAO(Connection conn) {
+        this.boundConnection = conn;
+    }
+
+    /**
+     * Opens the connection for one operation: a fresh pooled connection, or
+     * a view of the bound connection whose close() leaves it open.
+     *
+     * @return connection to use inside try-with-resources
+     */
+    private Connection openConnection() throws SQLException {
+        return boundConnection != null ? ConnectionPool.nonClosing(boundConnection) : DatabaseConnection.getcon();
+    }
+
+    /**
+     * Create a new WorkoutClass record in the database.
+     *
+     * @param wc The WorkoutClass object to be created.
+     * @return true if creation was successful, false otherwise.
+     */
+    @Override
+    public boolean createWorkoutClass(WorkoutClass wc) {
+
+        if (wc.getTrainerID() <= 0) {
+            System.err.println("Invalid trainerID for WorkoutClass");
+            return false;
+        }
+
+        String sql = "INSERT INTO WorkoutClasses (workoutClassType, workoutClassDescription, trainerID) VALUES (?, ?, ?)";
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, wc.getWorkoutClassType());
+            pstmt.setString(2, wc.getWorkoutClassDescription());
+            pstmt.setInt(3, wc.getTrainerID());
+
+            int affected = pstmt.executeUpdate();
+            if (affected > 0) {
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        wc.setWorkoutClassID(rs.getInt(1));
+                    }
+                }
+                InvalidationBus.shared().publish(conn, InvalidationBus.WORKOUT_CLASSES, wc.getWorkoutClassID());
+                return true;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Gets a WorkoutClass by its ID.
+     *
+     * @param id id of the WorkoutClass to retrieve.
+     * @return The WorkoutClass object if found, null otherwise.
+     */
+    @Override
+    public WorkoutClass getWorkoutClassById(int id) {
+        String sql = "SELECT * FROM WorkoutClasses WHERE workoutClassID = ?";
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return mapResultSetToWorkoutClass(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return null;
+    }
+
+    /**
+     * Gets all WorkoutClasses assigned to a trainer.
+     *
+     * @param trainerId ID of the trainer.
+     * @return List of WorkoutClass objects.
+     */
+    @Override
+    public List<WorkoutClass> getWorkoutClassesByTrainerId(int trainerId) {
+        List<WorkoutClass> classes = new ArrayList<>();
+
+        String sql = "SELECT * FROM WorkoutClasses WHERE trainerID = ?";
+
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, trainerId);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                classes.add(mapResultSetToWorkoutClass(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+
+        return classes;
+    }
+
+    /**
+     * Gets all WorkoutClass records from the database.
+     *
+     * @return A list of all WorkoutClass objects.
+     */
+    @Override
+    public List<WorkoutClass> getAllWorkoutClasses() {
+        List<WorkoutClass> list = new ArrayList<>();
+        String sql = "SELECT * FROM WorkoutClasses";
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                list.add(mapResultSetToWorkoutClass(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return list;
+    }
+
+    /**
+     * Gets workout classes together with their trainer's name and contact
+     * details. The trainer is LEFT JOINed in the same query, so the cost is
+     * one round trip however many classes there are; classes without a
+     * trainer are included with empty trainer fields. The type filter is
+     * served by the workoutclasses_type_idx index.
+     *
+     * @param classType only return classes of this type (case-insensitive), or null for all
+     * @return List of WorkoutClassDetail objects; empty if an error occurs
+     */
+    @Override
+    public List<WorkoutClassDetail> getWorkoutClassDetails(String classType) {
+        boolean filtered = classType != null && !classType.isBlank();
+        String sql = """
+            SELECT wc.workoutClassID, wc.workoutClassType, wc.workoutClassDescription, wc.trainerID,
+                   u.userName, u.email, u.userPhoneNumber
+            FROM WorkoutClasses wc
+            LEFT JOIN Users u ON u.userId = wc.trainerID
+            """ + (filtered ? "WHERE lower(wc.workoutClassType) = lower(?) " : "")
+                + "ORDER BY wc.workoutClassID";
+
+        List<WorkoutClassDetail> details = new ArrayList<>();
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (filtered) {
+                ps.setString(1, classType.trim());
+            }
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                details.add(new WorkoutClassDetail(
+                        rs.getInt("workoutClassID"),
+                        rs.getString("workoutClassType"),
+                        rs.getString("workoutClassDescription"),
+                        rs.getInt("trainerID"),
+                        rs.getString("userName"),
+                        rs.getString("email"),
+                        rs.getString("userPhoneNumber")));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return details;
+    }
+
+    /**
+     * Streams all workout classes without loading them into memory at once.
+     * Rows are fetched from a server-side cursor in batches of the default fetch size.
+     * The stream holds a pooled connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;WorkoutClass&gt; rows = dao.streamAllWorkoutClasses()) { ... }</pre>
+     *
+     * @return a stream of WorkoutClass objects
+     */
+    @Override
+    public Stream<WorkoutClass> streamAllWorkoutClasses() {
+        return streamAllWorkoutClasses(ResultStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all workout classes using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of WorkoutClass objects; must be closed by the caller
+     */
+    @Override
+    public Stream<WorkoutClass> streamAllWorkoutClasses(int fetchSize) {
+        String sql = "SELECT * FROM WorkoutClasses ORDER BY workoutClassID";
+        return ResultStreams.stream(this::openConnection, sql, fetchSize, null, this::mapResultSetToWorkoutClass);
+    }
+
+    /**
+     * Retrieves one page of workout classes ordered by workoutClassID (keyset pagination).
+     *
+     * @param afterClassId return workout classes with a workoutClassID greater than this; 0 for the first page
+     * @param pageSize maximum number of workout classes on the page
+     * @return the page of workout classes
+     */
+    @Override
+    public Page<WorkoutClass> getWorkoutClassesPage(int afterClassId, int pageSize) {
+        return getWorkoutClassesPage(0, afterClassId, pageSize);
+    }
+
+    /**
+     * Retrieves one page of workout classes ordered by workoutClassID, optionally filtered by trainer.
+     * Each page is an index range scan starting after the last key seen,
+     * so deep pages cost the same as the first one.
+     *
+     * @param trainerId trainer whose classes to list, or 0 for all trainers
+     * @param afterClassId return workout classes with a workoutClassID greater than this; 0 for the first page
+     * @param pageSize maximum number of workout classes on the page
+     * @return the page of workout classes
+     */
+    @Override
+    public Page<WorkoutClass> getWorkoutClassesPage(int trainerId, int afterClassId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        List<WorkoutClass> rows = new ArrayList<>();
+        String sql = trainerId == 0
+                ? "SELECT * FROM WorkoutClasses WHERE workoutClassID > ? ORDER BY workoutClassID LIMIT ?"
+                : "SELECT * FROM WorkoutClasses WHERE workoutClassID > ? AND trainerID = ? ORDER BY workoutClassID LIMIT ?";
+
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            ps.setInt(index++, afterClassId);
+            if (trainerId != 0) {
+                ps.setInt(index++, trainerId);
+            }
+            ps.setInt(index, pageSize + 1);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                rows.add(mapResultSetToWorkoutClass(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return Page.fromRows(rows, pageSize, afterClassId, WorkoutClass::getWorkoutClassID);
+    }
+
+    /**
+     * Updates an existing WorkoutClass record in the database.
+     *
+     * @param wc The WorkoutClass object with updated information.
+     * @return true if update was successful, false otherwise.
+     */
+    @Override
+    public boolean updateWorkoutClass(WorkoutClass wc) {
+        String sql = "UPDATE WorkoutClasses SET workoutClassType = ?, workoutClassDescription = ?, trainerID = ? WHERE workoutClassID = ?";
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, wc.getWorkoutClassType());
+            pstmt.setString(2, wc.getWorkoutClassDescription());
+            pstmt.setInt(3, wc.getTrainerID());
+            pstmt.setInt(4, wc.getWorkoutClassID());
+            boolean updated = pstmt.executeUpdate() > 0;
+            if (updated) {
+                InvalidationBus.shared().publish(conn, InvalidationBus.WORKOUT_CLASSES, wc.getWorkoutClassID());
+            }
+            return updated;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Moves every WorkoutClass of one trainer to another with a single UPDATE.
+     *
+     * @param fromTrainerId trainer whose classes are moved
+     * @param toTrainerId trainer who takes them over
+     * @return number of classes moved, or -1 if an error occurs
+     */
+    @Override
+    public int reassignTrainer(int fromTrainerId, int toTrainerId) {
+        String sql = "UPDATE WorkoutClasses SET trainerID = ? WHERE trainerID = ?";
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, toTrainerId);
+            pstmt.setInt(2, fromTrainerId);
+            int moved = pstmt.executeUpdate();
+            if (moved > 0) {
+                InvalidationBus.shared().publish(conn, InvalidationBus.WORKOUT_CLASSES, InvalidationBus.ALL_KEYS);
+            }
+            return moved;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return -1;
+    }
+
+    /**
+     * Deletes a WorkoutClass record from the database.
+     *
+     * @param id The ID of the WorkoutClass to delete.
+     * @return true if deletion was successful, false otherwise.
+     */
+    @Override
+    public boolean deleteWorkoutClass(int id) {
+        String sql = "DELETE FROM WorkoutClasses WHERE workoutClassID = ?";
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted) {
+                InvalidationBus.shared().publish(conn, InvalidationBus.WORKOUT_CLASSES, id);
+            }
+            return deleted;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Metrics.markFailed();
+        }
+        return false;
+    }
+
+    /**
+     * Maps a ResultSet row to a WorkoutClass object.
+     * @param rs The ResultSet object.
+     * @return The mapped WorkoutClass object.
+     */
+    private WorkoutClass mapResultSetToWorkoutClass(ResultSet rs) throws SQLException {
+        return new WorkoutClass(
+                rs.getInt("workoutClassID"),
+                rs.getString("workoutClassType"),
+                rs.getString("workoutClassDescription"),
+                rs.getInt("trainerID"));
+    }
+}
@@ -1,28 +1,18 @@
 package dao;
 
-import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import models.Member;
-import utils.DatabaseConnection;
 
 /**
  * MemberDAO
- * Data Access Object (DAO) class for performing CRUD operations on Member records.
- * Handles creation, retrieval, update, and deletion of Member records in the database.
- * 
- * Author: Brandon Maloney
- * Date: 2025-12-08
+ * Data access for Member users: Users with userRole = 'Member'.
+ *
+ * <p>{@link JdbcMemberDAO} stores the records in PostgreSQL;
+ * {@link dao.memory.InMemoryDatabase} provides an in-memory implementation
+ * for tests and benchmarks.</p>
  */
-public class MemberDAO {
-
-    /**
-     * Default constructor for MemberDAO.
-     * Initializes an instance of MemberDAO for performing CRUD operations.
-     */
-    public MemberDAO() {
-        // No initialization required for now
-    }
+public interface MemberDAO {
 
     /**
      * Creates a new member in the database.
@@ -30,37 +20,7 @@ public class MemberDAO {
      * @param member The Member object to be created.
      * @return true if the member was created successfully, false otherwise.
      */
-    public boolean createMember(Member member) {
-        String query = """
-            INSERT INTO Users (userName, userAddress, userPhoneNumber, userRole, passwordHash, email)
-            VALUES (?, ?, ?, ?, ?, ?)
-        """;
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-
-            ps.setString(1, member.getUserName());
-            ps.setString(2, member.getUserAddress());
-            ps.setString(3, member.getUserPhoneNumber());
-            ps.setString(4, member.getUserRole());
-            ps.setString(5, member.getPasswordHash());
-            ps.setString(6, member.getEmail());
-
-            int rows = ps.executeUpdate();
-            if (rows == 0) return false;
-
-            try (ResultSet keys = ps.getGeneratedKeys()) {
-                if (keys.next()) {
-                    member.setUserId(keys.getInt(1));
-                }
-            }
-            return true;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean createMember(Member member);
 
     /**
      * Retrieves a member by their ID.
@@ -68,56 +28,33 @@ public class MemberDAO {
      * @param userId The ID of the member to retrieve.
      * @return The Member object if found, null otherwise.
      */
-    public Member getMemberById(int userId) {
-        String query = "SELECT * FROM Users WHERE userId = ? AND userRole = 'Member'";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-
-            ps.setInt(1, userId);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return new Member(
-                    rs.getInt("userId"),
-                    rs.getString("userName"),
-                    rs.getString("passwordHash"),
-                    rs.getString("email"),
-                    rs.getString("userPhoneNumber"),
-                    rs.getString("userAddress")
-                );
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    Member getMemberById(int userId);
 
     /**
      * Retrieves all members from the database.
      * 
      * @return A list of Member objects.
      */
-    public List<Member> getAllMembers() {
-        List<Member> members = new ArrayList<>();
-        String query = "SELECT * FROM Users WHERE userRole = 'Member'";
-        try (Connection conn = DatabaseConnection.getcon();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
+    List<Member> getAllMembers();
 
-            while (rs.next()) {
-                members.add(new Member(
-                    rs.getInt("userId"),
-                    rs.getString("userName"),
-                    rs.getString("passwordHash"),
-                    rs.getString("email"),
-                    rs.getString("userPhoneNumber"),
-                    rs.getString("userAddress")
-                ));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return members;
-    }
+    /**
+     * Streams all members without loading them into memory at once.
+     * The stream may hold a database connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;Member&gt; rows = dao.streamAllMembers()) { ... }</pre>
+     *
+     * @return a stream of Member objects
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<Member> streamAllMembers();
+
+    /**
+     * Streams all members using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of Member objects; must be closed by the caller
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<Member> streamAllMembers(int fetchSize);
 
     /**
      * Updates an existing member's information.
@@ -125,29 +62,7 @@ public class MemberDAO {
      * @param member The Member object with updated information.
      * @return true if the member was updated successfully, false otherwise.
      */
-    public boolean updateMember(Member member) {
-        String query = """
-            UPDATE Users
-            SET userName = ?, userAddress = ?, userPhoneNumber = ?, passwordHash = ?, email = ?
-            WHERE userId = ?
-        """;
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-
-            ps.setString(1, member.getUserName());
-            ps.setString(2, member.getUserAddress());
-            ps.setString(3, member.getUserPhoneNumber());
-            ps.setString(4, member.getPasswordHash());
-            ps.setString(5, member.getEmail());
-            ps.setInt(6, member.getUserId());
-
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean updateMember(Member member);
 
     /**
      * Deletes a member from the database.
@@ -155,16 +70,5 @@ public class MemberDAO {
      * @param userId     The ID of the member to delete.
      * @return true if the member was deleted successfully, false otherwise.
      */
-    public boolean deleteMember(int userId) {
-        String query = "DELETE FROM Users WHERE userId = ? AND userRole = 'Member'";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-
-            ps.setInt(1, userId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean deleteMember(int userId);
 }
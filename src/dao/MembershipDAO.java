@@ -1,116 +1,78 @@
 package dao;
 
-import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import models.Membership;
-import utils.DatabaseConnection;
 
 /**
  * MembershipDAO
- * Data Access Object (DAO) class for performing CRUD operations on Membership records.
- * Handles creation, retrieval, update, and deletion of Membership records in the database.
- * 
- * Author: Brandon Maloney
- * Date: 2025-12-08
+ * Data access for Membership records, including the revenue aggregations
+ * used by the reports.
+ *
+ * <p>{@link JdbcMembershipDAO} stores the records in PostgreSQL;
+ * {@link dao.memory.InMemoryDatabase} provides an in-memory implementation
+ * for tests and benchmarks.</p>
  */
-public class MembershipDAO {
-
-    /**
-     * Default constructor for MembershipDAO.
-     * Initializes an instance of MembershipDAO for performing CRUD operations.
-     */
-    public MembershipDAO() {
-        // No initialization required for now
-    }
+public interface MembershipDAO {
 
     /**
      * Creates a new membership in the database.
      * @param membership The Membership object to be created.
      * @return true if the membership was created successfully, false otherwise.
      */
-    public boolean createMembership(Membership membership) {
-        String query = """
-            INSERT INTO Memberships (membershipType, membershipDescription, membershipCost, memberID)
-            VALUES (?, ?, ?, ?)
-        """;
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-
-            ps.setString(1, membership.getMembershipType());
-            ps.setString(2, membership.getMembershipDescription());
-            ps.setDouble(3, membership.getMembershipCost());
-            ps.setInt(4, membership.getMemberID());
-
-            int rows = ps.executeUpdate();
-            if (rows == 0) return false;
-
-            try (ResultSet keys = ps.getGeneratedKeys()) {
-                if (keys.next()) {
-                    membership.setMembershipID(keys.getInt(1));
-                }
-            }
-            return true;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean createMembership(Membership membership);
 
     /**
      * Retrieves a membership by its ID.
      * @param membershipID The ID of the membership to retrieve.
      * @return The Membership object if found, null otherwise.
      */
-    public Membership getMembershipById(int membershipID) {
-        String query = "SELECT * FROM Memberships WHERE membershipID = ?";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-
-            ps.setInt(1, membershipID);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return new Membership(
-                    rs.getInt("membershipID"),
-                    rs.getString("membershipType"),
-                    rs.getString("membershipDescription"),
-                    rs.getDouble("membershipCost"),
-                    rs.getInt("memberID")
-                );
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    Membership getMembershipById(int membershipID);
 
     /**
      * Retrieves all memberships from the database.
      * @return A list of all Membership objects.
      */
-    public List<Membership> getAllMemberships() {
-        List<Membership> list = new ArrayList<>();
-        String query = "SELECT * FROM Memberships";
-        try (Connection conn = DatabaseConnection.getcon();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-
-            while (rs.next()) {
-                list.add(new Membership(
-                    rs.getInt("membershipID"),
-                    rs.getString("membershipType"),
-                    rs.getString("membershipDescription"),
-                    rs.getDouble("membershipCost"),
-                    rs.getInt("memberID")
-                ));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return list;
-    }
+    List<Membership> getAllMemberships();
+
+    /**
+     * Streams all memberships without loading them into memory at once.
+     * The stream may hold a database connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;Membership&gt; rows = dao.streamAllMemberships()) { ... }</pre>
+     *
+     * @return a stream of Membership objects
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<Membership> streamAllMemberships();
+
+    /**
+     * Streams all memberships using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of Membership objects; must be closed by the caller
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<Membership> streamAllMemberships(int fetchSize);
+
+    /**
+     * Retrieves one page of memberships ordered by membershipID (keyset pagination).
+     *
+     * @param afterMembershipId return memberships with a membershipID greater than this; 0 for the first page
+     * @param pageSize maximum number of memberships on the page
+     * @return the page of memberships
+     */
+    Page<Membership> getMembershipsPage(int afterMembershipId, int pageSize);
+
+    /**
+     * Retrieves one page of memberships ordered by membershipID, optionally filtered by owning member.
+     *
+     * @param memberId member whose memberships to list, or 0 for all members
+     * @param afterMembershipId return memberships with a membershipID greater than this; 0 for the first page
+     * @param pageSize maximum number of memberships on the page
+     * @return the page of memberships
+     */
+    Page<Membership> getMembershipsPage(int memberId, int afterMembershipId, int pageSize);
 
     /**
      * Retrieves memberships belonging to a specific member.
@@ -118,74 +80,48 @@ public class MembershipDAO {
      * @param memberId the member's userId
      * @return list of Membership objects for that member; empty list if none
      */
-    public List<Membership> getMembershipsByMemberId(int memberId) {
-        List<Membership> list = new ArrayList<>();
-        String query = "SELECT * FROM Memberships WHERE memberID = ?";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-
-            ps.setInt(1, memberId);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                list.add(new Membership(
-                    rs.getInt("membershipID"),
-                    rs.getString("membershipType"),
-                    rs.getString("membershipDescription"),
-                    rs.getDouble("membershipCost"),
-                    rs.getInt("memberID")
-                ));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return list;
-    }
+    List<Membership> getMembershipsByMemberId(int memberId);
+
+    /**
+     * Calculates the total revenue of all memberships in the database.
+     *
+     * @return total of all membership costs; 0 if there are none
+     */
+    double getTotalRevenue();
+
+    /**
+     * Calculates the total membership cost paid by a specific member.
+     *
+     * @param memberId the member's userId
+     * @return total of that member's membership costs; 0 if there are none
+     */
+    double getTotalCostByMemberId(int memberId);
+
+    /**
+     * Calculates revenue grouped by membership type, highest revenue first.
+     *
+     * @return map of membership type to total revenue; empty if there are no memberships
+     */
+    Map<String, Double> getRevenueByMembershipType();
+
+    /**
+     * Counts memberships grouped by membership type, most sold first.
+     *
+     * @return map of membership type to number of memberships sold
+     */
+    Map<String, Integer> countMembershipsByType();
 
     /**
      * Updates an existing membership in the database.
      * @param membership The Membership object with updated information.
      * @return true if the membership was updated successfully, false otherwise.
      */
-    public boolean updateMembership(Membership membership) {
-        String query = """
-            UPDATE Memberships
-            SET membershipType = ?, membershipDescription = ?, membershipCost = ?, memberID = ?
-            WHERE membershipID = ?
-        """;
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-
-            ps.setString(1, membership.getMembershipType());
-            ps.setString(2, membership.getMembershipDescription());
-            ps.setDouble(3, membership.getMembershipCost());
-            ps.setInt(4, membership.getMemberID());
-            ps.setInt(5, membership.getMembershipID());
-
-            return ps.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean updateMembership(Membership membership);
 
     /**
      * Deletes a membership from the database.
      * @param membershipID The ID of the membership to delete.
      * @return true if the membership was deleted successfully, false otherwise.
      */
-    public boolean deleteMembership(int membershipID) {
-        String query = "DELETE FROM Memberships WHERE membershipID = ?";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(query)) {
-
-            ps.setInt(1, membershipID);
-            return ps.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean deleteMembership(int membershipID);
 }
@@ -1,68 +1,45 @@
 package dao;
 
-import java.sql.*;
-import java.util.ArrayList;
+import java.sql.SQLException;
 import java.util.List;
 import models.MembershipPlan;
-import utils.DatabaseConnection;
 
 /**
- * DAO for MembershipPlan catalog entries. Exposes methods to list available plans
- * and fetch a single plan by id.
+ * MembershipPlanDAO
+ * Data access for the MembershipPlan catalog.
  *
- * Note: this class expects a database table named `MembershipPlans` with columns:
- * planId (auto-increment), planType, planDescription, planPrice.
+ * <p>{@link JdbcMembershipPlanDAO} stores the records in PostgreSQL;
+ * {@link dao.memory.InMemoryDatabase} provides an in-memory implementation
+ * for tests and benchmarks.</p>
  */
-public class MembershipPlanDAO {
-
-    public MembershipPlanDAO() {
-        // no-op
-    }
+public interface MembershipPlanDAO {
 
     /**
      * Returns all membership plans from the catalog.
      */
-    public List<MembershipPlan> getAllPlans() {
-        List<MembershipPlan> plans = new ArrayList<>();
-        String sql = "SELECT * FROM MembershipPlans";
-        try (Connection conn = DatabaseConnection.getcon();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    List<MembershipPlan> getAllPlans();
 
-            while (rs.next()) {
-                plans.add(new MembershipPlan(
-                        rs.getInt("planId"),
-                        rs.getString("planType"),
-                        rs.getString("planDescription"),
-                        rs.getDouble("planPrice")
-                ));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return plans;
-    }
+    /**
+     * Returns all membership plans from the catalog, reporting a failed read
+     * instead of returning an empty list, so callers can tell "no plans"
+     * from "could not load plans".
+     *
+     * @return all plans
+     * @throws SQLException if the plans could not be read
+     */
+    List<MembershipPlan> loadAllPlans() throws SQLException;
 
     /**
      * Fetch a plan by id.
      */
-    public MembershipPlan getPlanById(int planId) {
-        String sql = "SELECT * FROM MembershipPlans WHERE planId = ?";
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, planId);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return new MembershipPlan(
-                        rs.getInt("planId"),
-                        rs.getString("planType"),
-                        rs.getString("planDescription"),
-                        rs.getDouble("planPrice")
-                );
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    MembershipPlan getPlanById(int planId);
+
+    /**
+     * Returns a fingerprint of the whole catalog that changes whenever a
+     * plan is added, changed or removed. Used to detect when a cached copy
+     * of the catalog needs reloading without fetching every row.
+     *
+     * @return the catalog fingerprint, "empty" if there are no plans, or null on error
+     */
+    String getCatalogVersion();
 }
@@ -0,0 +1,85 @@
+package dao;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Page
+ * One page of a keyset (seek) paginated listing.
+ *
+ * <p>Keyset pages are requested with the primary key of the last row already
+ * seen ({@code WHERE id > ? ORDER BY id LIMIT ?}), so every page costs the
+ * same index range scan regardless of how deep into the table it is, unlike
+ * OFFSET paging. Pass {@link #getNextKey()} as the "after" key to fetch the
+ * following page; start with 0.</p>
+ *
+ * @param <T> the model type listed
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final int nextKey;
+    private final boolean hasMore;
+
+    /**
+     * Constructor to initialize a Page.
+     *
+     * @param items rows on this page
+     * @param nextKey key to pass as "after" for the next page
+     * @param hasMore true if at least one more row exists after this page
+     */
+    public Page(List<T> items, int nextKey, boolean hasMore) {
+        this.items = List.copyOf(items);
+        this.nextKey = nextKey;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code LIMIT pageSize + 1}; the
+     * extra row, if present, only signals that another page exists.
+     *
+     * @param rows rows returned by the query, at most pageSize + 1
+     * @param pageSize requested page size
+     * @param afterKey key the page was requested after
+     * @param key extracts the primary key of a row
+     * @param <T> the model type listed
+     * @return the page
+     */
+    public static <T> Page<T> fromRows(List<T> rows, int pageSize, int afterKey, ToIntFunction<T> key) {
+        boolean more = rows.size() > pageSize;
+        List<T> items = more ? rows.subList(0, pageSize) : rows;
+        int next = items.isEmpty() ? afterKey : key.applyAsInt(items.get(items.size() - 1));
+        return new Page<>(items, next, more);
+    }
+
+    /**
+     * Getter for items.
+     * @return the rows on this page (unmodifiable)
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Getter for nextKey.
+     * @return the key to request the next page with
+     */
+    public int getNextKey() {
+        return nextKey;
+    }
+
+    /**
+     * Whether another page follows this one.
+     * @return true if more rows exist
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Whether this page has no rows.
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
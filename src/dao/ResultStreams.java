@@ -0,0 +1,151 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import utils.AppConfig;
+
+/**
+ * ResultStreams
+ * Runs a query as a server-side cursor and exposes the rows as a lazily
+ * populated {@link Stream}.
+ *
+ * <p>The PostgreSQL driver only fetches rows in batches when autocommit is
+ * off and a fetch size is set; otherwise it buffers the whole result. The
+ * returned stream holds the connection, statement and ResultSet open until
+ * it is closed, so callers must use try-with-resources.</p>
+ *
+ * <p>Failures surface as {@link DataAccessException}, whether the query
+ * cannot be started or a row cannot be read, so a caller never mistakes a
+ * failed query for an empty table.</p>
+ */
+final class ResultStreams {
+    /** Rows fetched per round trip when the caller does not specify a fetch size. */
+    static final int DEFAULT_FETCH_SIZE = AppConfig.getInt("DB_FETCH_SIZE", 500);
+
+    /**
+     * Default private constructor to prevent instantiation.
+     */
+    private ResultStreams() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Binds parameters on a prepared statement before it is executed.
+     */
+    @FunctionalInterface
+    interface Binder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Supplies the connection a stream runs on, e.g. {@code DatabaseConnection::getcon}.
+     */
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * Opens a streaming query. The stream takes ownership of the connection
+     * and closes it (returning it to the pool) when the stream is closed.
+     * If no connection can be obtained or the query cannot be started,
+     * the connection is released and a DataAccessException is thrown.
+     *
+     * @param source supplies the connection to run on
+     * @param sql query text
+     * @param fetchSize rows fetched per round trip
+     * @param binder parameter binder, or null if the query has no parameters
+     * @param mapper row mapper
+     * @return a stream of mapped rows; must be closed by the caller
+     * @throws DataAccessException if the query cannot be started
+     */
+    static <T> Stream<T> stream(ConnectionSource source, String sql, int fetchSize, Binder binder, RowMapper<T> mapper) {
+        Connection conn;
+        try {
+            conn = source.open();
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not open a connection for streamed rows", e);
+        }
+        Cursor<T> cursor = new Cursor<>(conn, mapper);
+        try {
+            cursor.open(sql, fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE, binder);
+        } catch (SQLException e) {
+            cursor.close();
+            throw new DataAccessException("Could not start streamed query", e);
+        }
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    /**
+     * Spliterator that advances a ResultSet one row at a time.
+     */
+    private static final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection conn;
+        private final RowMapper<T> mapper;
+        private boolean restoreAutoCommit;
+        private PreparedStatement ps;
+        private ResultSet rs;
+
+        private Cursor(Connection conn, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.mapper = mapper;
+        }
+
+        private void open(String sql, int fetchSize, Binder binder) throws SQLException {
+            if (conn.getAutoCommit()) {
+                conn.setAutoCommit(false);
+                restoreAutoCommit = true;
+            }
+            ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            if (binder != null) {
+                binder.bind(ps);
+            }
+            rs = ps.executeQuery();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (rs == null || !rs.next()) {
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                throw new DataAccessException("Error reading streamed rows", e);
+            }
+        }
+
+        private void close() {
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+                if (ps != null) {
+                    ps.close();
+                }
+                if (restoreAutoCommit) {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } finally {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
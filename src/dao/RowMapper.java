@@ -0,0 +1,23 @@
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RowMapper
+ * Converts the current row of a ResultSet into a model object.
+ *
+ * @param <T> the model type produced for each row
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps the current row. Implementations must not advance the ResultSet.
+     *
+     * @param rs ResultSet positioned on the row to map
+     * @return the mapped object
+     * @throws SQLException if a column cannot be read
+     */
+    T map(ResultSet rs) throws SQLException;
+}
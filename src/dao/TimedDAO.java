@@ -0,0 +1,69 @@
+package dao;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import utils.Metrics;
+
+/**
+ * TimedDAO
+ * Times every call to a DAO for {@link Metrics}, without any code in the DAO.
+ *
+ * <p>{@link #wrap(Class, Object)} returns a proxy of the DAO interface that
+ * runs each interface method inside {@link Metrics#time(String, Metrics.TimedCall)}
+ * under a fixed name such as {@code UserDAO.getUserById}. Names are worked
+ * out once, when the DAO is wrapped, so a call costs one timer update.
+ * A call counts as an error if it throws, or if the DAO catches an
+ * SQLException and reports it with {@link Metrics#markFailed()}. Calls a
+ * DAO makes to itself or to other unwrapped DAOs are part of the outer
+ * call's time. Methods returning a Stream are timed until the stream is
+ * returned, not while it is read.</p>
+ *
+ * <p>When METRICS_ENABLED=false the DAO is returned unwrapped.</p>
+ */
+public final class TimedDAO {
+
+    private TimedDAO() {
+        // Utility class
+    }
+
+    /**
+     * Wrap a DAO so its calls are timed.
+     *
+     * @param type the DAO interface, e.g. {@code UserDAO.class}
+     * @param dao the implementation to time
+     * @param <T> the DAO interface type
+     * @return a timed view of the DAO, or the DAO itself if metrics are disabled
+     */
+    public static <T> T wrap(Class<T> type, T dao) {
+        if (!Metrics.isEnabled()) {
+            return dao;
+        }
+        Map<Method, String> names = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            names.put(method, type.getSimpleName() + "." + method.getName());
+        }
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (self, method, args) -> {
+                    String name = names.get(method);
+                    if (name == null) {
+                        return invoke(dao, method, args);
+                    }
+                    return Metrics.time(name, () -> invoke(dao, method, args));
+                });
+        return type.cast(proxy);
+    }
+
+    private static Object invoke(Object dao, Method method, Object[] args) throws Exception {
+        try {
+            return method.invoke(dao, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (Exception) e.getCause();
+        }
+    }
+}
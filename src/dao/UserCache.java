@@ -0,0 +1,343 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import models.User;
+import utils.AppConfig;
+
+/**
+ * UserCache
+ * In-process cache of Users rows in front of {@link UserDAO}.
+ *
+ * <p>Entries are keyed by userId and expire USER_CACHE_TTL_MS after they
+ * were loaded (default 60000). Lookups by userName and email go through
+ * secondary indexes that point at the userId. Set USER_CACHE_SIZE=0 to
+ * disable the cache.</p>
+ *
+ * <p>Lookups take no lock: the maps are concurrent and a hit only stamps
+ * the entry's last use. Eviction is approximately least-recently-used. When
+ * a put takes the cache past USER_CACHE_SIZE (default 10000), one sweep
+ * drops expired entries and then the least recently used ones, down to 90%
+ * of the limit. The cache can briefly hold a few more entries than the
+ * limit while a sweep runs, and the next sweep waits for another 10% of new
+ * entries, so eviction costs an amortized constant per put.</p>
+ *
+ * <p>Every DAO that writes the Users table publishes the change on the
+ * {@link InvalidationBus}, which calls {@link #invalidate(int)} on the shared
+ * cache of this and every other running instance.
+ * A reader that loaded a row before such a write cannot put it back: loads
+ * carry the invalidation generation they started in, and stale puts are
+ * ignored. Cached users are copied on the way in and out so callers can
+ * modify what they get without affecting the cache.</p>
+ */
+public final class UserCache {
+    private static final UserCache shared = new UserCache(
+            AppConfig.getInt("USER_CACHE_SIZE", 10_000),
+            AppConfig.getLong("USER_CACHE_TTL_MS", 60_000));
+
+    static {
+        InvalidationBus.shared().subscribe(InvalidationBus.USERS, key -> {
+            if (InvalidationBus.ALL_KEYS.equals(key)) {
+                shared.invalidateAll();
+            } else {
+                shared.invalidate(Integer.parseInt(key));
+            }
+        });
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<Integer, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, Integer> byUserName = new ConcurrentHashMap<>();
+    private final Map<String, Integer> byEmail = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize maximum number of users kept; 0 disables caching
+     * @param ttlMillis how long a loaded user stays valid
+     */
+    public UserCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get the cache shared by all DAOs.
+     *
+     * @return the shared user cache
+     */
+    public static UserCache shared() {
+        return shared;
+    }
+
+    /**
+     * Look up a user by ID.
+     *
+     * @param userId user ID
+     * @return a copy of the cached user, or null on a miss
+     */
+    public User getById(int userId) {
+        return hitOrMiss(byId.get(userId));
+    }
+
+    /**
+     * Look up a user by username.
+     *
+     * @param userName username
+     * @return a copy of the cached user, or null on a miss
+     */
+    public User getByUserName(String userName) {
+        if (userName == null) {
+            misses.increment();
+            return null;
+        }
+        Integer userId = byUserName.get(userName);
+        Entry entry = userId == null ? null : byId.get(userId);
+        if (entry != null && !userName.equals(entry.user.getUserName())) {
+            // Left behind by a rename that raced with a put
+            byUserName.remove(userName, userId);
+            entry = null;
+        }
+        return hitOrMiss(entry);
+    }
+
+    /**
+     * Look up a user by email.
+     *
+     * @param email email address
+     * @return a copy of the cached user, or null on a miss
+     */
+    public User getByEmail(String email) {
+        if (email == null) {
+            misses.increment();
+            return null;
+        }
+        Integer userId = byEmail.get(email);
+        Entry entry = userId == null ? null : byId.get(userId);
+        if (entry != null && !email.equals(entry.user.getEmail())) {
+            byEmail.remove(email, userId);
+            entry = null;
+        }
+        return hitOrMiss(entry);
+    }
+
+    /**
+     * Get the current invalidation generation. Read it before querying the
+     * database and pass it to {@link #put(User, long)}.
+     *
+     * @return the generation counter
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a user loaded from the database, unless the Users table was
+     * written to since the load started.
+     *
+     * <p>The generation is checked again after the entry is stored. An
+     * invalidation bumps the generation before it removes, so one that
+     * lands between the first check and the store is either seen here or
+     * removes the new entry itself.</p>
+     *
+     * @param user the loaded user
+     * @param loadedInGeneration value of {@link #generation()} before the load
+     */
+    public void put(User user, long loadedInGeneration) {
+        if (maxSize <= 0 || user == null || loadedInGeneration != generation.get()) {
+            return;
+        }
+        User copy = copyOf(user);
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(copy, now + ttlMillis, now);
+        Entry previous = byId.put(copy.getUserId(), entry);
+        if (previous != null) {
+            unindex(previous.user);
+        }
+        if (copy.getUserName() != null) {
+            byUserName.put(copy.getUserName(), copy.getUserId());
+        }
+        if (copy.getEmail() != null) {
+            byEmail.put(copy.getEmail(), copy.getUserId());
+        }
+        if (loadedInGeneration != generation.get()) {
+            remove(copy.getUserId(), entry);
+            return;
+        }
+        if (previous == null && byId.size() > maxSize) {
+            sweep();
+        }
+    }
+
+    /**
+     * Drop a user after its row was inserted, updated or deleted.
+     *
+     * @param userId ID of the changed user
+     */
+    public void invalidate(int userId) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        Entry removed = byId.remove(userId);
+        if (removed != null) {
+            unindex(removed.user);
+        }
+    }
+
+    /**
+     * Drop every cached user.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.increment();
+        byId.clear();
+        byUserName.clear();
+        byEmail.clear();
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return current cache statistics
+     */
+    public Stats getStats() {
+        return new Stats(byId.size(), maxSize, hits.sum(), misses.sum(), evictions.sum(), invalidations.sum());
+    }
+
+    private User hitOrMiss(Entry entry) {
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.expiresAt < now) {
+            remove(entry.user.getUserId(), entry);
+            misses.increment();
+            return null;
+        }
+        if (entry.lastUsed != now) {
+            entry.lastUsed = now;
+        }
+        hits.increment();
+        return copyOf(entry.user);
+    }
+
+    /**
+     * Drops expired entries, then the least recently used ones, until the
+     * cache is back to 90% of maxSize. Only one thread sweeps at a time; the
+     * others carry on without waiting.
+     */
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            List<Candidate> candidates = new ArrayList<>(byId.size());
+            for (Entry entry : byId.values()) {
+                if (entry.expiresAt < now) {
+                    remove(entry.user.getUserId(), entry);
+                } else {
+                    // lastUsed keeps changing, so sort on a copy of it
+                    candidates.add(new Candidate(entry, entry.lastUsed));
+                }
+            }
+            int excess = byId.size() - (maxSize - maxSize / 10);
+            if (excess <= 0) {
+                return;
+            }
+            candidates.sort(Comparator.comparingLong(Candidate::lastUsed));
+            for (int i = 0; i < excess && i < candidates.size(); i++) {
+                Entry entry = candidates.get(i).entry();
+                if (remove(entry.user.getUserId(), entry)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * Removes the entry if it is still the one cached for the user.
+     *
+     * @return true if it was removed
+     */
+    private boolean remove(int userId, Entry entry) {
+        if (!byId.remove(userId, entry)) {
+            return false;
+        }
+        unindex(entry.user);
+        return true;
+    }
+
+    private void unindex(User user) {
+        if (user.getUserName() != null) {
+            byUserName.remove(user.getUserName(), user.getUserId());
+        }
+        if (user.getEmail() != null) {
+            byEmail.remove(user.getEmail(), user.getUserId());
+        }
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getUserId(), user.getUserName(), user.getPasswordHash(), user.getEmail(),
+                user.getUserPhoneNumber(), user.getUserAddress(), user.getUserRole());
+    }
+
+    /**
+     * A cached user, when it expires and when it was last read.
+     */
+    private static final class Entry {
+        private final User user;
+        private final long expiresAt;
+        private volatile long lastUsed;
+
+        private Entry(User user, long expiresAt, long lastUsed) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    /**
+     * An entry and its last use when a sweep started.
+     */
+    private record Candidate(Entry entry, long lastUsed) {
+    }
+
+    /**
+     * Point-in-time view of the cache counters.
+     *
+     * @param size users currently cached
+     * @param maxSize maximum number of users kept
+     * @param hits lookups answered from the cache
+     * @param misses lookups that went to the database
+     * @param evictions users dropped to stay within maxSize
+     * @param invalidations writes that invalidated the cache
+     */
+    public record Stats(int size, int maxSize, long hits, long misses, long evictions, long invalidations) {
+        /**
+         * Fraction of lookups answered from the cache.
+         *
+         * @return hit rate between 0 and 1
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
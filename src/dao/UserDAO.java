@@ -1,28 +1,21 @@
 package dao;
 
-import java.sql.*;
-import java.util.ArrayList;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.stream.Stream;
 import models.User;
-import utils.DatabaseConnection;
+import models.UserSummary;
 
 /**
  * UserDAO
- * Provides CRUD operations for User records stored in the Users table.
- * Passwords are securely hashed using bcrypt before being stored.
+ * Data access for User records of every role (the Users table).
+ * Passwords are stored as bcrypt hashes and must be hashed before calling.
  *
- * Author: Brandon Maloney
- * Date: 2025-12-08
+ * <p>{@link JdbcUserDAO} stores the records in PostgreSQL;
+ * {@link dao.memory.InMemoryDatabase} provides an in-memory implementation
+ * for tests and benchmarks.</p>
  */
-public class UserDAO {
-
-    /**
-     * Default constructor for UserDAO.
-     * Initializes an instance of UserDAO for performing CRUD operations.
-     */
-    public UserDAO() {
-        // No initialization required for now
-    }
+public interface UserDAO {
 
     /**
      * Creates a new User in the database.
@@ -32,37 +25,7 @@ public class UserDAO {
      * @param user The User object to be created.
      * @return true if creation was successful, false otherwise.
      */
-    public boolean createUser(User user) {
-        String sql = """
-            INSERT INTO Users (userName, userAddress, userPhoneNumber, userRole, passwordHash, email)
-            VALUES (?, ?, ?, ?, ?, ?)
-        """;
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setString(1, user.getUserName());
-            stmt.setString(2, user.getUserAddress());
-            stmt.setString(3, user.getUserPhoneNumber());
-            stmt.setString(4, user.getUserRole());
-            stmt.setString(5, user.getPasswordHash());
-            stmt.setString(6, user.getEmail());
-
-            int rows = stmt.executeUpdate();
-            if (rows == 0) return false;
-
-            try (ResultSet keys = stmt.getGeneratedKeys()) {
-                if (keys.next()) {
-                    user.setUserId(keys.getInt(1));
-                }
-            }
-            return true;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
+    boolean createUser(User user);
 
     /**
      * Retrieves a User by username.
@@ -70,95 +33,89 @@ public class UserDAO {
      * @return null if no user is found.
      * 
      */
-    public User getUserByUsername(String username) {
-        String sql = "SELECT * FROM Users WHERE userName = ?";
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return mapResultSetToUser(rs);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    User getUserByUsername(String username);
 
     /**
      * Retrieves a User by their email.
      * @param email The email of the user to retrieve.
      * @return The User object if found, null otherwise.
      */
-    public User getUserByEmail(String email) {
-        String sql = "SELECT * FROM Users WHERE email = ?";
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, email);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return mapResultSetToUser(rs);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    User getUserByEmail(String email);
 
     /**
      * Retrieves a User by their ID.
      * @param userId The ID of the user to retrieve.
      * @return The User object if found, null otherwise.
      */
-    public User getUserById(int userId) {
-        String sql = "SELECT * FROM Users WHERE userId = ?";
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
+    User getUserById(int userId);
 
-            if (rs.next()) {
-                return mapResultSetToUser(rs);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    /**
+     * Retrieves a User by their ID, reporting a failed read instead of
+     * returning null, so callers can tell "no such user" from "could not
+     * look the user up".
+     *
+     * @param userId The ID of the user to retrieve.
+     * @return The User object if found, null if there is no such user.
+     * @throws SQLException if the user could not be read
+     */
+    User findUserById(int userId) throws SQLException;
 
     /**
      * Retrieves a list of all Users.
      * 
      * @return A list of User objects.
      */
-    public List<User> getAllUsers() {
-        List<User> users = new ArrayList<>();
-        String sql = "SELECT * FROM Users";
+    List<User> getAllUsers();
+
+    /**
+     * Streams all users without loading them into memory at once.
+     * The stream may hold a database connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;User&gt; rows = dao.streamAllUsers()) { ... }</pre>
+     *
+     * @return a stream of User objects
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<User> streamAllUsers();
 
-        try (Connection conn = DatabaseConnection.getcon();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    /**
+     * Streams all users using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of User objects; must be closed by the caller
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<User> streamAllUsers(int fetchSize);
+
+    /**
+     * Retrieves one page of users ordered by userId (keyset pagination).
+     *
+     * @param afterUserId return users with a userId greater than this; 0 for the first page
+     * @param pageSize maximum number of users on the page
+     * @return the page of users
+     */
+    Page<User> getUsersPage(int afterUserId, int pageSize);
 
-            while (rs.next()) {
-                users.add(mapResultSetToUser(rs));
-            }
+    /**
+     * Retrieves one page of users ordered by userId, optionally filtered by role.
+     *
+     * @param role role to filter on (Admin, Trainer or Member), or null for all users
+     * @param afterUserId return users with a userId greater than this; 0 for the first page
+     * @param pageSize maximum number of users on the page
+     * @return the page of users
+     */
+    Page<User> getUsersPage(String role, int afterUserId, int pageSize);
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return users;
-    }
+    /**
+     * Retrieves one page of user summaries (ID, name, role and email only)
+     * ordered by userId, for listings and search.
+     *
+     * @param role role to filter on (Admin, Trainer or Member), or null for all users
+     * @param search text the userName or email must contain (case-insensitive), or null for no search
+     * @param afterUserId return users with a userId greater than this; 0 for the first page
+     * @param pageSize maximum number of users on the page
+     * @return the page of user summaries
+     */
+    Page<UserSummary> getUserSummariesPage(String role, String search, int afterUserId, int pageSize);
 
     /**
      * Updates a User record.
@@ -167,66 +124,24 @@ public class UserDAO {
      * @param user The User object with updated information.
      * @return true if update was successful, false otherwise.
      */
-    public boolean updateUser(User user) {
-        String sql = """
-            UPDATE Users
-            SET userName = ?, userAddress = ?, userPhoneNumber = ?, userRole = ?, passwordHash = ?, email = ?
-            WHERE userId = ?
-        """;
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, user.getUserName());
-            stmt.setString(2, user.getUserAddress());
-            stmt.setString(3, user.getUserPhoneNumber());
-            stmt.setString(4, user.getUserRole());
-            stmt.setString(5, user.getPasswordHash());
-            stmt.setString(6, user.getEmail());
-            stmt.setInt(7, user.getUserId());
-
-            return stmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
+    boolean updateUser(User user);
 
     /**
-     * Deletes a User by ID.
-     * @param userId The ID of the user to delete.
-     * @return true if deletion was successful, false otherwise.
+     * Replaces a user's password hash, but only if it still equals the
+     * expected hash, so a concurrent password change or profile edit is
+     * never overwritten.
+     *
+     * @param userId ID of the user
+     * @param expectedHash the hash the user must currently have
+     * @param newHash the new hash
+     * @return true if the hash was replaced, false if it had changed or an error occurred
      */
-    public boolean deleteUser(int userId) {
-        String sql = "DELETE FROM Users WHERE userId = ?";
-
-        try (Connection conn = DatabaseConnection.getcon();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            return stmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
+    boolean updatePasswordHash(int userId, String expectedHash, String newHash);
 
     /**
-     * Maps a ResultSet row to a User object.
-     * @param rs The ResultSet object.
-     * @return The mapped User object.
+     * Deletes a User by ID.
+     * @param userId The ID of the user to delete.
+     * @return true if deletion was successful, false otherwise.
      */
-    private User mapResultSetToUser(ResultSet rs) throws SQLException {
-        return new User(
-                rs.getInt("userId"),
-                rs.getString("userName"),
-                rs.getString("passwordHash"),
-                rs.getString("email"),
-                rs.getString("userPhoneNumber"),
-                rs.getString("userAddress"),
-                rs.getString("userRole")
-        );
-    }
+    boolean deleteUser(int userId);
 }
@@ -1,97 +1,35 @@
 package dao;
 
-import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import models.WorkoutClass;
-import utils.DatabaseConnection;
+import models.WorkoutClassDetail;
 
 /**
  * WorkoutClassDAO
- * Data Access Object (DAO) for performing operations on WorkoutClass records.
- * Provides methods to add, retrieve, update, and delete workout classes.
- * 
- * Author: Brandon Maloney
- * Updated by: Abiodun Magret Oyedele
- * Date: 2025-12-08
+ * Data access for WorkoutClass records.
+ *
+ * <p>{@link JdbcWorkoutClassDAO} stores the records in PostgreSQL;
+ * {@link dao.memory.InMemoryDatabase} provides an in-memory implementation
+ * for tests and benchmarks.</p>
  */
-public class WorkoutClassDAO {
-    private Connection conn;
-
-    /**
-     * Constructor initializes the DAO with a database connection.
-     * Uses DatabaseConnection utility to obtain the connection.
-     * 
-     */
-    public WorkoutClassDAO() {
-        this.conn = DatabaseConnection.getcon();
-    }
-
-    /**
-     * Constructor with existing connection.
-     * 
-     * @param conn The database connection to use.
-     */
-    public WorkoutClassDAO(Connection conn) {
-        this.conn = conn;
-    }
+public interface WorkoutClassDAO {
 
     /**
      * Create a new WorkoutClass record in the database.
-     * 
+     *
      * @param wc The WorkoutClass object to be created.
      * @return true if creation was successful, false otherwise.
      */
-    public boolean createWorkoutClass(WorkoutClass wc) {
-
-        if (wc.getTrainerID() <= 0) {
-            System.err.println("Invalid trainerID for WorkoutClass");
-            return false;
-        }
-
-        String sql = "INSERT INTO WorkoutClasses (workoutClassType, workoutClassDescription, trainerID) VALUES (?, ?, ?)";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, wc.getWorkoutClassType());
-            pstmt.setString(2, wc.getWorkoutClassDescription());
-            pstmt.setInt(3, wc.getTrainerID());
-
-            int affected = pstmt.executeUpdate();
-            if (affected > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    wc.setWorkoutClassID(rs.getInt(1));
-                }
-                return true;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean createWorkoutClass(WorkoutClass wc);
 
     /**
      * Gets a WorkoutClass by its ID.
-     * 
+     *
      * @param id id of the WorkoutClass to retrieve.
      * @return The WorkoutClass object if found, null otherwise.
      */
-    public WorkoutClass getWorkoutClassById(int id) {
-        String sql = "SELECT * FROM WorkoutClasses WHERE workoutClassID = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return new WorkoutClass(
-                        rs.getInt("workoutClassID"),
-                        rs.getString("workoutClassType"),
-                        rs.getString("workoutClassDescription"),
-                        rs.getInt("trainerID"));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    WorkoutClass getWorkoutClassById(int id);
 
     /**
      * Gets all WorkoutClasses assigned to a trainer.
@@ -99,85 +37,85 @@ public class WorkoutClassDAO {
      * @param trainerId ID of the trainer.
      * @return List of WorkoutClass objects.
      */
-    public List<WorkoutClass> getWorkoutClassesByTrainerId(int trainerId) {
-        List<WorkoutClass> classes = new ArrayList<>();
+    List<WorkoutClass> getWorkoutClassesByTrainerId(int trainerId);
 
-        String sql = "SELECT * FROM WorkoutClasses WHERE trainerID = ?";
+    /**
+     * Gets all WorkoutClass records from the database.
+     *
+     * @return A list of all WorkoutClass objects.
+     */
+    List<WorkoutClass> getAllWorkoutClasses();
+
+    /**
+     * Gets workout classes together with their trainer's name and contact
+     * details in one query, ordered by workoutClassID.
+     *
+     * @param classType only return classes of this type (case-insensitive), or null for all
+     * @return List of WorkoutClassDetail objects; empty if an error occurs
+     */
+    List<WorkoutClassDetail> getWorkoutClassDetails(String classType);
 
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, trainerId);
-            ResultSet rs = pstmt.executeQuery();
+    /**
+     * Streams all workout classes without loading them into memory at once.
+     * The stream may hold a database connection and must be closed, e.g.:
+     * <pre>try (Stream&lt;WorkoutClass&gt; rows = dao.streamAllWorkoutClasses()) { ... }</pre>
+     *
+     * @return a stream of WorkoutClass objects
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<WorkoutClass> streamAllWorkoutClasses();
 
-            while (rs.next()) {
-                classes.add(new WorkoutClass(
-                        rs.getInt("workoutClassID"),
-                        rs.getString("workoutClassType"),
-                        rs.getString("workoutClassDescription"),
-                        rs.getInt("trainerID")));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    /**
+     * Streams all workout classes using the given fetch size.
+     *
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream of WorkoutClass objects; must be closed by the caller
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    Stream<WorkoutClass> streamAllWorkoutClasses(int fetchSize);
 
-        return classes;
-    }
+    /**
+     * Retrieves one page of workout classes ordered by workoutClassID (keyset pagination).
+     *
+     * @param afterClassId return workout classes with a workoutClassID greater than this; 0 for the first page
+     * @param pageSize maximum number of workout classes on the page
+     * @return the page of workout classes
+     */
+    Page<WorkoutClass> getWorkoutClassesPage(int afterClassId, int pageSize);
 
     /**
-     * Gets all WorkoutClass records from the database.
-     * 
-     * @return A list of all WorkoutClass objects.
+     * Retrieves one page of workout classes ordered by workoutClassID, optionally filtered by trainer.
+     *
+     * @param trainerId trainer whose classes to list, or 0 for all trainers
+     * @param afterClassId return workout classes with a workoutClassID greater than this; 0 for the first page
+     * @param pageSize maximum number of workout classes on the page
+     * @return the page of workout classes
      */
-    public List<WorkoutClass> getAllWorkoutClasses() {
-        List<WorkoutClass> list = new ArrayList<>();
-        String sql = "SELECT * FROM WorkoutClasses";
-        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                list.add(new WorkoutClass(
-                        rs.getInt("workoutClassID"),
-                        rs.getString("workoutClassType"),
-                        rs.getString("workoutClassDescription"),
-                        rs.getInt("trainerID")));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return list;
-    }
+    Page<WorkoutClass> getWorkoutClassesPage(int trainerId, int afterClassId, int pageSize);
 
     /**
      * Updates an existing WorkoutClass record in the database.
-     * 
+     *
      * @param wc The WorkoutClass object with updated information.
      * @return true if update was successful, false otherwise.
      */
-    public boolean updateWorkoutClass(WorkoutClass wc) {
-        String sql = "UPDATE WorkoutClasses SET workoutClassType = ?, workoutClassDescription = ?, trainerID = ? WHERE workoutClassID = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, wc.getWorkoutClassType());
-            pstmt.setString(2, wc.getWorkoutClassDescription());
-            pstmt.setInt(3, wc.getTrainerID());
-            pstmt.setInt(4, wc.getWorkoutClassID());
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean updateWorkoutClass(WorkoutClass wc);
+
+    /**
+     * Moves every WorkoutClass of one trainer to another, e.g. before the
+     * first trainer is deleted.
+     *
+     * @param fromTrainerId trainer whose classes are moved
+     * @param toTrainerId trainer who takes them over
+     * @return number of classes moved, or -1 if an error occurs
+     */
+    int reassignTrainer(int fromTrainerId, int toTrainerId);
 
     /**
      * Deletes a WorkoutClass record from the database.
-     * 
+     *
      * @param id The ID of the WorkoutClass to delete.
      * @return true if deletion was successful, false otherwise.
      */
-    public boolean deleteWorkoutClass(int id) {
-        String sql = "DELETE FROM WorkoutClasses WHERE workoutClassID = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
+    boolean deleteWorkoutClass(int id);
 }
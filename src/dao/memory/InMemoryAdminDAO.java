@@ -0,0 +1,79 @@
+package dao.memory;
+
+import dao.AdminDAO;
+import java.util.List;
+import java.util.stream.Stream;
+import models.Admin;
+import models.User;
+
+/**
+ * InMemoryAdminDAO
+ * {@link AdminDAO} over an {@link InMemoryDatabase}: the users whose
+ * userRole is 'Admin'.
+ */
+public class InMemoryAdminDAO implements AdminDAO {
+    private static final String ROLE = "Admin";
+
+    private final InMemoryDatabase db;
+
+    /**
+     * Constructor to initialize the DAO over a database.
+     *
+     * @param db database holding the Users table
+     */
+    public InMemoryAdminDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public boolean createAdmin(Admin admin) {
+        int id = db.insertUser(admin, ROLE);
+        if (id == 0) {
+            return false;
+        }
+        admin.setUserId(id);
+        return true;
+    }
+
+    @Override
+    public Admin getAdminById(int userId) {
+        User user = db.users.get(userId);
+        return user != null && ROLE.equals(user.getUserRole()) ? toAdmin(user) : null;
+    }
+
+    @Override
+    public Admin getAdminByEmail(String email) {
+        User user = db.findUser(u -> ROLE.equals(u.getUserRole()) && u.getEmail().equals(email));
+        return user != null ? toAdmin(user) : null;
+    }
+
+    @Override
+    public List<Admin> getAllAdmins() {
+        return InMemoryDatabase.select(db.users, u -> ROLE.equals(u.getUserRole()), InMemoryAdminDAO::toAdmin);
+    }
+
+    @Override
+    public Stream<Admin> streamAllAdmins() {
+        return getAllAdmins().stream();
+    }
+
+    @Override
+    public Stream<Admin> streamAllAdmins(int fetchSize) {
+        return getAllAdmins().stream();
+    }
+
+    @Override
+    public boolean updateAdmin(Admin admin) {
+        return db.updateUser(admin, null, null);
+    }
+
+    @Override
+    public boolean deleteAdmin(int userId) {
+        return db.deleteUser(userId, ROLE);
+    }
+
+    private static Admin toAdmin(User user) {
+        return new Admin(user.getUserId(), user.getUserName(), user.getPasswordHash(), user.getEmail(),
+                user.getUserPhoneNumber(), user.getUserAddress());
+    }
+}
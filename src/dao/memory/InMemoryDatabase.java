@@ -0,0 +1,416 @@
+package dao.memory;
+
+import dao.AdminDAO;
+import dao.GymMerchDAO;
+import dao.MemberDAO;
+import dao.MembershipDAO;
+import dao.MembershipPlanDAO;
+import dao.Page;
+import dao.TrainerDAO;
+import dao.UserDAO;
+import dao.WorkoutClassDAO;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import models.GymMerch;
+import models.Membership;
+import models.MembershipPlan;
+import models.User;
+import models.WorkoutClass;
+import utils.UnitOfWork;
+
+/**
+ * InMemoryDatabase
+ * Thread-safe in-memory stand-in for the application's PostgreSQL tables,
+ * so services can be tested and benchmarked without a database.
+ *
+ * <p>Each table is a map ordered by primary key. Reads never lock; writes
+ * are serialised on the database so the same rules as the schema can be
+ * checked atomically: generated IDs, NOT NULL columns, the userRole check,
+ * unique userName and email, and the foreign keys (memberships are deleted
+ * with their member, workout classes lose their trainer). Rows are copied
+ * on the way in and out, so callers cannot change stored data without an
+ * update, just as with the JDBC DAOs.</p>
+ *
+ * <p>The DAOs returned by this class all share its tables:</p>
+ * <pre>
+ * InMemoryDatabase db = new InMemoryDatabase();
+ * UserService users = new UserService(db.userDAO(), db.adminDAO(), db.memberDAO(), db.trainerDAO(),
+ *         db.workoutClassDAO(), db.unitOfWorkRunner());
+ * MembershipService memberships = new MembershipService(db.membershipDAO(),
+ *         new MembershipPlanCatalog(db.membershipPlanDAO()), db.unitOfWorkRunner());
+ * </pre>
+ */
+public class InMemoryDatabase {
+    private static final Set<String> ROLES = Set.of("Admin", "Trainer", "Member");
+
+    final ConcurrentSkipListMap<Integer, User> users = new ConcurrentSkipListMap<>();
+    final ConcurrentSkipListMap<Integer, Membership> memberships = new ConcurrentSkipListMap<>();
+    final ConcurrentSkipListMap<Integer, WorkoutClass> workoutClasses = new ConcurrentSkipListMap<>();
+    final ConcurrentSkipListMap<Integer, GymMerch> gymMerch = new ConcurrentSkipListMap<>();
+    final ConcurrentSkipListMap<Integer, MembershipPlan> plans = new ConcurrentSkipListMap<>();
+
+    private final AtomicInteger userIds = new AtomicInteger();
+    private final AtomicInteger membershipIds = new AtomicInteger();
+    private final AtomicInteger workoutClassIds = new AtomicInteger();
+    private final AtomicInteger gymMerchIds = new AtomicInteger();
+    private final AtomicInteger planIds = new AtomicInteger();
+
+    /**
+     * Creates an empty database holding the three default membership plans,
+     * as the first schema migration does.
+     */
+    public InMemoryDatabase() {
+        addPlan(new MembershipPlan(0, "Basic", "Access to gym during staffed hours. No classes.", 19.99));
+        addPlan(new MembershipPlan(0, "Standard", "Access to gym + select group classes.", 39.99));
+        addPlan(new MembershipPlan(0, "Premium", "All-access: gym, classes, and premium amenities.", 69.99));
+    }
+
+    /**
+     * Creates a UserDAO over this database.
+     *
+     * @return the DAO
+     */
+    public UserDAO userDAO() {
+        return new InMemoryUserDAO(this);
+    }
+
+    /**
+     * Creates an AdminDAO over this database.
+     *
+     * @return the DAO
+     */
+    public AdminDAO adminDAO() {
+        return new InMemoryAdminDAO(this);
+    }
+
+    /**
+     * Creates a MemberDAO over this database.
+     *
+     * @return the DAO
+     */
+    public MemberDAO memberDAO() {
+        return new InMemoryMemberDAO(this);
+    }
+
+    /**
+     * Creates a TrainerDAO over this database.
+     *
+     * @return the DAO
+     */
+    public TrainerDAO trainerDAO() {
+        return new InMemoryTrainerDAO(this);
+    }
+
+    /**
+     * Creates a MembershipDAO over this database.
+     *
+     * @return the DAO
+     */
+    public MembershipDAO membershipDAO() {
+        return new InMemoryMembershipDAO(this);
+    }
+
+    /**
+     * Creates a MembershipPlanDAO over this database.
+     *
+     * @return the DAO
+     */
+    public MembershipPlanDAO membershipPlanDAO() {
+        return new InMemoryMembershipPlanDAO(this);
+    }
+
+    /**
+     * Creates a GymMerchDAO over this database.
+     *
+     * @return the DAO
+     */
+    public GymMerchDAO gymMerchDAO() {
+        return new InMemoryGymMerchDAO(this);
+    }
+
+    /**
+     * Creates a WorkoutClassDAO over this database.
+     *
+     * @return the DAO
+     */
+    public WorkoutClassDAO workoutClassDAO() {
+        return new InMemoryWorkoutClassDAO(this);
+    }
+
+    /**
+     * Creates a runner for services that group DAO calls into a
+     * {@link UnitOfWork}. The work runs while holding this database's write
+     * lock, so no other write can interleave with it; unlike a database
+     * transaction, writes it made before failing are not undone.
+     *
+     * @return the runner
+     */
+    public UnitOfWork.Runner unitOfWorkRunner() {
+        return new UnitOfWork.Runner() {
+            @Override
+            public <T> T run(int isolation, UnitOfWork.Work<T> work) throws SQLException {
+                synchronized (InMemoryDatabase.this) {
+                    return work.run();
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds a plan to the catalog. There is no DAO method for this because the
+     * application never writes plans; tests use it to set up the catalog.
+     *
+     * @param plan plan to add; its generated planId is set on it
+     */
+    public synchronized void addPlan(MembershipPlan plan) {
+        MembershipPlan stored = new MembershipPlan(planIds.incrementAndGet(), plan.getPlanType(),
+                plan.getPlanDescription(), plan.getPlanPrice());
+        plans.put(stored.getPlanId(), stored);
+        plan.setPlanId(stored.getPlanId());
+    }
+
+    /**
+     * Removes every row and restarts the generated IDs. The default plans are
+     * not restored.
+     */
+    public synchronized void clear() {
+        users.clear();
+        memberships.clear();
+        workoutClasses.clear();
+        gymMerch.clear();
+        plans.clear();
+        userIds.set(0);
+        membershipIds.set(0);
+        workoutClassIds.set(0);
+        gymMerchIds.set(0);
+        planIds.set(0);
+    }
+
+    /**
+     * Inserts a user, enforcing the Users constraints.
+     *
+     * @return the generated userId, or 0 if a constraint was violated
+     */
+    synchronized int insertUser(User user, String role) {
+        if (!validUser(user, role) || findUser(u -> u.getUserName().equals(user.getUserName())
+                || u.getEmail().equals(user.getEmail())) != null) {
+            return 0;
+        }
+        int id = userIds.incrementAndGet();
+        users.put(id, copyUser(user, id, role));
+        return id;
+    }
+
+    /**
+     * Updates a user's fields, keeping its role unless a new one is given.
+     *
+     * @param requiredRole only update a user with this role, or null for any user
+     * @param newRole role to set, or null to keep the stored role
+     * @return true if a row was updated
+     */
+    synchronized boolean updateUser(User user, String requiredRole, String newRole) {
+        User existing = users.get(user.getUserId());
+        if (existing == null || (requiredRole != null && !requiredRole.equals(existing.getUserRole()))) {
+            return false;
+        }
+        String role = newRole != null ? newRole : existing.getUserRole();
+        if (!validUser(user, role) || findUser(u -> u.getUserId() != user.getUserId()
+                && (u.getUserName().equals(user.getUserName()) || u.getEmail().equals(user.getEmail()))) != null) {
+            return false;
+        }
+        users.put(user.getUserId(), copyUser(user, user.getUserId(), role));
+        return true;
+    }
+
+    /**
+     * Replaces a user's password hash if it still equals the expected hash.
+     *
+     * @return true if the hash was replaced
+     */
+    synchronized boolean updatePasswordHash(int userId, String expectedHash, String newHash) {
+        User existing = users.get(userId);
+        if (existing == null || newHash == null || !existing.getPasswordHash().equals(expectedHash)) {
+            return false;
+        }
+        User updated = copyUser(existing, userId, existing.getUserRole());
+        updated.setPasswordHash(newHash);
+        users.put(userId, updated);
+        return true;
+    }
+
+    /**
+     * Deletes a user, removing their memberships and unassigning their
+     * workout classes as the foreign keys do.
+     *
+     * @param requiredRole only delete a user with this role, or null for any user
+     * @return true if a row was deleted
+     */
+    synchronized boolean deleteUser(int userId, String requiredRole) {
+        User existing = users.get(userId);
+        if (existing == null || (requiredRole != null && !requiredRole.equals(existing.getUserRole()))) {
+            return false;
+        }
+        users.remove(userId);
+        memberships.values().removeIf(m -> m.getMemberID() == userId);
+        workoutClasses.replaceAll((id, wc) -> wc.getTrainerID() == userId
+                ? new WorkoutClass(id, wc.getWorkoutClassType(), wc.getWorkoutClassDescription(), 0)
+                : wc);
+        return true;
+    }
+
+    /** @return the first stored user matching the condition, or null; not a copy */
+    User findUser(Predicate<User> condition) {
+        for (User user : users.values()) {
+            if (condition.test(user)) {
+                return user;
+            }
+        }
+        return null;
+    }
+
+    private static boolean validUser(User user, String role) {
+        return user.getUserName() != null && user.getPasswordHash() != null && user.getEmail() != null
+                && role != null && ROLES.contains(role);
+    }
+
+    static User copyUser(User user, int id, String role) {
+        return new User(id, user.getUserName(), user.getPasswordHash(), user.getEmail(),
+                user.getUserPhoneNumber(), user.getUserAddress(), role);
+    }
+
+    /** @return the generated membershipID, or 0 if a constraint was violated */
+    synchronized int insertMembership(Membership membership) {
+        if (membership.getMembershipType() == null || !users.containsKey(membership.getMemberID())) {
+            return 0;
+        }
+        int id = membershipIds.incrementAndGet();
+        memberships.put(id, copyMembership(membership, id));
+        return id;
+    }
+
+    synchronized boolean updateMembership(Membership membership) {
+        if (!memberships.containsKey(membership.getMembershipID()) || membership.getMembershipType() == null
+                || !users.containsKey(membership.getMemberID())) {
+            return false;
+        }
+        memberships.put(membership.getMembershipID(), copyMembership(membership, membership.getMembershipID()));
+        return true;
+    }
+
+    static Membership copyMembership(Membership m, int id) {
+        return new Membership(id, m.getMembershipType(), m.getMembershipDescription(), m.getMembershipCost(),
+                m.getMemberID());
+    }
+
+    /** @return the generated workoutClassID, or 0 if a constraint was violated */
+    synchronized int insertWorkoutClass(WorkoutClass wc) {
+        if (wc.getWorkoutClassType() == null || !users.containsKey(wc.getTrainerID())) {
+            return 0;
+        }
+        int id = workoutClassIds.incrementAndGet();
+        workoutClasses.put(id, copyWorkoutClass(wc, id));
+        return id;
+    }
+
+    synchronized boolean updateWorkoutClass(WorkoutClass wc) {
+        if (!workoutClasses.containsKey(wc.getWorkoutClassID()) || wc.getWorkoutClassType() == null
+                || !users.containsKey(wc.getTrainerID())) {
+            return false;
+        }
+        workoutClasses.put(wc.getWorkoutClassID(), copyWorkoutClass(wc, wc.getWorkoutClassID()));
+        return true;
+    }
+
+    /** @return the number of classes moved, or -1 if the new trainer does not exist */
+    synchronized int reassignTrainer(int fromTrainerId, int toTrainerId) {
+        if (!users.containsKey(toTrainerId)) {
+            return -1;
+        }
+        int moved = 0;
+        for (WorkoutClass wc : workoutClasses.values()) {
+            if (wc.getTrainerID() == fromTrainerId) {
+                workoutClasses.put(wc.getWorkoutClassID(), new WorkoutClass(wc.getWorkoutClassID(),
+                        wc.getWorkoutClassType(), wc.getWorkoutClassDescription(), toTrainerId));
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    static WorkoutClass copyWorkoutClass(WorkoutClass wc, int id) {
+        return new WorkoutClass(id, wc.getWorkoutClassType(), wc.getWorkoutClassDescription(), wc.getTrainerID());
+    }
+
+    /** @return the generated merchID, or 0 if a constraint was violated */
+    synchronized int insertGymMerch(GymMerch merch) {
+        if (merch.getMerchName() == null) {
+            return 0;
+        }
+        int id = gymMerchIds.incrementAndGet();
+        gymMerch.put(id, copyGymMerch(merch, id));
+        return id;
+    }
+
+    synchronized boolean updateGymMerch(GymMerch merch) {
+        if (!gymMerch.containsKey(merch.getMerchID()) || merch.getMerchName() == null) {
+            return false;
+        }
+        gymMerch.put(merch.getMerchID(), copyGymMerch(merch, merch.getMerchID()));
+        return true;
+    }
+
+    static GymMerch copyGymMerch(GymMerch m, int id) {
+        return new GymMerch(id, m.getMerchName(), m.getMerchType(), m.getMerchPrice(), m.getQuantityInStock());
+    }
+
+    /**
+     * Deletes one row of a table that has no dependent rows.
+     *
+     * @return true if a row was deleted
+     */
+    synchronized <T> boolean deleteRow(ConcurrentSkipListMap<Integer, T> table, int id) {
+        return table.remove(id) != null;
+    }
+
+    /**
+     * Copies the rows matching the condition, in primary key order.
+     */
+    static <T, R> List<R> select(ConcurrentSkipListMap<Integer, T> table, Predicate<T> condition,
+            Function<T, R> copy) {
+        List<R> rows = new ArrayList<>();
+        for (T row : table.values()) {
+            if (condition.test(row)) {
+                rows.add(copy.apply(row));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Builds a keyset page the same way the JDBC DAOs do: rows after the key,
+     * in key order, reading one extra row to tell whether more exist.
+     */
+    static <T, R> Page<R> page(ConcurrentSkipListMap<Integer, T> table, Predicate<T> condition,
+            Function<T, R> copy, ToIntFunction<R> key, int afterKey, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        List<R> rows = new ArrayList<>();
+        for (T row : table.tailMap(afterKey, false).values()) {
+            if (condition.test(row)) {
+                rows.add(copy.apply(row));
+                if (rows.size() > pageSize) {
+                    break;
+                }
+            }
+        }
+        return Page.fromRows(rows, pageSize, afterKey, key);
+    }
+}
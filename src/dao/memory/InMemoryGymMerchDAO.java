@@ -0,0 +1,97 @@
+package dao.memory;
+
+import dao.GymMerchDAO;
+import dao.Page;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import models.GymMerch;
+
+/**
+ * InMemoryGymMerchDAO
+ * {@link GymMerchDAO} over an {@link InMemoryDatabase}.
+ */
+public class InMemoryGymMerchDAO implements GymMerchDAO {
+    private final InMemoryDatabase db;
+
+    /**
+     * Constructor to initialize the DAO over a database.
+     *
+     * @param db database holding the GymMerch table
+     */
+    public InMemoryGymMerchDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    /**
+     * Adds a merchandise item. As with the JDBC implementation, the generated
+     * merchID is not set on the item.
+     */
+    @Override
+    public boolean addGymMerch(GymMerch gymMerch) {
+        return db.insertGymMerch(gymMerch) != 0;
+    }
+
+    @Override
+    public GymMerch getGymMerchById(int merchID) {
+        GymMerch merch = db.gymMerch.get(merchID);
+        return merch == null ? null : InMemoryDatabase.copyGymMerch(merch, merchID);
+    }
+
+    @Override
+    public List<GymMerch> getAllGymMerch() {
+        return InMemoryDatabase.select(db.gymMerch, m -> true, InMemoryGymMerchDAO::copy);
+    }
+
+    @Override
+    public Stream<GymMerch> streamAllGymMerch() {
+        return getAllGymMerch().stream();
+    }
+
+    @Override
+    public Stream<GymMerch> streamAllGymMerch(int fetchSize) {
+        return getAllGymMerch().stream();
+    }
+
+    @Override
+    public Page<GymMerch> getGymMerchPage(int afterMerchId, int pageSize) {
+        return getGymMerchPage(null, afterMerchId, pageSize);
+    }
+
+    @Override
+    public Page<GymMerch> getGymMerchPage(String merchType, int afterMerchId, int pageSize) {
+        return InMemoryDatabase.page(db.gymMerch, m -> merchType == null || merchType.equals(m.getMerchType()),
+                InMemoryGymMerchDAO::copy, GymMerch::getMerchID, afterMerchId, pageSize);
+    }
+
+    @Override
+    public double getTotalStockValue() {
+        return db.gymMerch.values().stream().mapToDouble(m -> m.getMerchPrice() * m.getQuantityInStock()).sum();
+    }
+
+    @Override
+    public Map<String, Double> getStockValueByMerchType() {
+        // Like SQL GROUP BY, items without a type are grouped under a null key
+        Map<String, Double> values = new HashMap<>();
+        for (GymMerch merch : db.gymMerch.values()) {
+            values.merge(merch.getMerchType(), merch.getMerchPrice() * merch.getQuantityInStock(), Double::sum);
+        }
+        return InMemoryMembershipDAO.sortedDescending(values);
+    }
+
+    @Override
+    public boolean updateGymMerch(GymMerch gymMerch) {
+        return db.updateGymMerch(gymMerch);
+    }
+
+    @Override
+    public boolean deleteGymMerch(int merchID) {
+        return db.deleteRow(db.gymMerch, merchID);
+    }
+
+    private static GymMerch copy(GymMerch merch) {
+        return InMemoryDatabase.copyGymMerch(merch, merch.getMerchID());
+    }
+}
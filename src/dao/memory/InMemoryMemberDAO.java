@@ -0,0 +1,72 @@
+package dao.memory;
+
+import dao.MemberDAO;
+import java.util.List;
+import java.util.stream.Stream;
+import models.Member;
+import models.User;
+
+/**
+ * InMemoryMemberDAO
+ * {@link MemberDAO} over an {@link InMemoryDatabase}: the users whose
+ * userRole is 'Member'.
+ */
+public class InMemoryMemberDAO implements MemberDAO {
+    private static final String ROLE = "Member";
+
+    private final InMemoryDatabase db;
+
+    /**
+     * Constructor to initialize the DAO over a database.
+     *
+     * @param db database holding the Users table
+     */
+    public InMemoryMemberDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public boolean createMember(Member member) {
+        int id = db.insertUser(member, ROLE);
+        if (id == 0) {
+            return false;
+        }
+        member.setUserId(id);
+        return true;
+    }
+
+    @Override
+    public Member getMemberById(int userId) {
+        User user = db.users.get(userId);
+        return user != null && ROLE.equals(user.getUserRole()) ? toMember(user) : null;
+    }
+    @Override
+    public List<Member> getAllMembers() {
+        return InMemoryDatabase.select(db.users, u -> ROLE.equals(u.getUserRole()), InMemoryMemberDAO::toMember);
+    }
+
+    @Override
+    public Stream<Member> streamAllMembers() {
+        return getAllMembers().stream();
+    }
+
+    @Override
+    public Stream<Member> streamAllMembers(int fetchSize) {
+        return getAllMembers().stream();
+    }
+
+    @Override
+    public boolean updateMember(Member member) {
+        return db.updateUser(member, null, null);
+    }
+
+    @Override
+    public boolean deleteMember(int userId) {
+        return db.deleteUser(userId, ROLE);
+    }
+
+    private static Member toMember(User user) {
+        return new Member(user.getUserId(), user.getUserName(), user.getPasswordHash(), user.getEmail(),
+                user.getUserPhoneNumber(), user.getUserAddress());
+    }
+}
@@ -0,0 +1,130 @@
+package dao.memory;
+
+import dao.MembershipDAO;
+import dao.Page;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import models.Membership;
+
+/**
+ * InMemoryMembershipDAO
+ * {@link MembershipDAO} over an {@link InMemoryDatabase}. A membership can
+ * only be created for an existing user, and is removed with that user.
+ */
+public class InMemoryMembershipDAO implements MembershipDAO {
+    private final InMemoryDatabase db;
+
+    /**
+     * Constructor to initialize the DAO over a database.
+     *
+     * @param db database holding the Memberships table
+     */
+    public InMemoryMembershipDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public boolean createMembership(Membership membership) {
+        int id = db.insertMembership(membership);
+        if (id == 0) {
+            return false;
+        }
+        membership.setMembershipID(id);
+        return true;
+    }
+
+    @Override
+    public Membership getMembershipById(int membershipID) {
+        Membership membership = db.memberships.get(membershipID);
+        return membership == null ? null : InMemoryDatabase.copyMembership(membership, membershipID);
+    }
+
+    @Override
+    public List<Membership> getAllMemberships() {
+        return InMemoryDatabase.select(db.memberships, m -> true, InMemoryMembershipDAO::copy);
+    }
+
+    @Override
+    public Stream<Membership> streamAllMemberships() {
+        return getAllMemberships().stream();
+    }
+
+    @Override
+    public Stream<Membership> streamAllMemberships(int fetchSize) {
+        return getAllMemberships().stream();
+    }
+
+    @Override
+    public Page<Membership> getMembershipsPage(int afterMembershipId, int pageSize) {
+        return getMembershipsPage(0, afterMembershipId, pageSize);
+    }
+
+    @Override
+    public Page<Membership> getMembershipsPage(int memberId, int afterMembershipId, int pageSize) {
+        return InMemoryDatabase.page(db.memberships, m -> memberId == 0 || m.getMemberID() == memberId,
+                InMemoryMembershipDAO::copy, Membership::getMembershipID, afterMembershipId, pageSize);
+    }
+
+    @Override
+    public List<Membership> getMembershipsByMemberId(int memberId) {
+        return InMemoryDatabase.select(db.memberships, m -> m.getMemberID() == memberId, InMemoryMembershipDAO::copy);
+    }
+
+    @Override
+    public double getTotalRevenue() {
+        return db.memberships.values().stream().mapToDouble(Membership::getMembershipCost).sum();
+    }
+
+    @Override
+    public double getTotalCostByMemberId(int memberId) {
+        return db.memberships.values().stream()
+                .filter(m -> m.getMemberID() == memberId)
+                .mapToDouble(Membership::getMembershipCost)
+                .sum();
+    }
+
+    @Override
+    public Map<String, Double> getRevenueByMembershipType() {
+        return sortedDescending(groupBy(Membership::getMembershipCost));
+    }
+
+    @Override
+    public Map<String, Integer> countMembershipsByType() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        sortedDescending(groupBy(m -> 1)).forEach((type, total) -> counts.put(type, total.intValue()));
+        return counts;
+    }
+
+    @Override
+    public boolean updateMembership(Membership membership) {
+        return db.updateMembership(membership);
+    }
+
+    @Override
+    public boolean deleteMembership(int membershipID) {
+        return db.deleteRow(db.memberships, membershipID);
+    }
+
+    private Map<String, Double> groupBy(ToDoubleFunction<Membership> value) {
+        return db.memberships.values().stream()
+                .collect(Collectors.groupingBy(Membership::getMembershipType, Collectors.summingDouble(value)));
+    }
+
+    /** Orders a grouped total like {@code ORDER BY total DESC}. */
+    static Map<String, Double> sortedDescending(Map<String, Double> totals) {
+        Map<String, Double> sorted = new LinkedHashMap<>();
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static Membership copy(Membership membership) {
+        return InMemoryDatabase.copyMembership(membership, membership.getMembershipID());
+    }
+}
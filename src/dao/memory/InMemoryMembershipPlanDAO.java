@@ -0,0 +1,76 @@
+package dao.memory;
+
+import dao.MembershipPlanDAO;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import models.MembershipPlan;
+
+/**
+ * InMemoryMembershipPlanDAO
+ * {@link MembershipPlanDAO} over an {@link InMemoryDatabase}. Plans are added
+ * with {@link InMemoryDatabase#addPlan(MembershipPlan)}.
+ */
+public class InMemoryMembershipPlanDAO implements MembershipPlanDAO {
+    private final InMemoryDatabase db;
+
+    /**
+     * Constructor to initialize the DAO over a database.
+     *
+     * @param db database holding the MembershipPlans table
+     */
+    public InMemoryMembershipPlanDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public List<MembershipPlan> getAllPlans() {
+        return InMemoryDatabase.select(db.plans, p -> true, InMemoryMembershipPlanDAO::copy);
+    }
+
+    @Override
+    public List<MembershipPlan> loadAllPlans() {
+        return getAllPlans();
+    }
+
+    @Override
+    public MembershipPlan getPlanById(int planId) {
+        MembershipPlan plan = db.plans.get(planId);
+        return plan == null ? null : copy(plan);
+    }
+
+    /**
+     * Returns an MD5 fingerprint of the plans, computed over the same text as
+     * the JDBC implementation.
+     *
+     * @return the catalog fingerprint, or "empty" if there are no plans
+     */
+    @Override
+    public String getCatalogVersion() {
+        if (db.plans.isEmpty()) {
+            return "empty";
+        }
+        StringBuilder text = new StringBuilder();
+        for (MembershipPlan plan : db.plans.values()) {
+            if (text.length() > 0) {
+                text.append(',');
+            }
+            text.append(plan.getPlanId()).append(':').append(plan.getPlanType()).append(':')
+                    .append(plan.getPlanDescription() == null ? "" : plan.getPlanDescription()).append(':')
+                    .append(plan.getPlanPrice());
+        }
+        try {
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            return HexFormat.of().formatHex(md5.digest(text.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static MembershipPlan copy(MembershipPlan plan) {
+        return new MembershipPlan(plan.getPlanId(), plan.getPlanType(), plan.getPlanDescription(), plan.getPlanPrice());
+    }
+}
@@ -0,0 +1,85 @@
+package dao.memory;
+
+import dao.TrainerDAO;
+import java.util.List;
+import java.util.stream.Stream;
+import models.Trainer;
+import models.User;
+
+/**
+ * InMemoryTrainerDAO
+ * {@link TrainerDAO} over an {@link InMemoryDatabase}: the users whose
+ * userRole is 'Trainer'.
+ */
+public class InMemoryTrainerDAO implements TrainerDAO {
+    private static final String ROLE = "Trainer";
+
+    private final InMemoryDatabase db;
+
+    /**
+     * Constructor to initialize the DAO over a database.
+     *
+     * @param db database holding the Users table
+     */
+    public InMemoryTrainerDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public boolean createTrainer(Trainer trainer) {
+        // Same as the JDBC DAO: an existing trainer with this email is reused
+        Trainer existing = getTrainerByEmail(trainer.getEmail());
+        if (existing != null) {
+            trainer.setUserId(existing.getUserId());
+            return true;
+        }
+        int id = db.insertUser(trainer, ROLE);
+        if (id == 0) {
+            return false;
+        }
+        trainer.setUserId(id);
+        return true;
+    }
+
+    @Override
+    public Trainer getTrainerById(int userId) {
+        User user = db.users.get(userId);
+        return user != null && ROLE.equals(user.getUserRole()) ? toTrainer(user) : null;
+    }
+
+    @Override
+    public Trainer getTrainerByEmail(String email) {
+        User user = db.findUser(u -> ROLE.equals(u.getUserRole()) && u.getEmail().equals(email));
+        return user != null ? toTrainer(user) : null;
+    }
+
+    @Override
+    public List<Trainer> getAllTrainers() {
+        return InMemoryDatabase.select(db.users, u -> ROLE.equals(u.getUserRole()), InMemoryTrainerDAO::toTrainer);
+    }
+
+    @Override
+    public Stream<Trainer> streamAllTrainers() {
+        return getAllTrainers().stream();
+    }
+
+    @Override
+    public Stream<Trainer> streamAllTrainers(int fetchSize) {
+        return getAllTrainers().stream();
+    }
+
+    @Override
+    public boolean updateTrainer(Trainer trainer) {
+        return db.updateUser(trainer, ROLE, null);
+    }
+
+    @Override
+    public boolean deleteTrainer(int userId) {
+        return db.deleteUser(userId, ROLE);
+    }
+
+    private static Trainer toTrainer(User user) {
+        return new Trainer(user.getUserId(), user.getUserName(), user.getPasswordHash(), user.getEmail(),
+                user.getUserPhoneNumber(), user.getUserAddress());
+    }
+}
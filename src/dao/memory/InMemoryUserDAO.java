@@ -0,0 +1,112 @@
+package dao.memory;
+
+import dao.Page;
+import dao.UserDAO;
+import java.util.List;
+import java.util.stream.Stream;
+import models.User;
+import models.UserSummary;
+
+/**
+ * InMemoryUserDAO
+ * {@link UserDAO} over an {@link InMemoryDatabase}. Users of every role are
+ * returned as plain User objects, as the JDBC implementation does.
+ */
+public class InMemoryUserDAO implements UserDAO {
+    private final InMemoryDatabase db;
+
+    /**
+     * Constructor to initialize the DAO over a database.
+     *
+     * @param db database holding the Users table
+     */
+    public InMemoryUserDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public boolean createUser(User user) {
+        int id = db.insertUser(user, user.getUserRole());
+        if (id == 0) {
+            return false;
+        }
+        user.setUserId(id);
+        return true;
+    }
+
+    @Override
+    public User getUserByUsername(String username) {
+        return copy(db.findUser(u -> u.getUserName().equals(username)));
+    }
+
+    @Override
+    public User getUserByEmail(String email) {
+        return copy(db.findUser(u -> u.getEmail().equals(email)));
+    }
+
+    @Override
+    public User getUserById(int userId) {
+        return copy(db.users.get(userId));
+    }
+
+    @Override
+    public User findUserById(int userId) {
+        return getUserById(userId);
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return InMemoryDatabase.select(db.users, u -> true, InMemoryUserDAO::copy);
+    }
+
+    @Override
+    public Stream<User> streamAllUsers() {
+        return getAllUsers().stream();
+    }
+
+    @Override
+    public Stream<User> streamAllUsers(int fetchSize) {
+        return getAllUsers().stream();
+    }
+
+    @Override
+    public Page<User> getUsersPage(int afterUserId, int pageSize) {
+        return getUsersPage(null, afterUserId, pageSize);
+    }
+
+    @Override
+    public Page<User> getUsersPage(String role, int afterUserId, int pageSize) {
+        return InMemoryDatabase.page(db.users, u -> role == null || role.equals(u.getUserRole()),
+                InMemoryUserDAO::copy, User::getUserId, afterUserId, pageSize);
+    }
+
+    @Override
+    public Page<UserSummary> getUserSummariesPage(String role, String search, int afterUserId, int pageSize) {
+        String text = search == null || search.isBlank() ? null : search.trim().toLowerCase();
+        return InMemoryDatabase.page(db.users,
+                u -> (role == null || role.equals(u.getUserRole()))
+                        && (text == null || u.getUserName().toLowerCase().contains(text)
+                                || u.getEmail().toLowerCase().contains(text)),
+                u -> new UserSummary(u.getUserId(), u.getUserName(), u.getUserRole(), u.getEmail()),
+                UserSummary::getUserId, afterUserId, pageSize);
+    }
+
+    @Override
+    public boolean updateUser(User user) {
+        return db.updateUser(user, null, user.getUserRole());
+    }
+
+    @Override
+    public boolean updatePasswordHash(int userId, String expectedHash, String newHash) {
+        return db.updatePasswordHash(userId, expectedHash, newHash);
+    }
+
+    @Override
+    public boolean deleteUser(int userId) {
+        return db.deleteUser(userId, null);
+    }
+
+    private static User copy(User user) {
+        return user == null ? null : InMemoryDatabase.copyUser(user, user.getUserId(), user.getUserRole());
+    }
+}
@@ -0,0 +1,113 @@
+package dao.memory;
+
+import dao.Page;
+import dao.WorkoutClassDAO;
+import java.util.List;
+import java.util.stream.Stream;
+import models.User;
+import models.WorkoutClass;
+import models.WorkoutClassDetail;
+
+/**
+ * InMemoryWorkoutClassDAO
+ * {@link WorkoutClassDAO} over an {@link InMemoryDatabase}. A class must be
+ * assigned to an existing user; deleting that user leaves the class with
+ * trainerID 0.
+ */
+public class InMemoryWorkoutClassDAO implements WorkoutClassDAO {
+    private final InMemoryDatabase db;
+
+    /**
+     * Constructor to initialize the DAO over a database.
+     *
+     * @param db database holding the WorkoutClasses table
+     */
+    public InMemoryWorkoutClassDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public boolean createWorkoutClass(WorkoutClass wc) {
+        if (wc.getTrainerID() <= 0) {
+            return false;
+        }
+        int id = db.insertWorkoutClass(wc);
+        if (id == 0) {
+            return false;
+        }
+        wc.setWorkoutClassID(id);
+        return true;
+    }
+
+    @Override
+    public WorkoutClass getWorkoutClassById(int id) {
+        WorkoutClass wc = db.workoutClasses.get(id);
+        return wc == null ? null : InMemoryDatabase.copyWorkoutClass(wc, id);
+    }
+
+    @Override
+    public List<WorkoutClass> getWorkoutClassesByTrainerId(int trainerId) {
+        return InMemoryDatabase.select(db.workoutClasses, wc -> wc.getTrainerID() == trainerId,
+                InMemoryWorkoutClassDAO::copy);
+    }
+
+    @Override
+    public List<WorkoutClass> getAllWorkoutClasses() {
+        return InMemoryDatabase.select(db.workoutClasses, wc -> true, InMemoryWorkoutClassDAO::copy);
+    }
+
+    @Override
+    public List<WorkoutClassDetail> getWorkoutClassDetails(String classType) {
+        boolean filtered = classType != null && !classType.isBlank();
+        return InMemoryDatabase.select(db.workoutClasses,
+                wc -> !filtered || wc.getWorkoutClassType().equalsIgnoreCase(classType.trim()),
+                wc -> {
+                    User trainer = db.users.get(wc.getTrainerID());
+                    return new WorkoutClassDetail(wc.getWorkoutClassID(), wc.getWorkoutClassType(),
+                            wc.getWorkoutClassDescription(), wc.getTrainerID(),
+                            trainer == null ? null : trainer.getUserName(),
+                            trainer == null ? null : trainer.getEmail(),
+                            trainer == null ? null : trainer.getUserPhoneNumber());
+                });
+    }
+
+    @Override
+    public Stream<WorkoutClass> streamAllWorkoutClasses() {
+        return getAllWorkoutClasses().stream();
+    }
+
+    @Override
+    public Stream<WorkoutClass> streamAllWorkoutClasses(int fetchSize) {
+        return getAllWorkoutClasses().stream();
+    }
+
+    @Override
+    public Page<WorkoutClass> getWorkoutClassesPage(int afterClassId, int pageSize) {
+        return getWorkoutClassesPage(0, afterClassId, pageSize);
+    }
+
+    @Override
+    public Page<WorkoutClass> getWorkoutClassesPage(int trainerId, int afterClassId, int pageSize) {
+        return InMemoryDatabase.page(db.workoutClasses, wc -> trainerId == 0 || wc.getTrainerID() == trainerId,
+                InMemoryWorkoutClassDAO::copy, WorkoutClass::getWorkoutClassID, afterClassId, pageSize);
+    }
+
+    @Override
+    public boolean updateWorkoutClass(WorkoutClass wc) {
+        return db.updateWorkoutClass(wc);
+    }
+
+    @Override
+    public int reassignTrainer(int fromTrainerId, int toTrainerId) {
+        return db.reassignTrainer(fromTrainerId, toTrainerId);
+    }
+
+    @Override
+    public boolean deleteWorkoutClass(int id) {
+        return db.deleteRow(db.workoutClasses, id);
+    }
+
+    private static WorkoutClass copy(WorkoutClass wc) {
+        return InMemoryDatabase.copyWorkoutClass(wc, wc.getWorkoutClassID());
+    }
+}
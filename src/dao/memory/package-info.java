@@ -0,0 +1,11 @@
+/**
+ * In-memory DAO implementations.
+ *
+ * <p>{@link dao.memory.InMemoryDatabase} keeps every table in concurrent
+ * maps and hands out implementations of the {@code dao} interfaces that
+ * share them, with the same generated IDs, constraints and role filtering
+ * as the PostgreSQL schema. Services built on them run without a database,
+ * which keeps service tests and benchmarks fast and free of network
+ * time.</p>
+ */
+package dao.memory;
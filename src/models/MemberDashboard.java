@@ -0,0 +1,76 @@
+package models;
+
+import java.util.List;
+
+/**
+ * MemberDashboard is the aggregated view shown on a member's home screen:
+ * their user record, their memberships and total spend, and the first
+ * page of workout classes and gym merchandise.
+ *
+ * If a section could not be loaded in time it is left empty and
+ * {@link #isComplete()} returns false.
+ */
+public class MemberDashboard {
+    private final User member;
+    private final List<Membership> memberships;
+    private final double totalSpend;
+    private final List<WorkoutClass> workoutClasses;
+    private final List<GymMerch> gymMerch;
+    private final boolean complete;
+
+    /**
+     * Constructor to initialize a MemberDashboard object.
+     *
+     * @param member the member's user record
+     * @param memberships the member's memberships
+     * @param totalSpend total cost of the member's memberships
+     * @param workoutClasses workout classes to show
+     * @param gymMerch gym merchandise to show
+     * @param complete false if any section could not be loaded
+     */
+    public MemberDashboard(User member, List<Membership> memberships, double totalSpend,
+            List<WorkoutClass> workoutClasses, List<GymMerch> gymMerch, boolean complete) {
+        this.member = member;
+        this.memberships = List.copyOf(memberships);
+        this.totalSpend = totalSpend;
+        this.workoutClasses = List.copyOf(workoutClasses);
+        this.gymMerch = List.copyOf(gymMerch);
+        this.complete = complete;
+    }
+
+    public User getMember() {
+        return member;
+    }
+
+    public List<Membership> getMemberships() {
+        return memberships;
+    }
+
+    public double getTotalSpend() {
+        return totalSpend;
+    }
+
+    public List<WorkoutClass> getWorkoutClasses() {
+        return workoutClasses;
+    }
+
+    public List<GymMerch> getGymMerch() {
+        return gymMerch;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        return "MemberDashboard{" +
+                "member=" + member.getUserName() +
+                ", memberships=" + memberships.size() +
+                ", totalSpend=" + totalSpend +
+                ", workoutClasses=" + workoutClasses.size() +
+                ", gymMerch=" + gymMerch.size() +
+                ", complete=" + complete +
+                '}';
+    }
+}
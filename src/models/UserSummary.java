@@ -0,0 +1,55 @@
+package models;
+
+/**
+ * UserSummary is a lightweight, read-only view of a user for listings and
+ * search: only the ID, name, role and email. It is read with a projection
+ * query, so password hashes, phone numbers and addresses are never loaded
+ * just to print a list.
+ */
+public class UserSummary {
+    private final int userId;
+    private final String userName;
+    private final String userRole;
+    private final String email;
+
+    /**
+     * Constructor to initialize a UserSummary object.
+     *
+     * @param userId unique identifier of the user
+     * @param userName the user's userName
+     * @param userRole Admin, Trainer or Member
+     * @param email the user's email
+     */
+    public UserSummary(int userId, String userName, String userRole, String email) {
+        this.userId = userId;
+        this.userName = userName;
+        this.userRole = userRole;
+        this.email = email;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getUserRole() {
+        return userRole;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSummary{" +
+                "userId=" + userId +
+                ", userName='" + userName + '\'' +
+                ", userRole='" + userRole + '\'' +
+                ", email='" + email + '\'' +
+                '}';
+    }
+}
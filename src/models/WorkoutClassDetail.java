@@ -0,0 +1,78 @@
+package models;
+
+/**
+ * WorkoutClassDetail is a read-only view of a workout class together with
+ * its trainer's name and contact details, as listed in the class directory.
+ * It is loaded with a single join rather than one trainer lookup per class.
+ *
+ * A class whose trainer has been deleted has trainerID 0 and null trainer
+ * fields.
+ */
+public class WorkoutClassDetail {
+    private final int workoutClassID;
+    private final String workoutClassType;
+    private final String workoutClassDescription;
+    private final int trainerID;
+    private final String trainerName;
+    private final String trainerEmail;
+    private final String trainerPhoneNumber;
+
+    /**
+     * Constructor to initialize a WorkoutClassDetail object.
+     *
+     * @param workoutClassID Unique identifier for the workout class
+     * @param workoutClassType Type of the workout class
+     * @param workoutClassDescription Description of the workout class
+     * @param trainerID Identifier of the trainer, or 0 if none
+     * @param trainerName the trainer's userName, or null
+     * @param trainerEmail the trainer's email, or null
+     * @param trainerPhoneNumber the trainer's phone number, or null
+     */
+    public WorkoutClassDetail(int workoutClassID, String workoutClassType, String workoutClassDescription,
+            int trainerID, String trainerName, String trainerEmail, String trainerPhoneNumber) {
+        this.workoutClassID = workoutClassID;
+        this.workoutClassType = workoutClassType;
+        this.workoutClassDescription = workoutClassDescription;
+        this.trainerID = trainerID;
+        this.trainerName = trainerName;
+        this.trainerEmail = trainerEmail;
+        this.trainerPhoneNumber = trainerPhoneNumber;
+    }
+
+    public int getWorkoutClassID() {
+        return workoutClassID;
+    }
+
+    public String getWorkoutClassType() {
+        return workoutClassType;
+    }
+
+    public String getWorkoutClassDescription() {
+        return workoutClassDescription;
+    }
+
+    public int getTrainerID() {
+        return trainerID;
+    }
+
+    public String getTrainerName() {
+        return trainerName;
+    }
+
+    public String getTrainerEmail() {
+        return trainerEmail;
+    }
+
+    public String getTrainerPhoneNumber() {
+        return trainerPhoneNumber;
+    }
+
+    @Override
+    public String toString() {
+        String trainer = trainerName == null
+                ? "no trainer assigned"
+                : trainerName + " (" + trainerEmail + ", " + trainerPhoneNumber + ")";
+        return "WorkoutClass #" + workoutClassID + " " + workoutClassType + ": " + workoutClassDescription
+                + " | Trainer: " + trainer;
+    }
+}
@@ -0,0 +1,126 @@
+package services;
+
+import dao.Page;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import models.GymMerch;
+
+/**
+ * AsyncGymMerchService
+ * Non-blocking facade over {@link GymMerchService}. Every method runs the
+ * matching service call through the database bulkhead of an
+ * {@link AsyncServiceExecutor} and returns a {@link CompletableFuture};
+ * results and error handling are those of the service.
+ */
+public class AsyncGymMerchService {
+    private final GymMerchService gymMerchService;
+    private final AsyncServiceExecutor executor;
+
+    /**
+     * Constructor using the shared executor.
+     *
+     * @param gymMerchService the service to call
+     */
+    public AsyncGymMerchService(GymMerchService gymMerchService) {
+        this(gymMerchService, AsyncServiceExecutor.shared());
+    }
+
+    /**
+     * Constructor with its own executor.
+     *
+     * @param gymMerchService the service to call
+     * @param executor executor the calls run on
+     */
+    public AsyncGymMerchService(GymMerchService gymMerchService, AsyncServiceExecutor executor) {
+        this.gymMerchService = gymMerchService;
+        this.executor = executor;
+    }
+
+    /**
+     * See {@link GymMerchService#addMerch(GymMerch)}.
+     *
+     * @param merch GymMerch object to add.
+     * @return a future completed once the merch is added
+     */
+    public CompletableFuture<Void> addMerch(GymMerch merch) {
+        return executor.onDatabase(() -> {
+            gymMerchService.addMerch(merch);
+            return null;
+        });
+    }
+
+    /**
+     * See {@link GymMerchService#getMerch(int)}.
+     *
+     * @param id ID of the GymMerch to retrieve.
+     * @return the merch, or null if not found
+     */
+    public CompletableFuture<GymMerch> getMerch(int id) {
+        return executor.onDatabase(() -> gymMerchService.getMerch(id));
+    }
+
+    /**
+     * See {@link GymMerchService#getAllMerch()}.
+     *
+     * @return all merch
+     */
+    public CompletableFuture<List<GymMerch>> getAllMerch() {
+        return executor.onDatabase(gymMerchService::getAllMerch);
+    }
+
+    /**
+     * See {@link GymMerchService#getMerchPage(int, int)}.
+     *
+     * @param afterMerchId last merch ID already shown; 0 for the first page
+     * @param pageSize maximum number of items to return
+     * @return the page of merch
+     */
+    public CompletableFuture<Page<GymMerch>> getMerchPage(int afterMerchId, int pageSize) {
+        return executor.onDatabase(() -> gymMerchService.getMerchPage(afterMerchId, pageSize));
+    }
+
+    /**
+     * See {@link GymMerchService#updateMerch(GymMerch)}.
+     *
+     * @param merch GymMerch object with updated data.
+     * @return a future completed once the merch is updated
+     */
+    public CompletableFuture<Void> updateMerch(GymMerch merch) {
+        return executor.onDatabase(() -> {
+            gymMerchService.updateMerch(merch);
+            return null;
+        });
+    }
+
+    /**
+     * See {@link GymMerchService#deleteMerch(int)}.
+     *
+     * @param id ID of the GymMerch to delete.
+     * @return a future completed once the merch is deleted
+     */
+    public CompletableFuture<Void> deleteMerch(int id) {
+        return executor.onDatabase(() -> {
+            gymMerchService.deleteMerch(id);
+            return null;
+        });
+    }
+
+    /**
+     * See {@link GymMerchService#calculateTotalStockValue()}.
+     *
+     * @return total stock value
+     */
+    public CompletableFuture<Double> calculateTotalStockValue() {
+        return executor.onDatabase(gymMerchService::calculateTotalStockValue);
+    }
+
+    /**
+     * See {@link GymMerchService#calculateStockValueByType()}.
+     *
+     * @return map of merch type to stock value, highest first
+     */
+    public CompletableFuture<Map<String, Double>> calculateStockValueByType() {
+        return executor.onDatabase(gymMerchService::calculateStockValueByType);
+    }
+}
@@ -0,0 +1,150 @@
+package services;
+
+import dao.Page;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import models.Membership;
+import models.MembershipPlan;
+
+/**
+ * AsyncMembershipService
+ * Non-blocking facade over {@link MembershipService}. Every method runs the
+ * matching service call through the database bulkhead of an
+ * {@link AsyncServiceExecutor} and returns a {@link CompletableFuture};
+ * results and error handling are those of the service.
+ */
+public class AsyncMembershipService {
+    private final MembershipService membershipService;
+    private final AsyncServiceExecutor executor;
+
+    /**
+     * Constructor using the shared executor.
+     *
+     * @param membershipService the service to call
+     */
+    public AsyncMembershipService(MembershipService membershipService) {
+        this(membershipService, AsyncServiceExecutor.shared());
+    }
+
+    /**
+     * Constructor with its own executor.
+     *
+     * @param membershipService the service to call
+     * @param executor executor the calls run on
+     */
+    public AsyncMembershipService(MembershipService membershipService, AsyncServiceExecutor executor) {
+        this.membershipService = membershipService;
+        this.executor = executor;
+    }
+
+    /**
+     * See {@link MembershipService#getAvailablePlans()}. Usually answered
+     * from the plan catalog, but a cold catalog loads from the database, so
+     * it runs under a database permit like every other call.
+     *
+     * @return all plans
+     */
+    public CompletableFuture<List<MembershipPlan>> getAvailablePlans() {
+        return executor.onDatabase(membershipService::getAvailablePlans);
+    }
+
+    /**
+     * See {@link MembershipService#purchasePlan(int, int)}.
+     *
+     * @param planId plan id from the catalog
+     * @param memberId user id of purchasing member
+     * @return created Membership or null
+     */
+    public CompletableFuture<Membership> purchasePlan(int planId, int memberId) {
+        return executor.onDatabase(() -> membershipService.purchasePlan(planId, memberId));
+    }
+
+    /**
+     * See {@link MembershipService#addMembership(Membership)}.
+     *
+     * @param membership The Membership object to add.
+     * @return the added membership, or null
+     */
+    public CompletableFuture<Membership> addMembership(Membership membership) {
+        return executor.onDatabase(() -> membershipService.addMembership(membership));
+    }
+
+    /**
+     * See {@link MembershipService#getMembership(int)}.
+     *
+     * @param id The ID of the membership.
+     * @return the membership, or null
+     */
+    public CompletableFuture<Membership> getMembership(int id) {
+        return executor.onDatabase(() -> membershipService.getMembership(id));
+    }
+
+    /**
+     * See {@link MembershipService#getAllMemberships()}.
+     *
+     * @return all memberships
+     */
+    public CompletableFuture<List<Membership>> getAllMemberships() {
+        return executor.onDatabase(membershipService::getAllMemberships);
+    }
+
+    /**
+     * See {@link MembershipService#getMembershipsPage(int, int)}.
+     *
+     * @param afterMembershipId last membership ID already shown; 0 for the first page
+     * @param pageSize maximum number of memberships to return
+     * @return the page of memberships
+     */
+    public CompletableFuture<Page<Membership>> getMembershipsPage(int afterMembershipId, int pageSize) {
+        return executor.onDatabase(() -> membershipService.getMembershipsPage(afterMembershipId, pageSize));
+    }
+
+    /**
+     * See {@link MembershipService#updateMembership(Membership)}.
+     *
+     * @param membership The Membership object with updated details.
+     * @return true if the update was successful
+     */
+    public CompletableFuture<Boolean> updateMembership(Membership membership) {
+        return executor.onDatabase(() -> membershipService.updateMembership(membership));
+    }
+
+    /**
+     * See {@link MembershipService#deleteMembership(int)}.
+     *
+     * @param id The ID of the membership to delete.
+     * @return true if deletion was successful
+     */
+    public CompletableFuture<Boolean> deleteMembership(int id) {
+        return executor.onDatabase(() -> membershipService.deleteMembership(id));
+    }
+
+    /**
+     * See {@link MembershipService#viewTotalRevenue()}.
+     *
+     * @return total revenue
+     */
+    public CompletableFuture<Double> viewTotalRevenue() {
+        return executor.onDatabase(membershipService::viewTotalRevenue);
+    }
+
+    /**
+     * See {@link MembershipService#viewRevenueByMembershipType()}.
+     *
+     * @return map of membership type to revenue, highest first
+     */
+    public CompletableFuture<Map<String, Double>> viewRevenueByMembershipType() {
+        return executor.onDatabase(membershipService::viewRevenueByMembershipType);
+    }
+
+    /**
+     * See {@link MembershipService#calculateMemberExpenses(int)}.
+     *
+     * @param memberId ID of the member
+     * @return total expenses
+     */
+    public CompletableFuture<Double> calculateMemberExpenses(int memberId) {
+        return executor.onDatabase(() -> membershipService.calculateMemberExpenses(memberId));
+    }
+}
@@ -0,0 +1,140 @@
+package services;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import utils.AppConfig;
+import utils.Bulkhead;
+import utils.VirtualThreads;
+
+/**
+ * AsyncServiceExecutor
+ * Runs blocking service calls for the async service facades
+ * ({@link AsyncUserService}, {@link AsyncMembershipService},
+ * {@link AsyncWorkoutClassService}, {@link AsyncGymMerchService}).
+ *
+ * <p>Each call runs on its own virtual thread and returns a
+ * {@link CompletableFuture}. Calls are admitted through a {@link Bulkhead}
+ * per downstream resource, so many concurrent callers wait for a permit
+ * instead of exhausting the resource. Before Java 21 each resource has its
+ * own fixed pool of platform threads, sized to its limit, so database calls
+ * can never occupy the threads that logins need:</p>
+ * <ul>
+ *   <li>database: ASYNC_DB_CONCURRENCY, default DB_POOL_MAX_SIZE</li>
+ *   <li>password hashing (login, password resets): ASYNC_PASSWORD_CONCURRENCY,
+ *       default LOGIN_THREADS, so the bounded login executor never refuses
+ *       an async caller</li>
+ * </ul>
+ * <p>Cancelling a returned future cancels the call: one that has not
+ * started is dropped without taking a permit, and one that is running is
+ * interrupted (a JDBC statement already executing may still run to
+ * completion; its result is discarded).</p>
+ * <p>A call waits at most ASYNC_WAIT_MS (default 5000), counted from when it
+ * was submitted (including any time queued for a platform thread); the
+ * future then fails with a {@link RejectedExecutionException}.</p>
+ */
+public final class AsyncServiceExecutor implements AutoCloseable {
+    private static final AsyncServiceExecutor shared = new AsyncServiceExecutor(
+            AppConfig.getInt("ASYNC_DB_CONCURRENCY", AppConfig.getInt("DB_POOL_MAX_SIZE", 10)),
+            AppConfig.getInt("ASYNC_PASSWORD_CONCURRENCY",
+                    AppConfig.getInt("LOGIN_THREADS", Math.max(1, Runtime.getRuntime().availableProcessors() / 2))),
+            AppConfig.getLong("ASYNC_WAIT_MS", 5_000));
+
+    private final ExecutorService databaseExecutor;
+    private final ExecutorService passwordHashingExecutor;
+    private final Bulkhead database;
+    private final Bulkhead passwordHashing;
+
+    /**
+     * Creates an executor with its own bulkheads.
+     *
+     * @param databaseLimit maximum concurrent calls that use the database
+     * @param passwordHashingLimit maximum concurrent calls that hash or verify passwords
+     * @param waitMillis how long a call waits for a permit
+     */
+    public AsyncServiceExecutor(int databaseLimit, int passwordHashingLimit, long waitMillis) {
+        this.database = new Bulkhead("database", databaseLimit, waitMillis);
+        this.passwordHashing = new Bulkhead("password hashing", passwordHashingLimit, waitMillis);
+        this.databaseExecutor = VirtualThreads.newExecutor("async-db", databaseLimit);
+        this.passwordHashingExecutor = VirtualThreads.newExecutor("async-password", passwordHashingLimit);
+    }
+
+    /**
+     * Get the executor shared by the async facades.
+     *
+     * @return the shared executor
+     */
+    public static AsyncServiceExecutor shared() {
+        return shared;
+    }
+
+    /**
+     * Run a call that uses the database.
+     *
+     * @param call the blocking service call
+     * @param <T> result type
+     * @return a future completed with the call's result or failure
+     */
+    public <T> CompletableFuture<T> onDatabase(Callable<T> call) {
+        return submit(databaseExecutor, database, call);
+    }
+
+    /**
+     * Run a call that hashes or verifies passwords.
+     *
+     * @param call the blocking service call
+     * @param <T> result type
+     * @return a future completed with the call's result or failure
+     */
+    public <T> CompletableFuture<T> onPasswordHashing(Callable<T> call) {
+        return submit(passwordHashingExecutor, passwordHashing, call);
+    }
+
+    /**
+     * Returns a snapshot of both bulkheads.
+     *
+     * @return database and password hashing statistics
+     */
+    public List<Bulkhead.Stats> getStats() {
+        return List.of(database.getStats(), passwordHashing.getStats());
+    }
+
+    /**
+     * Stop accepting calls. Calls already submitted still complete.
+     */
+    @Override
+    public void close() {
+        databaseExecutor.shutdown();
+        passwordHashingExecutor.shutdown();
+    }
+
+    /**
+     * Submits the call and links the returned future to the task, so
+     * cancelling the future also cancels the task: a call that has not
+     * started never runs, and a running one is interrupted.
+     */
+    private static <T> CompletableFuture<T> submit(ExecutorService executor, Bulkhead bulkhead, Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long submitted = System.nanoTime();
+        try {
+            Future<?> task = executor.submit(() -> {
+                try {
+                    future.complete(bulkhead.call(call, submitted));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            future.whenComplete((result, e) -> {
+                if (future.isCancelled()) {
+                    task.cancel(true);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
@@ -0,0 +1,149 @@
+package services;
+
+import dao.Page;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import models.User;
+import models.UserSummary;
+
+/**
+ * AsyncUserService
+ * Non-blocking facade over {@link UserService}. Every method runs the
+ * matching service call on an {@link AsyncServiceExecutor} and returns a
+ * {@link CompletableFuture}; results and error handling are those of the
+ * service. Database work goes through the database bulkhead and bcrypt work
+ * through the password hashing bulkhead; logins and password resets are
+ * split so each step takes only the permit it needs.
+ */
+public class AsyncUserService {
+    private final UserService userService;
+    private final AsyncServiceExecutor executor;
+
+    /**
+     * Constructor using the shared executor.
+     *
+     * @param userService the service to call
+     */
+    public AsyncUserService(UserService userService) {
+        this(userService, AsyncServiceExecutor.shared());
+    }
+
+    /**
+     * Constructor with its own executor.
+     *
+     * @param userService the service to call
+     * @param executor executor the calls run on
+     */
+    public AsyncUserService(UserService userService, AsyncServiceExecutor executor) {
+        this.userService = userService;
+        this.executor = executor;
+    }
+
+    /**
+     * See {@link UserService#login(String, String, String)}. The user is read
+     * under a database permit, then the password is checked under a hashing
+     * permit. The future fails with {@link LoginThrottledException} if the
+     * attempt is refused.
+     *
+     * @param username username
+     * @param password password
+     * @param source where the attempt comes from, e.g. a client address
+     * @return the user if login succeeded, otherwise null
+     */
+    public CompletableFuture<User> login(String username, String password, String source) {
+        return executor.onDatabase(() -> userService.findLoginCandidate(username, source))
+                .thenCompose(candidate -> candidate == null ? CompletableFuture.completedFuture(null)
+                        : executor.onPasswordHashing(() -> userService.verifyLoginCandidate(candidate, password)));
+    }
+
+    /**
+     * See {@link UserService#getAllUsers()}.
+     *
+     * @return all users
+     */
+    public CompletableFuture<List<User>> getAllUsers() {
+        return executor.onDatabase(userService::getAllUsers);
+    }
+
+    /**
+     * See {@link UserService#getUsersPage(String, int, int)}.
+     *
+     * @param role role to filter on, or null for all users
+     * @param afterUserId last user ID already shown; 0 for the first page
+     * @param pageSize maximum number of users to return
+     * @return the page of users
+     */
+    public CompletableFuture<Page<User>> getUsersPage(String role, int afterUserId, int pageSize) {
+        return executor.onDatabase(() -> userService.getUsersPage(role, afterUserId, pageSize));
+    }
+
+    /**
+     * See {@link UserService#getUserSummariesPage(String, String, int, int)}.
+     *
+     * @param role role to filter on, or null for all users
+     * @param search text the userName or email must contain, or null for all
+     * @param afterUserId last user ID already shown; 0 for the first page
+     * @param pageSize maximum number of users to return
+     * @return the page of user summaries
+     */
+    public CompletableFuture<Page<UserSummary>> getUserSummariesPage(String role, String search,
+            int afterUserId, int pageSize) {
+        return executor.onDatabase(() -> userService.getUserSummariesPage(role, search, afterUserId, pageSize));
+    }
+
+    /**
+     * See {@link UserService#getTrainerById(int)}. The future fails if the
+     * user is not a trainer.
+     *
+     * @param userId trainer user ID
+     * @return the trainer
+     */
+    public CompletableFuture<User> getTrainerById(int userId) {
+        return executor.onDatabase(() -> userService.getTrainerById(userId));
+    }
+
+    /**
+     * See {@link UserService#getMemberById(int)}. The future fails if the
+     * user is not a member.
+     *
+     * @param userId member user ID
+     * @return the member
+     */
+    public CompletableFuture<User> getMemberById(int userId) {
+        return executor.onDatabase(() -> userService.getMemberById(userId));
+    }
+
+    /**
+     * See {@link UserService#getUserByEmail(String)}.
+     *
+     * @param email the email of the user
+     * @return the user, or null if not found
+     */
+    public CompletableFuture<User> getUserByEmail(String email) {
+        return executor.onDatabase(() -> userService.getUserByEmail(email));
+    }
+
+    /**
+     * See {@link UserService#deleteTrainer(int, int)}.
+     *
+     * @param trainerId ID of the trainer to delete
+     * @param replacementTrainerId ID of the trainer who takes over the classes
+     * @return number of classes reassigned, or -1 if the trainer was not deleted
+     */
+    public CompletableFuture<Integer> deleteTrainer(int trainerId, int replacementTrainerId) {
+        return executor.onDatabase(() -> userService.deleteTrainer(trainerId, replacementTrainerId));
+    }
+
+    /**
+     * See {@link UserService#resetPasswords(Map)}. The passwords are hashed
+     * under a hashing permit, then stored under a database permit.
+     *
+     * @param newPasswords new plaintext password per user ID
+     * @return number of users whose password was updated
+     */
+    public CompletableFuture<Integer> resetPasswords(Map<Integer, String> newPasswords) {
+        return executor.onPasswordHashing(() -> userService.hashPasswords(newPasswords))
+                .thenCompose(hashes -> executor.onDatabase(() -> userService.storePasswordHashes(hashes)));
+    }
+}
@@ -0,0 +1,105 @@
+package services;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import models.WorkoutClass;
+
+/**
+ * AsyncWorkoutClassService
+ * Non-blocking facade over {@link WorkoutClassService}. Every method runs
+ * the matching service call through the database bulkhead of an
+ * {@link AsyncServiceExecutor} and returns a {@link CompletableFuture}.
+ * An SQLException thrown by the service completes the future exceptionally.
+ */
+public class AsyncWorkoutClassService {
+    private final WorkoutClassService workoutClassService;
+    private final AsyncServiceExecutor executor;
+
+    /**
+     * Constructor using the shared executor.
+     *
+     * @param workoutClassService the service to call
+     */
+    public AsyncWorkoutClassService(WorkoutClassService workoutClassService) {
+        this(workoutClassService, AsyncServiceExecutor.shared());
+    }
+
+    /**
+     * Constructor with its own executor.
+     *
+     * @param workoutClassService the service to call
+     * @param executor executor the calls run on
+     */
+    public AsyncWorkoutClassService(WorkoutClassService workoutClassService, AsyncServiceExecutor executor) {
+        this.workoutClassService = workoutClassService;
+        this.executor = executor;
+    }
+
+    /**
+     * See {@link WorkoutClassService#createWorkoutClass(WorkoutClass)}.
+     *
+     * @param workoutClass WorkoutClass object to add.
+     * @return a future completed once the class is added
+     */
+    public CompletableFuture<Void> createWorkoutClass(WorkoutClass workoutClass) {
+        return executor.onDatabase(() -> {
+            workoutClassService.createWorkoutClass(workoutClass);
+            return null;
+        });
+    }
+
+    /**
+     * See {@link WorkoutClassService#getWorkoutClass(int)}.
+     *
+     * @param id ID of the workout class.
+     * @return the workout class, or null if not found
+     */
+    public CompletableFuture<WorkoutClass> getWorkoutClass(int id) {
+        return executor.onDatabase(() -> workoutClassService.getWorkoutClass(id));
+    }
+
+    /**
+     * See {@link WorkoutClassService#getWorkoutClassesByTrainerId(int)}.
+     *
+     * @param trainerId ID of the trainer.
+     * @return the trainer's classes
+     */
+    public CompletableFuture<List<WorkoutClass>> getWorkoutClassesByTrainerId(int trainerId) {
+        return executor.onDatabase(() -> workoutClassService.getWorkoutClassesByTrainerId(trainerId));
+    }
+
+    /**
+     * See {@link WorkoutClassService#getAllWorkoutClasses()}.
+     *
+     * @return all workout classes
+     */
+    public CompletableFuture<List<WorkoutClass>> getAllWorkoutClasses() {
+        return executor.onDatabase(workoutClassService::getAllWorkoutClasses);
+    }
+
+    /**
+     * See {@link WorkoutClassService#updateWorkoutClass(WorkoutClass)}.
+     *
+     * @param workoutClass WorkoutClass object with updated data.
+     * @return a future completed once the class is updated
+     */
+    public CompletableFuture<Void> updateWorkoutClass(WorkoutClass workoutClass) {
+        return executor.onDatabase(() -> {
+            workoutClassService.updateWorkoutClass(workoutClass);
+            return null;
+        });
+    }
+
+    /**
+     * See {@link WorkoutClassService#deleteWorkoutClass(int)}.
+     *
+     * @param id ID of the WorkoutClass to delete.
+     * @return a future completed once the class is deleted
+     */
+    public CompletableFuture<Void> deleteWorkoutClass(int id) {
+        return executor.onDatabase(() -> {
+            workoutClassService.deleteWorkoutClass(id);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,472 @@
+package services;
+
+import dao.BulkImportDAO;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Logger;
+import models.Membership;
+import models.User;
+import utils.AppConfig;
+import utils.LoggerUtil;
+import utils.Metrics;
+import utils.ParallelPasswordHasher;
+import utils.PasswordUtil;
+
+/**
+ * BulkImportService
+ * Service class for importing many Users or Memberships at once, e.g. when
+ * onboarding a new location.
+ *
+ * <p>Input is either a CSV file with a header row or an in-memory list. Rows
+ * are validated first; valid rows are written with JDBC batches, or with
+ * PostgreSQL COPY once the number of rows reaches the copy threshold. Every
+ * rejected row, whether by validation or by the database, is reported in the
+ * returned {@link ImportResult}.</p>
+ *
+ * <p>User CSV columns: userName, email, userRole, password (or an already
+ * hashed bcrypt passwordHash), and optionally userPhoneNumber and userAddress.
+ * A passwordHash that is not bcrypt, or a password that fails to hash,
+ * rejects that row only.
+ * Membership CSV columns: membershipType, membershipDescription,
+ * membershipCost and memberID.</p>
+ *
+ * <p>Defaults come from IMPORT_BATCH_SIZE and IMPORT_COPY_THRESHOLD in the
+ * .env file.</p>
+ */
+public class BulkImportService {
+    /**
+     * Receives progress updates while an import runs.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called after each batch is written.
+         * @param processed rows handled so far
+         * @param total rows being written
+         */
+        void onProgress(int processed, int total);
+    }
+
+    /**
+     * Writes a list of rows using one of the BulkImportDAO strategies.
+     */
+    @FunctionalInterface
+    private interface Loader<T> {
+        int load(List<T> rows, int batchSize, BulkImportDAO.Listener listener);
+    }
+
+    private final BulkImportDAO bulkImportDAO;
+    private static final Logger logger = LoggerUtil.getLogger();
+
+    private int batchSize = AppConfig.getInt("IMPORT_BATCH_SIZE", 500);
+    private int copyThreshold = AppConfig.getInt("IMPORT_COPY_THRESHOLD", 10_000);
+    private ProgressListener progressListener;
+    private ParallelPasswordHasher passwordHasher = ParallelPasswordHasher.getShared();
+
+    /**
+     * Constructor to initialize BulkImportService with a BulkImportDAO instance.
+     *
+     * @param bulkImportDAO The BulkImportDAO instance to use.
+     */
+    public BulkImportService(BulkImportDAO bulkImportDAO) {
+        this.bulkImportDAO = bulkImportDAO;
+    }
+
+    /**
+     * Setter for batchSize.
+     * @param batchSize rows per JDBC batch or COPY chunk; each batch is committed separately
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Setter for copyThreshold.
+     * @param copyThreshold number of rows from which COPY is used instead of batched inserts
+     */
+    public void setCopyThreshold(int copyThreshold) {
+        this.copyThreshold = copyThreshold;
+    }
+
+    /**
+     * Setter for progressListener.
+     * @param progressListener listener notified after each batch, or null for none
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Setter for passwordHasher.
+     * @param passwordHasher hasher used for plaintext passwords read from a CSV file
+     */
+    public void setPasswordHasher(ParallelPasswordHasher passwordHasher) {
+        this.passwordHasher = passwordHasher;
+    }
+
+    /**
+     * Imports users from a list. Passwords must already be hashed.
+     *
+     * @param users users to import
+     * @return the import result; generated IDs are set on the users when batch inserts are used
+     */
+    public ImportResult importUsers(List<User> users) {
+        return Metrics.time("BulkImportService.importUsers", () -> {
+            ImportResult result = new ImportResult();
+            List<User> valid = new ArrayList<>();
+            List<Integer> rowNumbers = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                String error = validateUser(user);
+                if (error == null) {
+                    error = validatePasswordHash(user.getPasswordHash());
+                }
+                if (error != null) {
+                    result.addError(i + 1, error);
+                } else {
+                    valid.add(user);
+                    rowNumbers.add(i + 1);
+                }
+            }
+            result.setTotalRows(users.size());
+            return write(valid, rowNumbers, result, bulkImportDAO::insertUsers, bulkImportDAO::copyUsers, "users");
+        });
+    }
+
+    /**
+     * Imports users from a CSV file.
+     *
+     * @param file CSV file with a header row
+     * @return the import result; row numbers are line numbers in the file
+     */
+    public ImportResult importUsersFromCsv(Path file) {
+        return Metrics.time("BulkImportService.importUsersFromCsv", () -> {
+            ImportResult result = new ImportResult();
+            List<User> valid = new ArrayList<>();
+            List<Integer> rowNumbers = new ArrayList<>();
+            List<String> plainPasswords = new ArrayList<>();
+            try {
+                readCsv(file, result, (line, row) -> {
+                    String passwordHash = row.get("passwordHash");
+                    String password = isBlank(passwordHash) ? row.get("password") : null;
+                    if (isBlank(passwordHash) && isBlank(password)) {
+                        result.addError(line, "Missing password or passwordHash");
+                        return;
+                    }
+                    User user = new User(0, row.get("userName"), isBlank(passwordHash) ? password : passwordHash,
+                            row.get("email"), row.get("userPhoneNumber"), row.get("userAddress"), row.get("userRole"));
+                    String error = validateUser(user);
+                    if (error == null && password == null) {
+                        error = validatePasswordHash(passwordHash);
+                    }
+                    if (error != null) {
+                        result.addError(line, error);
+                        return;
+                    }
+                    valid.add(user);
+                    rowNumbers.add(line);
+                    plainPasswords.add(password);
+                });
+            } catch (IOException e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error reading user import file " + file + ": " + e.getMessage());
+                result.addError(0, "Could not read file: " + e.getMessage());
+                return result;
+            }
+            hashPasswords(valid, rowNumbers, plainPasswords, result);
+            return write(valid, rowNumbers, result, bulkImportDAO::insertUsers, bulkImportDAO::copyUsers, "users");
+        });
+    }
+
+    /**
+     * Imports memberships from a list.
+     *
+     * @param memberships memberships to import
+     * @return the import result; generated IDs are set when batch inserts are used
+     */
+    public ImportResult importMemberships(List<Membership> memberships) {
+        return Metrics.time("BulkImportService.importMemberships", () -> {
+            ImportResult result = new ImportResult();
+            List<Membership> valid = new ArrayList<>();
+            List<Integer> rowNumbers = new ArrayList<>();
+            for (int i = 0; i < memberships.size(); i++) {
+                String error = validateMembership(memberships.get(i));
+                if (error != null) {
+                    result.addError(i + 1, error);
+                } else {
+                    valid.add(memberships.get(i));
+                    rowNumbers.add(i + 1);
+                }
+            }
+            result.setTotalRows(memberships.size());
+            return write(valid, rowNumbers, result, bulkImportDAO::insertMemberships, bulkImportDAO::copyMemberships,
+                    "memberships");
+        });
+    }
+
+    /**
+     * Imports memberships from a CSV file.
+     *
+     * @param file CSV file with a header row
+     * @return the import result; row numbers are line numbers in the file
+     */
+    public ImportResult importMembershipsFromCsv(Path file) {
+        return Metrics.time("BulkImportService.importMembershipsFromCsv", () -> {
+            ImportResult result = new ImportResult();
+            List<Membership> valid = new ArrayList<>();
+            List<Integer> rowNumbers = new ArrayList<>();
+            try {
+                readCsv(file, result, (line, row) -> {
+                    Membership membership;
+                    try {
+                        membership = new Membership(0, row.get("membershipType"), row.get("membershipDescription"),
+                                Double.parseDouble(row.getOrDefault("membershipCost", "")),
+                                Integer.parseInt(row.getOrDefault("memberID", "")));
+                    } catch (NumberFormatException e) {
+                        result.addError(line, "membershipCost and memberID must be numbers");
+                        return;
+                    }
+                    String error = validateMembership(membership);
+                    if (error != null) {
+                        result.addError(line, error);
+                        return;
+                    }
+                    valid.add(membership);
+                    rowNumbers.add(line);
+                });
+            } catch (IOException e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error reading membership import file " + file + ": " + e.getMessage());
+                result.addError(0, "Could not read file: " + e.getMessage());
+                return result;
+            }
+            return write(valid, rowNumbers, result, bulkImportDAO::insertMemberships, bulkImportDAO::copyMemberships,
+                    "memberships");
+        });
+    }
+
+    /**
+     * Writes the validated rows with batch inserts or COPY and fills in the result.
+     */
+    private <T> ImportResult write(List<T> rows, List<Integer> rowNumbers, ImportResult result, Loader<T> batch,
+            Loader<T> copy, String what) {
+        long start = System.currentTimeMillis();
+        int total = rows.size();
+        BulkImportDAO.Listener listener = new BulkImportDAO.Listener() {
+            @Override
+            public void rowsProcessed(int processed) {
+                if (progressListener != null) {
+                    progressListener.onProgress(processed, total);
+                }
+            }
+
+            @Override
+            public void rowFailed(int index, String message) {
+                result.addError(rowNumbers.get(index), message);
+            }
+        };
+
+        try {
+            Loader<T> loader = total >= copyThreshold ? copy : batch;
+            result.setImported(loader.load(rows, batchSize, listener));
+        } catch (Exception e) {
+            logger.severe(() -> "Error importing " + what + ": " + e.getMessage());
+        }
+        result.sortErrors();
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info(() -> "Imported " + result.getImported() + " of " + result.getTotalRows() + " " + what
+                + " in " + result.getElapsedMillis() + " ms (" + result.getErrors().size() + " rejected)");
+        return result;
+    }
+
+    /**
+     * Hashes the plaintext passwords read from a CSV file in parallel. Rows
+     * that came with a passwordHash column have a null entry and keep their hash.
+     * A row whose hash fails is recorded as an error and removed from the
+     * rows to write, so one bad row does not abort the import.
+     */
+    private void hashPasswords(List<User> users, List<Integer> rowNumbers, List<String> plainPasswords,
+            ImportResult result) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(plainPasswords.size());
+        for (String password : plainPasswords) {
+            hashes.add(password == null ? null : passwordHasher.hashAsync(password));
+        }
+        for (int i = users.size() - 1; i >= 0; i--) {
+            if (hashes.get(i) == null) {
+                continue;
+            }
+            try {
+                users.get(i).setPasswordHash(hashes.get(i).join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                result.addError(rowNumbers.get(i), "Could not hash password: " + cause.getMessage());
+                users.remove(i);
+                rowNumbers.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Reads a CSV file with a header row and hands each data row to the
+     * consumer as a column-name-to-value map. Blank lines are skipped.
+     */
+    private void readCsv(Path file, ImportResult result, RowConsumer consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return;
+            }
+            List<String> header = parseCsvLine(headerLine.replace("\uFEFF", ""));
+            int lineNumber = 1;
+            int rows = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                rows++;
+                List<String> values = parseCsvLine(line);
+                if (values.size() != header.size()) {
+                    result.addError(lineNumber, "Expected " + header.size() + " columns but found " + values.size());
+                    continue;
+                }
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    row.put(header.get(i).trim(), values.get(i).trim());
+                }
+                consumer.accept(lineNumber, row);
+            }
+            result.setTotalRows(rows);
+        }
+    }
+
+    /**
+     * Handles one parsed CSV row.
+     */
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(int lineNumber, Map<String, String> row);
+    }
+
+    /**
+     * Splits one CSV line into fields. Supports double-quoted fields with
+     * embedded commas and doubled quotes.
+     *
+     * @param line the CSV line
+     * @return the field values
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Checks the fields the database requires for a user.
+     *
+     * @return an error message, or null if the user is valid
+     */
+    private String validateUser(User user) {
+        if (user == null) {
+            return "Missing user";
+        }
+        if (isBlank(user.getUserName())) {
+            return "Missing userName";
+        }
+        if (isBlank(user.getEmail()) || !user.getEmail().contains("@")) {
+            return "Invalid email: " + user.getEmail();
+        }
+        if (normalizeRole(user.getUserRole()) == null) {
+            return "Invalid userRole: " + user.getUserRole();
+        }
+        user.setUserRole(normalizeRole(user.getUserRole()));
+        return null;
+    }
+
+    /**
+     * Checks that an imported password hash is a bcrypt hash, so the user
+     * can log in; {@link PasswordUtil#verifyPassword} rejects anything else.
+     *
+     * @return an error message, or null if the hash is valid
+     */
+    private String validatePasswordHash(String passwordHash) {
+        if (isBlank(passwordHash)) {
+            return "Missing passwordHash";
+        }
+        if (PasswordUtil.getCost(passwordHash) < 0 || passwordHash.length() != 60) {
+            return "passwordHash is not a bcrypt hash";
+        }
+        return null;
+    }
+
+    /**
+     * Checks the fields the database requires for a membership.
+     *
+     * @return an error message, or null if the membership is valid
+     */
+    private String validateMembership(Membership membership) {
+        if (membership == null) {
+            return "Missing membership";
+        }
+        if (isBlank(membership.getMembershipType())) {
+            return "Missing membershipType";
+        }
+        if (membership.getMembershipCost() < 0) {
+            return "membershipCost cannot be negative";
+        }
+        if (membership.getMemberID() <= 0) {
+            return "Invalid memberID: " + membership.getMemberID();
+        }
+        return null;
+    }
+
+    private String normalizeRole(String role) {
+        if (role == null) return null;
+
+        return switch (role.trim().toLowerCase()) {
+            case "admin" -> "Admin";
+            case "trainer" -> "Trainer";
+            case "member" -> "Member";
+            default -> null;
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,9 +1,12 @@
 package services;
 
 import dao.GymMerchDAO;
+import dao.Page;
 import models.GymMerch;
 import java.util.List;
+import java.util.Map;
 import utils.LoggerUtil;
+import utils.Metrics;
 import java.util.logging.Logger;
 
 /**
@@ -36,15 +39,18 @@ public class GymMerchService {
      * @param merch GymMerch object to add.
      */
     public void addMerch(GymMerch merch) {
-        try{ 
-            gymMerchDAO.addGymMerch(merch);
+        Metrics.run("GymMerchService.addMerch", () -> {
+            try{ 
+                gymMerchDAO.addGymMerch(merch);
 
-            logger.info("Gym merchandise added successfully: " + merch.getMerchName());
-        } catch (Exception e) {
-            System.err.println("Error adding gym merchandise: " + e.getMessage());
-            e.printStackTrace();
-            logger.severe("Logging failed during adding gym merchandise: " + e.getMessage());
-        }
+                logger.info(() -> "Gym merchandise added successfully: " + merch.getMerchName());
+            } catch (Exception e) {
+                Metrics.markFailed();
+                System.err.println("Error adding gym merchandise: " + e.getMessage());
+                e.printStackTrace();
+                logger.severe(() -> "Logging failed during adding gym merchandise: " + e.getMessage());
+            }
+        });
     }
 
     /**
@@ -55,20 +61,23 @@ public class GymMerchService {
      * @return GymMerch object if found, null otherwise.
      */
     public GymMerch getMerch(int id) {
-        try {
-            GymMerch merch = gymMerchDAO.getGymMerchById(id);
-            if (merch != null) {
-                logger.info("Gym merchandise retrieved successfully: " + merch.getMerchName());
-                return merch;
-            } else {
-                logger.warning("Gym merchandise with ID " + id + " not found.");
+        return Metrics.time("GymMerchService.getMerch", () -> {
+            try {
+                GymMerch merch = gymMerchDAO.getGymMerchById(id);
+                if (merch != null) {
+                    logger.info(() -> "Gym merchandise retrieved successfully: " + merch.getMerchName());
+                    return merch;
+                } else {
+                    logger.warning(() -> "Gym merchandise with ID " + id + " not found.");
+                    return null;
+                }
+            } catch (Exception e) {
+                Metrics.markFailed();
+                System.err.println("Error retrieving gym merchandise: " + e.getMessage());
+                e.printStackTrace();
                 return null;
             }
-        } catch (Exception e) {
-            System.err.println("Error retrieving gym merchandise: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
+        });
     }
 
     /**
@@ -78,17 +87,43 @@ public class GymMerchService {
      * @return List of all GymMerch objects.
      */
     public List<GymMerch> getAllMerch() {
-        try {
-            List<GymMerch> merchList = gymMerchDAO.getAllGymMerch();
-            logger.info("Retrieved " + merchList.size() + " gym merchandise items from the database.");
+        return Metrics.time("GymMerchService.getAllMerch", () -> {
+            try {
+                List<GymMerch> merchList = gymMerchDAO.getAllGymMerch();
+                logger.info(() -> "Retrieved " + merchList.size() + " gym merchandise items from the database.");
+
+                return merchList;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                System.err.println("Error retrieving all gym merchandise: " + e.getMessage());
+                e.printStackTrace();
+                logger.severe(() -> "Logging failed during retrieving all gym merchandise: " + e.getMessage());
+                return null;
+            }
+        });
+    }
 
-            return merchList;
-        } catch (Exception e) {
-            System.err.println("Error retrieving all gym merchandise: " + e.getMessage());
-            e.printStackTrace();
-            logger.severe("Logging failed during retrieving all gym merchandise: " + e.getMessage());
-            return null;
-        }
+    /**
+     * Retrieves one page of GymMerch records ordered by ID.
+     *
+     * @param afterMerchId last merch ID already shown; 0 for the first page
+     * @param pageSize maximum number of items to return
+     * @return the page of GymMerch objects; an empty page if an error occurs
+     */
+    public Page<GymMerch> getMerchPage(int afterMerchId, int pageSize) {
+        return Metrics.time("GymMerchService.getMerchPage", () -> {
+            try {
+                Page<GymMerch> page = gymMerchDAO.getGymMerchPage(afterMerchId, pageSize);
+                logger.info(() -> "Retrieved page of " + page.getItems().size() + " gym merchandise items after ID " + afterMerchId);
+                return page;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                System.err.println("Error retrieving gym merchandise page: " + e.getMessage());
+                e.printStackTrace();
+                logger.severe(() -> "Logging failed during retrieving gym merchandise page: " + e.getMessage());
+                return new Page<>(List.of(), afterMerchId, false);
+            }
+        });
     }
 
     /**
@@ -97,18 +132,21 @@ public class GymMerchService {
      * @param merch GymMerch object with updated information.
      */
     public void updateMerch(GymMerch merch) {
-        try {
-            boolean updated = gymMerchDAO.updateGymMerch(merch);
-            if (updated) {
-                logger.info("Gym merchandise updated successfully: " + merch.getMerchName());
-            } else {
-                logger.warning("Gym merchandise update failed for: " + merch.getMerchName());
+        Metrics.run("GymMerchService.updateMerch", () -> {
+            try {
+                boolean updated = gymMerchDAO.updateGymMerch(merch);
+                if (updated) {
+                    logger.info(() -> "Gym merchandise updated successfully: " + merch.getMerchName());
+                } else {
+                    logger.warning(() -> "Gym merchandise update failed for: " + merch.getMerchName());
+                }
+            } catch (Exception e) {
+                Metrics.markFailed();
+                System.err.println("Error updating gym merchandise: " + e.getMessage());
+                e.printStackTrace();
+                logger.severe(() -> "Logging failed during updating gym merchandise: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.err.println("Error updating gym merchandise: " + e.getMessage());
-            e.printStackTrace();
-            logger.severe("Logging failed during updating gym merchandise: " + e.getMessage());
-        }
+        });
     }
 
     /**
@@ -117,18 +155,21 @@ public class GymMerchService {
      * @param id ID of the GymMerch to delete.
      */
     public void deleteMerch(int id) {
-        try {
-            boolean deleted = gymMerchDAO.deleteGymMerch(id);
-            if (deleted) {
-                logger.info("Gym merchandise deleted successfully with ID: " + id);
-            } else {
-                logger.warning("Gym merchandise deletion failed for ID: " + id);
+        Metrics.run("GymMerchService.deleteMerch", () -> {
+            try {
+                boolean deleted = gymMerchDAO.deleteGymMerch(id);
+                if (deleted) {
+                    logger.info(() -> "Gym merchandise deleted successfully with ID: " + id);
+                } else {
+                    logger.warning(() -> "Gym merchandise deletion failed for ID: " + id);
+                }
+            } catch (Exception e) {
+                Metrics.markFailed();
+                System.err.println("Error deleting gym merchandise: " + e.getMessage());
+                e.printStackTrace();
+                logger.severe(() -> "Logging failed during deleting gym merchandise: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.err.println("Error deleting gym merchandise: " + e.getMessage());
-            e.printStackTrace();
-            logger.severe("Logging failed during deleting gym merchandise: " + e.getMessage());
-        }
+        });
     }
 
     // Admins can add new items and set prices, print a report of all items in stock, and
@@ -140,19 +181,36 @@ public class GymMerchService {
      * @return total stock value
      */
     public double calculateTotalStockValue() {
-        try {
-            List<GymMerch> merchList = gymMerchDAO.getAllGymMerch();
-
-            return merchList.stream()
-                    .mapToDouble(m -> m.getMerchPrice() * m.getQuantityInStock())
-                    .sum();
+        return Metrics.time("GymMerchService.calculateTotalStockValue", () -> {
+            try {
+                return gymMerchDAO.getTotalStockValue();
+            } catch (Exception e) {
+                Metrics.markFailed();
+                System.err.println("Error calculating total stock value: " + e.getMessage());
+                e.printStackTrace();
+                logger.severe(() -> "Failed to calculate total stock value: " + e.getMessage());
+                return 0.0;
+            }
+        });
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error calculating total stock value: " + e.getMessage());
-            e.printStackTrace();
-            logger.severe("Failed to calculate total stock value: " + e.getMessage());
-            return 0.0;
-        }
+    /**
+     * Calculates the stock value of gym merchandise grouped by type.
+     *
+     * @return map of merch type to stock value, highest first
+     */
+    public Map<String, Double> calculateStockValueByType() {
+        return Metrics.time("GymMerchService.calculateStockValueByType", () -> {
+            try {
+                return gymMerchDAO.getStockValueByMerchType();
+            } catch (Exception e) {
+                Metrics.markFailed();
+                System.err.println("Error calculating stock value by type: " + e.getMessage());
+                e.printStackTrace();
+                logger.severe(() -> "Failed to calculate stock value by type: " + e.getMessage());
+                return Map.of();
+            }
+        });
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ImportResult
+ * Outcome of a bulk import: how many rows were read, how many were stored,
+ * and why each rejected row failed.
+ */
+public class ImportResult {
+    /**
+     * A row that was not imported.
+     *
+     * @param rowNumber line number in the CSV file, or 1-based position in the submitted list
+     * @param message reason the row was rejected
+     */
+    public record RowError(int rowNumber, String message) {
+    }
+
+    private int totalRows;
+    private int imported;
+    private long elapsedMillis;
+    private final List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Default constructor for an empty result.
+     */
+    public ImportResult() {
+        // Counters are filled in while the import runs
+    }
+
+    /**
+     * Getter for totalRows.
+     * @return number of data rows read from the input
+     */
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * Setter for totalRows.
+     * @param totalRows number of data rows read from the input
+     */
+    void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    /**
+     * Getter for imported.
+     * @return number of rows stored in the database
+     */
+    public int getImported() {
+        return imported;
+    }
+
+    /**
+     * Setter for imported.
+     * @param imported number of rows stored in the database
+     */
+    void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    /**
+     * Getter for elapsedMillis.
+     * @return wall-clock time the import took
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Setter for elapsedMillis.
+     * @param elapsedMillis wall-clock time the import took
+     */
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Getter for errors.
+     * @return rejected rows in input order
+     */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Records a rejected row.
+     * @param rowNumber line number or list position of the row
+     * @param message reason the row was rejected
+     */
+    void addError(int rowNumber, String message) {
+        errors.add(new RowError(rowNumber, message));
+    }
+
+    /**
+     * Sorts errors by row number; validation and database errors are
+     * collected in separate passes.
+     */
+    void sortErrors() {
+        errors.sort((a, b) -> Integer.compare(a.rowNumber(), b.rowNumber()));
+    }
+
+    /**
+     * String representation of the import result.
+     * @return summary of the import
+     */
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "totalRows=" + totalRows +
+                ", imported=" + imported +
+                ", failed=" + errors.size() +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,20 @@
+package services;
+
+/**
+ * LoginThrottledException
+ * Thrown by {@link UserService#login(String, String, String)} when a login
+ * attempt is refused without checking the password: the username or source
+ * has exceeded its attempt rate, or the login executor is saturated.
+ */
+public class LoginThrottledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor with a message shown to the user.
+     *
+     * @param message reason the attempt was refused
+     */
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,157 @@
+package services;
+
+import dao.DataAccessException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+import models.GymMerch;
+import models.MemberDashboard;
+import models.Membership;
+import models.User;
+import models.WorkoutClass;
+import utils.AppConfig;
+import utils.LoggerUtil;
+import utils.Metrics;
+
+/**
+ * MemberDashboardService
+ * Loads everything a member's home screen shows in one call.
+ *
+ * <p>The member's user record, their memberships, and the first page of
+ * workout classes and gym merchandise are independent queries, so they are
+ * started together on an {@link AsyncServiceExecutor} (each on its own
+ * pooled connection, within the database bulkhead) and awaited against one
+ * deadline. The call takes as long as the slowest query rather than the sum
+ * of all four. Total spend is summed from the memberships already loaded
+ * instead of being queried separately.</p>
+ *
+ * <p>If the user is not a member, the remaining queries are cancelled
+ * (those not yet started never run, and waiting ones release their place
+ * in the bulkhead) and null is returned. If the member lookup itself fails
+ * or misses the deadline, the other queries are cancelled the same way and
+ * a {@link DataAccessException} is thrown, so a slow database is never
+ * reported as "not a member". Any other section that fails or misses the
+ * deadline (DASHBOARD_TIMEOUT_MS, default 5000) is left empty and the
+ * dashboard is marked incomplete.</p>
+ */
+public class MemberDashboardService {
+    private static final Logger logger = LoggerUtil.getLogger();
+    private static final long TIMEOUT_MS = AppConfig.getLong("DASHBOARD_TIMEOUT_MS", 5_000);
+
+    private final UserService userService;
+    private final MembershipService membershipService;
+    private final WorkoutClassService workoutClassService;
+    private final GymMerchService gymMerchService;
+    private final AsyncServiceExecutor executor;
+
+    /**
+     * Constructor using the shared executor.
+     *
+     * @param userService service for the member's user record
+     * @param membershipService service for the member's memberships
+     * @param workoutClassService service for the class list
+     * @param gymMerchService service for the merch list
+     */
+    public MemberDashboardService(UserService userService, MembershipService membershipService,
+            WorkoutClassService workoutClassService, GymMerchService gymMerchService) {
+        this(userService, membershipService, workoutClassService, gymMerchService, AsyncServiceExecutor.shared());
+    }
+
+    /**
+     * Constructor with its own executor.
+     *
+     * @param userService service for the member's user record
+     * @param membershipService service for the member's memberships
+     * @param workoutClassService service for the class list
+     * @param gymMerchService service for the merch list
+     * @param executor executor the queries run on
+     */
+    public MemberDashboardService(UserService userService, MembershipService membershipService,
+            WorkoutClassService workoutClassService, GymMerchService gymMerchService,
+            AsyncServiceExecutor executor) {
+        this.userService = userService;
+        this.membershipService = membershipService;
+        this.workoutClassService = workoutClassService;
+        this.gymMerchService = gymMerchService;
+        this.executor = executor;
+    }
+
+    /**
+     * Load a member's dashboard.
+     *
+     * @param memberId user ID of the member
+     * @param listSize maximum number of workout classes and merch items to include
+     * @return the dashboard, or null if the user is not a member
+     * @throws DataAccessException if the member lookup failed or timed out
+     */
+    public MemberDashboard getDashboard(int memberId, int listSize) {
+        return Metrics.time("MemberDashboardService.getDashboard", () -> {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS);
+
+            CompletableFuture<User> member = executor.onDatabase(() -> userService.findMemberById(memberId));
+            CompletableFuture<List<Membership>> memberships =
+                    executor.onDatabase(() -> membershipService.getMembershipsByMemberId(memberId));
+            CompletableFuture<List<WorkoutClass>> classes =
+                    executor.onDatabase(() -> workoutClassService.getWorkoutClassesPage(0, listSize).getItems());
+            CompletableFuture<List<GymMerch>> merch =
+                    executor.onDatabase(() -> gymMerchService.getMerchPage(0, listSize).getItems());
+
+            Section<User> user = await(member, deadline, null);
+            if (!user.loaded() || user.value() == null) {
+                memberships.cancel(true);
+                classes.cancel(true);
+                merch.cancel(true);
+                if (!user.loaded()) {
+                    throw new DataAccessException("Could not look up member " + memberId, user.failure());
+                }
+                logger.warning(() -> "Dashboard not loaded; no member with ID " + memberId);
+                return null;
+            }
+            Section<List<Membership>> membershipList = await(memberships, deadline, List.of());
+            Section<List<WorkoutClass>> classList = await(classes, deadline, List.of());
+            Section<List<GymMerch>> merchList = await(merch, deadline, List.of());
+
+            double totalSpend = 0;
+            for (Membership membership : membershipList.value()) {
+                totalSpend += membership.getMembershipCost();
+            }
+            boolean complete = membershipList.loaded() && classList.loaded() && merchList.loaded();
+            if (!complete) {
+                Metrics.markFailed();
+            }
+            return new MemberDashboard(user.value(), membershipList.value(), totalSpend,
+                    classList.value(), merchList.value(), complete);
+        });
+    }
+
+    /**
+     * Wait for one section until the shared deadline.
+     */
+    private static <T> Section<T> await(CompletableFuture<T> future, long deadline, T fallback) {
+        try {
+            T value = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return new Section<>(value == null ? fallback : value, null);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warning(() -> "Dashboard section timed out after " + TIMEOUT_MS + " ms");
+            return new Section<>(fallback, e);
+        } catch (ExecutionException e) {
+            logger.warning(() -> "Dashboard section failed: " + e.getCause().getMessage());
+            return new Section<>(fallback, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return new Section<>(fallback, e);
+        }
+    }
+
+    /** A loaded value, or the fallback and the reason if loading failed. */
+    private record Section<T>(T value, Throwable failure) {
+        boolean loaded() {
+            return failure == null;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package services;
+
+import dao.InvalidationBus;
+import dao.JdbcMembershipPlanDAO;
+import dao.MembershipPlanDAO;
+import dao.TimedDAO;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+import models.MembershipPlan;
+import utils.AppConfig;
+import utils.LoggerUtil;
+
+/**
+ * MembershipPlanCatalog
+ * In-memory copy of the MembershipPlans table.
+ *
+ * <p>The plan list changes a few times a year but is read on every purchase
+ * screen, so it is loaded once into an immutable snapshot and replaced as a
+ * whole when the table changes. Readers never lock and never touch the
+ * database; they always see one complete snapshot.</p>
+ *
+ * <p>Once {@link #start()} is called, a background check compares a cheap
+ * fingerprint of the table ({@link MembershipPlanDAO#getCatalogVersion()})
+ * every PLAN_CATALOG_REFRESH_MS (default 60000) and reloads only when it
+ * differs. It also subscribes to MembershipPlans changes on the
+ * {@link InvalidationBus}, so an edit to the table is picked up within
+ * moments on every instance; the periodic check remains as a fallback for
+ * missed notifications. {@link #refresh()} reloads immediately.</p>
+ */
+public class MembershipPlanCatalog {
+    private static final Logger logger = LoggerUtil.getLogger();
+    private static final MembershipPlanCatalog shared = new MembershipPlanCatalog(
+            TimedDAO.wrap(MembershipPlanDAO.class, new JdbcMembershipPlanDAO()));
+
+    private final MembershipPlanDAO membershipPlanDAO;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    /** Held from the version read to the publish, so loads cannot overtake each other. */
+    private final Object loadLock = new Object();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor to initialize the catalog with a MembershipPlanDAO instance.
+     * Nothing is loaded until the catalog is first read or refreshed.
+     *
+     * @param membershipPlanDAO The MembershipPlanDAO instance to use.
+     */
+    public MembershipPlanCatalog(MembershipPlanDAO membershipPlanDAO) {
+        this.membershipPlanDAO = membershipPlanDAO;
+    }
+
+    /**
+     * Get the catalog shared by all services.
+     *
+     * @return the shared catalog
+     */
+    public static MembershipPlanCatalog shared() {
+        return shared;
+    }
+
+    /**
+     * Load the catalog and start the periodic version check.
+     * Calling it again has no effect.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        refresh();
+        InvalidationBus.shared().subscribe(InvalidationBus.MEMBERSHIP_PLANS, key -> refreshIfChanged());
+        long interval = AppConfig.getLong("PLAN_CATALOG_REFRESH_MS", 60_000);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "plan-catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshIfChanged, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the periodic version check.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Get all plans, in planId order.
+     *
+     * @return copies of the plans; empty if the catalog could not be loaded
+     */
+    public List<MembershipPlan> getPlans() {
+        List<MembershipPlan> plans = new ArrayList<>();
+        for (MembershipPlan plan : current().plans()) {
+            plans.add(copyOf(plan));
+        }
+        return plans;
+    }
+
+    /**
+     * Get one plan by ID.
+     *
+     * @param planId plan ID
+     * @return a copy of the plan, or null if there is no such plan
+     */
+    public MembershipPlan getPlan(int planId) {
+        MembershipPlan plan = current().byId().get(planId);
+        return plan == null ? null : copyOf(plan);
+    }
+
+    /**
+     * Get the fingerprint of the loaded snapshot.
+     *
+     * @return catalog version, or null if nothing has been loaded
+     */
+    public String getVersion() {
+        Snapshot loaded = snapshot.get();
+        return loaded == null ? null : loaded.version();
+    }
+
+    /**
+     * Reload the catalog if the table fingerprint differs from the loaded one.
+     *
+     * @return true if a new snapshot was loaded
+     */
+    public boolean refreshIfChanged() {
+        synchronized (loadLock) {
+            try {
+                String version = membershipPlanDAO.getCatalogVersion();
+                Snapshot loaded = snapshot.get();
+                if (version == null || (loaded != null && version.equals(loaded.version()))) {
+                    return false;
+                }
+                return load(version);
+            } catch (Exception e) {
+                logger.severe(() -> "Error checking membership plan catalog version: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reload the catalog now. On failure the previous snapshot is kept.
+     *
+     * @return true if a new snapshot was loaded
+     */
+    public boolean refresh() {
+        synchronized (loadLock) {
+            try {
+                String version = membershipPlanDAO.getCatalogVersion();
+                return version != null && load(version);
+            } catch (Exception e) {
+                logger.severe(() -> "Error refreshing membership plan catalog: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Loads the plans and publishes them as one snapshot. The version is
+     * read before the rows, so a change in between only causes one extra
+     * reload later, never a missed one. A failed read throws before
+     * anything is published, so the previous snapshot stays in place and
+     * the next check tries again. Callers hold {@link #loadLock} from the
+     * version read on, so the scheduler, the bus listener and a first read
+     * loading at once publish in order and a slow, older load can never
+     * replace a newer snapshot.
+     */
+    private boolean load(String version) throws SQLException {
+        List<MembershipPlan> plans = new ArrayList<>(membershipPlanDAO.loadAllPlans());
+        plans.sort((a, b) -> Integer.compare(a.getPlanId(), b.getPlanId()));
+        Map<Integer, MembershipPlan> byId = new LinkedHashMap<>();
+        for (MembershipPlan plan : plans) {
+            byId.put(plan.getPlanId(), plan);
+        }
+        snapshot.set(new Snapshot(Collections.unmodifiableList(plans), Collections.unmodifiableMap(byId), version));
+        logger.info(() -> "Loaded " + plans.size() + " membership plans (catalog version " + version + ")");
+        return true;
+    }
+
+    /**
+     * Returns the loaded snapshot, loading it on first use.
+     */
+    private Snapshot current() {
+        Snapshot loaded = snapshot.get();
+        if (loaded == null) {
+            synchronized (loadLock) {
+                if (snapshot.get() == null) {
+                    refresh();
+                }
+            }
+            loaded = snapshot.get();
+        }
+        return loaded != null ? loaded : Snapshot.EMPTY;
+    }
+
+    private static MembershipPlan copyOf(MembershipPlan plan) {
+        return new MembershipPlan(plan.getPlanId(), plan.getPlanType(), plan.getPlanDescription(), plan.getPlanPrice());
+    }
+
+    /**
+     * One consistent version of the catalog.
+     *
+     * @param plans plans in planId order
+     * @param byId the same plans keyed by planId
+     * @param version fingerprint of the table when it was loaded
+     */
+    private record Snapshot(List<MembershipPlan> plans, Map<Integer, MembershipPlan> byId, String version) {
+        private static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), null);
+    }
+}
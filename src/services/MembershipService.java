@@ -1,12 +1,15 @@
 package services;
 
 import dao.MembershipDAO;
-import dao.MembershipPlanDAO;
+import dao.Page;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import models.Membership;
 import models.MembershipPlan;
 import utils.LoggerUtil;
+import utils.Metrics;
+import utils.UnitOfWork;
 
 /**
  * MembershipService
@@ -22,7 +25,8 @@ public class MembershipService {
      * Logger for logging events.
      */
     private MembershipDAO membershipDAO;
-    private MembershipPlanDAO membershipPlanDAO = new MembershipPlanDAO();
+    private MembershipPlanCatalog planCatalog;
+    private UnitOfWork.Runner unitOfWork;
     private static final Logger logger = LoggerUtil.getLogger();
 
     /**
@@ -31,41 +35,76 @@ public class MembershipService {
      * @param membershipDAO The MembershipDAO instance to use.
      */
     public MembershipService(MembershipDAO membershipDAO) {
+        this(membershipDAO, MembershipPlanCatalog.shared(), UnitOfWork.JDBC);
+    }
+
+    /**
+     * Constructor to initialize MembershipService with its own plan catalog,
+     * e.g. one over the in-memory DAOs of a {@link dao.memory.InMemoryDatabase}.
+     *
+     * @param membershipDAO The MembershipDAO instance to use.
+     * @param planCatalog The catalog plans are read from.
+     * @param unitOfWork Runner for operations spanning several DAO calls.
+     */
+    public MembershipService(MembershipDAO membershipDAO, MembershipPlanCatalog planCatalog,
+            UnitOfWork.Runner unitOfWork) {
         this.membershipDAO = membershipDAO;
+        this.planCatalog = planCatalog;
+        this.unitOfWork = unitOfWork;
     }
 
     /**
-     * Returns all available membership plans from the catalog.
+     * Returns all available membership plans from the in-memory catalog.
      */
     public List<MembershipPlan> getAvailablePlans() {
-        try {
-            return membershipPlanDAO.getAllPlans();
-        } catch (Exception e) {
-            logger.severe("Error retrieving membership plans: " + e.getMessage());
-            return List.of();
-        }
+        return Metrics.time("MembershipService.getAvailablePlans", () -> {
+            try {
+                return planCatalog.getPlans();
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error retrieving membership plans: " + e.getMessage());
+                return List.of();
+            }
+        });
     }
 
     /**
      * Purchases the specified plan for the given member (creates a Membership record).
+     * A plan found in the catalog costs a single insert. Otherwise the
+     * catalog is refreshed and the membership inserted in one unit of work,
+     * on one connection.
      * @param planId plan id from the catalog
      * @param memberId user id of purchasing member
      * @return created Membership or null
      */
     public Membership purchasePlan(int planId, int memberId) {
-        try {
-            MembershipPlan plan = membershipPlanDAO.getPlanById(planId);
-            if (plan == null) {
-                logger.warning("Requested plan not found: " + planId);
+        return Metrics.time("MembershipService.purchasePlan", () -> {
+            try {
+                MembershipPlan cached = planCatalog.getPlan(planId);
+                if (cached != null) {
+                    return createMembership(cached, memberId);
+                }
+                return unitOfWork.run(() -> {
+                    // The plan may have been added since the catalog was loaded
+                    MembershipPlan plan = planCatalog.refreshIfChanged() ? planCatalog.getPlan(planId) : null;
+                    if (plan == null) {
+                        logger.warning(() -> "Requested plan not found: " + planId);
+                        return null;
+                    }
+                    return createMembership(plan, memberId);
+                });
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error purchasing plan: " + e.getMessage());
                 return null;
             }
-            Membership membership = new Membership(0, plan.getPlanType(), plan.getPlanDescription(), plan.getPlanPrice(), memberId);
-            boolean ok = membershipDAO.createMembership(membership);
-            return ok ? membership : null;
-        } catch (Exception e) {
-            logger.severe("Error purchasing plan: " + e.getMessage());
-            return null;
-        }
+        });
+    }
+
+    private Membership createMembership(MembershipPlan plan, int memberId) {
+        Membership membership = new Membership(0, plan.getPlanType(), plan.getPlanDescription(), plan.getPlanPrice(), memberId);
+        boolean ok = membershipDAO.createMembership(membership);
+        return ok ? membership : null;
     }
 
     /**
@@ -75,18 +114,21 @@ public class MembershipService {
      * @return The added Membership object if successful; null otherwise.
      */
     public Membership addMembership(Membership membership) {
-        try {
-            boolean success = membershipDAO.createMembership(membership);
-            if (success) {
-                logger.info("Membership added successfully: " + membership.getMembershipType() + "Success: " + success);
-                return membership;
-            } else {
-                logger.warning("Failed to add membership: " + membership.getMembershipType());
+        return Metrics.time("MembershipService.addMembership", () -> {
+            try {
+                boolean success = membershipDAO.createMembership(membership);
+                if (success) {
+                    logger.info(() -> "Membership added successfully: " + membership.getMembershipType() + "Success: " + success);
+                    return membership;
+                } else {
+                    logger.warning(() -> "Failed to add membership: " + membership.getMembershipType());
+                }
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error adding membership: " + e.getMessage());
             }
-        } catch (Exception e) {
-            logger.severe("Error adding membership: " + e.getMessage());
-        }
-        return null;
+            return null;
+        });
     }
 
     /**
@@ -96,18 +138,39 @@ public class MembershipService {
      * @return The Membership object if found; null otherwise.
      */
     public Membership getMembership(int id) {
-        try {
-            Membership membership = membershipDAO.getMembershipById(id);
-            if (membership != null) {
-                logger.info("Membership retrieved successfully: ID " + id);
-            } else {
-                logger.warning("Membership not found: ID " + id);
+        return Metrics.time("MembershipService.getMembership", () -> {
+            try {
+                Membership membership = membershipDAO.getMembershipById(id);
+                if (membership != null) {
+                    logger.info(() -> "Membership retrieved successfully: ID " + id);
+                } else {
+                    logger.warning(() -> "Membership not found: ID " + id);
+                }
+                return membership;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error retrieving membership: " + e.getMessage());
+                return null;
             }
-            return membership;
-        } catch (Exception e) {
-            logger.severe("Error retrieving membership: " + e.getMessage());
-            return null;
-        }
+        });
+    }
+
+    /**
+     * Get the memberships of one member.
+     *
+     * @param memberId ID of the member
+     * @return the member's memberships; an empty list if an error occurs
+     */
+    public List<Membership> getMembershipsByMemberId(int memberId) {
+        return Metrics.time("MembershipService.getMembershipsByMemberId", () -> {
+            try {
+                return membershipDAO.getMembershipsByMemberId(memberId);
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error retrieving memberships of member " + memberId + ": " + e.getMessage());
+                return List.of();
+            }
+        });
     }
 
     /**
@@ -116,14 +179,38 @@ public class MembershipService {
      * @return List of all Membership objects.
      */
     public List<Membership> getAllMemberships() {
-        try {
-            List<Membership> memberships = membershipDAO.getAllMemberships();
-            logger.info("Retrieved " + memberships.size() + " memberships from the database." + memberships);
-            return memberships;
-        } catch (Exception e) {
-            logger.severe("Error retrieving all memberships: " + e.getMessage());
-            return null;
-        }
+        return Metrics.time("MembershipService.getAllMemberships", () -> {
+            try {
+                List<Membership> memberships = membershipDAO.getAllMemberships();
+                logger.info(() -> "Retrieved " + memberships.size() + " memberships from the database.");
+                return memberships;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error retrieving all memberships: " + e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Get one page of memberships ordered by membership ID.
+     *
+     * @param afterMembershipId last membership ID already shown; 0 for the first page
+     * @param pageSize maximum number of memberships to return
+     * @return the page of memberships; an empty page if an error occurs
+     */
+    public Page<Membership> getMembershipsPage(int afterMembershipId, int pageSize) {
+        return Metrics.time("MembershipService.getMembershipsPage", () -> {
+            try {
+                Page<Membership> page = membershipDAO.getMembershipsPage(afterMembershipId, pageSize);
+                logger.info(() -> "Retrieved page of " + page.getItems().size() + " memberships after ID " + afterMembershipId);
+                return page;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error retrieving memberships page: " + e.getMessage());
+                return new Page<>(List.of(), afterMembershipId, false);
+            }
+        });
     }
 
     /**
@@ -133,19 +220,22 @@ public class MembershipService {
      * @return true if the update was successful; false otherwise.
      */
     public boolean updateMembership(Membership membership) {
-        try {
-            boolean success = membershipDAO.updateMembership(membership);
-            if (success) {
-                logger.info("Membership updated successfully: ID " + membership.getMembershipID());
-                return true;
-            } else {
-                logger.warning("Failed to update membership: ID " + membership.getMembershipID());
+        return Metrics.time("MembershipService.updateMembership", () -> {
+            try {
+                boolean success = membershipDAO.updateMembership(membership);
+                if (success) {
+                    logger.info(() -> "Membership updated successfully: ID " + membership.getMembershipID());
+                    return true;
+                } else {
+                    logger.warning(() -> "Failed to update membership: ID " + membership.getMembershipID());
+                    return false;
+                }
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error updating membership: " + e.getMessage());
                 return false;
             }
-        } catch (Exception e) {
-            logger.severe("Error updating membership: " + e.getMessage());
-            return false;
-        }
+        });
     }
 
     /**
@@ -155,30 +245,57 @@ public class MembershipService {
      * @return true if deletion was successful; false otherwise.
      */
     public boolean deleteMembership(int id) {
-        try {
-            boolean success = membershipDAO.deleteMembership(id);
-            if (success) {
-                logger.info("Membership deleted successfully: ID " + id);
-                return true;
-            } else {
-                logger.warning("Failed to delete membership: ID " + id);
+        return Metrics.time("MembershipService.deleteMembership", () -> {
+            try {
+                boolean success = membershipDAO.deleteMembership(id);
+                if (success) {
+                    logger.info(() -> "Membership deleted successfully: ID " + id);
+                    return true;
+                } else {
+                    logger.warning(() -> "Failed to delete membership: ID " + id);
+                    return false;
+                }
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error deleting membership: " + e.getMessage());
                 return false;
             }
-        } catch (Exception e) {
-            logger.severe("Error deleting membership: " + e.getMessage());
-            return false;
-        }
+        });
     }
 
     /**
      * View total revenue from all memberships.
+     * The sum is calculated in the database rather than over loaded rows.
+     *
      * @return total revenue
      */
     public double viewTotalRevenue() {
-        return membershipDAO.getAllMemberships()
-                .stream()
-                .mapToDouble(Membership::getMembershipCost)
-                .sum();
+        return Metrics.time("MembershipService.viewTotalRevenue", () -> {
+            try {
+                return membershipDAO.getTotalRevenue();
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error calculating total revenue: " + e.getMessage());
+                return 0.0;
+            }
+        });
+    }
+
+    /**
+     * View revenue broken down by membership type.
+     *
+     * @return map of membership type to revenue, highest first
+     */
+    public Map<String, Double> viewRevenueByMembershipType() {
+        return Metrics.time("MembershipService.viewRevenueByMembershipType", () -> {
+            try {
+                return membershipDAO.getRevenueByMembershipType();
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error calculating revenue by membership type: " + e.getMessage());
+                return Map.of();
+            }
+        });
     }
 
     /**
@@ -188,12 +305,14 @@ public class MembershipService {
      * @return total expenses
      */
     public double calculateMemberExpenses(int memberId) {
-        try {
-            List<Membership> list = membershipDAO.getMembershipsByMemberId(memberId);
-            return list.stream().mapToDouble(Membership::getMembershipCost).sum();
-        } catch (Exception e) {
-            logger.severe("Error calculating member expenses: " + e.getMessage());
-            return 0.0;
-        }
+        return Metrics.time("MembershipService.calculateMemberExpenses", () -> {
+            try {
+                return membershipDAO.getTotalCostByMemberId(memberId);
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error calculating member expenses: " + e.getMessage());
+                return 0.0;
+            }
+        });
     }
 }
\ No newline at end of file
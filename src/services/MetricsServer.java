@@ -0,0 +1,293 @@
+package services;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dao.InvalidationBus;
+import dao.UserCache;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+import utils.AppConfig;
+import utils.AsyncLogHandler;
+import utils.ConnectionPool;
+import utils.DatabaseConnection;
+import utils.LoggerUtil;
+import utils.Metrics;
+import utils.ParallelPasswordHasher;
+
+/**
+ * MetricsServer
+ * Optional embedded HTTP server for monitoring a running instance.
+ *
+ * <p>Serves two endpoints on METRICS_PORT (disabled when unset or 0),
+ * bound to METRICS_BIND (default 127.0.0.1):</p>
+ * <ul>
+ *   <li>{@code /metrics} - Prometheus text format: connection pool, per-method
+ *   latency histograms and errors from {@link Metrics}, user cache, login
+ *   executor, password hasher, async logging, cache invalidation bus and JVM
+ *   memory, GC and threads. Everything is read from in-memory counters, so
+ *   a scrape never touches the database.</li>
+ *   <li>{@code /health} - borrows a pooled connection and validates it;
+ *   200 when the database is reachable, 503 otherwise.</li>
+ * </ul>
+ */
+public class MetricsServer {
+    private static final Logger logger = LoggerUtil.getLogger();
+
+    /** Histogram bucket bounds in seconds. */
+    private static final double[] BUCKETS_SECONDS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10 };
+    private static final long[] BUCKETS_NANOS = new long[BUCKETS_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BUCKETS_SECONDS.length; i++) {
+            BUCKETS_NANOS[i] = (long) (BUCKETS_SECONDS[i] * 1e9);
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates the server; call {@link #start()} to begin serving.
+     *
+     * @param host address to bind, e.g. 127.0.0.1 or 0.0.0.0
+     * @param port TCP port
+     * @throws IOException if the port cannot be bound
+     */
+    public MetricsServer(String host, int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        this.executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", exchange -> respond(exchange, 200,
+                "text/plain; version=0.0.4; charset=utf-8", renderMetrics()));
+        server.createContext("/health", this::handleHealth);
+    }
+
+    /**
+     * Start a server on METRICS_PORT if it is set.
+     *
+     * @return the running server, or null if disabled or the port could not be bound
+     */
+    public static MetricsServer startFromConfig() {
+        int port = AppConfig.getInt("METRICS_PORT", 0);
+        if (port <= 0) {
+            return null;
+        }
+        String host = AppConfig.get("METRICS_BIND", "127.0.0.1");
+        try {
+            MetricsServer metricsServer = new MetricsServer(host, port);
+            metricsServer.start();
+            return metricsServer;
+        } catch (IOException e) {
+            logger.severe(() -> "Could not start metrics server on " + host + ":" + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Start serving requests.
+     */
+    public void start() {
+        server.start();
+        logger.info(() -> "Metrics server listening on " + server.getAddress());
+    }
+
+    /**
+     * Stop serving requests.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get the bound address, useful when port 0 picked a free port.
+     *
+     * @return the listening address
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Build the Prometheus exposition text.
+     *
+     * @return all metrics in text format 0.0.4
+     */
+    public static String renderMetrics() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+
+        ConnectionPool.Stats pool = DatabaseConnection.getPoolStats();
+        gauge(out, "gym_db_pool_max_connections", "Maximum physical connections", pool.maxSize());
+        gauge(out, "gym_db_pool_active_connections", "Connections currently borrowed", pool.active());
+        gauge(out, "gym_db_pool_idle_connections", "Connections waiting in the pool", pool.idle());
+        gauge(out, "gym_db_pool_waiting_threads", "Threads waiting for a connection", pool.waiting());
+        counter(out, "gym_db_pool_borrows_total", "Connections borrowed", pool.totalBorrows());
+        counter(out, "gym_db_pool_timeouts_total", "Borrows that timed out", pool.borrowTimeouts());
+        counter(out, "gym_db_pool_created_total", "Physical connections opened", pool.totalCreated());
+        counter(out, "gym_db_pool_validation_failures_total", "Idle connections found dead",
+                pool.validationFailures());
+
+        renderOperations(out);
+
+        UserCache.Stats cache = UserCache.shared().getStats();
+        gauge(out, "gym_user_cache_size", "Users currently cached", cache.size());
+        counter(out, "gym_user_cache_hits_total", "User lookups answered from the cache", cache.hits());
+        counter(out, "gym_user_cache_misses_total", "User lookups that went to the database", cache.misses());
+        counter(out, "gym_user_cache_evictions_total", "Users evicted to stay within the size limit",
+                cache.evictions());
+        counter(out, "gym_user_cache_invalidations_total", "Cache invalidations", cache.invalidations());
+        gauge(out, "gym_user_cache_hit_ratio", "Fraction of user lookups answered from the cache", cache.hitRate());
+
+        UserService.LoginStats login = UserService.getLoginStats();
+        gauge(out, "gym_login_active", "Password checks running", login.active());
+        gauge(out, "gym_login_queue_depth", "Logins waiting for a password check", login.queued());
+        counter(out, "gym_login_completed_total", "Password checks finished", login.completed());
+        counter(out, "gym_login_rejected_total", "Logins refused because the executor was saturated",
+                login.rejected());
+        counter(out, "gym_login_throttled_total", "Logins refused by rate limiting", login.throttled());
+
+        ParallelPasswordHasher.Stats hasher = ParallelPasswordHasher.getShared().getStats();
+        gauge(out, "gym_password_hasher_active", "Hashes currently running", hasher.active());
+        gauge(out, "gym_password_hasher_queued", "Hashes waiting for a worker", hasher.queued());
+        counter(out, "gym_password_hasher_completed_total", "Hashes finished", hasher.completed());
+        counter(out, "gym_password_hasher_failed_total", "Hashes that failed", hasher.failed());
+
+        AsyncLogHandler log = LoggerUtil.getAsyncHandler();
+        if (log != null) {
+            gauge(out, "gym_log_queue_size", "Log records waiting to be written", log.getQueueSize());
+            counter(out, "gym_log_dropped_total", "Log records dropped because the queue was full",
+                    log.getDroppedCount());
+        }
+
+        InvalidationBus bus = InvalidationBus.shared();
+        counter(out, "gym_cache_bus_published_total", "Cache invalidations sent", bus.getPublishedCount());
+        counter(out, "gym_cache_bus_received_total", "Cache invalidations received", bus.getReceivedCount());
+
+        renderJvm(out);
+        return out.toString();
+    }
+
+    private static void renderOperations(StringBuilder out) {
+        out.append("# HELP gym_operation_duration_seconds Latency of DAO and service methods\n");
+        out.append("# TYPE gym_operation_duration_seconds histogram\n");
+        StringBuilder errors = new StringBuilder();
+        errors.append("# HELP gym_operation_errors_total Failed DAO and service calls\n");
+        errors.append("# TYPE gym_operation_errors_total counter\n");
+
+        Metrics.timers().forEach((name, timer) -> {
+            String label = "operation=\"" + escape(name) + "\"";
+            long[] cumulative = timer.getLatency().cumulativeCounts(BUCKETS_NANOS);
+            for (int i = 0; i < BUCKETS_SECONDS.length; i++) {
+                out.append("gym_operation_duration_seconds_bucket{").append(label)
+                        .append(",le=\"").append(BUCKETS_SECONDS[i]).append("\"} ").append(cumulative[i]).append('\n');
+            }
+            long count = timer.getLatency().count();
+            out.append("gym_operation_duration_seconds_bucket{").append(label).append(",le=\"+Inf\"} ")
+                    .append(count).append('\n');
+            out.append("gym_operation_duration_seconds_sum{").append(label).append("} ")
+                    .append(timer.getLatency().sumNanos() / 1e9).append('\n');
+            out.append("gym_operation_duration_seconds_count{").append(label).append("} ")
+                    .append(count).append('\n');
+            errors.append("gym_operation_errors_total{").append(label).append("} ")
+                    .append(timer.getErrors()).append('\n');
+        });
+        out.append(errors);
+    }
+
+    private static void renderJvm(StringBuilder out) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        out.append("# HELP jvm_memory_used_bytes Memory in use\n# TYPE jvm_memory_used_bytes gauge\n");
+        out.append("jvm_memory_used_bytes{area=\"heap\"} ").append(heap.getUsed()).append('\n');
+        out.append("jvm_memory_used_bytes{area=\"nonheap\"} ").append(nonHeap.getUsed()).append('\n');
+        out.append("# HELP jvm_memory_committed_bytes Memory committed by the JVM\n"
+                + "# TYPE jvm_memory_committed_bytes gauge\n");
+        out.append("jvm_memory_committed_bytes{area=\"heap\"} ").append(heap.getCommitted()).append('\n');
+        out.append("jvm_memory_committed_bytes{area=\"nonheap\"} ").append(nonHeap.getCommitted()).append('\n');
+        gauge(out, "jvm_memory_max_bytes", "Maximum heap size", heap.getMax());
+
+        out.append("# HELP jvm_gc_collections_total Garbage collections\n# TYPE jvm_gc_collections_total counter\n");
+        StringBuilder time = new StringBuilder();
+        time.append("# HELP jvm_gc_collection_seconds_total Time spent in garbage collection\n"
+                + "# TYPE jvm_gc_collection_seconds_total counter\n");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String label = "{gc=\"" + escape(gc.getName()) + "\"} ";
+            out.append("jvm_gc_collections_total").append(label).append(Math.max(0, gc.getCollectionCount()))
+                    .append('\n');
+            time.append("jvm_gc_collection_seconds_total").append(label)
+                    .append(Math.max(0, gc.getCollectionTime()) / 1000.0).append('\n');
+        }
+        out.append(time);
+
+        gauge(out, "jvm_threads_live", "Live threads", ManagementFactory.getThreadMXBean().getThreadCount());
+        gauge(out, "process_uptime_seconds", "Time since the JVM started",
+                ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        boolean up;
+        String error = null;
+        try (Connection conn = DatabaseConnection.getPool().getConnection()) {
+            up = conn.isValid(2);
+        } catch (Exception e) {
+            up = false;
+            error = e.getMessage();
+        }
+        String body = up
+                ? "{\"status\":\"UP\",\"database\":\"UP\"}"
+                : "{\"status\":\"DOWN\",\"database\":\"DOWN\""
+                        + (error != null ? ",\"error\":\"" + escape(error) + "\"" : "") + "}";
+        respond(exchange, up ? 200 : 503, "application/json", body);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        sample(out, name, help, "gauge", value);
+    }
+
+    private static void counter(StringBuilder out, String name, String help, double value) {
+        sample(out, name, help, "counter", value);
+    }
+
+    private static void sample(StringBuilder out, String name, String help, String type, double value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append(name).append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Escapes a label value (or JSON string) for backslashes, quotes and newlines.
+     */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -1,11 +1,31 @@
 package services;
 
 import dao.*;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 import models.User;
+import models.UserSummary;
+import utils.AppConfig;
 import utils.LoggerUtil;
+import utils.Metrics;
+import utils.ParallelPasswordHasher;
 import utils.PasswordUtil;
+import utils.TokenBucketRateLimiter;
+import utils.UnitOfWork;
 
 /**
  * UserService
@@ -25,18 +45,74 @@ public class UserService {
     /** Logger for logging events */
     private static final Logger logger = LoggerUtil.getLogger();
 
+    /** Source recorded for logins that do not name one, e.g. the console. */
+    public static final String LOCAL_SOURCE = "local";
+
+    /**
+     * Executor dedicated to bcrypt verification during login. Its small,
+     * bounded queue keeps a burst of logins from pinning every core; when it
+     * is full, further attempts are refused immediately.
+     */
+    private static final ThreadPoolExecutor loginExecutor = createLoginExecutor();
+
+    /** Longest a caller waits for its password to be verified. */
+    private static final long LOGIN_TIMEOUT_MS = AppConfig.getLong("LOGIN_TIMEOUT_MS", 5_000);
+
+    /** Attempts allowed per username: a small burst, then a few per minute. */
+    private static final TokenBucketRateLimiter usernameLimiter = new TokenBucketRateLimiter(
+            AppConfig.getInt("LOGIN_USER_BURST", 5),
+            AppConfig.getInt("LOGIN_USER_PER_MINUTE", 6) / 60.0, 100_000);
+
+    /** Attempts allowed per source, e.g. a client address. */
+    private static final TokenBucketRateLimiter sourceLimiter = new TokenBucketRateLimiter(
+            AppConfig.getInt("LOGIN_SOURCE_BURST", 20),
+            AppConfig.getInt("LOGIN_SOURCE_PER_MINUTE", 60) / 60.0, 100_000);
+
+    private static final LongAdder loginRejections = new LongAdder();
+
     // DAOs for specific user roles
-    private TrainerDAO trainerDAO = new TrainerDAO();
-    private MemberDAO memberDAO = new MemberDAO();
-    private AdminDAO adminDAO = new AdminDAO();
+    private TrainerDAO trainerDAO;
+    private MemberDAO memberDAO;
+    private AdminDAO adminDAO;
+
+    /** WorkoutClassDAO used to hand a deleted trainer's classes over. */
+    private WorkoutClassDAO workoutClassDAO;
+
+    /** Runs operations that span several DAO calls as one unit. */
+    private UnitOfWork.Runner unitOfWork;
 
     /**
      * Constructor to initialize UserService with a UserDAO instance.
+     * The other DAOs use the database.
      * 
      * @param userDAO The UserDAO instance to use.
      */
     public UserService(UserDAO userDAO) {
+        this(userDAO, TimedDAO.wrap(AdminDAO.class, new JdbcAdminDAO()),
+                TimedDAO.wrap(MemberDAO.class, new JdbcMemberDAO()),
+                TimedDAO.wrap(TrainerDAO.class, new JdbcTrainerDAO()),
+                TimedDAO.wrap(WorkoutClassDAO.class, new JdbcWorkoutClassDAO()), UnitOfWork.JDBC);
+    }
+
+    /**
+     * Constructor to initialize UserService with every DAO it uses, e.g. the
+     * in-memory DAOs of a {@link dao.memory.InMemoryDatabase}.
+     *
+     * @param userDAO The UserDAO instance to use.
+     * @param adminDAO The AdminDAO instance to use.
+     * @param memberDAO The MemberDAO instance to use.
+     * @param trainerDAO The TrainerDAO instance to use.
+     * @param workoutClassDAO The WorkoutClassDAO instance to use.
+     * @param unitOfWork Runner for operations spanning several DAO calls.
+     */
+    public UserService(UserDAO userDAO, AdminDAO adminDAO, MemberDAO memberDAO, TrainerDAO trainerDAO,
+            WorkoutClassDAO workoutClassDAO, UnitOfWork.Runner unitOfWork) {
         this.userDAO = userDAO;
+        this.adminDAO = adminDAO;
+        this.memberDAO = memberDAO;
+        this.trainerDAO = trainerDAO;
+        this.workoutClassDAO = workoutClassDAO;
+        this.unitOfWork = unitOfWork;
     }
 
     /**
@@ -62,41 +138,290 @@ public class UserService {
      * @param username username
      * @param password password
      * @return User object if login is successful; null otherwise.
+     * @throws LoginThrottledException if the attempt is refused by admission control
      */
     public User login(String username, String password) {
+        return login(username, password, LOCAL_SOURCE);
+    }
+
+    /**
+     * Login a user by verifying their credentials, subject to admission control.
+     *
+     * <p>The attempt is first charged against per-source and then
+     * per-username token buckets. The bcrypt check then runs on a dedicated, bounded
+     * executor; if that executor is saturated the attempt is refused at once
+     * rather than queued behind the burst.</p>
+     *
+     * @param username username
+     * @param password password
+     * @param source where the attempt comes from, e.g. a client address
+     * @return User object if login is successful; null otherwise.
+     * @throws LoginThrottledException if the attempt is refused by admission control
+     */
+    public User login(String username, String password, String source) {
+        return Metrics.time("UserService.login", () -> {
+            User user = lookUpForLogin(username, source);
+            if (user == null) {
+                return null;
+            }
+            boolean verified;
+            try {
+                verified = verifyOnLoginExecutor(password, user.getPasswordHash());
+            } catch (LoginThrottledException e) {
+                throw e;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Logging failed during login attempt: " + e.getMessage());
+                return null;
+            }
+            return verified ? loginSucceeded(user, password) : loginFailed(username);
+        });
+    }
+
+    /**
+     * First half of {@link #login(String, String, String)} for callers that
+     * admit the database read and the bcrypt check separately, such as
+     * {@link AsyncUserService}: applies the rate limits and reads the user.
+     * Pass the result to {@link #verifyLoginCandidate(User, String)}.
+     *
+     * @param username username
+     * @param source where the attempt comes from, e.g. a client address
+     * @return the user to verify, or null if there is no such user
+     * @throws LoginThrottledException if the attempt is refused by a rate limit
+     */
+    public User findLoginCandidate(String username, String source) {
+        return Metrics.time("UserService.findLoginCandidate", () -> lookUpForLogin(username, source));
+    }
+
+    /**
+     * Second half of {@link #login(String, String, String)}: checks the
+     * password on the calling thread, which must already be admitted for
+     * bcrypt work, and starts a rehash if the stored cost is out of date.
+     *
+     * @param candidate user returned by {@link #findLoginCandidate(String, String)}
+     * @param password password
+     * @return the user if the password matches; null otherwise
+     */
+    public User verifyLoginCandidate(User candidate, String password) {
+        return Metrics.time("UserService.verifyLoginCandidate", () -> {
+            boolean verified;
+            try {
+                verified = PasswordUtil.verifyPassword(password, candidate.getPasswordHash());
+            } catch (RuntimeException e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Logging failed during login attempt: " + e.getMessage());
+                return null;
+            }
+            return verified ? loginSucceeded(candidate, password) : loginFailed(candidate.getUserName());
+        });
+    }
+
+    /**
+     * Charges the attempt against the rate limiters and reads the user.
+     * The source is checked first so a throttled source cannot keep
+     * draining its targets' buckets.
+     */
+    private User lookUpForLogin(String username, String source) {
+        if (!sourceLimiter.tryAcquire(source)) {
+            logger.warning(() -> "Login throttled for source: " + source);
+            throw new LoginThrottledException("Too many login attempts. Please wait and try again.");
+        }
+        if (username != null && !usernameLimiter.tryAcquire(username.trim().toLowerCase())) {
+            logger.warning(() -> "Login throttled for username: " + username);
+            throw new LoginThrottledException("Too many login attempts for this user. Please wait and try again.");
+        }
         try {
             User user = userDAO.getUserByUsername(username);
-            if (user != null && PasswordUtil.verifyPassword(password, user.getPasswordHash())) {
-                logger.info("Login successful for user: " + user.getUserName());
-                return user;
-            }
-            logger.info("Login failed for username: " + username);
+            return user != null ? user : loginFailed(username);
+        } catch (RuntimeException e) {
+            Metrics.markFailed();
+            logger.severe(() -> "Logging failed during login attempt: " + e.getMessage());
             return null;
-        } catch (Exception e) {
-            logger.severe("Logging failed during login attempt: " + e.getMessage());
+        }
+    }
+
+    private User loginSucceeded(User user, String password) {
+        logger.info(() -> "Login successful for user: " + user.getUserName());
+        if (PasswordUtil.needsRehash(user.getPasswordHash())) {
+            rehashInBackground(user, password);
+        }
+        return user;
+    }
+
+    private User loginFailed(String username) {
+        logger.info(() -> "Login failed for username: " + username);
+        return null;
+    }
+
+    /**
+     * Regenerates a stored hash at the current bcrypt cost after a successful
+     * login, the only time the plaintext password is available. Runs on the
+     * shared hasher without waiting for a queue slot, so the login itself is
+     * not slowed down; if the hasher is busy (e.g. during an import) the
+     * rehash is skipped and retried on the next login. Only the hash is
+     * written, and only if it has not changed since the login read it.
+     *
+     * @param user user who just logged in
+     * @param password the verified plaintext password
+     */
+    private void rehashInBackground(User user, String password) {
+        String oldHash = user.getPasswordHash();
+        int oldCost = PasswordUtil.getCost(oldHash);
+        CompletableFuture<String> rehash = ParallelPasswordHasher.getShared().tryHashAsync(password);
+        if (rehash == null) {
+            logger.info(() -> "Password hasher busy; rehash for user " + user.getUserName() + " deferred to next login");
+            return;
+        }
+        rehash.thenAccept(hash -> {
+            if (userDAO.updatePasswordHash(user.getUserId(), oldHash, hash)) {
+                logger.info(() -> "Rehashed password for user " + user.getUserName() + " from cost " + oldCost
+                        + " to " + PasswordUtil.getCost(hash));
+            }
+        }).exceptionally(e -> {
+            logger.severe(() -> "Logging failed during password rehash: " + e.getMessage());
             return null;
+        });
+    }
+
+    /**
+     * Runs the bcrypt check on the login executor and waits for the result.
+     *
+     * @throws LoginThrottledException if the executor is saturated or the check times out
+     */
+    private boolean verifyOnLoginExecutor(String password, String storedHash)
+            throws InterruptedException, ExecutionException {
+        Future<Boolean> verified;
+        try {
+            verified = loginExecutor.submit(() -> PasswordUtil.verifyPassword(password, storedHash));
+        } catch (RejectedExecutionException e) {
+            loginRejections.increment();
+            logger.warning("Login executor saturated; attempt rejected");
+            throw new LoginThrottledException("The server is busy. Please try logging in again shortly.");
+        }
+        try {
+            return verified.get(LOGIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            verified.cancel(true);
+            loginRejections.increment();
+            throw new LoginThrottledException("Login timed out. Please try again.");
         }
     }
 
+    /**
+     * Returns a snapshot of the login executor and limiter counters.
+     *
+     * @return current login admission statistics
+     */
+    public static LoginStats getLoginStats() {
+        return new LoginStats(
+                loginExecutor.getMaximumPoolSize(),
+                loginExecutor.getActiveCount(),
+                loginExecutor.getQueue().size(),
+                loginExecutor.getCompletedTaskCount(),
+                loginRejections.sum(),
+                usernameLimiter.getRejectedCount() + sourceLimiter.getRejectedCount());
+    }
+
+    /**
+     * Point-in-time view of login admission control.
+     *
+     * @param threads verification threads
+     * @param active verifications running
+     * @param queued verifications waiting for a thread
+     * @param completed verifications finished since startup
+     * @param rejected attempts refused because the executor was full or timed out
+     * @param throttled attempts refused by the rate limiters
+     */
+    public record LoginStats(int threads, int active, int queued, long completed, long rejected, long throttled) {
+    }
+
+    /**
+     * Creates the login verification executor from LOGIN_THREADS (default:
+     * half the cores) and LOGIN_QUEUE (default 32), using daemon threads.
+     */
+    private static ThreadPoolExecutor createLoginExecutor() {
+        int threads = AppConfig.getInt("LOGIN_THREADS", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(AppConfig.getInt("LOGIN_QUEUE", 32)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-verifier-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
     /**
      * Retrieve all users from the database.
      * 
      * @return List of User objects.
      */
     public List<User> getAllUsers() {
-        try {
-            List<User> users = userDAO.getAllUsers();
-            if (users != null) {
-                logger.info("Retrieved " + users.size() + " users from the database: " + users);
-                return users;
-            } else {
-                logger.info("No users found in the database.");
+        return Metrics.time("UserService.getAllUsers", () -> {
+            try {
+                List<User> users = userDAO.getAllUsers();
+                if (users != null) {
+                    logger.info(() -> "Retrieved " + users.size() + " users from the database.");
+                    return users;
+                } else {
+                    logger.info("No users found in the database.");
+                    return null;
+                }
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Logging failed during retrieving all users: " + e.getMessage());
                 return null;
             }
-        } catch (Exception e) {
-            logger.severe("Logging failed during retrieving all users: " + e.getMessage());
-            return null;
-        }
+        });
+    }
+
+    /**
+     * Retrieve one page of users ordered by user ID.
+     *
+     * @param role role to filter on (Admin, Trainer or Member), or null for all users
+     * @param afterUserId last user ID already shown; 0 for the first page
+     * @param pageSize maximum number of users to return
+     * @return the page of users; an empty page if an error occurs
+     */
+    public Page<User> getUsersPage(String role, int afterUserId, int pageSize) {
+        return Metrics.time("UserService.getUsersPage", () -> {
+            try {
+                Page<User> page = userDAO.getUsersPage(normalizeRole(role), afterUserId, pageSize);
+                logger.info(() -> "Retrieved page of " + page.getItems().size() + " users after ID " + afterUserId);
+                return page;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Logging failed during retrieving users page: " + e.getMessage());
+                return new Page<>(List.of(), afterUserId, false);
+            }
+        });
+    }
+
+    /**
+     * Retrieve one page of user summaries (ID, name, role and email) ordered
+     * by user ID, optionally filtered by role and a name or email search.
+     * Listings should use this rather than {@link #getUsersPage} so password
+     * hashes and contact details are not loaded just to be printed.
+     *
+     * @param role role to filter on (Admin, Trainer or Member), or null for all users
+     * @param search text the userName or email must contain (case-insensitive), or null/blank for all
+     * @param afterUserId last user ID already shown; 0 for the first page
+     * @param pageSize maximum number of users to return
+     * @return the page of user summaries; an empty page if an error occurs
+     */
+    public Page<UserSummary> getUserSummariesPage(String role, String search, int afterUserId, int pageSize) {
+        return Metrics.time("UserService.getUserSummariesPage", () -> {
+            try {
+                Page<UserSummary> page = userDAO.getUserSummariesPage(normalizeRole(role), search, afterUserId, pageSize);
+                logger.info(() -> "Retrieved page of " + page.getItems().size() + " user summaries after ID " + afterUserId);
+                return page;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Logging failed during retrieving user summaries page: " + e.getMessage());
+                return new Page<>(List.of(), afterUserId, false);
+            }
+        });
     }
 
     /**
@@ -108,13 +433,15 @@ public class UserService {
      * @throws RuntimeException if not found or not a trainer
      */
     public User getTrainerById(int userId) {
-        User user = userDAO.getUserById(userId);
+        return Metrics.time("UserService.getTrainerById", () -> {
+            User user = userDAO.getUserById(userId);
 
-        if (user != null && "Trainer".equals(user.getUserRole())) {
-            return user;
-        }
+            if (user != null && "Trainer".equals(user.getUserRole())) {
+                return user;
+            }
 
-        throw new RuntimeException("Trainer not found");
+            throw new RuntimeException("Trainer not found");
+        });
     }
 
     /**
@@ -126,13 +453,30 @@ public class UserService {
      * @throws RuntimeException if not found or not a member
      */
     public User getMemberById(int userId) {
-        User user = userDAO.getUserById(userId);
+        return Metrics.time("UserService.getMemberById", () -> {
+            User user = userDAO.getUserById(userId);
 
-        if (user != null && "Member".equals(user.getUserRole())) {
-            return user;
-        }
+            if (user != null && "Member".equals(user.getUserRole())) {
+                return user;
+            }
 
-        throw new RuntimeException("Member not found");
+            throw new RuntimeException("Member not found");
+        });
+    }
+
+    /**
+     * Look up a Member by user ID, telling "not a member" apart from a
+     * failed read.
+     *
+     * @param userId member user ID
+     * @return the user if found and role is Member, otherwise null
+     * @throws SQLException if the user could not be read
+     */
+    public User findMemberById(int userId) throws SQLException {
+        return Metrics.time("UserService.findMemberById", () -> {
+            User user = userDAO.findUserById(userId);
+            return user != null && "Member".equals(user.getUserRole()) ? user : null;
+        });
     }
 
     /**
@@ -142,17 +486,152 @@ public class UserService {
      * @return The User object if found, null otherwise.
      */
     public User getUserByEmail(String email) {
+        return Metrics.time("UserService.getUserByEmail", () -> {
+            try {
+                User user = userDAO.getUserByEmail(email);
+                if (user != null) {
+                    logger.info(() -> "User retrieved successfully by email: " + email);
+                } else {
+                    logger.info(() -> "No user found with email: " + email);
+                }
+                return user;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Logging failed during retrieving user by email: " + e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Delete a trainer after handing their workout classes to another
+     * trainer. Both steps run in one unit of work, so the classes are never
+     * left without a trainer and nothing changes if either step fails.
+     *
+     * @param trainerId ID of the trainer to delete
+     * @param replacementTrainerId ID of the trainer who takes over the classes
+     * @return number of classes reassigned, or -1 if the trainer was not deleted
+     */
+    public int deleteTrainer(int trainerId, int replacementTrainerId) {
+        return Metrics.time("UserService.deleteTrainer", () -> {
+            if (trainerId == replacementTrainerId) {
+                logger.warning(() -> "Trainer " + trainerId + " cannot replace themselves");
+                return -1;
+            }
+            try {
+                int moved = unitOfWork.run(() -> {
+                    if (trainerDAO.getTrainerById(trainerId) == null
+                            || trainerDAO.getTrainerById(replacementTrainerId) == null) {
+                        return -1;
+                    }
+                    int reassigned = workoutClassDAO.reassignTrainer(trainerId, replacementTrainerId);
+                    if (reassigned < 0 || !trainerDAO.deleteTrainer(trainerId)) {
+                        throw new SQLException("Trainer " + trainerId + " could not be deleted");
+                    }
+                    return reassigned;
+                });
+                if (moved < 0) {
+                    logger.warning(() -> "Trainer not found: " + trainerId + " or " + replacementTrainerId);
+                } else {
+                    logger.info(() -> "Trainer " + trainerId + " deleted; " + moved + " classes moved to trainer "
+                            + replacementTrainerId);
+                }
+                return moved;
+            } catch (Exception e) {
+                Metrics.markFailed();
+                logger.severe(() -> "Error deleting trainer " + trainerId + ": " + e.getMessage());
+                return -1;
+            }
+        });
+    }
+
+    /**
+     * Reset the passwords of many users at once. Hashing is spread across
+     * the shared {@link ParallelPasswordHasher}, so the cost is bounded by the
+     * number of cores rather than paid one bcrypt at a time.
+     *
+     * @param newPasswords new plaintext password per user ID
+     * @return number of users whose password was updated
+     */
+    public int resetPasswords(Map<Integer, String> newPasswords) {
+        return Metrics.time("UserService.resetPasswords", () -> {
+            Map<Integer, String> hashes = hashAllPasswords(newPasswords);
+            return hashes == null ? 0 : writeAllPasswordHashes(hashes);
+        });
+    }
+
+    /**
+     * First half of {@link #resetPasswords(Map)} for callers that admit the
+     * bcrypt work and the database writes separately: hashes the passwords.
+     * Pass the result to {@link #storePasswordHashes(Map)}.
+     *
+     * @param newPasswords new plaintext password per user ID
+     * @return new hash per user ID, or an empty map if hashing failed
+     */
+    public Map<Integer, String> hashPasswords(Map<Integer, String> newPasswords) {
+        return Metrics.time("UserService.hashPasswords", () -> {
+            Map<Integer, String> hashes = hashAllPasswords(newPasswords);
+            return hashes == null ? Map.of() : hashes;
+        });
+    }
+
+    /**
+     * Second half of {@link #resetPasswords(Map)}: stores the new hashes.
+     *
+     * @param hashes new hash per user ID
+     * @return number of users whose password was updated
+     */
+    public int storePasswordHashes(Map<Integer, String> hashes) {
+        return Metrics.time("UserService.storePasswordHashes", () -> writeAllPasswordHashes(hashes));
+    }
+
+    /**
+     * Hashes every password on the shared hasher.
+     *
+     * @return new hash per user ID, or null if hashing failed
+     */
+    private Map<Integer, String> hashAllPasswords(Map<Integer, String> newPasswords) {
         try {
-            User user = userDAO.getUserByEmail(email);
-            if (user != null) {
-                logger.info("User retrieved successfully by email: " + email);
-            } else {
-                logger.info("No user found with email: " + email);
+            List<Integer> userIds = new ArrayList<>(newPasswords.keySet());
+            List<String> plainPasswords = new ArrayList<>(userIds.size());
+            for (Integer userId : userIds) {
+                plainPasswords.add(newPasswords.get(userId));
+            }
+            List<String> hashes = ParallelPasswordHasher.getShared().hashAll(plainPasswords);
+            Map<Integer, String> hashesById = new LinkedHashMap<>();
+            for (int i = 0; i < userIds.size(); i++) {
+                hashesById.put(userIds.get(i), hashes.get(i));
             }
-            return user;
+            return hashesById;
         } catch (Exception e) {
-            logger.severe("Logging failed during retrieving user by email: " + e.getMessage());
+            Metrics.markFailed();
+            logger.severe(() -> "Logging failed during bulk password reset: " + e.getMessage());
             return null;
         }
     }
+
+    private int writeAllPasswordHashes(Map<Integer, String> hashes) {
+        try {
+            int updated = 0;
+            for (Map.Entry<Integer, String> entry : hashes.entrySet()) {
+                int userId = entry.getKey();
+                User user = userDAO.getUserById(userId);
+                if (user == null) {
+                    logger.info(() -> "No user found with ID " + userId + " for password reset");
+                    continue;
+                }
+                user.setPasswordHash(entry.getValue());
+                if (userDAO.updateUser(user)) {
+                    updated++;
+                }
+            }
+            int total = updated;
+            logger.info(() -> "Reset passwords for " + total + " of " + hashes.size() + " users");
+            return updated;
+        } catch (Exception e) {
+            Metrics.markFailed();
+            logger.severe(() -> "Logging failed during bulk password reset: " + e.getMessage());
+            return 0;
+        }
+    }
 }
@@ -1,11 +1,14 @@
 package services;
 
+import dao.Page;
 import dao.WorkoutClassDAO;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.logging.Logger;
 import models.WorkoutClass;
+import models.WorkoutClassDetail;
 import utils.LoggerUtil;
+import utils.Metrics;
 
 /**
  * WorkoutClassService
@@ -38,8 +41,10 @@ public class WorkoutClassService {
      * @throws SQLException if a database error occurs.
      */
     public void createWorkoutClass(WorkoutClass workoutClass) throws SQLException {
-        workoutClassDAO.createWorkoutClass(workoutClass);
-        logger.info("Workout class added successfully: " + workoutClass.getWorkoutClassType());
+        Metrics.run("WorkoutClassService.createWorkoutClass", () -> {
+            workoutClassDAO.createWorkoutClass(workoutClass);
+            logger.info(() -> "Workout class added successfully: " + workoutClass.getWorkoutClassType());
+        });
     }
 
     /**
@@ -50,13 +55,15 @@ public class WorkoutClassService {
      * @throws SQLException if a database error occurs.
      */
     public WorkoutClass getWorkoutClass(int id) throws SQLException {
-        WorkoutClass wc = workoutClassDAO.getWorkoutClassById(id);
-        if (wc != null) {
-            logger.info("Workout class retrieved: " + wc.getWorkoutClassType());
-        } else {
-            logger.warning("Workout class not found: ID " + id);
-        }
-        return wc;
+        return Metrics.time("WorkoutClassService.getWorkoutClass", () -> {
+            WorkoutClass wc = workoutClassDAO.getWorkoutClassById(id);
+            if (wc != null) {
+                logger.info(() -> "Workout class retrieved: " + wc.getWorkoutClassType());
+            } else {
+                logger.warning(() -> "Workout class not found: ID " + id);
+            }
+            return wc;
+        });
     }
 
     /**
@@ -68,17 +75,18 @@ public class WorkoutClassService {
      */
     public List<WorkoutClass> getWorkoutClassesByTrainerId(int trainerId)
             throws SQLException {
+        return Metrics.time("WorkoutClassService.getWorkoutClassesByTrainerId", () -> {
+            List<WorkoutClass> classes = workoutClassDAO.getWorkoutClassesByTrainerId(trainerId);
 
-        List<WorkoutClass> classes = workoutClassDAO.getWorkoutClassesByTrainerId(trainerId);
+            if (classes.isEmpty()) {
+                logger.warning(() -> "No workout classes found for Trainer ID " + trainerId);
+            } else {
+                logger.info(() -> "Retrieved " + classes.size()
+                        + " workout classes for Trainer ID " + trainerId);
+            }
 
-        if (classes.isEmpty()) {
-            logger.warning("No workout classes found for Trainer ID " + trainerId);
-        } else {
-            logger.info("Retrieved " + classes.size()
-                    + " workout classes for Trainer ID " + trainerId);
-        }
-
-        return classes;
+            return classes;
+        });
     }
 
     /**
@@ -88,9 +96,44 @@ public class WorkoutClassService {
      * @throws SQLException if a database error occurs.
      */
     public List<WorkoutClass> getAllWorkoutClasses() throws SQLException {
-        List<WorkoutClass> classes = workoutClassDAO.getAllWorkoutClasses();
-        logger.info("Retrieved " + (classes != null ? classes.size() : 0) + " workout classes");
-        return classes;
+        return Metrics.time("WorkoutClassService.getAllWorkoutClasses", () -> {
+            List<WorkoutClass> classes = workoutClassDAO.getAllWorkoutClasses();
+            logger.info(() -> "Retrieved " + (classes != null ? classes.size() : 0) + " workout classes");
+            return classes;
+        });
+    }
+
+    /**
+     * Retrieves WorkoutClasses with their trainer's name and contact details,
+     * loaded in one query.
+     *
+     * @param classType only return classes of this type (case-insensitive), or null for all
+     * @return List of WorkoutClassDetail objects.
+     * @throws SQLException if a database error occurs.
+     */
+    public List<WorkoutClassDetail> getWorkoutClassDetails(String classType) throws SQLException {
+        return Metrics.time("WorkoutClassService.getWorkoutClassDetails", () -> {
+            List<WorkoutClassDetail> details = workoutClassDAO.getWorkoutClassDetails(classType);
+            logger.info(() -> "Retrieved " + details.size() + " workout classes with trainer details"
+                    + (classType == null || classType.isBlank() ? "" : " of type " + classType));
+            return details;
+        });
+    }
+
+    /**
+     * Retrieves one page of WorkoutClasses ordered by ID.
+     *
+     * @param afterClassId last class ID already shown; 0 for the first page
+     * @param pageSize maximum number of classes to return
+     * @return the page of workout classes
+     * @throws SQLException if a database error occurs.
+     */
+    public Page<WorkoutClass> getWorkoutClassesPage(int afterClassId, int pageSize) throws SQLException {
+        return Metrics.time("WorkoutClassService.getWorkoutClassesPage", () -> {
+            Page<WorkoutClass> page = workoutClassDAO.getWorkoutClassesPage(afterClassId, pageSize);
+            logger.info(() -> "Retrieved page of " + page.getItems().size() + " workout classes after ID " + afterClassId);
+            return page;
+        });
     }
 
     /**
@@ -100,8 +143,10 @@ public class WorkoutClassService {
      * @throws SQLException if a database error occurs.
      */
     public void updateWorkoutClass(WorkoutClass workoutClass) throws SQLException {
-        workoutClassDAO.updateWorkoutClass(workoutClass);
-        logger.info("Workout class updated: " + workoutClass.getWorkoutClassType());
+        Metrics.run("WorkoutClassService.updateWorkoutClass", () -> {
+            workoutClassDAO.updateWorkoutClass(workoutClass);
+            logger.info(() -> "Workout class updated: " + workoutClass.getWorkoutClassType());
+        });
     }
 
     /**
@@ -111,7 +156,9 @@ public class WorkoutClassService {
      * @throws SQLException if a database error occurs.
      */
     public void deleteWorkoutClass(int id) throws SQLException {
-        workoutClassDAO.deleteWorkoutClass(id);
-        logger.info("Workout class deleted: ID " + id);
+        Metrics.run("WorkoutClassService.deleteWorkoutClass", () -> {
+            workoutClassDAO.deleteWorkoutClass(id);
+            logger.info(() -> "Workout class deleted: ID " + id);
+        });
     }
 }
@@ -1,9 +1,35 @@
 package tests;
 
 import dao.*;
+import dao.memory.InMemoryDatabase;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import models.*;
+import utils.AsyncLogHandler;
+import utils.ConnectionPool;
+import utils.DatabaseConnection;
+import utils.Metrics;
+import utils.RollingFileHandler;
+import utils.SchemaMigrator;
 
 /**
  * TestAllDAO class to test all DAO functionalities.
@@ -26,6 +52,7 @@ public class TestAllDAO {
      * 
      */
     public static void main(String[] args) {
+        testSchemaMigrator();
         try { testTrainerDAO(); } catch (SQLException e) { System.err.println("TrainerDAO test failed: " + e.getMessage()); }
         try { testAdminDAO(); } catch (SQLException e) { System.err.println("AdminDAO test failed: " + e.getMessage()); }
         try { testUserDAO(); } catch (SQLException e) { System.err.println("UserDAO test failed: " + e.getMessage()); }
@@ -34,6 +61,12 @@ public class TestAllDAO {
         try { testMembershipDAO(); } catch (SQLException e) { System.err.println("MembershipDAO test failed: " + e.getMessage()); }
         try { testWorkoutClassDAO(); } catch (SQLException e) { System.err.println("WorkoutClassDAO test failed: " + e.getMessage()); }
         try { testMembershipPlanDAO(); } catch (SQLException e) { System.err.println("MembershipPlanDAO test failed: " + e.getMessage()); }
+        try { testConnectionPool(); } catch (SQLException e) { System.err.println("ConnectionPool test failed: " + e.getMessage()); }
+        testMetrics();
+        testInMemoryDAOs();
+        testUserCache();
+        testRollingFileHandler();
+        testAsyncLogHandler();
 
         // Optional cleanup for test users
         if (args.length > 0 && args[0].equalsIgnoreCase("--cleanup")) {
@@ -52,6 +85,15 @@ public class TestAllDAO {
         return prefix + System.currentTimeMillis() + "@test.com";
     }
 
+    /**
+     * Generate a unique username for testing; userName is unique in the schema.
+     * @param prefix The prefix for the username.
+     * @return A unique username string.
+     */
+    private static String uniqueName(String prefix) {
+        return prefix + " " + System.nanoTime();
+    }
+
     /**
      * Generate a unique phone number for testing.
      * @return A unique phone number string.
@@ -67,10 +109,10 @@ public class TestAllDAO {
      */
     private static void testTrainerDAO() throws SQLException {
         System.out.println("\nTesting TrainerDAO...");
-        TrainerDAO dao = new TrainerDAO();
+        TrainerDAO dao = new JdbcTrainerDAO();
         String email = uniqueEmail("trainer");
         String phone = uniquePhone();
-        Trainer trainer = new Trainer(0, "Trainer One", "123 Main St", phone, email, "password123");
+        Trainer trainer = new Trainer(0, uniqueName("Trainer One"), "123 Main St", phone, email, "password123");
         boolean created = dao.createTrainer(trainer);
         System.out.println("Trainer created: " + created);
 
@@ -79,7 +121,7 @@ public class TestAllDAO {
 
         if (!trainers.isEmpty()) {
             Trainer t = trainers.get(0);
-            t.setUserName("Updated Trainer");
+            t.setUserName(uniqueName("Updated Trainer"));
             boolean updated = dao.updateTrainer(t);
             System.out.println("Trainer updated: " + updated);
 
@@ -94,10 +136,10 @@ public class TestAllDAO {
      */
     private static void testAdminDAO() throws SQLException {
         System.out.println("\nTesting AdminDAO...");
-        AdminDAO dao = new AdminDAO();
+        AdminDAO dao = new JdbcAdminDAO();
         String email = uniqueEmail("admin");
         String phone = uniquePhone();
-        Admin admin = new Admin(0, "Admin One", "passwordHash", email, phone, "456 Main St");
+        Admin admin = new Admin(0, uniqueName("Admin One"), "passwordHash", email, phone, "456 Main St");
         boolean created = dao.createAdmin(admin);
         System.out.println("Admin created: " + created);
 
@@ -106,7 +148,7 @@ public class TestAllDAO {
 
         if (!admins.isEmpty()) {
             Admin a = admins.get(0);
-            a.setUserName("Updated Admin");
+            a.setUserName(uniqueName("Updated Admin"));
             boolean updated = dao.updateAdmin(a);
             System.out.println("Admin updated: " + updated);
 
@@ -121,19 +163,53 @@ public class TestAllDAO {
      */
     private static void testUserDAO() throws SQLException {
         System.out.println("\nTesting UserDAO...");
-        UserDAO dao = new UserDAO();
+        UserDAO dao = new JdbcUserDAO();
         String email = uniqueEmail("user");
         String phone = uniquePhone();
-        User user = new User(0, "User One", "hashedPass", email, phone, "789 Main St", "Member");
+        User user = new User(0, uniqueName("User One"), "hashedPass", email, phone, "789 Main St", "Member");
         boolean created = dao.createUser(user);
         System.out.println("User created: " + created);
 
         List<User> users = dao.getAllUsers();
         System.out.println("All Users: " + users);
 
+        int paged = 0;
+        int after = 0;
+        Page<User> page;
+        do {
+            page = dao.getUsersPage(after, 2);
+            paged += page.getItems().size();
+            after = page.getNextKey();
+        } while (page.hasMore());
+        System.out.println("Keyset pages cover all users: " + (paged == users.size()));
+        System.out.println("First page of members: " + dao.getUsersPage("Member", 0, 5).getItems());
+        List<UserSummary> found = dao.getUserSummariesPage(null, email.toUpperCase(), 0, 5).getItems();
+        System.out.println("Summary search by email: " + (found.size() == 1 && found.get(0).getUserId() == user.getUserId()));
+
+        // Cache: the second lookup is a hit, and an update is visible immediately
+        long hitsBefore = UserCache.shared().getStats().hits();
+        dao.getUserById(user.getUserId());
+        dao.getUserById(user.getUserId());
+        System.out.println("Repeated lookup served from cache: " + (UserCache.shared().getStats().hits() > hitsBefore));
+        user.setUserAddress("790 Main St");
+        dao.updateUser(user);
+        User reloaded = dao.getUserByEmail(email);
+        System.out.println("Cache invalidated on update: " + (reloaded != null && "790 Main St".equals(reloaded.getUserAddress())));
+        System.out.println("User cache: " + UserCache.shared().getStats());
+
+        AtomicInteger heard = new AtomicInteger();
+        InvalidationBus.shared().subscribe(InvalidationBus.USERS, key -> {
+            if (key.equals(String.valueOf(user.getUserId()))) {
+                heard.incrementAndGet();
+            }
+        });
+        dao.updateUser(user);
+        System.out.println("Invalidation published on update: " + (heard.get() == 1)
+                + " (sent to other instances: " + InvalidationBus.shared().getPublishedCount() + ")");
+
         if (!users.isEmpty()) {
             User u = users.get(0);
-            u.setUserName("Updated User");
+            u.setUserName(uniqueName("Updated User"));
             boolean updated = dao.updateUser(u);
             System.out.println("User updated: " + updated);
 
@@ -148,10 +224,10 @@ public class TestAllDAO {
      */
     private static void testMemberDAO() throws SQLException {
         System.out.println("\nTesting MemberDAO...");
-        MemberDAO dao = new MemberDAO();
+        MemberDAO dao = new JdbcMemberDAO();
         String email = uniqueEmail("member");
         String phone = uniquePhone();
-        Member member = new Member(0, "Member One", "hashedPass", email, phone, "101 Main St");
+        Member member = new Member(0, uniqueName("Member One"), "hashedPass", email, phone, "101 Main St");
         boolean created = dao.createMember(member);
         System.out.println("Member created: " + created);
 
@@ -160,7 +236,7 @@ public class TestAllDAO {
 
         if (!members.isEmpty()) {
             Member m = members.get(0);
-            m.setUserName("Updated Member");
+            m.setUserName(uniqueName("Updated Member"));
             boolean updated = dao.updateMember(m);
             System.out.println("Member updated: " + updated);
 
@@ -175,7 +251,7 @@ public class TestAllDAO {
      */
     private static void testGymMerchDAO() throws SQLException {
         System.out.println("\nTesting GymMerchDAO...");
-        GymMerchDAO dao = new GymMerchDAO();
+        GymMerchDAO dao = new JdbcGymMerchDAO();
 
         GymMerch merch = new GymMerch(0, "T-Shirt", "Clothing", 19.99, 10);
         boolean created = dao.addGymMerch(merch);
@@ -190,6 +266,10 @@ public class TestAllDAO {
 
         boolean deleted = dao.deleteGymMerch(createdMerch.getMerchID());
         System.out.println("GymMerch deleted: " + deleted);
+
+        try (Stream<GymMerch> streamed = dao.streamAllGymMerch(2)) {
+            System.out.println("GymMerch streamed count matches list: " + (streamed.count() == merchList.size() - 1));
+        }
     }
 
     /**
@@ -198,12 +278,12 @@ public class TestAllDAO {
      */
     private static void testMembershipDAO() throws SQLException {
         System.out.println("\nTesting MembershipDAO...");
-        MembershipDAO dao = new MembershipDAO();
-        MemberDAO memberDAO = new MemberDAO();
+        MembershipDAO dao = new JdbcMembershipDAO();
+        MemberDAO memberDAO = new JdbcMemberDAO();
 
         String memberEmail = uniqueEmail("memberMS");
         String memberPhone = uniquePhone();
-        Member tempMember = new Member(0, "Temp Member", "hashedPass", memberEmail, memberPhone, "456 Gym St");
+        Member tempMember = new Member(0, uniqueName("Temp Member"), "hashedPass", memberEmail, memberPhone, "456 Gym St");
         memberDAO.createMember(tempMember);
 
         List<Member> members = memberDAO.getAllMembers();
@@ -224,17 +304,17 @@ public class TestAllDAO {
     private static void testWorkoutClassDAO() throws SQLException {
         System.out.println("\nTesting WorkoutClassDAO...");
 
-        TrainerDAO trainerDAO = new TrainerDAO();
+        TrainerDAO trainerDAO = new JdbcTrainerDAO();
         String trainerEmail = uniqueEmail("trainerWC");
         String trainerPhone = uniquePhone();
-        Trainer tempTrainer = new Trainer(0, "Temp Trainer", "123 Gym St", trainerPhone, trainerEmail, "password123");
+        Trainer tempTrainer = new Trainer(0, uniqueName("Temp Trainer"), "123 Gym St", trainerPhone, trainerEmail, "password123");
         boolean trainerCreated = trainerDAO.createTrainer(tempTrainer);
         System.out.println("Trainer created for WorkoutClass: " + trainerCreated);
 
         List<Trainer> trainers = trainerDAO.getAllTrainers();
         int trainerId = trainers.get(trainers.size() - 1).getUserId();
 
-        WorkoutClassDAO dao = new WorkoutClassDAO();
+        WorkoutClassDAO dao = new JdbcWorkoutClassDAO();
         WorkoutClass workout = new WorkoutClass(0, "Yoga", "Morning session", trainerId);
 
         boolean created = dao.createWorkoutClass(workout);
@@ -247,6 +327,12 @@ public class TestAllDAO {
         boolean updated = dao.updateWorkoutClass(workout);
         System.out.println("WorkoutClass updated: " + workout + " | Success: " + updated);
 
+        List<WorkoutClassDetail> details = dao.getWorkoutClassDetails("yoga");
+        WorkoutClassDetail detail = details.stream()
+                .filter(d -> d.getWorkoutClassID() == workout.getWorkoutClassID()).findFirst().orElse(null);
+        System.out.println("WorkoutClass detail with trainer: " + detail + " | Type filter applied: "
+                + details.stream().allMatch(d -> d.getWorkoutClassType().equalsIgnoreCase("Yoga")));
+
         boolean deleted = dao.deleteWorkoutClass(workout.getWorkoutClassID());
         System.out.println("WorkoutClass deleted with ID: " + workout.getWorkoutClassID() + " | Success: " + deleted);
 
@@ -260,7 +346,7 @@ public class TestAllDAO {
      */
     private static void testMembershipPlanDAO() throws SQLException {
         System.out.println("\nTesting MembershipPlanDAO...");
-        MembershipPlanDAO dao = new MembershipPlanDAO();
+        MembershipPlanDAO dao = new JdbcMembershipPlanDAO();
 
         // Test getAllPlans
         List<MembershipPlan> plans = dao.getAllPlans();
@@ -289,18 +375,372 @@ public class TestAllDAO {
         System.out.println("Non-existent plan returns null: " + (nonExistent == null));
     }
 
+    /**
+     * Test that pooled connections are reused after being closed.
+     * @throws SQLException if a database access error occurs.
+     */
+    private static void testConnectionPool() throws SQLException {
+        System.out.println("\nTesting ConnectionPool...");
+        ConnectionPool.Stats before = DatabaseConnection.getPoolStats();
+
+        for (int i = 0; i < 5; i++) {
+            try (Connection conn = DatabaseConnection.getcon()) {
+                conn.createStatement().execute("SELECT 1");
+            }
+        }
+
+        ConnectionPool.Stats after = DatabaseConnection.getPoolStats();
+        System.out.println("Pool stats: " + after);
+        System.out.println("Connections reused: " + (after.totalCreated() - before.totalCreated() <= 1));
+        System.out.println("All connections returned: " + (after.active() == 0));
+    }
+
+    /**
+     * Test SchemaMigrator: migrations are applied once and the DAO lookups use indexes.
+     */
+    private static void testSchemaMigrator() {
+        System.out.println("\nTesting SchemaMigrator...");
+        int applied = SchemaMigrator.migrate();
+        System.out.println("Migrations applied: " + applied);
+        System.out.println("Second run applies nothing: " + (SchemaMigrator.migrate() == 0));
+        System.out.println("Schema up to date: " + (SchemaMigrator.currentVersion() == SchemaMigrator.latestVersion()));
+
+        try (Connection conn = DatabaseConnection.getcon();
+             Statement stmt = conn.createStatement()) {
+            // Small test tables would otherwise be scanned sequentially
+            stmt.execute("SET enable_seqscan = off");
+            String[] lookups = {
+                    "SELECT * FROM Users WHERE userName = 'x'",
+                    "SELECT * FROM Users WHERE email = 'x'",
+                    "SELECT * FROM Users WHERE userRole = 'Trainer' ORDER BY userId",
+                    "SELECT * FROM Memberships WHERE memberID = 1",
+                    "SELECT * FROM WorkoutClasses WHERE trainerID = 1"
+            };
+            for (String lookup : lookups) {
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = stmt.executeQuery("EXPLAIN " + lookup)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append(' ');
+                    }
+                }
+                System.out.println("Index used for [" + lookup + "]: " + plan.toString().contains("Index"));
+            }
+            stmt.execute("RESET enable_seqscan");
+        } catch (SQLException e) {
+            System.err.println("SchemaMigrator test failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test that DAO calls are timed under their method names.
+     */
+    private static void testMetrics() {
+        System.out.println("\nTesting Metrics...");
+        GymMerchDAO dao = TimedDAO.wrap(GymMerchDAO.class, new JdbcGymMerchDAO());
+        for (int i = 0; i < 10; i++) {
+            dao.getAllGymMerch();
+        }
+        Metrics.Timer.Snapshot snapshot = Metrics.snapshot("GymMerchDAO.getAllGymMerch");
+        System.out.println("DAO call timed: " + (snapshot != null && snapshot.calls() >= 10));
+        System.out.println(snapshot);
+        Metrics.snapshot().values().forEach(System.out::println);
+    }
+
+    /**
+     * Test that the in-memory DAOs follow the same rules as the database:
+     * generated IDs, role filtering, unique emails and cascading deletes.
+     */
+    private static void testInMemoryDAOs() {
+        System.out.println("\nTesting in-memory DAOs...");
+        InMemoryDatabase db = new InMemoryDatabase();
+        MemberDAO memberDAO = db.memberDAO();
+        TrainerDAO trainerDAO = db.trainerDAO();
+        MembershipDAO membershipDAO = db.membershipDAO();
+        WorkoutClassDAO workoutClassDAO = db.workoutClassDAO();
+
+        Member member = new Member(0, "Memory Member", "hash", "member@memory.test", "000", "1 Main St");
+        Trainer trainer = new Trainer(0, "Memory Trainer", "hash", "trainer@memory.test", "000", "2 Main St");
+        System.out.println("Users created with IDs: " + (memberDAO.createMember(member) && trainerDAO.createTrainer(trainer)
+                && member.getUserId() > 0 && trainer.getUserId() > member.getUserId()));
+        System.out.println("Duplicate email rejected: " + !memberDAO.createMember(
+                new Member(0, "Other Name", "hash", "member@memory.test", "000", "3 Main St")));
+        System.out.println("Role filtering: " + (memberDAO.getMemberById(trainer.getUserId()) == null
+                && trainerDAO.getAllTrainers().size() == 1
+                && db.userDAO().getUsersPage("Member", 0, 10).getItems().size() == 1));
+        System.out.println("Conditional hash update: "
+                + (db.userDAO().updatePasswordHash(member.getUserId(), "hash", "rehash")
+                        && !db.userDAO().updatePasswordHash(member.getUserId(), "hash", "stale")
+                        && "rehash".equals(db.userDAO().getUserById(member.getUserId()).getPasswordHash())));
+        System.out.println("Summary search: " + (db.userDAO().getUserSummariesPage(null, "memory", 0, 10).getItems().size() == 2
+                && db.userDAO().getUserSummariesPage("Trainer", "MEMORY", 0, 10).getItems().get(0).getUserId() == trainer.getUserId()
+                && db.userDAO().getUserSummariesPage(null, "%", 0, 10).isEmpty()));
+
+        Membership membership = new Membership(0, "Basic", "Gym access", 19.99, member.getUserId());
+        WorkoutClass workoutClass = new WorkoutClass(0, "Spin", "Morning ride", trainer.getUserId());
+        System.out.println("Membership and class created: " + (membershipDAO.createMembership(membership)
+                && workoutClassDAO.createWorkoutClass(workoutClass) && membership.getMembershipID() > 0));
+        System.out.println("Unknown member rejected: " + !membershipDAO.createMembership(
+                new Membership(0, "Basic", "Gym access", 19.99, 9999)));
+        System.out.println("Class details joined with trainer: "
+                + trainer.getUserName().equals(workoutClassDAO.getWorkoutClassDetails("SPIN").get(0).getTrainerName())
+                + ", type filter: " + workoutClassDAO.getWorkoutClassDetails("Yoga").isEmpty());
+
+        memberDAO.deleteMember(member.getUserId());
+        trainerDAO.deleteTrainer(trainer.getUserId());
+        System.out.println("Deletes cascade: " + (membershipDAO.getMembershipById(membership.getMembershipID()) == null
+                && workoutClassDAO.getWorkoutClassById(workoutClass.getWorkoutClassID()).getTrainerID() == 0));
+    }
+
+
+    /**
+     * Test UserCache without a database: least recently used users are
+     * evicted, stale loads are not cached, and concurrent readers all hit.
+     */
+    private static void testUserCache() {
+        System.out.println("\nTesting UserCache...");
+        UserCache cache = new UserCache(100, 60_000);
+        for (int id = 1; id <= 100; id++) {
+            cache.put(new User(id, "cached" + id, "hash", "cached" + id + "@test.com", "000", "1 Main St", "Member"),
+                    cache.generation());
+        }
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (int id = 1; id <= 10; id++) {
+            cache.getById(id);
+        }
+        for (int id = 101; id <= 120; id++) {
+            cache.put(new User(id, "cached" + id, "hash", "cached" + id + "@test.com", "000", "1 Main St", "Member"),
+                    cache.generation());
+        }
+        UserCache.Stats stats = cache.getStats();
+        boolean recentKept = true;
+        for (int id = 1; id <= 10; id++) {
+            recentKept &= cache.getById(id) != null;
+        }
+        System.out.println("Evicted down to the limit: " + (stats.size() <= 100 && stats.evictions() > 0)
+                + ", recently read users kept: " + recentKept);
+        System.out.println("Lookup by name and email: " + (cache.getByUserName("cached5") != null
+                && cache.getByEmail("cached5@test.com") != null));
+
+        long generation = cache.generation();
+        cache.invalidate(5);
+        cache.put(new User(5, "cached5", "stale", "cached5@test.com", "000", "1 Main St", "Member"), generation);
+        System.out.println("Stale load not cached: " + (cache.getById(5) == null
+                && cache.getByUserName("cached5") == null));
+
+        AtomicInteger hits = new AtomicInteger();
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (cache.getById(1 + i % 4) != null) {
+                        hits.incrementAndGet();
+                    }
+                }
+            });
+            readers[t].start();
+        }
+        try {
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("Concurrent readers all hit: " + (hits.get() == 40_000));
+        System.out.println("User cache: " + cache.getStats());
+    }
+
+    /**
+     * Test RollingFileHandler: size and date rotation, gzip, the segment index,
+     * retention, and that logging carries on when a rotation fails.
+     */
+    private static void testRollingFileHandler() {
+        System.out.println("\nTesting RollingFileHandler...");
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("gym-log-test");
+            Path active = dir.resolve("t_log.txt");
+            LocalDate today = LocalDate.now();
+            long now = System.currentTimeMillis();
+
+            // Size rotation: each record is about 180 characters but 280 bytes, so counting
+            // bytes against a 250 byte limit puts every record but the last in its own segment
+            RollingFileHandler handler = new RollingFileHandler(active.toString(), 250, 0);
+            for (int i = 0; i < 10; i++) {
+                handler.publish(record("size record " + i + " " + "é".repeat(100), now));
+            }
+            List<Path> segments = handler.segmentsFor(today);
+            handler.close();
+            List<String> index = Files.readAllLines(dir.resolve("t_log.txt.index"));
+            List<Path> gzipped = listFiles(dir, ".gz");
+            System.out.println("Size rotation counted bytes: " + (gzipped.size() == 9));
+            System.out.println("Every segment indexed: " + (index.size() == gzipped.size()));
+            System.out.println("Segments found for today: " + (segments.size() == gzipped.size() + 1
+                    && segments.get(segments.size() - 1).equals(active)));
+            boolean readable = true;
+            StringBuilder all = new StringBuilder();
+            for (Path segment : gzipped) {
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(segment))) {
+                    all.append(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    readable = false;
+                }
+            }
+            all.append(Files.readString(active));
+            System.out.println("Segments gzipped and readable: " + readable);
+            System.out.println("No record lost: " + (all.toString().split("size record").length - 1 == 10));
+            System.out.println("Segments named by date: " + gzipped.stream().allMatch(segment ->
+                    segment.getFileName().toString().startsWith("t_log." + today + ".")));
+
+            // Date rotation and retention: a record from ten days ago rotates out and expires
+            deleteTree(dir);
+            Files.createDirectories(dir);
+            handler = new RollingFileHandler(active.toString(), 1_000_000, 1);
+            long tenDaysAgo = now - Duration.ofDays(10).toMillis();
+            handler.publish(record("old record", tenDaysAgo));
+            handler.publish(record("new record", now));
+            handler.close();
+            String activeText = Files.readString(active);
+            System.out.println("Date rotation started a new file: " + (activeText.contains("new record")
+                    && !activeText.contains("old record")));
+            System.out.println("Expired segment deleted: " + (listFiles(dir, ".gz").isEmpty()
+                    && Files.readAllLines(dir.resolve("t_log.txt.index")).isEmpty()));
+
+            // A failed rotation is reported and logging continues
+            deleteTree(dir);
+            Files.createDirectories(dir);
+            handler = new RollingFileHandler(active.toString(), 50, 0);
+            AtomicInteger errors = new AtomicInteger();
+            handler.setErrorManager(new ErrorManager() {
+                @Override
+                public synchronized void error(String msg, Exception ex, int code) {
+                    errors.incrementAndGet();
+                }
+            });
+            handler.publish(record("before failure " + "x".repeat(60), now));
+            handler.flush();
+            Files.delete(active);
+            handler.publish(record("after failure", now));
+            handler.flush();
+            System.out.println("Rotation failure reported: " + (errors.get() > 0));
+            System.out.println("Logging continued after failure: " + (Files.exists(active)
+                    && Files.readString(active).contains("after failure")));
+            handler.close();
+        } catch (IOException e) {
+            System.err.println("RollingFileHandler test failed: " + e.getMessage());
+        } finally {
+            if (dir != null) {
+                deleteTree(dir);
+            }
+        }
+    }
+
+    private static void testAsyncLogHandler() {
+        System.out.println("\nTesting AsyncLogHandler...");
+        long now = System.currentTimeMillis();
+
+        // DROP: a small queue in front of a slow delegate overflows and counts what it discards
+        SlowHandler slow = new SlowHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(4, AsyncLogHandler.OverflowPolicy.DROP, slow);
+        for (int i = 0; i < 50; i++) {
+            handler.publish(record("async record " + i, now));
+        }
+        long dropped = handler.getDroppedCount();
+        handler.close();
+        System.out.println("DROP discarded records: " + (dropped > 0));
+        System.out.println("DROP accounted for every record: " + (slow.delivered.get() + dropped == 50));
+        System.out.println("DROP reported the count: " + (slow.droppedWarnings.get() > 0));
+
+        // BLOCK: the same setup waits for space instead and loses nothing
+        slow = new SlowHandler();
+        handler = new AsyncLogHandler(4, AsyncLogHandler.OverflowPolicy.BLOCK, slow);
+        for (int i = 0; i < 50; i++) {
+            handler.publish(record("async record " + i, now));
+        }
+        handler.close();
+        System.out.println("BLOCK lost nothing: " + (handler.getDroppedCount() == 0 && slow.delivered.get() == 50));
+
+        // close() writes whatever is still queued, then ignores later records
+        slow = new SlowHandler();
+        handler = new AsyncLogHandler(100, AsyncLogHandler.OverflowPolicy.DROP, slow);
+        for (int i = 0; i < 20; i++) {
+            handler.publish(record("async record " + i, now));
+        }
+        boolean queued = handler.getQueueSize() > 0;
+        handler.close();
+        handler.publish(record("async record after close", now));
+        System.out.println("Queued records drained on close: " + (queued && slow.delivered.get() == 20
+                && handler.getQueueSize() == 0));
+        System.out.println("Delegate closed: " + slow.closed);
+    }
+
+    /**
+     * Delegate that takes a few milliseconds per record, so the queue fills up.
+     */
+    private static class SlowHandler extends Handler {
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final AtomicInteger droppedWarnings = new AtomicInteger();
+        private volatile boolean closed;
+
+        @Override
+        public void publish(LogRecord record) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                // close() interrupts the writer; the record is still delivered
+                Thread.currentThread().interrupt();
+            }
+            if (record.getMessage().startsWith("async record")) {
+                delivered.incrementAndGet();
+            } else if (record.getMessage().contains("log records dropped")) {
+                droppedWarnings.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static LogRecord record(String message, long millis) {
+        LogRecord record = new LogRecord(Level.INFO, message);
+        record.setInstant(Instant.ofEpochMilli(millis));
+        return record;
+    }
+
+    private static List<Path> listFiles(Path dir, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    private static void deleteTree(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
     /**
      * Cleanup test users created during testing.
      */
     private static void cleanupTestUsers() {
         try {
-            UserDAO dao = new UserDAO();
-            List<User> users = dao.getAllUsers();
-            for (User u : users) {
-                if (u.getEmail().contains("@test.com")) {
+            UserDAO dao = new JdbcUserDAO();
+            try (Stream<User> users = dao.streamAllUsers()) {
+                users.filter(u -> u.getEmail().contains("@test.com")).forEach(u -> {
                     boolean deleted = dao.deleteUser(u.getUserId());
                     System.out.println("Deleted test user: " + u + " | Success: " + deleted);
-                }
+                });
             }
         } catch (Exception e) {
             System.err.println("Error during cleanup: " + e.getMessage());
@@ -1,11 +1,32 @@
 package tests;
 
 import dao.*;
+import dao.memory.InMemoryDatabase;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import models.*;
 import services.*;
+import utils.Bulkhead;
 import utils.DatabaseConnection;
+import utils.ParallelPasswordHasher;
+import utils.PasswordUtil;
+import utils.UnitOfWork;
 
 /**
  * TestAllServices is a console-based test class for all service layers
@@ -36,6 +57,12 @@ public class TestAllServices {
             testMembershipService();
             testWorkoutClassService();
             testGymMerchService();
+            testBulkImportService();
+            testMetricsServer();
+            testUnitOfWork();
+            testServicesInMemory();
+            testAsyncServicesInMemory();
+            testMemberDashboardInMemory();
             System.out.println("All Service tests completed.");
         } catch (SQLException e) {
             e.printStackTrace();
@@ -59,11 +86,11 @@ public class TestAllServices {
     private static void testUserService() throws SQLException {
         System.out.println("\nTesting UserService...");
 
-        UserDAO userDAO = new UserDAO();
+        UserDAO userDAO = new JdbcUserDAO();
         UserService userService = new UserService(userDAO);
 
         String email = "user" + unique() + "@test.com";
-        User user = new User(0, "User One", "password123", email, "7778889999", "789 Main St", "Member");
+        User user = new User(0, "User One " + unique(), "password123", email, "7778889999", "789 Main St", "Member");
 
         // Register
         userDAO.createUser(user);
@@ -73,6 +100,23 @@ public class TestAllServices {
         User loggedIn = userService.login(user.getUserName(), "password123");
         System.out.println("User logged in: " + (loggedIn != null));
 
+        // Bulk password reset (hashed in parallel)
+        int reset = userService.resetPasswords(Map.of(user.getUserId(), "newpassword123"));
+        System.out.println("Passwords reset: " + reset + ", login with new password: "
+                + (userService.login(user.getUserName(), "newpassword123") != null));
+
+        // Repeated bad logins are throttled per username
+        boolean throttled = false;
+        for (int attempt = 0; attempt < 10 && !throttled; attempt++) {
+            try {
+                userService.login(user.getUserName(), "wrong-password", "test-source");
+            } catch (LoginThrottledException e) {
+                throttled = true;
+                System.out.println("Login throttled after " + (attempt + 1) + " bad attempts: " + e.getMessage());
+            }
+        }
+        System.out.println("Login stats: " + UserService.getLoginStats());
+
         // Fetch all users
         List<User> users = userService.getAllUsers();
         System.out.println("All Users: " + users);
@@ -87,12 +131,12 @@ public class TestAllServices {
     private static void testMembershipService() throws SQLException {
         System.out.println("\nTesting MembershipService...");
 
-        MembershipDAO membershipDAO = new MembershipDAO();
+        MembershipDAO membershipDAO = new JdbcMembershipDAO();
         MembershipService membershipService = new MembershipService(membershipDAO);
 
-        MemberDAO memberDAO = new MemberDAO();
+        MemberDAO memberDAO = new JdbcMemberDAO();
         String email = "member" + unique() + "@test.com";
-        Member member = new Member(0, "Member One", "hashedPass", email, "5556667777", "102 Main St");
+        Member member = new Member(0, "Member One " + unique(), "hashedPass", email, "5556667777", "102 Main St");
 
         boolean created = memberDAO.createMember(member);
         System.out.println("Member created: " + created);
@@ -122,6 +166,17 @@ public class TestAllServices {
         int vipId = vipMembership.getMembershipID();
         membershipService.deleteMembership(vipId);
         System.out.println("Membership deleted: " + vipId);
+
+        // Aggregates
+        System.out.println("Total revenue: " + membershipService.viewTotalRevenue());
+        System.out.println("Revenue by type: " + membershipService.viewRevenueByMembershipType());
+        System.out.println("Member expenses: " + membershipService.calculateMemberExpenses(memberId));
+
+        // Plan catalog is served from memory and reloads only on change
+        MembershipPlanCatalog catalog = MembershipPlanCatalog.shared();
+        System.out.println("Available plans: " + membershipService.getAvailablePlans());
+        System.out.println("Catalog version: " + catalog.getVersion()
+                + ", reloaded when unchanged: " + catalog.refreshIfChanged());
     }
 
     /**
@@ -133,12 +188,12 @@ public class TestAllServices {
         System.out.println("\nTesting WorkoutClassService...");
 
         try (var conn = DatabaseConnection.getcon()) {
-            WorkoutClassDAO wcDAO = new WorkoutClassDAO(conn);
+            WorkoutClassDAO wcDAO = new JdbcWorkoutClassDAO(conn);
             WorkoutClassService wcService = new WorkoutClassService(wcDAO);
 
-            TrainerDAO trainerDAO = new TrainerDAO();
+            TrainerDAO trainerDAO = new JdbcTrainerDAO();
             String email = "trainer" + unique() + "@test.com";
-            Trainer trainer = new Trainer(0, "Trainer FK", "103 Main St", "8889990000", email, "pass");
+            Trainer trainer = new Trainer(0, "Trainer FK " + unique(), "103 Main St", "8889990000", email, "pass");
 
             boolean trainerCreated = trainerDAO.createTrainer(trainer);
             System.out.println("Trainer created for WorkoutClass: " + trainerCreated);
@@ -178,7 +233,7 @@ public class TestAllServices {
     private static void testGymMerchService() throws SQLException {
         System.out.println("\nTesting GymMerchService...");
 
-        GymMerchDAO merchDAO = new GymMerchDAO();
+        GymMerchDAO merchDAO = new JdbcGymMerchDAO();
         GymMerchService merchService = new GymMerchService(merchDAO);
 
         GymMerch merch = new GymMerch(0, "T-Shirt", "Clothing", 19.99, 10);
@@ -203,5 +258,451 @@ public class TestAllServices {
         int newMerchId = newMerch.getMerchID();
         merchService.deleteMerch(newMerchId);
         System.out.println("GymMerch deleted: " + newMerchId);
+
+        // Aggregates
+        System.out.println("Total stock value: " + merchService.calculateTotalStockValue());
+        System.out.println("Stock value by type: " + merchService.calculateStockValueByType());
+    }
+
+    /**
+     * Tests BulkImportService with both batch inserts and COPY, including
+     * a row that fails validation.
+     *
+     * @throws SQLException if a database error occurs
+     */
+    private static void testBulkImportService() throws SQLException {
+        System.out.println("\nTesting BulkImportService...");
+
+        UserDAO userDAO = new JdbcUserDAO();
+        BulkImportService importService = new BulkImportService(new BulkImportDAO());
+        importService.setBatchSize(2);
+        importService.setProgressListener((processed, total) ->
+                System.out.println("Progress: " + processed + "/" + total));
+
+        String stamp = unique();
+        String hash = PasswordUtil.hashPassword("bulkPassword");
+        List<User> users = List.of(
+                new User(0, "bulk1_" + stamp, hash, "bulk1_" + stamp + "@test.com", "111", "1 Bulk St", "Member"),
+                new User(0, "bulk2_" + stamp, hash, "not-an-email", "222", "2 Bulk St", "Member"),
+                new User(0, "bulk3_" + stamp, hash, "bulk3_" + stamp + "@test.com", "333", "3 Bulk St", "trainer"),
+                new User(0, "bulk5_" + stamp, "plaintext", "bulk5_" + stamp + "@test.com", "555", "5 Bulk St", "Member"));
+
+        // Batch path
+        ImportResult batchResult = importService.importUsers(users);
+        System.out.println("Batch import: " + batchResult + " errors=" + batchResult.getErrors());
+        System.out.println("Non-bcrypt hash rejected: " + batchResult.getErrors().stream()
+                .anyMatch(error -> error.rowNumber() == 4));
+
+        // COPY path
+        importService.setCopyThreshold(1);
+        List<User> copied = List.of(
+                new User(0, "bulk4_" + stamp, hash, "bulk4_" + stamp + "@test.com", "444", "4 Bulk St", "Member"));
+        ImportResult copyResult = importService.importUsers(copied);
+        System.out.println("COPY import: " + copyResult);
+
+        // CSV path: a malformed hash and a password that fails to hash are rejected per row
+        importService.setCopyThreshold(10_000);
+        try (ParallelPasswordHasher hasher = new ParallelPasswordHasher(2, 4, password -> {
+            if (password.equals("unhashable")) {
+                throw new IllegalStateException("hash failed");
+            }
+            return PasswordUtil.hashPassword(password);
+        })) {
+            importService.setPasswordHasher(hasher);
+            Path csv = Files.createTempFile("bulk-users", ".csv");
+            Files.writeString(csv, "userName,email,userRole,password,passwordHash\n"
+                    + "bulk6_" + stamp + ",bulk6_" + stamp + "@test.com,Member,secret6,\n"
+                    + "bulk7_" + stamp + ",bulk7_" + stamp + "@test.com,Member,,$2a$12$tooShort\n"
+                    + "bulk8_" + stamp + ",bulk8_" + stamp + "@test.com,Member,unhashable,\n");
+            ImportResult csvResult = importService.importUsersFromCsv(csv);
+            Files.delete(csv);
+            System.out.println("CSV import: " + csvResult + " errors=" + csvResult.getErrors());
+            System.out.println("Bad rows rejected, good row kept: " + (csvResult.getImported() == 1
+                    && csvResult.getErrors().size() == 2));
+        } catch (IOException e) {
+            System.err.println("CSV import test failed: " + e.getMessage());
+        } finally {
+            importService.setPasswordHasher(ParallelPasswordHasher.getShared());
+        }
+
+        // Cleanup
+        for (String name : List.of("bulk1_", "bulk3_", "bulk4_", "bulk6_")) {
+            User imported = userDAO.getUserByUsername(name + stamp);
+            if (imported != null) {
+                userDAO.deleteUser(imported.getUserId());
+            }
+        }
+    }
+
+    /**
+     * Tests the /metrics and /health endpoints of MetricsServer.
+     */
+    private static void testMetricsServer() {
+        System.out.println("\nTesting MetricsServer...");
+        try {
+            MetricsServer server = new MetricsServer("127.0.0.1", 0);
+            server.start();
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+
+            HttpResponse<String> metrics = client.send(HttpRequest.newBuilder(URI.create(base + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            System.out.println("Metrics served: " + (metrics.statusCode() == 200
+                    && metrics.body().contains("gym_db_pool_active_connections")
+                    && metrics.body().contains("gym_operation_duration_seconds_bucket")));
+
+            HttpResponse<String> health = client.send(HttpRequest.newBuilder(URI.create(base + "/health")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            System.out.println("Health: " + health.statusCode() + " " + health.body());
+            server.stop();
+        } catch (Exception e) {
+            System.err.println("MetricsServer test failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a unit of work commits or rolls back every DAO call in it,
+     * and deleting a trainer with a replacement.
+     *
+     * @throws SQLException if a database error occurs
+     */
+    private static void testUnitOfWork() throws SQLException {
+        System.out.println("\nTesting UnitOfWork...");
+        TrainerDAO trainerDAO = new JdbcTrainerDAO();
+        WorkoutClassDAO wcDAO = new JdbcWorkoutClassDAO();
+        UserService userService = new UserService(new JdbcUserDAO());
+
+        UserDAO userDAO = new JdbcUserDAO();
+        String email = "uow" + unique() + "@test.com";
+        UnitOfWork.execute(() -> {
+            trainerDAO.createTrainer(new Trainer(0, "UoW Rollback " + unique(), "hash", email, "000", "1 Main St"));
+            userDAO.getUserByEmail(email);
+            UnitOfWork.setRollbackOnly();
+            return null;
+        });
+        System.out.println("Rolled back trainer absent: " + (trainerDAO.getTrainerByEmail(email) == null)
+                + ", not served from cache: " + (userDAO.getUserByEmail(email) == null));
+
+        Trainer leaving = new Trainer(0, "UoW Leaving " + unique(), "hash", "leaving" + unique() + "@test.com", "000", "1 Main St");
+        Trainer staying = new Trainer(0, "UoW Staying " + unique(), "hash", "staying" + unique() + "@test.com", "000", "1 Main St");
+        UnitOfWork.execute(Connection.TRANSACTION_REPEATABLE_READ,
+                () -> trainerDAO.createTrainer(leaving) && trainerDAO.createTrainer(staying));
+        WorkoutClass wc = new WorkoutClass(0, "Boxing", "Evening Boxing Class", leaving.getUserId());
+        wcDAO.createWorkoutClass(wc);
+
+        int moved = userService.deleteTrainer(leaving.getUserId(), staying.getUserId());
+        System.out.println("Classes moved: " + moved + ", trainer deleted: "
+                + (trainerDAO.getTrainerById(leaving.getUserId()) == null) + ", class now with replacement: "
+                + (wcDAO.getWorkoutClassById(wc.getWorkoutClassID()).getTrainerID() == staying.getUserId()));
+        System.out.println("Unknown replacement refused: "
+                + (userService.deleteTrainer(staying.getUserId(), leaving.getUserId()) == -1));
+
+        wcDAO.deleteWorkoutClass(wc.getWorkoutClassID());
+        trainerDAO.deleteTrainer(staying.getUserId());
+    }
+
+    /**
+     * Tests the services over the in-memory DAOs, without a database.
+     */
+    private static void testServicesInMemory() {
+        System.out.println("\nTesting services in memory...");
+        InMemoryDatabase db = new InMemoryDatabase();
+        UserService userService = new UserService(db.userDAO(), db.adminDAO(), db.memberDAO(), db.trainerDAO(),
+                db.workoutClassDAO(), db.unitOfWorkRunner());
+        MembershipService membershipService = new MembershipService(db.membershipDAO(),
+                new MembershipPlanCatalog(db.membershipPlanDAO()), db.unitOfWorkRunner());
+        GymMerchService gymMerchService = new GymMerchService(db.gymMerchDAO());
+
+        Member member = new Member(0, "Memory Member", "hash", "member@memory.test", "000", "1 Main St");
+        db.memberDAO().createMember(member);
+        System.out.println("Member listed by role: "
+                + (userService.getUsersPage("member", 0, 10).getItems().size() == 1));
+        System.out.println("Null username rejected: " + (userService.login(null, "password") == null));
+
+        // A successful login rehashes a stored hash whose cost is outside the tolerance
+        int workload = PasswordUtil.getWorkload();
+        try {
+            PasswordUtil.setWorkload(5);
+            String oldHash = PasswordUtil.hashPassword("rehashMe");
+            PasswordUtil.setWorkload(4);
+            System.out.println("Cost read from hash: " + (PasswordUtil.getCost(oldHash) == 5
+                    && PasswordUtil.getCost("plaintext") == -1));
+            System.out.println("Rehash only outside tolerance: " + (PasswordUtil.needsRehash(oldHash)
+                    && !PasswordUtil.needsRehash(PasswordUtil.hashPassword("x"))
+                    && !PasswordUtil.needsRehash("plaintext")));
+            Member rehashed = new Member(0, "Rehash Member", oldHash, "rehash@memory.test", "000", "1 Main St");
+            db.memberDAO().createMember(rehashed);
+            boolean loggedIn = userService.login("Rehash Member", "rehashMe") != null;
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (PasswordUtil.getCost(db.userDAO().getUserById(rehashed.getUserId()).getPasswordHash()) != 4
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            String newHash = db.userDAO().getUserById(rehashed.getUserId()).getPasswordHash();
+            System.out.println("Rehashed on login: " + (loggedIn && PasswordUtil.getCost(newHash) == 4
+                    && PasswordUtil.verifyPassword("rehashMe", newHash)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            PasswordUtil.setWorkload(workload);
+        }
+
+        List<MembershipPlan> plans = membershipService.getAvailablePlans();
+        for (MembershipPlan plan : plans) {
+            membershipService.purchasePlan(plan.getPlanId(), member.getUserId());
+        }
+        System.out.println("Plans purchased: " + plans.size() + ", member expenses: "
+                + membershipService.calculateMemberExpenses(member.getUserId())
+                + ", revenue by type: " + membershipService.viewRevenueByMembershipType());
+
+        // A failed plan read keeps the previous snapshot and is retried on the next check
+        AtomicBoolean planReadFails = new AtomicBoolean();
+        MembershipPlanDAO planDAO = db.membershipPlanDAO();
+        MembershipPlanCatalog flakyCatalog = new MembershipPlanCatalog(new MembershipPlanDAO() {
+            @Override
+            public List<MembershipPlan> getAllPlans() {
+                return planDAO.getAllPlans();
+            }
+
+            @Override
+            public List<MembershipPlan> loadAllPlans() throws SQLException {
+                if (planReadFails.get()) {
+                    throw new SQLException("plan read failed");
+                }
+                return planDAO.loadAllPlans();
+            }
+
+            @Override
+            public MembershipPlan getPlanById(int planId) {
+                return planDAO.getPlanById(planId);
+            }
+
+            @Override
+            public String getCatalogVersion() {
+                return planDAO.getCatalogVersion();
+            }
+        });
+        flakyCatalog.refresh();
+        planReadFails.set(true);
+        db.addPlan(new MembershipPlan(0, "Family", "Two adults", 89.99));
+        boolean keptOnFailure = !flakyCatalog.refreshIfChanged() && flakyCatalog.getPlans().size() == plans.size();
+        planReadFails.set(false);
+        System.out.println("Catalog kept after failed read: " + keptOnFailure
+                + ", reloaded on retry: " + (flakyCatalog.refreshIfChanged() && flakyCatalog.getPlans().size() == plans.size() + 1));
+
+        // Overlapping loads publish in order: a slow load of an old version cannot replace a newer one
+        CountDownLatch slowLoadStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowLoad = new CountDownLatch(1);
+        AtomicBoolean firstLoad = new AtomicBoolean(true);
+        MembershipPlanCatalog racingCatalog = new MembershipPlanCatalog(new MembershipPlanDAO() {
+            @Override
+            public List<MembershipPlan> getAllPlans() {
+                return planDAO.getAllPlans();
+            }
+
+            @Override
+            public List<MembershipPlan> loadAllPlans() throws SQLException {
+                List<MembershipPlan> loaded = planDAO.loadAllPlans();
+                if (firstLoad.getAndSet(false)) {
+                    slowLoadStarted.countDown();
+                    try {
+                        releaseSlowLoad.await(1, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return loaded;
+            }
+
+            @Override
+            public MembershipPlan getPlanById(int planId) {
+                return planDAO.getPlanById(planId);
+            }
+
+            @Override
+            public String getCatalogVersion() {
+                return planDAO.getCatalogVersion();
+            }
+        });
+        try {
+            Thread slowLoad = new Thread(racingCatalog::refresh);
+            slowLoad.start();
+            slowLoadStarted.await(1, TimeUnit.SECONDS);
+            db.addPlan(new MembershipPlan(0, "Student", "Valid student ID", 14.99));
+            Thread newerLoad = new Thread(racingCatalog::refresh);
+            newerLoad.start();
+            Thread.sleep(100);
+            releaseSlowLoad.countDown();
+            slowLoad.join();
+            newerLoad.join();
+            System.out.println("Newest catalog kept after overlapping loads: "
+                    + planDAO.getCatalogVersion().equals(racingCatalog.getVersion()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Trainer leaving = new Trainer(0, "Memory Trainer", "hash", "leaving@memory.test", "000", "1 Main St");
+        Trainer staying = new Trainer(0, "Memory Replacement", "hash", "staying@memory.test", "000", "1 Main St");
+        db.trainerDAO().createTrainer(leaving);
+        db.trainerDAO().createTrainer(staying);
+        db.workoutClassDAO().createWorkoutClass(new WorkoutClass(0, "Yoga", "Morning Yoga Class", leaving.getUserId()));
+        System.out.println("Trainer deleted with classes moved: "
+                + (userService.deleteTrainer(leaving.getUserId(), staying.getUserId()) == 1)
+                + ", replacement's classes: " + db.workoutClassDAO().getWorkoutClassesByTrainerId(staying.getUserId()).size());
+
+        gymMerchService.addMerch(new GymMerch(0, "Shaker Bottle", "Accessories", 12.5, 4));
+        gymMerchService.addMerch(new GymMerch(0, "Protein Bar", "Supplements", 3.0, 10));
+        System.out.println("Stock value: " + gymMerchService.calculateTotalStockValue()
+                + " (expected 80.0)");
+    }
+
+    /**
+     * Tests the async service facades over the in-memory DAOs, including a
+     * bulkhead refusing calls once its limit is reached.
+     */
+    private static void testAsyncServicesInMemory() {
+        System.out.println("\nTesting async services in memory...");
+        InMemoryDatabase db = new InMemoryDatabase();
+        try (AsyncServiceExecutor executor = new AsyncServiceExecutor(4, 1, 1_000)) {
+            AsyncMembershipService memberships = new AsyncMembershipService(new MembershipService(db.membershipDAO(),
+                    new MembershipPlanCatalog(db.membershipPlanDAO()), db.unitOfWorkRunner()), executor);
+            AsyncGymMerchService merch = new AsyncGymMerchService(new GymMerchService(db.gymMerchDAO()), executor);
+
+            Member member = new Member(0, "Async Member", "hash", "async@memory.test", "000", "1 Main St");
+            db.memberDAO().createMember(member);
+            List<CompletableFuture<Membership>> purchases = new ArrayList<>();
+            for (MembershipPlan plan : memberships.getAvailablePlans().join()) {
+                purchases.add(memberships.purchasePlan(plan.getPlanId(), member.getUserId()));
+            }
+            merch.addMerch(new GymMerch(0, "Shaker Bottle", "Accessories", 12.5, 4)).join();
+            CompletableFuture.allOf(purchases.toArray(new CompletableFuture<?>[0])).join();
+
+            CompletableFuture<Double> expenses = memberships.calculateMemberExpenses(member.getUserId());
+            CompletableFuture<Double> stock = merch.calculateTotalStockValue();
+            System.out.println("Concurrent purchases: " + purchases.size() + ", member expenses: " + expenses.join()
+                    + ", stock value: " + stock.join() + " (expected 50.0)");
+
+            // A login reads the user under a database permit and checks the password under a hashing permit
+            AsyncUserService users = new AsyncUserService(new UserService(db.userDAO(), db.adminDAO(),
+                    db.memberDAO(), db.trainerDAO(), db.workoutClassDAO(), db.unitOfWorkRunner()), executor);
+            db.memberDAO().createMember(new Member(0, "Async Login", PasswordUtil.hashPassword("asyncPass"),
+                    "asynclogin@memory.test", "000", "1 Main St"));
+            long databaseCalls = executor.getStats().get(0).totalCalls();
+            long hashingCalls = executor.getStats().get(1).totalCalls();
+            boolean loggedIn = users.login("Async Login", "asyncPass", "async-test").join() != null;
+            boolean unknownRefused = users.login("Nobody", "asyncPass", "async-test").join() == null;
+            System.out.println("Async login split across bulkheads: " + (loggedIn && unknownRefused
+                    && executor.getStats().get(0).totalCalls() - databaseCalls == 2
+                    && executor.getStats().get(1).totalCalls() - hashingCalls == 1));
+            System.out.println("Bulkheads: " + executor.getStats());
+        }
+
+        Bulkhead bulkhead = new Bulkhead("test", 1, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try {
+                bulkhead.call(() -> {
+                    release.await();
+                    return null;
+                });
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+        holder.start();
+        while (bulkhead.getStats().active() == 0) {
+            Thread.onSpinWait();
+        }
+        try {
+            bulkhead.call(() -> null);
+            System.out.println("Bulkhead refused second caller: false");
+        } catch (RejectedExecutionException e) {
+            System.out.println("Bulkhead refused second caller: true");
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        release.countDown();
+
+        // A busy database bulkhead neither delays password calls nor queues past the wait limit
+        try (AsyncServiceExecutor executor = new AsyncServiceExecutor(1, 1, 50)) {
+            CountDownLatch dbRelease = new CountDownLatch(1);
+            CompletableFuture<Object> busy = executor.onDatabase(() -> dbRelease.await(1, TimeUnit.SECONDS));
+            CompletableFuture<Object> queued = executor.onDatabase(() -> null);
+            boolean passwordRan = "ok".equals(executor.onPasswordHashing(() -> "ok").get(500, TimeUnit.MILLISECONDS));
+            Thread.sleep(100);
+            dbRelease.countDown();
+            busy.join();
+            boolean queuedRefused = queued.handle((value, e) -> e instanceof RejectedExecutionException).join();
+            System.out.println("Password call ran while database busy: " + passwordRan
+                    + ", queued database call refused: " + queuedRefused);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        // Cancelling a queued call keeps it from ever running
+        try (AsyncServiceExecutor executor = new AsyncServiceExecutor(1, 1, 1_000)) {
+            CountDownLatch dbRelease = new CountDownLatch(1);
+            CompletableFuture<Object> busy = executor.onDatabase(() -> dbRelease.await(1, TimeUnit.SECONDS));
+            CompletableFuture<Object> cancelled = executor.onDatabase(() -> null);
+            cancelled.cancel(true);
+            dbRelease.countDown();
+            busy.join();
+            executor.onDatabase(() -> null).join();
+            System.out.println("Cancelled call never ran: " + (executor.getStats().get(0).totalCalls() == 2));
+        }
+    }
+
+    /**
+     * Tests loading a member dashboard over the in-memory DAOs.
+     */
+    private static void testMemberDashboardInMemory() {
+        System.out.println("\nTesting MemberDashboardService in memory...");
+        InMemoryDatabase db = new InMemoryDatabase();
+        UserService userService = new UserService(db.userDAO(), db.adminDAO(), db.memberDAO(), db.trainerDAO(),
+                db.workoutClassDAO(), db.unitOfWorkRunner());
+        MembershipService membershipService = new MembershipService(db.membershipDAO(),
+                new MembershipPlanCatalog(db.membershipPlanDAO()), db.unitOfWorkRunner());
+        MemberDashboardService dashboardService = new MemberDashboardService(userService, membershipService,
+                new WorkoutClassService(db.workoutClassDAO()), new GymMerchService(db.gymMerchDAO()));
+
+        Member member = new Member(0, "Dashboard Member", "hash", "dashboard@memory.test", "000", "1 Main St");
+        Trainer trainer = new Trainer(0, "Dashboard Trainer", "hash", "trainer@memory.test", "000", "1 Main St");
+        db.memberDAO().createMember(member);
+        db.trainerDAO().createTrainer(trainer);
+        for (int i = 0; i < 3; i++) {
+            db.workoutClassDAO().createWorkoutClass(new WorkoutClass(0, "Class " + i, "Description", trainer.getUserId()));
+            db.gymMerchDAO().addGymMerch(new GymMerch(0, "Item " + i, "Accessories", 5.0, 1));
+        }
+        for (MembershipPlan plan : membershipService.getAvailablePlans()) {
+            membershipService.purchasePlan(plan.getPlanId(), member.getUserId());
+        }
+
+        MemberDashboard dashboard = dashboardService.getDashboard(member.getUserId(), 2);
+        System.out.println("Dashboard: " + dashboard);
+        System.out.println("Spend matches expenses: "
+                + (Math.abs(dashboard.getTotalSpend() - membershipService.calculateMemberExpenses(member.getUserId())) < 0.001)
+                + ", lists capped: " + (dashboard.getWorkoutClasses().size() == 2 && dashboard.getGymMerch().size() == 2));
+        System.out.println("Trainer has no dashboard: " + (dashboardService.getDashboard(trainer.getUserId(), 2) == null));
+
+        // A failed member lookup is reported as a failure, not as "no such member"
+        UserDAO memoryUsers = db.userDAO();
+        UserDAO failingUsers = (UserDAO) Proxy.newProxyInstance(UserDAO.class.getClassLoader(),
+                new Class<?>[] { UserDAO.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("findUserById")) {
+                        throw new SQLException("database unavailable");
+                    }
+                    return method.invoke(memoryUsers, args);
+                });
+        MemberDashboardService failingDashboard = new MemberDashboardService(new UserService(failingUsers,
+                db.adminDAO(), db.memberDAO(), db.trainerDAO(), db.workoutClassDAO(), db.unitOfWorkRunner()),
+                membershipService, new WorkoutClassService(db.workoutClassDAO()), new GymMerchService(db.gymMerchDAO()));
+        boolean failureReported;
+        try {
+            failingDashboard.getDashboard(member.getUserId(), 2);
+            failureReported = false;
+        } catch (DataAccessException e) {
+            failureReported = true;
+        }
+        System.out.println("Failed member lookup reported: " + failureReported);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package utils;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * AppConfig
+ * Central access point for configuration values read from the .env file
+ * (falling back to process environment variables).
+ *
+ * <p>Numeric settings are parsed with a default so a missing or malformed
+ * entry never prevents the application from starting.</p>
+ */
+public final class AppConfig {
+    private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+
+    /**
+     * Default private constructor to prevent instantiation.
+     */
+    private AppConfig() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get a raw configuration value.
+     *
+     * @param key configuration key, e.g. DB_URL
+     * @return the value, or null if not set
+     */
+    public static String get(String key) {
+        return dotenv.get(key);
+    }
+
+    /**
+     * Get a configuration value with a default.
+     *
+     * @param key configuration key
+     * @param defaultValue value returned when the key is missing or blank
+     * @return the configured value or the default
+     */
+    public static String get(String key, String defaultValue) {
+        String value = dotenv.get(key);
+        return (value == null || value.isBlank()) ? defaultValue : value.trim();
+    }
+
+    /**
+     * Get an integer configuration value.
+     *
+     * @param key configuration key
+     * @param defaultValue value returned when the key is missing or not a number
+     * @return the parsed value or the default
+     */
+    public static int getInt(String key, int defaultValue) {
+        return (int) getLong(key, defaultValue);
+    }
+
+    /**
+     * Get a long configuration value.
+     *
+     * @param key configuration key
+     * @param defaultValue value returned when the key is missing or not a number
+     * @return the parsed value or the default
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number for " + key + ": '" + value + "', using " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * AsyncLogHandler
+ * A {@link Handler} that hands log records to a background writer thread.
+ *
+ * <p>{@link #publish(LogRecord)} only places the record in a bounded queue,
+ * so the calling thread never waits on file I/O or on the lock inside the
+ * underlying handlers. The writer thread drains the queue in batches, passes
+ * each record to the delegate handlers and flushes them once the queue is
+ * empty.</p>
+ *
+ * <p>When the queue is full the {@link OverflowPolicy} decides: DROP discards
+ * the record and counts it (a warning with the count is written once the
+ * writer catches up), BLOCK makes the caller wait for space.</p>
+ */
+public class AsyncLogHandler extends Handler {
+    /**
+     * What to do with a record when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the record and count it. */
+        DROP,
+        /** Wait until the writer frees a slot. */
+        BLOCK
+    }
+
+    private static final int DRAIN_BATCH = 256;
+
+    private final Handler[] delegates;
+    private final BlockingQueue<LogRecord> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+    private volatile boolean closed;
+
+    /**
+     * Creates the handler and starts its writer thread.
+     *
+     * @param capacity maximum number of records waiting to be written
+     * @param overflowPolicy behaviour when the queue is full
+     * @param delegates handlers that perform the actual output
+     */
+    public AsyncLogHandler(int capacity, OverflowPolicy overflowPolicy, Handler... delegates) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.delegates = delegates.clone();
+        this.writer = new Thread(this::drainLoop, "async-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a record for the writer thread.
+     *
+     * @param record the log record
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        // Caller information is only available on the calling thread.
+        record.getSourceMethodName();
+
+        if (queue.offer(record)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(record);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.increment();
+            }
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Flushes the delegates. Records still queued are written by the writer
+     * thread shortly afterwards.
+     */
+    @Override
+    public void flush() {
+        for (Handler delegate : delegates) {
+            delegate.flush();
+        }
+    }
+
+    /**
+     * Stops the writer thread after it has written every queued record,
+     * then closes the delegates.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<LogRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+        reportDropped();
+        for (Handler delegate : delegates) {
+            delegate.close();
+        }
+    }
+
+    /**
+     * Get the number of records discarded because the queue was full.
+     *
+     * @return dropped records since startup
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Get the number of records waiting to be written.
+     *
+     * @return queued records
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<LogRecord> batch = new ArrayList<>(DRAIN_BATCH);
+        while (!closed) {
+            try {
+                LogRecord first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                write(batch);
+                batch.clear();
+                if (queue.isEmpty()) {
+                    reportDropped();
+                    flush();
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts to stop the loop; remaining records are written there
+            } catch (RuntimeException e) {
+                reportError("Async log writer failed", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    private void write(List<LogRecord> records) {
+        for (LogRecord record : records) {
+            for (Handler delegate : delegates) {
+                delegate.publish(record);
+            }
+        }
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > droppedReported) {
+            LogRecord warning = new LogRecord(Level.WARNING,
+                    (total - droppedReported) + " log records dropped because the log queue was full");
+            warning.setLoggerName("GymLogger");
+            warning.setSourceClassName(AsyncLogHandler.class.getName());
+            warning.setSourceMethodName("publish");
+            droppedReported = total;
+            write(List.of(warning));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead
+ * Limits how many callers use a downstream resource at once, such as the
+ * database connection pool or the bcrypt executor.
+ *
+ * <p>A caller that finds every permit taken waits up to the configured time
+ * and is then refused with a {@link RejectedExecutionException}. Sizing the
+ * bulkhead to the resource keeps a burst of concurrent callers queued here,
+ * where waiting is cheap on a virtual thread, instead of timing out inside
+ * the pool or being refused by a full executor queue.</p>
+ */
+public final class Bulkhead {
+    private final String name;
+    private final int limit;
+    private final long waitMillis;
+    private final Semaphore permits;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a bulkhead.
+     *
+     * @param name resource name used in messages and statistics
+     * @param limit maximum number of concurrent calls
+     * @param waitMillis how long a caller waits for a permit
+     */
+    public Bulkhead(String name, int limit, long waitMillis) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        this.name = name;
+        this.limit = limit;
+        this.waitMillis = waitMillis;
+        this.permits = new Semaphore(limit, true);
+    }
+
+    /**
+     * Run a call while holding a permit.
+     *
+     * @param call the call to run
+     * @param <T> result type
+     * @return the call's result
+     * @throws RejectedExecutionException if no permit became free in time
+     * @throws Exception whatever the call throws
+     */
+    public <T> T call(Callable<T> call) throws Exception {
+        return call(call, System.nanoTime());
+    }
+
+    /**
+     * Run a call while holding a permit, counting the wait from an earlier
+     * moment, such as when the call was queued for a thread. A call that has
+     * already waited longer than the limit is refused without running.
+     *
+     * @param call the call to run
+     * @param waitStartNanos {@link System#nanoTime()} when the caller started waiting
+     * @param <T> result type
+     * @return the call's result
+     * @throws RejectedExecutionException if no permit became free in time
+     * @throws Exception whatever the call throws
+     */
+    public <T> T call(Callable<T> call, long waitStartNanos) throws Exception {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(waitMillis) - (System.nanoTime() - waitStartNanos);
+        boolean acquired;
+        try {
+            acquired = remaining > 0 && permits.tryAcquire(remaining, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for " + name, e);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new RejectedExecutionException("Timed out after " + waitMillis + " ms waiting for "
+                    + name + " (limit " + limit + ")");
+        }
+        calls.increment();
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the bulkhead counters.
+     *
+     * @return current statistics
+     */
+    public Stats getStats() {
+        return new Stats(name, limit, limit - permits.availablePermits(), permits.getQueueLength(),
+                calls.sum(), rejected.sum());
+    }
+
+    /**
+     * Point-in-time view of a bulkhead.
+     *
+     * @param name resource name
+     * @param limit maximum number of concurrent calls
+     * @param active calls currently running
+     * @param waiting callers currently waiting for a permit
+     * @param totalCalls calls admitted since startup
+     * @param totalRejected callers refused after waiting
+     */
+    public record Stats(String name, int limit, int active, int waiting, long totalCalls, long totalRejected) {
+    }
+}
@@ -0,0 +1,370 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConnectionPool
+ * A small bounded JDBC connection pool.
+ *
+ * <p>Connections handed out by {@link #getConnection()} are proxies around a
+ * physical connection. Calling {@code close()} on them returns the physical
+ * connection to the pool instead of closing it, so DAOs keep using the usual
+ * {@code try (Connection conn = DatabaseConnection.getcon())} pattern.</p>
+ *
+ * <p>The pool never holds more than {@code maxSize} physical connections.
+ * Borrowers wait at most {@code borrowTimeoutMillis} for a free slot.
+ * Idle connections are revalidated with {@link Connection#isValid(int)} when
+ * they have been idle longer than the validation interval, and retired once
+ * they exceed the idle timeout or maximum lifetime.</p>
+ */
+public class ConnectionPool implements AutoCloseable {
+    /** SQLState class for connection exceptions (broken socket, server shutdown, ...). */
+    private static final String CONNECTION_ERROR_CLASS = "08";
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * Creates a new pool. No connections are opened until they are first needed.
+     *
+     * @param url JDBC url
+     * @param user database user
+     * @param password database password
+     * @param maxSize maximum number of physical connections
+     * @param borrowTimeoutMillis how long a borrower waits for a free connection
+     * @param validationIntervalMillis idle time after which a connection is validated before reuse
+     * @param idleTimeoutMillis idle time after which a connection is closed instead of reused
+     * @param maxLifetimeMillis age after which a connection is retired
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize, long borrowTimeoutMillis,
+            long validationIntervalMillis, long idleTimeoutMillis, long maxLifetimeMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle
+     * connection is available and the pool is below its maximum size.
+     *
+     * @return a pooled connection; close it to return it to the pool
+     * @throws SQLTimeoutException if no connection became free within the borrow timeout
+     * @throws SQLException if the pool is closed or a new connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTimeoutException("Connection pool exhausted: timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        waitNanos.add(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = open();
+            }
+            active.incrementAndGet();
+            borrows.increment();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a connection so that {@code close()} only ends the caller's view
+     * of it and leaves the underlying connection open. Used when several
+     * operations share a connection owned by someone else.
+     *
+     * @param owned connection whose lifecycle is managed by the caller
+     * @return a view of the connection that ignores {@code close()}
+     */
+    public static Connection nonClosing(Connection owned) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            return null;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                            try {
+                                return method.invoke(owned, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Returns a snapshot of the pool counters.
+     *
+     * @return current pool statistics
+     */
+    public Stats getStats() {
+        long borrowCount = borrows.sum();
+        return new Stats(
+                maxSize,
+                active.get(),
+                idle.size(),
+                permits.getQueueLength(),
+                created.sum(),
+                destroyed.sum(),
+                borrowCount,
+                timeouts.sum(),
+                validationFailures.sum(),
+                borrowCount == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / borrowCount);
+    }
+
+    /**
+     * Closes all idle connections and rejects further borrows. Connections
+     * currently in use are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Takes the most recently returned idle connection that is still usable.
+     * Expired or invalid connections are discarded along the way.
+     */
+    private PooledConnection takeIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+        return null;
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        long idleFor = now - pooled.lastReturnedAt;
+        if (idleFor > idleTimeoutMillis || now - pooled.createdAt > maxLifetimeMillis) {
+            return false;
+        }
+        if (idleFor <= validationIntervalMillis) {
+            return true;
+        }
+        try {
+            if (pooled.physical.isValid(2)) {
+                return true;
+            }
+        } catch (SQLException e) {
+            // fall through and treat as invalid
+        }
+        validationFailures.increment();
+        return false;
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        created.increment();
+        return new PooledConnection(physical);
+    }
+
+    private void discard(PooledConnection pooled) {
+        destroyed.increment();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // already broken; nothing else to do
+        }
+    }
+
+    /**
+     * Puts a physical connection back into the pool after resetting any
+     * session state the borrower may have changed.
+     */
+    private void release(PooledConnection pooled) {
+        try {
+            if (closed || pooled.broken || pooled.physical.isClosed()) {
+                discard(pooled);
+                return;
+            }
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            if (pooled.physical.isReadOnly()) {
+                pooled.physical.setReadOnly(false);
+            }
+            if (pooled.physical.getTransactionIsolation() != pooled.defaultIsolation) {
+                pooled.physical.setTransactionIsolation(pooled.defaultIsolation);
+            }
+            pooled.physical.clearWarnings();
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            discard(pooled);
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private final int defaultIsolation;
+        private volatile long lastReturnedAt = createdAt;
+        private volatile boolean broken;
+
+        private PooledConnection(Connection physical) throws SQLException {
+            this.physical = physical;
+            this.defaultIsolation = physical.getTransactionIsolation();
+        }
+
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Lease(this));
+        }
+    }
+
+    /**
+     * Invocation handler behind each borrowed connection. Redirects
+     * {@code close()} to the pool and guards against use after close.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private volatile boolean returned;
+
+        private Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    synchronized (this) {
+                        if (!returned) {
+                            returned = true;
+                            release(pooled);
+                        }
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || pooled.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled" + pooled.physical;
+                }
+                default -> {
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                }
+            }
+
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sql && sql.getSQLState() != null
+                        && sql.getSQLState().startsWith(CONNECTION_ERROR_CLASS)) {
+                    pooled.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * Point-in-time view of the pool counters.
+     *
+     * @param maxSize maximum number of physical connections
+     * @param active connections currently borrowed
+     * @param idle connections waiting in the pool
+     * @param waiting threads currently waiting to borrow
+     * @param totalCreated physical connections opened since startup
+     * @param totalDestroyed physical connections closed since startup
+     * @param totalBorrows successful borrows since startup
+     * @param borrowTimeouts borrows that gave up waiting
+     * @param validationFailures idle connections found dead on borrow
+     * @param averageWaitMillis average time spent waiting for a free slot
+     */
+    public record Stats(int maxSize, int active, int idle, int waiting, long totalCreated, long totalDestroyed,
+            long totalBorrows, long borrowTimeouts, long validationFailures, double averageWaitMillis) {
+    }
+}
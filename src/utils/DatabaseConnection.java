@@ -1,44 +1,98 @@
 package utils;
 
 import java.sql.*;
-import io.github.cdimascio.dotenv.Dotenv;
 
 /**
  * DatabaseConnection class to manage database connections.
- * 
+ *
+ * <p>Connections are served from a bounded {@link ConnectionPool} so DAOs do
+ * not pay for a new TCP and authentication handshake on every call. Closing
+ * a connection obtained from {@link #getcon()} returns it to the pool.</p>
+ *
+ * <p>Pool settings are read from the .env file:
+ * DB_POOL_MAX_SIZE, DB_POOL_TIMEOUT_MS, DB_POOL_VALIDATION_MS,
+ * DB_POOL_IDLE_TIMEOUT_MS and DB_POOL_MAX_LIFETIME_MS.</p>
+ *
  * Author: Abiodun Magret Oyedele
  * Date: 2025-12-06
  */
 public class DatabaseConnection {
-    private static final Dotenv dotenv = Dotenv.load();
+    private static final String url = AppConfig.get("DB_URL");
+    private static final String user = AppConfig.get("DB_USER");
+    private static final String password = AppConfig.get("DB_PASSWORD");
 
-    private static final String url = dotenv.get("DB_URL");
-    private static final String user = dotenv.get("DB_USER");
-    private static final String password = dotenv.get("DB_PASSWORD");
+    private static final ConnectionPool pool;
+
+    static {
+        try {
+            Class.forName("org.postgresql.Driver");
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+        }
+        pool = new ConnectionPool(url, user, password,
+                AppConfig.getInt("DB_POOL_MAX_SIZE", 10),
+                AppConfig.getLong("DB_POOL_TIMEOUT_MS", 5_000),
+                AppConfig.getLong("DB_POOL_VALIDATION_MS", 5_000),
+                AppConfig.getLong("DB_POOL_IDLE_TIMEOUT_MS", 600_000),
+                AppConfig.getLong("DB_POOL_MAX_LIFETIME_MS", 1_800_000));
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "db-pool-shutdown"));
+    }
 
     /**
      * Default constructor for DatabaseConnection.
      * Initializes the database connection parameters.
-     * 
+     *
      */
     public DatabaseConnection() {
         // Constructor can be used for initialization if needed
     }
 
     /**
-     * Get a connection to the database.
+     * Get a pooled connection to the database.
+     * Close the connection (e.g. with try-with-resources) to return it to the pool.
+     * Inside a {@link UnitOfWork} this returns the unit's connection instead,
+     * and closing it leaves the transaction open.
+     *
      * @return Connection object
+     * @throws SQLException if no connection could be obtained, including when
+     *         the pool stays exhausted for DB_POOL_TIMEOUT_MS
      */
-    public static Connection getcon() {
-        Connection connection = null;
-        try {
-            Class.forName("org.postgresql.Driver");
-            connection = DriverManager.getConnection(url, user, password);
-            System.out.println(connection);
-        } catch (ClassNotFoundException | SQLException e) {
-            e.printStackTrace();
+    public static Connection getcon() throws SQLException {
+        Connection unitConnection = UnitOfWork.participant();
+        if (unitConnection != null) {
+            return unitConnection;
         }
-        return connection;
+        return pool.getConnection();
+    }
+
+    /**
+     * Open a connection outside the pool, for long-lived work such as
+     * LISTEN that would otherwise hold a pooled connection forever.
+     * The caller must close it.
+     *
+     * @return a new connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    public static Connection openDedicated() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    /**
+     * Get the shared connection pool.
+     *
+     * @return the application connection pool
+     */
+    public static ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Get a snapshot of the connection pool statistics.
+     *
+     * @return pool statistics
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        return pool.getStats();
     }
 
     /**
@@ -46,11 +100,12 @@ public class DatabaseConnection {
      * @param args Command line arguments
      */
     public static void main(String[] args) {
-        Connection conn = getcon();
-        if (conn != null) {
-            System.out.println("Connection successful!");
-        } else {
+        try (Connection conn = getcon()) {
+            System.out.println("Connection successful: " + conn.isValid(2));
+        } catch (SQLException e) {
             System.out.println("Connection failed.");
+            e.printStackTrace();
         }
+        System.out.println(getPoolStats());
     }
-}
\ No newline at end of file
+}
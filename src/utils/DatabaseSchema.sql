@@ -1,5 +1,9 @@
 
 
+-- The application creates the tables, indexes and triggers below itself
+-- at startup (utils/SchemaMigrator.java). This script is only needed to
+-- create the database and grant permissions, or to set up by hand.
+
 -- ===========================
 -- Create Database
 -- ===========================
@@ -88,3 +92,22 @@ ON CONFLICT DO NOTHING;
 -- Grant permissions on MembershipPlans table and sequence
 GRANT SELECT, INSERT, UPDATE, DELETE ON MembershipPlans TO <DBUSER>;
 GRANT USAGE, SELECT, UPDATE ON SEQUENCE MembershipPlans_planId_seq TO <DBUSER>;
+
+-- ===========================
+-- Cache invalidation
+-- ===========================
+-- Application instances cache the plan catalog and LISTEN on the
+-- gym_cache_invalidation channel. Plans are edited outside the application,
+-- so announce every change here in the same 'Table:key' format the DAOs use.
+CREATE OR REPLACE FUNCTION notify_membership_plans_change() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('gym_cache_invalidation',
+                      'MembershipPlans:' || COALESCE(NEW.planId, OLD.planId));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS membership_plans_notify ON MembershipPlans;
+CREATE TRIGGER membership_plans_notify
+    AFTER INSERT OR UPDATE OR DELETE ON MembershipPlans
+    FOR EACH ROW EXECUTE FUNCTION notify_membership_plans_change();
@@ -0,0 +1,147 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram
+ * A fixed-size, lock-free histogram of durations in nanoseconds.
+ *
+ * <p>Buckets are log-linear: every power of two is split into
+ * {@value #SUB_BUCKETS} equal sub-buckets, so any recorded value is known to
+ * within 12.5% while the whole range of a {@code long} fits in under 500
+ * counters. Recording is one array increment and never allocates, so it can
+ * sit on every DAO call. Percentiles are computed from a copy of the
+ * counters when a {@link Snapshot} is taken.</p>
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Record one duration.
+     *
+     * @param nanos duration in nanoseconds; negative values count as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Take a point-in-time summary. Concurrent recordings may or may not be
+     * included.
+     *
+     * @return count, mean, percentiles and maximum
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long maxNanos = max.get();
+        return new Snapshot(count, count == 0 ? 0 : sum.sum() / count,
+                percentile(copy, count, 0.50, maxNanos),
+                percentile(copy, count, 0.95, maxNanos),
+                percentile(copy, count, 0.99, maxNanos),
+                maxNanos);
+    }
+
+    /**
+     * Get the number of recorded values at or below each bound, for
+     * cumulative (Prometheus-style) histogram buckets.
+     *
+     * @param boundsNanos upper bounds in ascending order
+     * @return cumulative count per bound
+     */
+    public long[] cumulativeCounts(long[] boundsNanos) {
+        long[] result = new long[boundsNanos.length];
+        long running = 0;
+        int bucket = 0;
+        for (int b = 0; b < boundsNanos.length; b++) {
+            while (bucket < BUCKETS && upperBound(bucket) <= boundsNanos[b]) {
+                running += counts.get(bucket++);
+            }
+            result[b] = running;
+        }
+        return result;
+    }
+
+    /**
+     * Get the sum of all recorded values.
+     *
+     * @return total nanoseconds recorded
+     */
+    public long sumNanos() {
+        return sum.sum();
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return values recorded
+     */
+    public long count() {
+        return total.sum();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** Largest value that falls into the bucket. */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lower + width - 1;
+    }
+
+    private static long percentile(long[] counts, long count, double quantile, long maxNanos) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Summary of a histogram; all durations are in nanoseconds.
+     *
+     * @param count values recorded
+     * @param meanNanos average value
+     * @param p50Nanos median
+     * @param p95Nanos 95th percentile
+     * @param p99Nanos 99th percentile
+     * @param maxNanos largest value
+     */
+    public record Snapshot(long count, long meanNanos, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+    }
+}
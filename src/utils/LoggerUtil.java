@@ -1,19 +1,36 @@
 package utils;
 
 import java.io.IOException;
-import java.util.logging.FileHandler;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.logging.SimpleFormatter;
 
 /**
  * LoggerUtil class to manage logging.
+ *
+ * <p>Records are written asynchronously: callers only enqueue them on an
+ * {@link AsyncLogHandler}, whose background thread writes to gym_log.txt
+ * (and to the console when LOG_CONSOLE=true). gym_log.txt is rolled over
+ * daily or at LOG_MAX_BYTES, and old segments are gzipped and kept for
+ * LOG_RETENTION_DAYS; see {@link RollingFileHandler}. Log calls should pass a
+ * Supplier, e.g. {@code logger.info(() -> "Loaded " + n)}, so the message
+ * is only built when the level is enabled.</p>
+ *
+ * <p>LOG_QUEUE_SIZE sets how many records may wait (default 8192) and
+ * LOG_OVERFLOW chooses DROP (default) or BLOCK when the queue is full.</p>
  * 
  * Author: Abiodun Magret Oyedele
  * Date: 2025-12-06
  */
 public class LoggerUtil {
     private static Logger logger = Logger.getLogger("GymLogger");
+    private static AsyncLogHandler asyncHandler;
+    private static RollingFileHandler fileHandler;
 
     /**
      * Default private constructor to prevent instantiation.
@@ -28,14 +45,30 @@ public class LoggerUtil {
      * 
      */
     static {
+        List<Handler> sinks = new ArrayList<>();
         try {
-            FileHandler fh = new FileHandler("gym_log.txt", true);
-            fh.setFormatter(new SimpleFormatter());
-            logger.addHandler(fh);
-            logger.setLevel(Level.INFO);
+            fileHandler = new RollingFileHandler("gym_log.txt",
+                    AppConfig.getLong("LOG_MAX_BYTES", 10L * 1024 * 1024),
+                    AppConfig.getInt("LOG_RETENTION_DAYS", 30));
+            sinks.add(fileHandler);
         } catch (IOException e) {
             e.printStackTrace();
         }
+        if (Boolean.parseBoolean(AppConfig.get("LOG_CONSOLE", "false"))) {
+            sinks.add(new ConsoleHandler());
+        }
+
+        AsyncLogHandler.OverflowPolicy policy;
+        try {
+            policy = AsyncLogHandler.OverflowPolicy.valueOf(AppConfig.get("LOG_OVERFLOW", "DROP").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            policy = AsyncLogHandler.OverflowPolicy.DROP;
+        }
+        asyncHandler = new AsyncLogHandler(AppConfig.getInt("LOG_QUEUE_SIZE", 8192), policy,
+                sinks.toArray(new Handler[0]));
+        logger.addHandler(asyncHandler);
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.INFO);
     }
 
     /**
@@ -46,4 +79,25 @@ public class LoggerUtil {
     public static Logger getLogger() {
         return logger;
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the asynchronous handler behind the logger, e.g. to read its
+     * dropped-record count.
+     *
+     * @return the async log handler
+     */
+    public static AsyncLogHandler getAsyncHandler() {
+        return asyncHandler;
+    }
+
+    /**
+     * Find the log files holding records from the given day, e.g. to
+     * search one day's activity without scanning the whole history.
+     *
+     * @param date the day to look up
+     * @return matching log files, oldest first; gzipped unless still active
+     */
+    public static List<Path> getLogFilesFor(LocalDate date) {
+        return fileHandler == null ? List.of() : fileHandler.segmentsFor(date);
+    }
+}
@@ -0,0 +1,270 @@
+package utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics
+ * Call counts, error counts and latency histograms per operation.
+ *
+ * <p>Operations are named {@code Class.method}. DAOs are timed by wrapping
+ * them once in {@link dao.TimedDAO}, which names each call after the DAO
+ * interface and method. Service methods wrap their body in
+ * {@link #time(String, TimedCall)}. Both report errors they handle
+ * themselves with {@link #markFailed()}.</p>
+ *
+ * <p>All counters are {@link LongAdder}s and {@link LatencyHistogram}s, so
+ * concurrent callers do not contend. {@link #snapshot()} returns the
+ * current figures for every operation. Set METRICS_ENABLED=false to turn
+ * collection off.</p>
+ */
+public final class Metrics {
+    private static final boolean enabled = Boolean.parseBoolean(AppConfig.get("METRICS_ENABLED", "true"));
+    private static final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private static final ThreadLocal<boolean[]> failedFlag = new ThreadLocal<>();
+
+    private Metrics() {
+        // Utility class
+    }
+
+    /**
+     * A timed operation that returns a value and may throw a checked exception.
+     *
+     * @param <T> result type
+     * @param <E> checked exception type
+     */
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Exception> {
+        /**
+         * Run the operation.
+         *
+         * @return the result
+         * @throws E if the operation fails
+         */
+        T call() throws E;
+    }
+
+    /**
+     * A timed operation without a result that may throw a checked exception.
+     *
+     * @param <E> checked exception type
+     */
+    @FunctionalInterface
+    public interface TimedRun<E extends Exception> {
+        /**
+         * Run the operation.
+         *
+         * @throws E if the operation fails
+         */
+        void run() throws E;
+    }
+
+    /**
+     * Check whether metrics are being collected.
+     *
+     * @return false when METRICS_ENABLED=false
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get (or create) the timer for an operation.
+     *
+     * @param name operation name, e.g. {@code MembershipDAO.getMembershipsByMemberId}
+     * @return the timer
+     */
+    public static Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    /**
+     * Run an operation and record its duration. It counts as an error if it
+     * throws or calls {@link #markFailed()}.
+     *
+     * @param name operation name
+     * @param call the operation
+     * @param <T> result type
+     * @param <E> checked exception type
+     * @return the operation's result
+     * @throws E if the operation throws
+     */
+    public static <T, E extends Exception> T time(String name, TimedCall<T, E> call) throws E {
+        if (!enabled) {
+            return call.call();
+        }
+        boolean[] outer = failedFlag.get();
+        boolean[] failed = new boolean[1];
+        failedFlag.set(failed);
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } catch (Exception | Error e) {
+            failed[0] = true;
+            throw e;
+        } finally {
+            timer(name).record(System.nanoTime() - start, failed[0]);
+            failedFlag.set(outer);
+        }
+    }
+
+    /**
+     * Run an operation without a result and record its duration.
+     *
+     * @param name operation name
+     * @param run the operation
+     * @param <E> checked exception type
+     * @throws E if the operation throws
+     */
+    public static <E extends Exception> void run(String name, TimedRun<E> run) throws E {
+        time(name, () -> {
+            run.run();
+            return null;
+        });
+    }
+
+    /**
+     * Count the innermost operation running on this thread as failed even
+     * though it returns normally. Called from catch blocks that log and
+     * swallow the exception.
+     */
+    public static void markFailed() {
+        boolean[] failed = failedFlag.get();
+        if (failed != null) {
+            failed[0] = true;
+        }
+    }
+
+    /**
+     * Get the current figures for every operation, ordered by name.
+     *
+     * @return snapshot per operation name
+     */
+    public static Map<String, Timer.Snapshot> snapshot() {
+        Map<String, Timer.Snapshot> snapshot = new TreeMap<>();
+        timers.forEach((name, timer) -> snapshot.put(name, timer.snapshot()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Get the current figures for one operation.
+     *
+     * @param name operation name
+     * @return the snapshot, or null if the operation has not run yet
+     */
+    public static Timer.Snapshot snapshot(String name) {
+        Timer timer = timers.get(name);
+        return timer == null ? null : timer.snapshot();
+    }
+
+    /**
+     * Get the live timers, e.g. to export their histograms.
+     *
+     * @return timers by operation name
+     */
+    public static Map<String, Timer> timers() {
+        return Collections.unmodifiableMap(timers);
+    }
+
+    /**
+     * Discard all collected figures.
+     */
+    public static void reset() {
+        timers.clear();
+    }
+
+    /**
+     * Counters and latency histogram for one operation.
+     */
+    public static final class Timer {
+        private final String name;
+        private final long createdAt = System.nanoTime();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Record one call.
+         *
+         * @param nanos how long it took
+         * @param failed whether it failed
+         */
+        public void record(long nanos, boolean failed) {
+            latency.record(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        /**
+         * Get the operation name.
+         *
+         * @return name of the operation
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the number of failed calls.
+         *
+         * @return errors since startup
+         */
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /**
+         * Get the underlying latency histogram.
+         *
+         * @return the histogram
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * Take a point-in-time summary.
+         *
+         * @return current figures
+         */
+        public Snapshot snapshot() {
+            LatencyHistogram.Snapshot histogram = latency.snapshot();
+            double seconds = (System.nanoTime() - createdAt) / 1e9;
+            return new Snapshot(name, histogram.count(), errors.sum(),
+                    seconds > 0 ? histogram.count() / seconds : 0.0,
+                    histogram.meanNanos() / 1e6, histogram.p50Nanos() / 1e6, histogram.p95Nanos() / 1e6,
+                    histogram.p99Nanos() / 1e6, histogram.maxNanos() / 1e6);
+        }
+
+        /**
+         * Point-in-time figures for one operation; latencies are in milliseconds.
+         *
+         * @param name operation name
+         * @param calls calls since startup
+         * @param errors failed calls since startup
+         * @param callsPerSecond average throughput since the first call
+         * @param meanMillis average latency
+         * @param p50Millis median latency
+         * @param p95Millis 95th percentile latency
+         * @param p99Millis 99th percentile latency
+         * @param maxMillis slowest call
+         */
+        public record Snapshot(String name, long calls, long errors, double callsPerSecond, double meanMillis,
+                double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+            @Override
+            public String toString() {
+                return String.format("%s calls=%d errors=%d rate=%.1f/s mean=%.2fms p50=%.2fms p95=%.2fms"
+                        + " p99=%.2fms max=%.2fms", name, calls, errors, callsPerSecond, meanMillis, p50Millis,
+                        p95Millis, p99Millis, maxMillis);
+            }
+        }
+    }
+}
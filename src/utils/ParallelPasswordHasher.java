@@ -0,0 +1,223 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * ParallelPasswordHasher
+ * Spreads bcrypt hashing across a bounded pool of worker threads.
+ *
+ * <p>bcrypt is CPU bound, so the pool defaults to one thread per core and a
+ * queue a few times that size. When the queue is full, {@link #hashAsync}
+ * blocks the caller until a worker frees a slot instead of buffering an
+ * unbounded backlog of plaintext passwords in memory;
+ * {@link #tryHashAsync} returns at once instead.</p>
+ *
+ * <p>Pool size and queue capacity come from PASSWORD_HASH_THREADS and
+ * PASSWORD_HASH_QUEUE in the .env file.</p>
+ */
+public class ParallelPasswordHasher implements AutoCloseable {
+    private static final Logger logger = LoggerUtil.getLogger();
+
+    private static volatile ParallelPasswordHasher shared;
+
+    private final Function<String, String> hashFunction;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+    private final int threads;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    /**
+     * Creates a hasher that uses {@link PasswordUtil#hashPassword(String)}.
+     *
+     * @param threads number of worker threads
+     * @param queueCapacity number of hashes that may wait for a worker
+     */
+    public ParallelPasswordHasher(int threads, int queueCapacity) {
+        this(threads, queueCapacity, PasswordUtil::hashPassword);
+    }
+
+    /**
+     * Creates a hasher with a custom hash function.
+     *
+     * @param threads number of worker threads
+     * @param queueCapacity number of hashes that may wait for a worker
+     * @param hashFunction turns a plaintext password into a stored hash
+     */
+    public ParallelPasswordHasher(int threads, int queueCapacity, Function<String, String> hashFunction) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("threads and queueCapacity must be positive");
+        }
+        this.threads = threads;
+        this.hashFunction = hashFunction;
+        this.slots = new Semaphore(threads + queueCapacity);
+        // The semaphore is the real bound. The executor queue is sized for every
+        // outstanding slot so a worker that has released its slot but not yet
+        // polled the queue can never cause a rejection.
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads + queueCapacity), daemonThreads("password-hasher"));
+    }
+
+    /**
+     * Get the application-wide hasher, created on first use.
+     *
+     * @return the shared hasher
+     */
+    public static ParallelPasswordHasher getShared() {
+        if (shared == null) {
+            synchronized (ParallelPasswordHasher.class) {
+                if (shared == null) {
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    int threads = AppConfig.getInt("PASSWORD_HASH_THREADS", cores);
+                    shared = new ParallelPasswordHasher(threads, AppConfig.getInt("PASSWORD_HASH_QUEUE", threads * 4));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Hashes a password on a worker thread. Blocks while the queue is full.
+     *
+     * @param plainTextPassword plaintext password to hash
+     * @return future completed with the hash
+     */
+    public CompletableFuture<String> hashAsync(String plainTextPassword) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        return submit(plainTextPassword);
+    }
+
+    /**
+     * Hashes a password on a worker thread if a queue slot is free right
+     * now. Never blocks, so it is safe to call from latency-sensitive
+     * threads for work that can be skipped and retried later.
+     *
+     * @param plainTextPassword plaintext password to hash
+     * @return future completed with the hash, or null if the queue is full
+     */
+    public CompletableFuture<String> tryHashAsync(String plainTextPassword) {
+        if (!slots.tryAcquire()) {
+            return null;
+        }
+        return submit(plainTextPassword);
+    }
+
+    /**
+     * Runs the hash on the executor; the caller already holds a slot.
+     */
+    private CompletableFuture<String> submit(String plainTextPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    String hash = hashFunction.apply(plainTextPassword);
+                    completed.increment();
+                    return hash;
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    throw e;
+                } finally {
+                    hashNanos.add(System.nanoTime() - start);
+                    slots.release();
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            slots.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Hashes a list of passwords in parallel and waits for all of them.
+     * A null entry produces a null hash.
+     *
+     * @param plainTextPasswords passwords to hash
+     * @return hashes in the same order as the input
+     * @throws CompletionException if any hash fails
+     */
+    public List<String> hashAll(List<String> plainTextPasswords) {
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> futures = new ArrayList<>(plainTextPasswords.size());
+        for (String password : plainTextPasswords) {
+            futures.add(password == null ? CompletableFuture.completedFuture(null) : hashAsync(password));
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        for (CompletableFuture<String> future : futures) {
+            hashes.add(future.join());
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        logger.info(() -> "Hashed " + hashes.size() + " passwords in " + elapsedMillis + " ms ("
+                + (hashes.size() * 1000L / elapsedMillis) + "/s on " + threads + " threads)");
+        return hashes;
+    }
+
+    /**
+     * Returns a snapshot of the hashing counters.
+     *
+     * @return current hasher statistics
+     */
+    public Stats getStats() {
+        long done = completed.sum();
+        double averageMillis = done == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / done;
+        return new Stats(threads, executor.getActiveCount(), executor.getQueue().size(), done, failed.sum(),
+                averageMillis, averageMillis == 0.0 ? 0.0 : threads * 1000.0 / averageMillis);
+    }
+
+    /**
+     * Stops accepting work and lets queued hashes finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Thread factory for named daemon workers, so an idle pool never keeps the JVM alive.
+     *
+     * @param prefix thread name prefix
+     * @return the thread factory
+     */
+    static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Point-in-time view of the hasher counters.
+     *
+     * @param threads worker threads
+     * @param active hashes currently running
+     * @param queued hashes waiting for a worker
+     * @param completed hashes finished since startup
+     * @param failed hashes that threw
+     * @param averageHashMillis average time of one hash
+     * @param capacityPerSecond hashes per second the pool can sustain at that average
+     */
+    public record Stats(int threads, int active, int queued, long completed, long failed,
+            double averageHashMillis, double capacityPerSecond) {
+    }
+}
@@ -11,6 +11,16 @@ import org.mindrot.jbcrypt.BCrypt;
  * This centralizes configuration (bcrypt workload) and prevents
  * accidental insecure handling elsewhere in the codebase.</p>
  *
+ * <p>The workload defaults to 12 and can be set per deployment with
+ * BCRYPT_COST, or chosen for the local hardware by setting BCRYPT_TARGET_MS
+ * and calling {@link #calibrateFromConfig()} at startup. Existing hashes keep
+ * working at their own cost and are upgraded (or downgraded) on the next
+ * successful login once their cost is more than BCRYPT_REHASH_TOLERANCE away
+ * from the current one. The tolerance defaults to 0 for a fixed cost and to
+ * 1 once calibrated, because instances calibrated on similar hardware can
+ * land either side of a cost boundary and would otherwise rehash the same
+ * users back and forth.</p>
+ *
  * <p>Where used: called by `services.UserService` during registration
  * and login flows and by DAOs when creating/updating user records to
  * ensure only bcrypt hashes are persisted.</p>
@@ -28,7 +38,30 @@ public class PasswordUtil {
     }
 
     // Higher = safer but slower; 10–12 is recommended for assignments
-    private static final int WORKLOAD = 12;
+    private static final int DEFAULT_WORKLOAD = 12;
+
+    /** Lowest cost calibration may choose, whatever the hardware. */
+    private static final int MIN_WORKLOAD = AppConfig.getInt("BCRYPT_MIN_COST", 10);
+
+    /** Highest cost calibration will try. */
+    private static final int MAX_WORKLOAD = AppConfig.getInt("BCRYPT_MAX_COST", 16);
+
+    /** Cost difference a stored hash may have before it is rehashed; -1 picks the default. */
+    private static final int REHASH_TOLERANCE = AppConfig.getInt("BCRYPT_REHASH_TOLERANCE", -1);
+
+    /**
+     * Cost used for new hashes. Taken from BCRYPT_COST until
+     * {@link #calibrate(long)} measures one for this machine.
+     */
+    private static volatile int workload = initialWorkload();
+
+    /** Whether {@link #workload} was measured on this machine rather than configured. */
+    private static volatile boolean calibrated;
+
+    private static int initialWorkload() {
+        int configured = AppConfig.getInt("BCRYPT_COST", DEFAULT_WORKLOAD);
+        return (configured < 4 || configured > 31) ? DEFAULT_WORKLOAD : configured;
+    }
 
     /**
      * Hash password using bcrypt with internally generated salt.
@@ -37,7 +70,105 @@ public class PasswordUtil {
      * @return hashed password
      */
     public static String hashPassword(String plainTextPassword) {
-        return BCrypt.hashpw(plainTextPassword, BCrypt.gensalt(WORKLOAD));
+        return BCrypt.hashpw(plainTextPassword, BCrypt.gensalt(workload));
+    }
+
+    /**
+     * Get the cost used for new hashes.
+     * @return current bcrypt cost (log2 rounds)
+     */
+    public static int getWorkload() {
+        return workload;
+    }
+
+    /**
+     * Set the cost used for new hashes.
+     * @param cost bcrypt cost between 4 and 31
+     */
+    public static void setWorkload(int cost) {
+        if (cost < 4 || cost > 31) {
+            throw new IllegalArgumentException("bcrypt cost must be between 4 and 31");
+        }
+        workload = cost;
+        calibrated = false;
+    }
+
+    /**
+     * Calibrate the cost if BCRYPT_TARGET_MS is set. Call once at startup,
+     * before serving logins, so the measurement never runs inside a login.
+     *
+     * @return the cost used for new hashes
+     */
+    public static int calibrateFromConfig() {
+        long targetMillis = AppConfig.getLong("BCRYPT_TARGET_MS", 0);
+        return targetMillis > 0 ? calibrate(targetMillis) : workload;
+    }
+
+    /**
+     * Measure hashing speed on this machine and use the highest cost whose
+     * hash time stays within the target. Each extra cost step doubles the
+     * time, so only a handful of hashes are needed.
+     *
+     * @param targetMillis longest acceptable time for one hash
+     * @return the chosen cost
+     */
+    public static int calibrate(long targetMillis) {
+        workload = measureWorkload(targetMillis);
+        calibrated = true;
+        return workload;
+    }
+
+    private static int measureWorkload(long targetMillis) {
+        BCrypt.hashpw("calibration", BCrypt.gensalt(MIN_WORKLOAD)); // warm up the JIT
+        int chosen = MIN_WORKLOAD;
+        for (int cost = MIN_WORKLOAD; cost <= MAX_WORKLOAD; cost++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", BCrypt.gensalt(cost));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (elapsedMillis > targetMillis) {
+                break;
+            }
+            chosen = cost;
+        }
+        LoggerUtil.getLogger().info("bcrypt calibrated to cost " + chosen + " for a " + targetMillis + " ms target");
+        return chosen;
+    }
+
+    /**
+     * Read the cost a stored hash was created with.
+     * @param storedHash bcrypt hash, e.g. {@code $2a$12$...}
+     *
+     * @return the cost, or -1 if the hash is not in bcrypt format
+     */
+    public static int getCost(String storedHash) {
+        if (storedHash == null || storedHash.length() < 7 || !storedHash.startsWith("$2")) {
+            return -1;
+        }
+        int costStart = storedHash.indexOf('$', 1) + 1;
+        if (costStart <= 0 || costStart + 2 > storedHash.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(storedHash.substring(costStart, costStart + 2));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Check whether a stored hash should be regenerated because its cost is
+     * further from the current one than BCRYPT_REHASH_TOLERANCE allows.
+     * @param storedHash bcrypt hash from storage
+     *
+     * @return true if the hash cost is outside the tolerance around the current workload
+     */
+    public static boolean needsRehash(String storedHash) {
+        int cost = getCost(storedHash);
+        if (cost < 0) {
+            return false;
+        }
+        int tolerance = REHASH_TOLERANCE >= 0 ? REHASH_TOLERANCE : (calibrated ? 1 : 0);
+        return Math.abs(cost - workload) > tolerance;
     }
 
     /**
@@ -0,0 +1,378 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * RollingFileHandler
+ * A log file {@link Handler} that starts a new file when the current one
+ * reaches a size limit or a new day begins.
+ *
+ * <p>The active file keeps its configured name (e.g. {@code gym_log.txt}).
+ * On rotation it is renamed to {@code gym_log.2025-12-20.1.txt} and gzipped
+ * on a background thread. Segments older than the retention period are
+ * deleted.</p>
+ *
+ * <p>Every rotated segment gets a line in an index file
+ * ({@code gym_log.txt.index}) holding its file name and the time of its first
+ * and last record, so {@link #segmentsFor(LocalDate)} can find one day's
+ * logs without opening any of them.</p>
+ */
+public class RollingFileHandler extends Handler {
+    private static final String INDEX_SEPARATOR = "\t";
+    /** How long to keep writing to the active file after a rotation fails before trying again. */
+    private static final long ROTATION_RETRY_MILLIS = 60_000;
+
+    private final Path activeFile;
+    private final Path indexFile;
+    private final long maxBytes;
+    private final int retentionDays;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final ExecutorService compressor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-compressor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Writer writer;
+    /** Bytes in the active file. */
+    private long size;
+    private long retryRotationAt;
+    private LocalDate segmentDate;
+    private long firstRecordMillis;
+    private long lastRecordMillis;
+
+    /**
+     * Opens (or continues) the active log file.
+     *
+     * @param fileName path of the active log file, e.g. gym_log.txt
+     * @param maxBytes size at which the file is rotated
+     * @param retentionDays days rotated segments are kept; 0 keeps them forever
+     * @throws IOException if the file cannot be opened
+     */
+    public RollingFileHandler(String fileName, long maxBytes, int retentionDays) throws IOException {
+        this.activeFile = Path.of(fileName).toAbsolutePath();
+        this.indexFile = activeFile.resolveSibling(activeFile.getFileName() + ".index");
+        this.maxBytes = maxBytes;
+        this.retentionDays = retentionDays;
+        setFormatter(new SimpleFormatter());
+
+        if (Files.exists(activeFile) && Files.size(activeFile) > 0) {
+            BasicFileAttributes attributes = Files.readAttributes(activeFile, BasicFileAttributes.class);
+            long modified = attributes.lastModifiedTime().toMillis();
+            firstRecordMillis = Math.min(attributes.creationTime().toMillis(), modified);
+            lastRecordMillis = modified;
+            segmentDate = toDate(modified);
+            if (!segmentDate.equals(LocalDate.now(zone)) || Files.size(activeFile) >= maxBytes) {
+                rotate();
+            }
+        }
+        if (writer == null) {
+            open();
+        }
+    }
+
+    /**
+     * Writes a record, rotating first if the day has changed or the file is full.
+     *
+     * @param record the log record
+     */
+    @Override
+    public synchronized void publish(LogRecord record) {
+        if (!isLoggable(record) || writer == null) {
+            return;
+        }
+        String message;
+        try {
+            message = getFormatter().format(record);
+        } catch (RuntimeException e) {
+            reportError(null, e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+
+        long millis = record.getMillis();
+        try {
+            if (size > 0 && (size >= maxBytes || !toDate(millis).equals(segmentDate))
+                    && System.currentTimeMillis() >= retryRotationAt) {
+                rotate();
+                if (writer == null) {
+                    return;
+                }
+            }
+            if (size == 0) {
+                firstRecordMillis = millis;
+                segmentDate = toDate(millis);
+            }
+            writer.write(message);
+            size += utf8Length(message);
+            lastRecordMillis = Math.max(lastRecordMillis, millis);
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    /**
+     * Flushes the active file.
+     */
+    @Override
+    public synchronized void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    /**
+     * Closes the active file and waits briefly for pending compression.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    reportError(null, e, ErrorManager.CLOSE_FAILURE);
+                }
+                writer = null;
+            }
+        }
+        compressor.shutdown();
+        try {
+            compressor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Find the log files that may contain records from the given day,
+     * oldest first. The active file is included when it covers that day.
+     *
+     * @param date the day to look up
+     * @return paths of the matching segments
+     */
+    public synchronized List<Path> segmentsFor(LocalDate date) {
+        long dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        long dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        List<Path> matches = new ArrayList<>();
+
+        for (IndexEntry entry : readIndex()) {
+            if (entry.first < dayEnd && entry.last >= dayStart) {
+                Path compressed = activeFile.resolveSibling(entry.fileName);
+                Path uncompressed = activeFile.resolveSibling(stripGz(entry.fileName));
+                if (Files.exists(compressed)) {
+                    matches.add(compressed);
+                } else if (Files.exists(uncompressed)) {
+                    matches.add(uncompressed);
+                }
+            }
+        }
+        if (size > 0 && firstRecordMillis < dayEnd && lastRecordMillis >= dayStart) {
+            matches.add(activeFile);
+        }
+        return matches;
+    }
+
+    /**
+     * Closes the active file, renames it to a dated segment, records it in
+     * the index and schedules compression and retention cleanup, then opens
+     * a new active file.
+     *
+     * <p>If the rename fails (disk full, file locked, permissions) the error
+     * is reported and the unrotated file is reopened, so logging carries on
+     * and rotation is retried after {@link #ROTATION_RETRY_MILLIS}. The
+     * writer is only left null if the active file cannot be reopened.</p>
+     */
+    private void rotate() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                reportError("Could not close " + activeFile, e, ErrorManager.CLOSE_FAILURE);
+            }
+            writer = null;
+        }
+        try {
+            String base = baseName();
+            int sequence = 1;
+            Path segment;
+            do {
+                segment = activeFile.resolveSibling(base + "." + segmentDate + "." + sequence++ + extension());
+            } while (Files.exists(segment) || Files.exists(Path.of(segment + ".gz")));
+            Files.move(activeFile, segment);
+
+            Path rotated = segment;
+            try {
+                Files.writeString(indexFile,
+                        rotated.getFileName() + ".gz" + INDEX_SEPARATOR + firstRecordMillis + INDEX_SEPARATOR
+                                + lastRecordMillis + System.lineSeparator(),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                reportError("Could not index " + rotated, e, ErrorManager.WRITE_FAILURE);
+            }
+            compressor.execute(() -> {
+                compress(rotated);
+                deleteExpired();
+            });
+        } catch (IOException e) {
+            reportError("Could not rotate " + activeFile, e, ErrorManager.GENERIC_FAILURE);
+            retryRotationAt = System.currentTimeMillis() + ROTATION_RETRY_MILLIS;
+        } finally {
+            try {
+                open();
+            } catch (IOException e) {
+                reportError("Could not reopen " + activeFile, e, ErrorManager.OPEN_FAILURE);
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        size = Files.exists(activeFile) ? Files.size(activeFile) : 0;
+        writer = Files.newBufferedWriter(activeFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void compress(Path segment) {
+        Path target = Path.of(segment + ".gz");
+        try (InputStream in = Files.newInputStream(segment);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            reportError("Could not compress " + segment, e, ErrorManager.GENERIC_FAILURE);
+            return;
+        }
+        try {
+            Files.delete(segment);
+        } catch (IOException e) {
+            reportError("Could not delete " + segment, e, ErrorManager.GENERIC_FAILURE);
+        }
+    }
+
+    /**
+     * Deletes segments whose last record is older than the retention period
+     * and rewrites the index without them.
+     */
+    private void deleteExpired() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        long cutoff = Instant.now().minus(Duration.ofDays(retentionDays)).toEpochMilli();
+        synchronized (this) {
+            List<IndexEntry> entries = readIndex();
+            List<String> kept = new ArrayList<>();
+            boolean changed = false;
+            for (IndexEntry entry : entries) {
+                if (entry.last < cutoff) {
+                    try {
+                        Files.deleteIfExists(activeFile.resolveSibling(entry.fileName));
+                        Files.deleteIfExists(activeFile.resolveSibling(stripGz(entry.fileName)));
+                    } catch (IOException e) {
+                        reportError("Could not delete " + entry.fileName, e, ErrorManager.GENERIC_FAILURE);
+                    }
+                    changed = true;
+                } else {
+                    kept.add(entry.fileName + INDEX_SEPARATOR + entry.first + INDEX_SEPARATOR + entry.last);
+                }
+            }
+            if (changed) {
+                try {
+                    Files.write(indexFile, kept, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    reportError("Could not rewrite " + indexFile, e, ErrorManager.GENERIC_FAILURE);
+                }
+            }
+        }
+    }
+
+    private List<IndexEntry> readIndex() {
+        List<IndexEntry> entries = new ArrayList<>();
+        if (!Files.exists(indexFile)) {
+            return entries;
+        }
+        try {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(INDEX_SEPARATOR);
+                if (parts.length == 3) {
+                    entries.add(new IndexEntry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            reportError("Could not read " + indexFile, e, ErrorManager.GENERIC_FAILURE);
+        }
+        return entries;
+    }
+
+    private LocalDate toDate(long millis) {
+        return Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+    }
+
+    private String baseName() {
+        String name = activeFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private String extension() {
+        String name = activeFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(dot) : "";
+    }
+
+    /**
+     * Number of bytes a string takes in UTF-8, without encoding it.
+     */
+    private static long utf8Length(String text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static String stripGz(String fileName) {
+        return fileName.endsWith(".gz") ? fileName.substring(0, fileName.length() - 3) : fileName;
+    }
+
+    /**
+     * One line of the segment index.
+     */
+    private record IndexEntry(String fileName, long first, long last) {
+    }
+}
@@ -0,0 +1,293 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * SchemaMigrator
+ * Creates and upgrades the database schema at startup.
+ *
+ * <p>Each {@link Migration} has a version number and is applied once, in
+ * order, in its own transaction. Applied versions are recorded in the
+ * {@code schema_version} table. Every migration is written to be safe on a
+ * database that was set up by hand from DatabaseSchema.sql
+ * ({@code IF NOT EXISTS}, {@code CREATE OR REPLACE}), so existing
+ * installations simply catch up. A migration that existing data could
+ * break (e.g. a new unique index) first runs a conflict query; if it finds
+ * rows, they are logged with what to do about them and the migration is not
+ * applied, leaving the earlier versions in place.</p>
+ *
+ * <p>Several application instances may start together; a PostgreSQL
+ * advisory lock makes them apply migrations one at a time, and each one
+ * re-reads the current version after taking the lock. Set
+ * SCHEMA_MIGRATE=false to skip migrations (e.g. when the application's
+ * database user may not run DDL).</p>
+ */
+public final class SchemaMigrator {
+    private static final Logger logger = LoggerUtil.getLogger();
+
+    /** Advisory lock key shared by every instance of the application. */
+    private static final long LOCK_KEY = 0x67796d5f6462L; // "gym_db"
+
+    /** SQLSTATE reported before schema_version has been created. */
+    private static final String UNDEFINED_TABLE = "42P01";
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Create tables", """
+                CREATE TABLE IF NOT EXISTS Users (
+                    userId SERIAL PRIMARY KEY,
+                    userName TEXT NOT NULL,
+                    userAddress TEXT,
+                    userPhoneNumber TEXT,
+                    userRole TEXT CHECK (userRole IN ('Admin', 'Trainer', 'Member')) NOT NULL,
+                    passwordHash TEXT NOT NULL,
+                    email TEXT UNIQUE NOT NULL
+                );
+
+                CREATE TABLE IF NOT EXISTS Memberships (
+                    membershipID SERIAL PRIMARY KEY,
+                    membershipType TEXT NOT NULL,
+                    membershipDescription TEXT,
+                    membershipCost DOUBLE PRECISION NOT NULL,
+                    memberID INT NOT NULL,
+                    FOREIGN KEY (memberID) REFERENCES Users(userId) ON DELETE CASCADE
+                );
+
+                CREATE TABLE IF NOT EXISTS WorkoutClasses (
+                    workoutClassID SERIAL PRIMARY KEY,
+                    workoutClassType TEXT NOT NULL,
+                    workoutClassDescription TEXT,
+                    trainerID INT,
+                    FOREIGN KEY (trainerID) REFERENCES Users(userId) ON DELETE SET NULL
+                );
+
+                CREATE TABLE IF NOT EXISTS GymMerch (
+                    merchID SERIAL PRIMARY KEY,
+                    merchName TEXT NOT NULL,
+                    merchType TEXT,
+                    merchPrice DOUBLE PRECISION NOT NULL,
+                    quantityInStock INT NOT NULL
+                );
+
+                CREATE TABLE IF NOT EXISTS MembershipPlans (
+                    planId SERIAL PRIMARY KEY,
+                    planType TEXT NOT NULL,
+                    planDescription TEXT,
+                    planPrice NUMERIC(10,2) NOT NULL,
+                    created_at TIMESTAMP WITH TIME ZONE DEFAULT now()
+                );
+
+                INSERT INTO MembershipPlans (planType, planDescription, planPrice)
+                SELECT * FROM (VALUES
+                    ('Basic',    'Access to gym during staffed hours. No classes.', 19.99),
+                    ('Standard', 'Access to gym + select group classes.',           39.99),
+                    ('Premium',  'All-access: gym, classes, and premium amenities.',69.99)
+                ) AS seed (planType, planDescription, planPrice)
+                WHERE NOT EXISTS (SELECT 1 FROM MembershipPlans);
+                """),
+            new Migration(2, "Indexes for DAO lookups", """
+                -- Login and registration look users up by userName and email
+                -- (userName is made unique by V5, which checks for duplicates first)
+                CREATE INDEX IF NOT EXISTS users_username_idx ON Users (userName);
+                CREATE UNIQUE INDEX IF NOT EXISTS users_email_key ON Users (email);
+
+                -- Role listings (WHERE userRole = '...' ORDER BY userId)
+                CREATE INDEX IF NOT EXISTS users_admin_idx ON Users (userId) WHERE userRole = 'Admin';
+                CREATE INDEX IF NOT EXISTS users_trainer_idx ON Users (userId) WHERE userRole = 'Trainer';
+                CREATE INDEX IF NOT EXISTS users_member_idx ON Users (userId) WHERE userRole = 'Member';
+
+                -- Foreign keys: per-member and per-trainer lookups, keyset pages and cascades
+                CREATE INDEX IF NOT EXISTS memberships_member_idx ON Memberships (memberID, membershipID);
+                CREATE INDEX IF NOT EXISTS workoutclasses_trainer_idx ON WorkoutClasses (trainerID, workoutClassID);
+
+                -- Merch pages filtered by type
+                CREATE INDEX IF NOT EXISTS gymmerch_type_idx ON GymMerch (merchType, merchID);
+                """),
+            new Migration(3, "Announce MembershipPlans changes on the cache invalidation channel", """
+                CREATE OR REPLACE FUNCTION notify_membership_plans_change() RETURNS trigger AS $$
+                BEGIN
+                    PERFORM pg_notify('gym_cache_invalidation',
+                                      'MembershipPlans:' || COALESCE(NEW.planId, OLD.planId));
+                    RETURN NULL;
+                END;
+                $$ LANGUAGE plpgsql;
+
+                DROP TRIGGER IF EXISTS membership_plans_notify ON MembershipPlans;
+                CREATE TRIGGER membership_plans_notify
+                    AFTER INSERT OR UPDATE OR DELETE ON MembershipPlans
+                    FOR EACH ROW EXECUTE FUNCTION notify_membership_plans_change();
+                """),
+            new Migration(4, "Index for the class directory's type filter", """
+                -- WHERE lower(workoutClassType) = lower(?) ORDER BY workoutClassID
+                CREATE INDEX IF NOT EXISTS workoutclasses_type_idx
+                    ON WorkoutClasses (lower(workoutClassType), workoutClassID);
+                """),
+            new Migration(5, "Unique userName", """
+                CREATE UNIQUE INDEX IF NOT EXISTS users_username_key ON Users (userName);
+                DROP INDEX IF EXISTS users_username_idx;
+                """, """
+                SELECT userName, COUNT(*) AS users
+                FROM Users
+                GROUP BY userName
+                HAVING COUNT(*) > 1
+                ORDER BY userName
+                LIMIT 50
+                """,
+                    "Rename or delete the duplicate users (e.g. UPDATE Users SET userName = userName || '-' || userId"
+                    + " WHERE userName = '<name>' AND userId <> <id to keep>), then restart the application."));
+
+    private SchemaMigrator() {
+        // Utility class
+    }
+
+    /**
+     * Apply every migration newer than the database's current version,
+     * unless SCHEMA_MIGRATE=false.
+     *
+     * @return number of migrations applied, or -1 if a migration failed
+     */
+    public static int migrate() {
+        if (!Boolean.parseBoolean(AppConfig.get("SCHEMA_MIGRATE", "true"))) {
+            logger.info("Schema migrations disabled (SCHEMA_MIGRATE=false)");
+            return 0;
+        }
+        int applied = 0;
+        try (Connection conn = DatabaseConnection.getcon()) {
+            conn.setAutoCommit(false);
+            for (Migration migration : MIGRATIONS) {
+                if (apply(conn, migration)) {
+                    applied++;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            logger.severe(() -> "Schema migration failed: " + e.getMessage());
+            return -1;
+        }
+        int count = applied;
+        logger.info(() -> "Schema is at version " + latestVersion() + " (" + count + " migrations applied)");
+        return applied;
+    }
+
+    /**
+     * Get the schema version recorded in the database.
+     *
+     * @return the highest applied version, 0 if none, or -1 if it could not be read
+     */
+    public static int currentVersion() {
+        try (Connection conn = DatabaseConnection.getcon()) {
+            return readVersion(conn);
+        } catch (SQLException e) {
+            if (UNDEFINED_TABLE.equals(e.getSQLState())) {
+                return 0;
+            }
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Get the version the code expects the database to be at.
+     *
+     * @return version of the newest migration
+     */
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    /**
+     * Applies one migration in its own transaction if it has not been
+     * applied yet. The advisory lock is held until the transaction ends.
+     */
+    private static boolean apply(Connection conn, Migration migration) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INT PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    installed_on TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+                )
+                """);
+            if (readVersion(conn) >= migration.version()) {
+                conn.commit();
+                return false;
+            }
+            checkPreconditions(conn, migration);
+            long start = System.nanoTime();
+            stmt.execute(migration.sql());
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                ps.setInt(1, migration.version());
+                ps.setString(2, migration.description());
+                ps.executeUpdate();
+            }
+            conn.commit();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            logger.info(() -> "Applied schema migration V" + migration.version() + " (" + migration.description()
+                    + ") in " + millis + " ms");
+            return true;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("V" + migration.version() + " (" + migration.description() + "): " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs a migration's precondition query. Every row it returns is a
+     * conflict that would make the migration fail, so the rows are logged
+     * with the remediation and the migration is refused before any DDL runs.
+     */
+    private static void checkPreconditions(Connection conn, Migration migration) throws SQLException {
+        if (migration.conflictsSql() == null) {
+            return;
+        }
+        StringBuilder conflicts = new StringBuilder();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(migration.conflictsSql())) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                conflicts.append("\n  ");
+                for (int i = 1; i <= columns; i++) {
+                    conflicts.append(i > 1 ? ", " : "").append(rs.getMetaData().getColumnLabel(i))
+                            .append('=').append(rs.getString(i));
+                }
+            }
+        }
+        if (conflicts.length() > 0) {
+            logger.severe(() -> "Schema migration V" + migration.version() + " (" + migration.description()
+                    + ") cannot be applied; conflicting rows:" + conflicts + "\n" + migration.remediation());
+            throw new SQLException("existing rows conflict; " + migration.remediation());
+        }
+    }
+
+    private static int readVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("""
+                SELECT COALESCE(MAX(version), 0)
+                FROM schema_version
+                """)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * One schema change.
+     *
+     * @param version position in the migration order, starting at 1
+     * @param description short summary recorded in schema_version
+     * @param sql statements to run
+     * @param conflictsSql query returning rows that would make the migration fail, or null
+     * @param remediation what the operator should do about such rows
+     */
+    private record Migration(int version, String description, String sql, String conflictsSql, String remediation) {
+        Migration(int version, String description, String sql) {
+            this(version, description, sql, null, null);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TokenBucketRateLimiter
+ * Limits how often an action may be performed per key (e.g. per username or
+ * per client address).
+ *
+ * <p>Each key owns a bucket holding up to {@code capacity} tokens that refills
+ * continuously at {@code refillPerSecond}. An attempt takes one token and is
+ * refused when the bucket is empty, so short bursts are allowed while the
+ * long-run rate is capped.</p>
+ *
+ * <p>Buckets are created on demand. When a new key takes the count past
+ * {@code maxKeys}, one sweep drops the full buckets (keys that have been
+ * quiet long enough to refill, which a fresh bucket would treat the same)
+ * and then the least recently used ones, down to 90% of {@code maxKeys}.
+ * The next sweep therefore waits for another 10% of new keys, so a flood of
+ * distinct keys costs an amortized constant per attempt rather than a scan
+ * of every bucket. Attempts for existing keys never sweep.</p>
+ */
+public class TokenBucketRateLimiter {
+    private final double capacity;
+    private final double refillPerNano;
+    private final int maxKeys;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a new limiter.
+     *
+     * @param capacity maximum burst size per key
+     * @param refillPerSecond tokens added per key per second
+     * @param maxKeys number of buckets kept before idle ones are evicted
+     */
+    public TokenBucketRateLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token for the key if one is available.
+     *
+     * @param key the key being limited
+     * @return true if the attempt is allowed, false if the key is over its rate
+     */
+    public boolean tryAcquire(String key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+            if (buckets.size() > maxKeys) {
+                sweep();
+            }
+        }
+        boolean allowed = bucket.tryTake();
+        if (!allowed) {
+            rejected.increment();
+        }
+        return allowed;
+    }
+
+    /**
+     * Get the number of attempts refused since startup.
+     *
+     * @return refused attempts
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Drops full buckets, then the least recently used ones, until the map
+     * is back to 90% of maxKeys. Only one thread sweeps at a time; the
+     * others carry on without waiting.
+     */
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(Bucket::isFull);
+            int target = maxKeys - maxKeys / 10;
+            int excess = buckets.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+            // lastUsed keeps changing, so sort on a copy of it
+            List<Candidate> oldestFirst = new ArrayList<>(buckets.size());
+            for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+                oldestFirst.add(new Candidate(entry.getKey(), entry.getValue(), entry.getValue().lastUsed));
+            }
+            oldestFirst.sort(Comparator.comparingLong(Candidate::lastUsed));
+            for (int i = 0; i < excess && i < oldestFirst.size(); i++) {
+                buckets.remove(oldestFirst.get(i).key(), oldestFirst.get(i).bucket());
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * Tokens for one key.
+     */
+    private final class Bucket {
+        private double tokens = capacity;
+        private long lastRefill = System.nanoTime();
+        private volatile long lastUsed = lastRefill;
+
+        private synchronized boolean tryTake() {
+            refill();
+            lastUsed = lastRefill;
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized boolean isFull() {
+            refill();
+            return tokens >= capacity;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+
+    /**
+     * A bucket and its last use when a sweep started.
+     */
+    private record Candidate(String key, Bucket bucket, long lastUsed) {
+    }
+}
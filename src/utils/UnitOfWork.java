@@ -0,0 +1,310 @@
+package utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * UnitOfWork
+ * Runs several DAO calls on one pooled connection inside a single transaction.
+ *
+ * <p>{@link #execute(Work)} borrows a connection, turns autocommit off and
+ * binds the unit to the current thread. While it is bound,
+ * {@link DatabaseConnection#getcon()} hands every DAO a view of that
+ * connection instead of a fresh one, so the usual
+ * {@code try (Connection conn = DatabaseConnection.getcon())} code joins the
+ * transaction without changes. When the work returns the transaction is
+ * committed; if it throws, it is rolled back.</p>
+ *
+ * <pre>
+ * boolean moved = UnitOfWork.execute(() -&gt; {
+ *     workoutClassDAO.reassignTrainer(oldId, newId);
+ *     return trainerDAO.deleteTrainer(oldId);
+ * });
+ * </pre>
+ *
+ * <p>DAOs catch their own SQLExceptions, so the view watches every statement:
+ * once one has failed, PostgreSQL refuses further statements in the
+ * transaction, and the unit is rolled back and reported as an SQLException
+ * even if the work returns normally. Work can also call
+ * {@link #setRollbackOnly()} to undo what it did and still return a result.
+ * On the view, {@code close()}, {@code setAutoCommit()} and {@code commit()}
+ * are ignored and {@code rollback()} marks the unit rollback-only.</p>
+ *
+ * <p>A unit started while another is bound to the thread joins the outer one
+ * and keeps its isolation level. {@link #afterCommit(Runnable)} defers work,
+ * such as cache invalidation, until the transaction has committed.</p>
+ */
+public final class UnitOfWork {
+    /** Isolation argument meaning "keep the connection's default level". */
+    public static final int DEFAULT_ISOLATION = -1;
+
+    /** Runs units of work on the database connection pool. */
+    public static final Runner JDBC = new Runner() {
+        @Override
+        public <T> T run(int isolation, Work<T> work) throws SQLException {
+            return execute(isolation, work);
+        }
+    };
+
+    private static final Logger logger = LoggerUtil.getLogger();
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final Connection participant;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private volatile SQLException failure;
+    private volatile boolean rollbackOnly;
+    private volatile boolean ended;
+
+    /**
+     * Work to run inside a unit.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        /**
+         * Run the DAO calls that make up the unit.
+         *
+         * @return the result passed back to the caller
+         * @throws SQLException to roll the unit back
+         */
+        T run() throws SQLException;
+    }
+
+    /**
+     * Something that can run a unit of work. Services take a Runner so the
+     * same code can run over the database ({@link #JDBC}) or over the
+     * in-memory DAOs of a {@link dao.memory.InMemoryDatabase}.
+     */
+    public interface Runner {
+        /**
+         * Run the work as one unit.
+         *
+         * @param isolation a {@code Connection.TRANSACTION_*} level, or {@link #DEFAULT_ISOLATION}
+         * @param work the work to run
+         * @param <T> result type
+         * @return the work's result
+         * @throws SQLException if the work failed and was rolled back
+         */
+        <T> T run(int isolation, Work<T> work) throws SQLException;
+
+        /**
+         * Run the work as one unit at the default isolation level.
+         *
+         * @param work the work to run
+         * @param <T> result type
+         * @return the work's result
+         * @throws SQLException if the work failed and was rolled back
+         */
+        default <T> T run(Work<T> work) throws SQLException {
+            return run(DEFAULT_ISOLATION, work);
+        }
+    }
+
+    private UnitOfWork(Connection connection) {
+        this.connection = connection;
+        this.participant = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close", "setAutoCommit", "commit", "setTransactionIsolation" -> {
+                            return null;
+                        }
+                        case "rollback" -> {
+                            if (args == null) {
+                                rollbackOnly = true;
+                                return null;
+                            }
+                        }
+                        case "isClosed" -> {
+                            return ended || connection.isClosed();
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                            // fall through to the connection
+                        }
+                    }
+                    if (ended) {
+                        throw new SQLException("Unit of work has already ended");
+                    }
+                    try {
+                        Object result = method.invoke(connection, args);
+                        if (result instanceof Statement && method.getReturnType().isInterface()) {
+                            return watch(result, method.getReturnType());
+                        }
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        throw failure(e.getCause());
+                    }
+                });
+    }
+
+    /**
+     * Run the work in a transaction at the connection's default isolation level.
+     *
+     * @param work the DAO calls to run
+     * @param <T> result type
+     * @return the work's result
+     * @throws SQLException if no connection could be borrowed, or the work failed and was rolled back
+     */
+    public static <T> T execute(Work<T> work) throws SQLException {
+        return execute(DEFAULT_ISOLATION, work);
+    }
+
+    /**
+     * Run the work in a transaction at the given isolation level. If a unit
+     * is already bound to this thread, the work joins it instead.
+     *
+     * @param isolation a {@code Connection.TRANSACTION_*} level, or {@link #DEFAULT_ISOLATION}
+     * @param work the DAO calls to run
+     * @param <T> result type
+     * @return the work's result
+     * @throws SQLException if no connection could be borrowed, or the work failed and was rolled back
+     */
+    public static <T> T execute(int isolation, Work<T> work) throws SQLException {
+        if (current.get() != null) {
+            return work.run();
+        }
+
+        try (Connection conn = DatabaseConnection.getPool().getConnection()) {
+            if (isolation != DEFAULT_ISOLATION) {
+                conn.setTransactionIsolation(isolation);
+            }
+            conn.setAutoCommit(false);
+
+            UnitOfWork unit = new UnitOfWork(conn);
+            T result;
+            current.set(unit);
+            try {
+                result = work.run();
+            } catch (SQLException | RuntimeException | Error e) {
+                unit.rollback(e);
+                throw e;
+            } finally {
+                current.remove();
+                unit.ended = true;
+            }
+
+            if (unit.failure != null) {
+                SQLException e = new SQLException("Unit of work rolled back after a failed statement", unit.failure);
+                unit.rollback(e);
+                throw e;
+            }
+            if (unit.rollbackOnly) {
+                conn.rollback();
+                return result;
+            }
+            conn.commit();
+            unit.runAfterCommit();
+            return result;
+        }
+    }
+
+    /**
+     * Check whether a unit of work is bound to the current thread.
+     *
+     * @return true inside {@link #execute(Work)}
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Roll the current unit back when it ends instead of committing it.
+     *
+     * @throws IllegalStateException if no unit is bound to this thread
+     */
+    public static void setRollbackOnly() {
+        UnitOfWork unit = current.get();
+        if (unit == null) {
+            throw new IllegalStateException("No unit of work is active");
+        }
+        unit.rollbackOnly = true;
+    }
+
+    /**
+     * Check whether the current unit will be rolled back.
+     *
+     * @return true if {@link #setRollbackOnly()} was called or a statement failed
+     */
+    public static boolean isRollbackOnly() {
+        UnitOfWork unit = current.get();
+        return unit != null && (unit.rollbackOnly || unit.failure != null);
+    }
+
+    /**
+     * Run an action once the current unit has committed, or at once if no
+     * unit is active. The action is dropped if the unit rolls back.
+     *
+     * @param action action to run after commit
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork unit = current.get();
+        if (unit == null) {
+            action.run();
+        } else {
+            unit.afterCommit.add(action);
+        }
+    }
+
+    /**
+     * Get the current unit's connection for a DAO, or null if no unit is
+     * active. Closing it leaves the unit's connection open.
+     */
+    static Connection participant() {
+        UnitOfWork unit = current.get();
+        return unit == null ? null : unit.participant;
+    }
+
+    /**
+     * Wraps a statement so SQLExceptions it throws fail the unit.
+     */
+    private Object watch(Object statement, Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw failure(e.getCause());
+                    }
+                });
+    }
+
+    private Throwable failure(Throwable cause) {
+        if (cause instanceof SQLException sql && failure == null) {
+            failure = sql;
+        }
+        return cause;
+    }
+
+    private void rollback(Throwable reason) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            reason.addSuppressed(e);
+        }
+    }
+
+    private void runAfterCommit() {
+        for (Runnable action : afterCommit) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.warning(() -> "After-commit action failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * VirtualThreads
+ * Creates executors that run each task on its own virtual thread when the
+ * JVM has them (Java 21+), and on a fixed pool of daemon platform threads
+ * otherwise. The application is built for Java 17, so virtual threads are
+ * looked up by reflection.
+ */
+public final class VirtualThreads {
+    private static final boolean available = lookup() != null;
+
+    private VirtualThreads() {
+        // Utility class
+    }
+
+    /**
+     * Check whether this JVM supports virtual threads.
+     *
+     * @return true on Java 21 and later
+     */
+    public static boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Create an executor with one virtual thread per task, or a fixed pool
+     * of daemon threads named {@code name-N} if virtual threads are missing.
+     *
+     * @param name thread name prefix for the fallback pool
+     * @param platformThreads size of the fallback pool
+     * @return a new executor; shut it down when done
+     */
+    public static ExecutorService newExecutor(String name, int platformThreads) {
+        ExecutorService executor = lookup();
+        if (executor != null) {
+            return executor;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, platformThreads), runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static ExecutorService lookup() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}